@@ -9,12 +9,39 @@ repositories {
     mavenCentral()
 }
 
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
 dependencies {
 
     implementation(project(":jnova-annotations"))
+    annotationProcessor(project(":jnova-annotations"))
     implementation(project(":jnova-core"))
     implementation(project(":jnova-tcp-server"))
     implementation("io.projectreactor:reactor-core:3.8.0-M3")
+    implementation("com.google.code.gson:gson:2.13.1")
     implementation("org.hibernate.validator:hibernate-validator:8.0.1.Final")
     implementation("org.glassfish:jakarta.el:4.0.2")
-}
\ No newline at end of file
+}
+
+val bench: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+    runtimeClasspath += sourceSets["main"].output
+}
+
+configurations[bench.implementationConfigurationName].extendsFrom(configurations["implementation"])
+configurations[bench.runtimeOnlyConfigurationName].extendsFrom(configurations["runtimeOnly"])
+
+tasks.named("check") {
+    dependsOn(bench.classesTaskName)
+}
+
+tasks.register<JavaExec>("bench") {
+    description = "Runs the engine benchmark: gradle :example:bench --args='[connections] [seconds] [warmupSeconds] [basePort]'"
+    group = "benchmark"
+    classpath = bench.runtimeClasspath
+    mainClass = "jnova.example.bench.EngineBenchmark"
+}
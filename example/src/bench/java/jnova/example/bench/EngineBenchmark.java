@@ -0,0 +1,239 @@
+package jnova.example.bench;
+
+import jnova.tcp.ServerEngine;
+import jnova.tcp.TcpResponse;
+import jnova.tcp.TcpServer;
+import jnova.tcp.handler.TcpRequestHandler;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loopback benchmark comparing the platform-thread, virtual-thread and NIO engines under load.
+ *
+ * Usage: EngineBenchmark [connections] [seconds] [warmupSeconds] [basePort]
+ *
+ * For each engine an echo server is started in-process and the given number of connections is
+ * opened against it. All connections then echo concurrently, each keeping one line in flight, driven
+ * by a single client selector thread so the client adds no threads per connection. After the warm-up
+ * the report takes how many platform threads and how much heap/RSS the busy connections cost, then
+ * measures the throughput and the echo latency percentiles of the steady state for the given number
+ * of seconds. Run it with {@code gradle :example:bench} and a roomy file descriptor limit
+ * (ulimit -n) for large connection counts.
+ */
+public class EngineBenchmark {
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 7070;
+
+        List<String> rows = new ArrayList<>();
+        for (ServerEngine engine : List.of(ServerEngine.BLOCKING, ServerEngine.VIRTUAL_THREADS, ServerEngine.NIO)) {
+            rows.add(run(engine, connections, seconds, warmup, port++));
+        }
+        System.out.printf("%n%-16s %8s %10s %14s %14s %10s %10s %10s %10s%n",
+                "engine", "conns", "threads+", "heap/conn(B)", "rss/conn(B)", "req/s", "p50(us)", "p99(us)", "p99.9(us)");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(ServerEngine engine, int connections, int seconds, int warmup, int port) throws Exception {
+        TcpRequestHandler echo = request -> Mono.just(new TcpResponse(request.getData()));
+        TcpServer server = TcpServer.builder().handler(echo).engine(engine).build();
+        Thread acceptor = new Thread(() -> {
+            try {
+                server.start(port);
+            } catch (Exception ignored) {
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        awaitListening(port);
+
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeap();
+        long rssBefore = rss();
+
+        Load load = new Load(port, connections);
+        Thread driver = new Thread(load, "bench-load");
+        driver.start();
+        Thread.sleep(warmup * 1_000L);
+
+        int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount() - 1;
+        long heapAfter = usedHeap();
+        long rssAfter = rss();
+
+        load.measure();
+        long measured = System.nanoTime();
+        Thread.sleep(seconds * 1_000L);
+        load.stop();
+        driver.join();
+        long elapsed = System.nanoTime() - measured;
+        if (load.failure != null) throw load.failure;
+
+        long[] latencies = load.latencies();
+        Arrays.sort(latencies);
+        String row = String.format("%-16s %8d %10d %14d %14s %10d %10s %10s %10s",
+                engine,
+                connections,
+                threadsAfter - threadsBefore,
+                (heapAfter - heapBefore) / connections,
+                rssBefore < 0 ? "n/a" : String.valueOf((rssAfter - rssBefore) / connections),
+                latencies.length * 1_000_000_000L / elapsed,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                percentile(latencies, 0.999));
+
+        server.stop();
+        load.close();
+        return row;
+    }
+
+    private static String percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return "n/a";
+        return String.valueOf(sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000);
+    }
+
+    /**
+     * Drives every connection in a closed loop from one selector: each reply is timed and answered
+     * with the next request. Latencies are kept from the moment {@link #measure()} is called.
+     */
+    private static final class Load implements Runnable {
+        private final Selector selector;
+        private final List<SocketChannel> clients;
+        private long[] samples = new long[1 << 16];
+        private int count;
+        private volatile long measureFrom = Long.MAX_VALUE;
+        private volatile boolean running = true;
+        private volatile IOException failure;
+
+        Load(int port, int connections) throws IOException {
+            selector = Selector.open();
+            clients = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                SocketChannel client = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+                client.configureBlocking(false);
+                clients.add(client);
+                client.register(selector, SelectionKey.OP_READ, new Connection(i));
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (SelectionKey key : selector.keys()) {
+                    send((SocketChannel) key.channel(), (Connection) key.attachment());
+                }
+                while (running) {
+                    selector.select(100);
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        read((SocketChannel) key.channel(), (Connection) key.attachment());
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private void read(SocketChannel client, Connection connection) throws IOException {
+            ByteBuffer reply = connection.reply;
+            if (client.read(reply) < 0) throw new IOException("Connection closed by server");
+            for (int i = 0; i < reply.position(); i++) {
+                if (reply.get(i) != '\n') continue;
+                long now = System.nanoTime();
+                if (connection.sentAt >= measureFrom) record(now - connection.sentAt);
+                reply.clear();
+                send(client, connection);
+                return;
+            }
+        }
+
+        private void send(SocketChannel client, Connection connection) throws IOException {
+            ByteBuffer request = connection.request;
+            request.rewind();
+            connection.sentAt = System.nanoTime();
+            while (request.hasRemaining()) {
+                client.write(request);
+            }
+        }
+
+        private void record(long latency) {
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = latency;
+        }
+
+        void measure() {
+            measureFrom = System.nanoTime();
+        }
+
+        void stop() {
+            running = false;
+            selector.wakeup();
+        }
+
+        long[] latencies() {
+            return Arrays.copyOf(samples, count);
+        }
+
+        void close() throws IOException {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+            selector.close();
+        }
+    }
+
+    private static final class Connection {
+        private final ByteBuffer request;
+        private final ByteBuffer reply = ByteBuffer.allocate(64);
+        private long sentAt;
+
+        Connection(int id) {
+            request = ByteBuffer.wrap(("ping-" + id + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void awaitListening(int port) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (SocketChannel probe = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+                Thread.sleep(200);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(50);
+            }
+        }
+        throw new IllegalStateException("Server did not start on port " + port);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        System.gc();
+        Thread.sleep(200);
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long rss() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+        }
+        return -1;
+    }
+}
@@ -1,11 +1,13 @@
 package jnova.example.commands;
 
 import jakarta.validation.Valid;
+import jnova.annotations.tcp.FromSession;
 import jnova.annotations.tcp.HandlerDeprecated;
 import jnova.annotations.tcp.JsonArg;
 import jnova.annotations.tcp.JsonProperty;
 import jnova.annotations.tcp.TcpType;
 import jnova.example.models.BroadcastMessage;
+import jnova.tcp.RoomRegistry;
 import jnova.tcp.TcpSession;
 import jnova.tcp.protocol.TcpMessage;
 
@@ -17,7 +19,6 @@ public class ExampleHandler {
 
     @JsonProperty(key = "command", value = "PING")
     public void handlePing(TcpSession session, @JsonArg("args") String[] args) {
-        session.touch();
         TcpMessage json = new TcpMessage("keep-alive");
         session.send(json.toString().getBytes()).delayElement(Duration.ofSeconds(10)).subscribe();
     }
@@ -28,4 +29,20 @@ public class ExampleHandler {
         System.out.println("Received broadcast model: " + msg);
         session.broadcast((msg.toString() + "\n").getBytes());
     }
+
+    @JsonProperty(key = "command", value = "JOIN")
+    public void handleJoin(TcpSession session, @JsonArg("room") String room) {
+        session.join(room);
+        session.send(new TcpMessage("joined", room).toString().getBytes()).subscribe();
+    }
+
+    @JsonProperty(key = "command", value = "LEAVE")
+    public void handleLeave(TcpSession session, @JsonArg("room") String room) {
+        session.leave(room);
+    }
+
+    @JsonProperty(key = "command", value = "SAY")
+    public void handleSay(RoomRegistry rooms, @FromSession String sessionId, @JsonArg("room") String room, @JsonArg("message") String message) {
+        rooms.publish(room, new TcpMessage("said", sessionId, message).toString().getBytes());
+    }
 }
@@ -0,0 +1,419 @@
+package jnova.annotations.processing;
+
+import jnova.annotations.tcp.FromSession;
+import jnova.annotations.tcp.JsonArg;
+import jnova.annotations.tcp.JsonBody;
+import jnova.annotations.tcp.JsonProperty;
+import jnova.annotations.tcp.TcpCommand;
+import jnova.annotations.tcp.TcpType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the dispatch table of every package containing {@link TcpType} or {@link TcpCommand} handlers.
+ *
+ * <p>For each such package, a class named {@value #TABLE_NAME} is generated implementing
+ * {@code jnova.tcp.dispatching.DispatchTable}, and listed in
+ * {@code META-INF/services/jnova.tcp.dispatching.DispatchTable}. The table instantiates the handler
+ * classes with their no-arg constructors, invokes the handler methods with plain calls, and binds
+ * parameters of type {@code TcpSession} or {@code RoomRegistry} and parameters annotated with
+ * {@link JsonArg}, {@link FromSession} or {@link JsonBody} without reflection. Methods with any
+ * other parameter are left to the argument resolvers registered at runtime, and private methods
+ * are invoked through {@code HandlerInvokers}. JSON values are bound to the generic type of their
+ * parameter, read once from the handler method.
+ *
+ * <p>{@code DispatcherFactory} registers the handlers of a package from its table when one is
+ * present, so the classpath is no longer scanned at startup. With Gradle, the processor is enabled
+ * with {@code annotationProcessor("jnova:jnova-annotations")}.
+ */
+public class DispatchTableProcessor extends AbstractProcessor {
+    /**
+     * The simple name of the generated tables.
+     */
+    public static final String TABLE_NAME = "JNovaDispatchTable";
+
+    private static final String SERVICE_FILE = "META-INF/services/jnova.tcp.dispatching.DispatchTable";
+    private static final String TCP_SESSION = "jnova.tcp.TcpSession";
+    private static final String ROOM_REGISTRY = "jnova.tcp.RoomRegistry";
+
+    private final Set<String> tables = new LinkedHashSet<>();
+    private final List<Element> originating = new ArrayList<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(TcpType.class.getName(), TcpCommand.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        Map<String, PackageHandlers> packages = new LinkedHashMap<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(TcpType.class))) {
+            packages.computeIfAbsent(packageOf(type), PackageHandlers::new).types.add(type);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(TcpCommand.class))) {
+            TypeElement type = (TypeElement) method.getEnclosingElement();
+            Set<TypeElement> commands = packages.computeIfAbsent(packageOf(type), PackageHandlers::new).commands;
+            commands.add(type);
+        }
+
+        for (PackageHandlers handlers : packages.values()) {
+            if (!tables.add(handlers.packageName)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Handlers of package " + handlers.packageName
+                        + " were generated in a later round than its dispatch table", handlers.first());
+                continue;
+            }
+            if (isValid(handlers)) {
+                writeTable(handlers);
+            }
+        }
+        return false;
+    }
+
+    private String packageOf(TypeElement type) {
+        return elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    private boolean isValid(PackageHandlers handlers) {
+        boolean valid = true;
+        Set<TypeElement> all = new LinkedHashSet<>(handlers.types);
+        all.addAll(handlers.commands);
+        for (TypeElement type : all) {
+            valid &= isInstantiable(type);
+            for (ExecutableElement method : handlerMethods(type, handlers)) {
+                for (VariableElement param : method.getParameters()) {
+                    if (!isAccessible(param.asType())) {
+                        messager.printMessage(Diagnostic.Kind.ERROR,
+                                "Handler parameter type must not be private", param);
+                        valid = false;
+                    }
+                }
+            }
+        }
+        return valid;
+    }
+
+    private List<ExecutableElement> handlerMethods(TypeElement type, PackageHandlers handlers) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if ((handlers.types.contains(type) && method.getAnnotation(JsonProperty.class) != null)
+                    || method.getAnnotation(TcpCommand.class) != null) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private boolean isInstantiable(TypeElement type) {
+        String error = null;
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error = "Handler must be a concrete class";
+        } else if (!isAccessible(type)) {
+            error = "Handler class must not be private";
+        } else if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+            error = "Nested handler class must be static";
+        } else {
+            boolean hasConstructor = false;
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    hasConstructor = true;
+                }
+            }
+            if (!hasConstructor) {
+                error = "Handler class must have a non-private no-arg constructor";
+            }
+        }
+        if (error != null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, error, type);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isAccessible(Element element) {
+        for (Element e = element; e != null && e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return false;
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) erased).getComponentType());
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return isAccessible(((DeclaredType) erased).asElement());
+        }
+        return true;
+    }
+
+    private void writeTable(PackageHandlers handlers) {
+        String pkg = handlers.packageName;
+        String name = pkg.isEmpty() ? TABLE_NAME : pkg + "." + TABLE_NAME;
+        List<Element> sources = new ArrayList<>(handlers.types);
+        sources.addAll(handlers.commands);
+        originating.addAll(sources);
+
+        try {
+            JavaFileObject file = filer.createSourceFile(name, sources.toArray(new Element[0]));
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!pkg.isEmpty()) {
+                    out.println("package " + pkg + ";");
+                    out.println();
+                }
+                out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+                out.println("@SuppressWarnings(\"unchecked\")");
+                out.println("public final class " + TABLE_NAME + " implements jnova.tcp.dispatching.DispatchTable {");
+                out.println("    @Override");
+                out.println("    public String packageName() {");
+                out.println("        return \"" + pkg + "\";");
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    public void registerTypes(jnova.tcp.dispatching.TcpTypeHandler registry) throws ReflectiveOperationException {");
+                for (int i = 0; i < handlers.types.size(); i++) {
+                    out.println("        registerType" + i + "(registry);");
+                }
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    public void registerCommands(jnova.tcp.routing.commands.TcpCommandRegistry registry) throws ReflectiveOperationException {");
+                for (int i = 0; i < handlers.commands.size(); i++) {
+                    out.println("        registerCommands" + i + "(registry);");
+                }
+                out.println("    }");
+
+                int index = 0;
+                for (TypeElement type : handlers.types) {
+                    writeType(out, index++, type);
+                }
+                index = 0;
+                for (TypeElement type : handlers.commands) {
+                    writeCommands(out, index++, type);
+                }
+                out.println("}");
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + name + ": " + e.getMessage(), handlers.first());
+        }
+    }
+
+    private void writeType(PrintWriter out, int index, TypeElement type) {
+        String className = type.getQualifiedName().toString();
+        out.println();
+        out.println("    private static void registerType" + index + "(jnova.tcp.dispatching.TcpTypeHandler registry) throws ReflectiveOperationException {");
+        out.println("        " + className + " handler = new " + className + "();");
+        out.println("        java.util.List<jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod> handlers = new java.util.ArrayList<>();");
+        int m = 0;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            JsonProperty jp = method.getAnnotation(JsonProperty.class);
+            if (jp == null) continue;
+            String var = "m" + m++;
+            writeLookup(out, var, type, method);
+            out.println("        handlers.add(new jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod(" + literal(jp.key())
+                    + ", " + literal(jp.value()) + ", " + var + ", handler,");
+            out.println("                " + invoker(var, type, method) + ",");
+            out.println("                " + binder(var, method) + "));");
+        }
+        out.println("        registry.registerType(" + literal(type.getAnnotation(TcpType.class).value()) + ", "
+                + className + ".class, handlers);");
+        out.println("    }");
+    }
+
+    private void writeCommands(PrintWriter out, int index, TypeElement type) {
+        String className = type.getQualifiedName().toString();
+        out.println();
+        out.println("    private static void registerCommands" + index + "(jnova.tcp.routing.commands.TcpCommandRegistry registry) throws ReflectiveOperationException {");
+        out.println("        " + className + " handler = new " + className + "();");
+        int m = 0;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            TcpCommand command = method.getAnnotation(TcpCommand.class);
+            if (command == null) continue;
+            String var = "m" + m++;
+            out.println("        java.lang.reflect.Method " + var + " = " + lookup(type, method) + ";");
+            out.println("        registry.register(" + literal(command.value())
+                    + ", new jnova.tcp.routing.commands.TcpCommandRegistry.RegisteredCommand(handler, " + var + ",");
+            out.println("                " + invoker(var, type, method) + "));");
+        }
+        out.println("    }");
+    }
+
+    private void writeLookup(PrintWriter out, String var, TypeElement type, ExecutableElement method) {
+        out.println("        java.lang.reflect.Method " + var + " = " + lookup(type, method) + ";");
+        for (VariableElement param : method.getParameters()) {
+            if (isGeneric(param.asType())) {
+                out.println("        java.lang.reflect.Type[] " + var + "Types = " + var + ".getGenericParameterTypes();");
+                return;
+            }
+        }
+    }
+
+    private String lookup(TypeElement type, ExecutableElement method) {
+        StringBuilder sb = new StringBuilder(type.getQualifiedName() + ".class.getDeclaredMethod(")
+                .append(literal(method.getSimpleName().toString()));
+        for (VariableElement param : method.getParameters()) {
+            sb.append(", ").append(erasure(param.asType())).append(".class");
+        }
+        return sb.append(")").toString();
+    }
+
+    private String invoker(String var, TypeElement type, ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PRIVATE)) {
+            return "jnova.tcp.dispatching.HandlerInvokers.compile(handler, " + var + ")";
+        }
+        StringBuilder sb = new StringBuilder("args -> ");
+        sb.append(method.getModifiers().contains(Modifier.STATIC) ? type.getQualifiedName().toString() : "handler")
+                .append(".").append(method.getSimpleName()).append("(");
+        List<? extends VariableElement> params = method.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("(").append(erasure(params.get(i).asType())).append(") args[").append(i).append("]");
+        }
+        return sb.append(")").toString();
+    }
+
+    private String binder(String var, ExecutableElement method) {
+        StringBuilder sb = new StringBuilder("(json, session) -> new Object[]{");
+        List<? extends VariableElement> params = method.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            VariableElement param = params.get(i);
+            String type = erasure(param.asType());
+            String target = isGeneric(param.asType()) ? var + "Types[" + i + "]" : type + ".class";
+            if (i > 0) sb.append(", ");
+            if (type.equals(TCP_SESSION)) {
+                sb.append("session");
+            } else if (type.equals(ROOM_REGISTRY)) {
+                sb.append("session.getRoomRegistry()");
+            } else if (param.getAnnotation(JsonArg.class) != null) {
+                sb.append("jnova.tcp.dispatching.ArgumentBindings.jsonArg(json, ")
+                        .append(literal(param.getAnnotation(JsonArg.class).value())).append(", ")
+                        .append(target).append(")");
+            } else if (param.getAnnotation(FromSession.class) != null) {
+                sb.append("session.getId()");
+            } else if (param.getAnnotation(JsonBody.class) != null) {
+                sb.append("jnova.tcp.dispatching.ArgumentBindings.jsonBody(json, ").append(target).append(")");
+            } else {
+                return "null";
+            }
+        }
+        return sb.append("}").toString();
+    }
+
+    private boolean isGeneric(TypeMirror type) {
+        return !types.isSameType(type, types.erasure(type));
+    }
+
+    private String erasure(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        return switch (erased.getKind()) {
+            case ARRAY -> erasure(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED -> ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+            default -> erased.getKind().name().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private void writeServiceFile() {
+        if (tables.isEmpty()) return;
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE,
+                    originating.toArray(new Element[0]));
+            try (Writer out = file.openWriter()) {
+                for (String pkg : tables) {
+                    out.write((pkg.isEmpty() ? TABLE_NAME : pkg + "." + TABLE_NAME) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append("\"").toString();
+    }
+
+    private static final class PackageHandlers {
+        final String packageName;
+        final Set<TypeElement> types = new LinkedHashSet<>();
+        final Set<TypeElement> commands = new LinkedHashSet<>();
+
+        PackageHandlers(String packageName) {
+            this.packageName = packageName;
+        }
+
+        Element first() {
+            return types.isEmpty() ? commands.iterator().next() : types.iterator().next();
+        }
+    }
+}
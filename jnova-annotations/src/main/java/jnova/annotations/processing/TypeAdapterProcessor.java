@@ -0,0 +1,543 @@
+package jnova.annotations.processing;
+
+import jnova.annotations.tcp.JsonArg;
+import jnova.annotations.tcp.JsonBody;
+import jnova.annotations.tcp.JsonModel;
+import jnova.annotations.tcp.JsonProperty;
+import jnova.annotations.tcp.TcpCommand;
+import jnova.annotations.tcp.TcpType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates streaming Gson type adapters for the models of every package.
+ *
+ * <p>Models are the classes marked with {@link JsonModel}, the types of {@link JsonArg} and
+ * {@link JsonBody} parameters of {@link TcpType} and {@link TcpCommand} handlers, and the types of
+ * their fields, as far as they are compiled together. For each package containing models, a class
+ * named {@value #FACTORY_NAME} is generated implementing
+ * {@code jnova.core.util.gson.GeneratedAdapterFactory}, and listed in
+ * {@code META-INF/services/jnova.core.util.gson.GeneratedAdapterFactory}, so that
+ * {@code GsonFactory} registers it. Its adapters extend {@code GeneratedTypeAdapter} and read and
+ * write the fields of a model in straight-line code, without reflection.
+ *
+ * <p>An adapter is generated only for a model Gson's reflective adapter would handle the same way: a
+ * concrete, non-generic class with a non-private no-arg constructor, no Gson annotations, no final
+ * fields, and fields that are all accessible from its package. Like the reflective adapter, the
+ * generated one reads and writes the fields themselves, never getters and setters, so a model with a
+ * private field keeps the reflective adapter. Since the factory is named after its package, models of
+ * one package must be compiled together.
+ *
+ * <p>The generated factories give way to the reflective adapter on a Gson instance whose configuration
+ * the generated code does not follow, see {@code GeneratedTypeAdapter#supports}.
+ */
+public class TypeAdapterProcessor extends AbstractProcessor {
+    /**
+     * The simple name of the generated factories.
+     */
+    public static final String FACTORY_NAME = "JNovaTypeAdapters";
+
+    private static final String SERVICE_FILE = "META-INF/services/jnova.core.util.gson.GeneratedAdapterFactory";
+    private static final String GSON_ANNOTATIONS = "com.google.gson.annotations.";
+    private static final String ADAPTER = "com.google.gson.TypeAdapter";
+
+    private final Set<String> compiled = new HashSet<>();
+    private final Set<String> factories = new LinkedHashSet<>();
+    private final List<Element> originating = new ArrayList<>();
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(JsonModel.class.getName(), TcpType.class.getName(), TcpCommand.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        for (TypeElement root : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            compiled.add(root.getQualifiedName().toString());
+        }
+
+        Map<TypeElement, Boolean> candidates = new LinkedHashMap<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(JsonModel.class))) {
+            candidates.put(type, true);
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(TcpType.class))) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (method.getAnnotation(JsonProperty.class) != null) addParameters(method, candidates);
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(TcpCommand.class))) {
+            addParameters(method, candidates);
+        }
+
+        Map<String, List<Model>> packages = new LinkedHashMap<>();
+        Deque<TypeElement> queue = new ArrayDeque<>(candidates.keySet());
+        Set<TypeElement> seen = new HashSet<>(candidates.keySet());
+        while (!queue.isEmpty()) {
+            TypeElement type = queue.poll();
+            Model model = new Model(type);
+            String reason = analyze(model);
+            if (reason != null) {
+                if (Boolean.TRUE.equals(candidates.get(type))) {
+                    messager.printMessage(Diagnostic.Kind.WARNING,
+                            "No type adapter generated, Gson's reflective adapter is used: " + reason, type);
+                }
+                continue;
+            }
+            packages.computeIfAbsent(elements.getPackageOf(type).getQualifiedName().toString(), p -> new ArrayList<>())
+                    .add(model);
+            for (Field field : model.fields) {
+                Map<TypeElement, Boolean> nested = new LinkedHashMap<>();
+                addModels(field.type, nested);
+                for (TypeElement n : nested.keySet()) {
+                    if (seen.add(n)) queue.add(n);
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<Model>> entry : packages.entrySet()) {
+            if (!factories.add(entry.getKey())) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Models of package " + entry.getKey()
+                        + " were generated in a later round than its type adapters", entry.getValue().get(0).type);
+                continue;
+            }
+            writeFactory(entry.getKey(), entry.getValue());
+        }
+        return false;
+    }
+
+    private void addParameters(ExecutableElement method, Map<TypeElement, Boolean> candidates) {
+        for (VariableElement param : method.getParameters()) {
+            if (param.getAnnotation(JsonArg.class) != null || param.getAnnotation(JsonBody.class) != null) {
+                addModels(param.asType(), candidates);
+            }
+        }
+    }
+
+    private void addModels(TypeMirror type, Map<TypeElement, Boolean> models) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            addModels(((ArrayType) type).getComponentType(), models);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            if (element.getKind() == ElementKind.CLASS && isCompiled(element)) {
+                models.putIfAbsent(element, false);
+            }
+            for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                addModels(argument, models);
+            }
+        } else if (type.getKind() == TypeKind.WILDCARD) {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getExtendsBound() != null) addModels(wildcard.getExtendsBound(), models);
+        }
+    }
+
+    private boolean isCompiled(TypeElement type) {
+        Element outermost = type;
+        while (outermost.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            outermost = outermost.getEnclosingElement();
+        }
+        return compiled.contains(((TypeElement) outermost).getQualifiedName().toString());
+    }
+
+        /**
+     * Collects the fields of a model in the order Gson writes them, the fields of the class before
+     * those of its superclasses.
+     *
+     * @return Why no adapter can be generated, or null.
+     */
+    private String analyze(Model model) {
+        TypeElement type = model.type;
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "not a concrete class";
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+            return "local and anonymous classes are not supported";
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return "inner classes are not supported";
+        }
+        if (!isVisible(type, model.packageElement())) {
+            return "the class is private";
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return "generic classes are not supported";
+        }
+        if (hasGsonAnnotation(type)) {
+            return "Gson annotations are not supported";
+        }
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            hasConstructor |= constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE);
+        }
+        if (!hasConstructor) {
+            return "the class has no non-private no-arg constructor";
+        }
+
+        Set<String> names = new HashSet<>();
+        for (TypeElement c = type; c != null && !c.getQualifiedName().contentEquals("java.lang.Object"); c = superclass(c)) {
+            if (c != type && !((DeclaredType) c.asType()).getTypeArguments().isEmpty()) {
+                return "generic superclasses are not supported";
+            }
+            for (VariableElement element : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                Set<Modifier> modifiers = element.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+                String name = element.getSimpleName().toString();
+                if (!names.add(name)) return "field " + name + " is declared more than once";
+                if (hasGsonAnnotation(element)) return "Gson annotations are not supported";
+                if (modifiers.contains(Modifier.FINAL)) return "field " + name + " is final";
+                TypeMirror fieldType = element.asType();
+                if (!isExpressible(fieldType, model)) {
+                    return "the type of field " + name + " is not accessible or is a type variable";
+                }
+                if (!isAccessible(element, model)) return "field " + name + " is not accessible from its package";
+                model.fields.add(new Field(name, fieldType));
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private boolean hasGsonAnnotation(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().startsWith(GSON_ANNOTATIONS)) return true;
+        }
+        return false;
+    }
+
+    private boolean isAccessible(Element member, Model model) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) return true;
+        return !modifiers.contains(Modifier.PRIVATE)
+                && elements.getPackageOf(member).equals(model.packageElement());
+    }
+
+    private boolean isVisible(TypeElement type, Element pkg) {
+        for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(e).equals(pkg)) return false;
+        }
+        return true;
+    }
+
+    private boolean isExpressible(TypeMirror type, Model model) {
+        return switch (type.getKind()) {
+            case ARRAY -> isExpressible(((ArrayType) type).getComponentType(), model);
+            case DECLARED -> {
+                if (!isVisible((TypeElement) ((DeclaredType) type).asElement(), model.packageElement())) yield false;
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (!isExpressible(argument, model)) yield false;
+                }
+                yield true;
+            }
+            case WILDCARD -> {
+                WildcardType wildcard = (WildcardType) type;
+                yield (wildcard.getExtendsBound() == null || isExpressible(wildcard.getExtendsBound(), model))
+                        && (wildcard.getSuperBound() == null || isExpressible(wildcard.getSuperBound(), model));
+            }
+            default -> type.getKind().isPrimitive();
+        };
+    }
+
+    private void writeFactory(String pkg, List<Model> models) {
+        String name = pkg.isEmpty() ? FACTORY_NAME : pkg + "." + FACTORY_NAME;
+        List<Element> sources = new ArrayList<>();
+        for (Model model : models) sources.add(model.type);
+        originating.addAll(sources);
+
+        try {
+            JavaFileObject file = filer.createSourceFile(name, sources.toArray(new Element[0]));
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                if (!pkg.isEmpty()) {
+                    out.println("package " + pkg + ";");
+                    out.println();
+                }
+                out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+                out.println("public final class " + FACTORY_NAME + " implements jnova.core.util.gson.GeneratedAdapterFactory {");
+                out.println("    @Override");
+                out.println("    @SuppressWarnings(\"unchecked\")");
+                out.println("    public <T> " + ADAPTER + "<T> create(com.google.gson.Gson gson, com.google.gson.reflect.TypeToken<T> type) {");
+                out.println("        if (!jnova.core.util.gson.GeneratedTypeAdapter.supports(gson)) return null;");
+                out.println("        Class<? super T> raw = type.getRawType();");
+                for (Model model : models) {
+                    out.println("        if (raw == " + model.className() + ".class) return (" + ADAPTER + "<T>) new "
+                            + model.adapterName() + "(gson);");
+                }
+                out.println("        return null;");
+                out.println("    }");
+                for (Model model : models) {
+                    writeAdapter(out, model);
+                }
+                out.println("}");
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + name + ": " + e.getMessage(), models.get(0).type);
+        }
+    }
+
+    private void writeAdapter(PrintWriter out, Model model) {
+        String className = model.className();
+        out.println();
+        out.println("    static final class " + model.adapterName() + " extends jnova.core.util.gson.GeneratedTypeAdapter<"
+                + className + "> {");
+        int delegates = 0;
+        for (Field field : model.fields) {
+            if (direct(field.type) == null) field.delegate = "a" + delegates++;
+        }
+        for (Field field : model.fields) {
+            if (field.delegate == null) continue;
+            out.println("        private final " + ADAPTER + "<" + boxedName(field.type) + "> " + field.delegate + ";");
+        }
+        if (delegates > 0) out.println();
+        out.println("        " + model.adapterName() + "(com.google.gson.Gson gson) {");
+        out.println("            super(gson);");
+        for (Field field : model.fields) {
+            if (field.delegate == null) continue;
+            out.println("            this." + field.delegate + " = gson.getAdapter(" + token(field.type) + ");");
+        }
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        protected " + className + " newInstance() {");
+        out.println("            return new " + className + "();");
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        protected void writeFields(com.google.gson.stream.JsonWriter out, " + className
+                + " value) throws java.io.IOException {");
+        for (Field field : model.fields) {
+            out.println("            out.name(" + literal(field.name) + ");");
+            if (field.delegate == null) {
+                out.println("            out.value(" + field.get() + ");");
+            } else if (field.type.getKind().isPrimitive()) {
+                out.println("            " + field.delegate + ".write(out, " + field.get() + ");");
+            } else {
+                out.println("            write(out, " + field.delegate + ", " + erasure(field.type) + ".class, " + field.get() + ");");
+            }
+        }
+        out.println("        }");
+        out.println();
+        out.println("        @Override");
+        out.println("        protected boolean readField(com.google.gson.stream.JsonReader in, String name, " + className
+                + " value) throws java.io.IOException {");
+        out.println("            switch (name) {");
+        for (Field field : model.fields) {
+            out.println("                case " + literal(field.name) + ":");
+            String direct = direct(field.type);
+            if (field.delegate != null && field.type.getKind().isPrimitive()) {
+                out.println("                    " + boxedName(field.type) + " " + field.name + "Value = " + field.delegate + ".read(in);");
+                out.println("                    if (" + field.name + "Value != null) " + field.set(field.name + "Value") + ";");
+            } else if (field.delegate != null) {
+                out.println("                    " + field.set(field.delegate + ".read(in)") + ";");
+            } else if (field.type.getKind().isPrimitive()) {
+                out.println("                    if (!isNull(in)) " + field.set(direct + "(in)") + ";");
+            } else if (direct.equals("readString")) {
+                out.println("                    " + field.set("readString(in)") + ";");
+            } else {
+                out.println("                    " + field.set("isNull(in) ? null : " + boxedName(field.type) + ".valueOf(" + direct + "(in))") + ";");
+            }
+            out.println("                    return true;");
+        }
+        out.println("                default:");
+        out.println("                    return false;");
+        out.println("            }");
+        out.println("        }");
+        out.println("    }");
+    }
+
+        /**
+     * Returns the {@code GeneratedTypeAdapter} method reading a type directly, or null if the type
+     * is read through its Gson adapter.
+     */
+    private String direct(TypeMirror type) {
+        TypeMirror unboxed = type;
+        if (type.getKind() == TypeKind.DECLARED) {
+            String name = erasure(type);
+            if (name.equals("java.lang.String")) return "readString";
+            try {
+                unboxed = types.unboxedType(type);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return switch (unboxed.getKind()) {
+            case INT -> "readInt";
+            case LONG -> "readLong";
+            case DOUBLE -> "readDouble";
+            case BOOLEAN -> "readBoolean";
+            default -> null;
+        };
+    }
+
+    private String token(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return typeName(type) + ".class";
+        String name = typeName(type);
+        return name.equals(erasure(type))
+                ? name + ".class"
+                : "new com.google.gson.reflect.TypeToken<" + name + ">() {}";
+    }
+
+    private String boxedName(TypeMirror type) {
+        return type.getKind().isPrimitive() ? typeName(types.boxedClass((PrimitiveType) type).asType()) : typeName(type);
+    }
+
+    private String typeName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> {
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder sb = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (!arguments.isEmpty()) {
+                    sb.append('<');
+                    for (int i = 0; i < arguments.size(); i++) {
+                        if (i > 0) sb.append(", ");
+                        sb.append(typeName(arguments.get(i)));
+                    }
+                    sb.append('>');
+                }
+                yield sb.toString();
+            }
+            case WILDCARD -> {
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) yield "? extends " + typeName(wildcard.getExtendsBound());
+                if (wildcard.getSuperBound() != null) yield "? super " + typeName(wildcard.getSuperBound());
+                yield "?";
+            }
+            default -> type.getKind().name().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private String erasure(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        return switch (erased.getKind()) {
+            case ARRAY -> erasure(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED -> ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+            default -> erased.getKind().name().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private void writeServiceFile() {
+        if (factories.isEmpty()) return;
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE,
+                    originating.toArray(new Element[0]));
+            try (Writer out = file.openWriter()) {
+                for (String pkg : factories) {
+                    out.write((pkg.isEmpty() ? FACTORY_NAME : pkg + "." + FACTORY_NAME) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private final class Model {
+        final TypeElement type;
+        final List<Field> fields = new ArrayList<>();
+
+        Model(TypeElement type) {
+            this.type = type;
+        }
+
+        Element packageElement() {
+            return elements.getPackageOf(type);
+        }
+
+        String className() {
+            return type.getQualifiedName().toString();
+        }
+
+        String adapterName() {
+            String binary = elements.getBinaryName(type).toString();
+            return binary.substring(binary.lastIndexOf('.') + 1).replace('$', '_') + "Adapter";
+        }
+    }
+
+    private static final class Field {
+        final String name;
+        final TypeMirror type;
+        String delegate;
+
+        Field(String name, TypeMirror type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        String get() {
+            return "value." + name;
+        }
+
+        String set(String value) {
+            return "value." + name + " = " + value;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package jnova.annotations.tcp;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class serialized to or from JSON, such as a response payload, for which a streaming type
+ * adapter should be generated at compile time.
+ * <p>
+ * Types of {@link JsonArg} and {@link JsonBody} parameters, and the types of their fields, get
+ * adapters without this annotation. A class the processor cannot generate an adapter for keeps
+ * Gson's reflective one; for classes marked with this annotation, a warning says why.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonModel {}
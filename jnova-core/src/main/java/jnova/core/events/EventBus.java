@@ -46,4 +46,17 @@ public class EventBus {
                 .computeIfAbsent(event.getClass(), key -> Sinks.many().multicast().onBackpressureBuffer()))
                 .tryEmitNext(event);
     }
+
+        /**
+     * Checks whether anything is currently subscribed to events of a specific type.
+     *
+     * <p>Publishers use it to skip building events that are costly to build and that nobody would receive.
+     *
+     * @param eventType The `Class` object representing the event type.
+     * @return true if at least one subscriber listens for the event type.
+     */
+    public boolean hasSubscribers(Class<? extends Event> eventType) {
+        Sinks.Many<?> sink = sinks.get(eventType);
+        return sink != null && sink.currentSubscriberCount() > 0;
+    }
 }
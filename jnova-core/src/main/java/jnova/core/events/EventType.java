@@ -32,6 +32,10 @@ public enum EventType {
      * The event triggered when a TCP message is received.
      */
     TCP_MESSAGE_RECEIVED,
+    /**
+     * The event triggered when a TCP session's outbound queue overflows because its peer reads too slowly.
+     */
+    TCP_SLOW_CONSUMER,
     /**
      * A custom event type for user-defined events.
      */
@@ -3,14 +3,36 @@ package jnova.core.util;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import jnova.core.util.gson.ClassTypeAdapter;
+import jnova.core.util.gson.GeneratedAdapterFactory;
+
+import java.util.ServiceLoader;
 
 public class GsonFactory {
-    private static final Gson gson = new GsonBuilder()
-            .registerTypeAdapter(Class.class, new ClassTypeAdapter())
+    private static final Gson gson = builder()
             .setPrettyPrinting()
             .create();
 
     public static Gson get() {
         return gson;
     }
+
+        /**
+     * Creates a builder with the type adapters shared by every JNova Gson instance, including the
+     * {@link GeneratedAdapterFactory generated adapters} found on the classpath.
+     *
+     * <p>The generated adapters are used only while the builder keeps Gson's default field naming,
+     * exclusions and adapters of strings, numbers and booleans; with a naming policy or an exclusion
+     * strategy, for instance, models are read by Gson's reflective adapter, as
+     * {@link jnova.core.util.gson.GeneratedTypeAdapter#supports} describes.
+     *
+     * @return A new builder, without pretty printing.
+     */
+    public static GsonBuilder builder() {
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapter(Class.class, new ClassTypeAdapter());
+        for (GeneratedAdapterFactory factory : ServiceLoader.load(GeneratedAdapterFactory.class)) {
+            builder.registerTypeAdapterFactory(factory);
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,15 @@
+package jnova.core.util.gson;
+
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * A factory of type adapters generated at compile time, registered with every Gson instance built by
+ * {@link jnova.core.util.GsonFactory}.
+ *
+ * <p>The {@code jnova-annotations} processor generates one implementation per package containing
+ * models, named {@code JNovaTypeAdapters}, and lists it in
+ * {@code META-INF/services/jnova.core.util.gson.GeneratedAdapterFactory}. Its adapters take
+ * precedence over Gson's reflective ones.
+ */
+public interface GeneratedAdapterFactory extends TypeAdapterFactory {
+}
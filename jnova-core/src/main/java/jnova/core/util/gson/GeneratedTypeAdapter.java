@@ -0,0 +1,193 @@
+package jnova.core.util.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * The base of the streaming type adapters generated for models, reading and writing JSON objects
+ * the way Gson's reflective adapter does.
+ *
+ * <p>Generated subclasses create instances with their no-arg constructor and read and write each
+ * field with straight-line code, through the field itself. Fields of
+ * strings, booleans and {@code int}, {@code long} and {@code double} numbers are read and written
+ * directly; any other field goes through the Gson adapter of its type. Unknown names are skipped,
+ * nulls leave primitive fields untouched, and null fields are written only when the writer
+ * serializes nulls.
+ *
+ * <p>Names are the names of the fields, and only static and transient fields are left out, so the
+ * adapters are used only on Gson instances configured the way {@link #supports} checks.
+ *
+ * @param <T> The model type.
+ */
+public abstract class GeneratedTypeAdapter<T> extends TypeAdapter<T> {
+    private static final Gson DEFAULTS = new Gson();
+    private static final Class<?>[] DIRECT = {
+            String.class, int.class, Integer.class, long.class, Long.class,
+            double.class, Double.class, boolean.class, Boolean.class
+    };
+
+    protected final Gson gson;
+
+        /**
+     * Constructs an adapter.
+     *
+     * @param gson The Gson instance resolving the adapters of fields that are not read directly.
+     */
+    protected GeneratedTypeAdapter(Gson gson) {
+        this.gson = gson;
+    }
+
+        /**
+     * Creates an empty model.
+     *
+     * @return The model.
+     */
+    protected abstract T newInstance();
+
+        /**
+     * Writes the fields of a model, between the braces of its object.
+     *
+     * @param out   The writer.
+     * @param value The model.
+     * @throws IOException If writing fails.
+     */
+    protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        /**
+     * Reads the value of a field into a model.
+     *
+     * @param in    The reader, positioned on the value.
+     * @param name  The name of the field.
+     * @param value The model.
+     * @return Whether the model has a field of that name; the value is skipped otherwise.
+     * @throws IOException If reading fails.
+     */
+    protected abstract boolean readField(JsonReader in, String name, T value) throws IOException;
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        T value = newInstance();
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!readField(in, in.nextName(), value)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return value;
+    }
+
+        /**
+     * Writes a field through the adapter of its declared type, or of the runtime type of its value
+     * when that is more specific, as Gson's reflective adapter does.
+     *
+     * @param out      The writer.
+     * @param adapter  The adapter of the declared type.
+     * @param declared The declared type.
+     * @param value    The value.
+     * @param <V>      The declared type.
+     * @throws IOException If writing fails.
+     */
+    @SuppressWarnings("unchecked")
+    protected final <V> void write(JsonWriter out, TypeAdapter<V> adapter, Class<?> declared, V value) throws IOException {
+        if (value != null && value.getClass() != declared) {
+            ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
+        } else {
+            adapter.write(out, value);
+        }
+    }
+
+        /**
+     * Checks whether generated adapters read and write models the way the reflective adapter of a
+     * Gson instance would.
+     *
+     * <p>That is not the case when the instance was built with a field naming policy or strategy, with
+     * exclusion strategies, a version, excluded modifiers or {@code @Expose} filtering, or with its own
+     * adapters or a long serialization policy for the strings, numbers and booleans generated code
+     * reads and writes directly. Generated factories return no adapter for such an instance, so
+     * {@code GsonFactory.builder()} can be configured freely and models fall back to the reflective adapter.
+     *
+     * <p>Exclusion settings are only visible through the deprecated {@link Gson#excluder()}: a probe
+     * model would miss exclusion strategies that skip other classes or names. Its deprecation is
+     * suppressed for that one comparison, and Gson instances share the default excluder until they
+     * are given exclusion settings.
+     *
+     * @param gson The Gson instance.
+     * @return Whether generated adapters can be used.
+     */
+    public static boolean supports(Gson gson) {
+        @SuppressWarnings("deprecation")
+        boolean defaultExclusion = gson.excluder() == DEFAULTS.excluder();
+        if (gson.fieldNamingStrategy() != DEFAULTS.fieldNamingStrategy() || !defaultExclusion) {
+            return false;
+        }
+        for (Class<?> type : DIRECT) {
+            if (gson.getAdapter(type).getClass() != DEFAULTS.getAdapter(type).getClass()) return false;
+        }
+        return true;
+    }
+
+    protected static boolean isNull(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.NULL) return false;
+        in.nextNull();
+        return true;
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return token == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+    }
+
+    protected static boolean readBoolean(JsonReader in) throws IOException {
+        return in.peek() == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();
+    }
+
+    protected static int readInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static long readLong(JsonReader in) throws IOException {
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static double readDouble(JsonReader in) throws IOException {
+        return in.nextDouble();
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.*;
 
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -36,13 +37,26 @@ public class ParameterValidator {
      * @return A list of validation error messages. Returns an empty list if no violations are found.
      */
     public List<String> validateParameters(Object[] args, Parameter[] parameters) {
+        return validateParameters(args, validatedParameters(parameters));
+    }
+
+        /**
+     * Validates the arguments at the given indices, which {@link #validatedParameters} found once for the method.
+     *
+     * <p>This is the check of every dispatched request: it reads no annotations, and returns at once
+     * when no parameter is annotated with {@code @Valid}.
+     *
+     * @param args      An array of arguments to validate.
+     * @param validated The indices of the parameters annotated with {@code @Valid}.
+     * @return A list of validation error messages. Returns an empty list if no violations are found.
+     */
+    public List<String> validateParameters(Object[] args, int[] validated) {
+        if (validated.length == 0) return List.of();
         List<String> violations = new ArrayList<>();
 
-        for (int i = 0; i < args.length; i++) {
+        for (int i : validated) {
             Object arg = args[i];
-            Parameter param = parameters[i];
-
-            if (arg == null || !param.isAnnotationPresent(Valid.class)) continue;
+            if (arg == null) continue;
 
             Set<ConstraintViolation<Object>> result = validator.validate(arg);
             for (ConstraintViolation<?> v : result) {
@@ -53,4 +67,19 @@ public class ParameterValidator {
         return violations;
     }
 
+        /**
+     * Finds the parameters annotated with {@code @Valid}.
+     *
+     * @param parameters An array of {@link Parameter} objects representing the method parameters.
+     * @return The indices of the annotated parameters, in order.
+     */
+    public static int[] validatedParameters(Parameter[] parameters) {
+        int[] validated = new int[parameters.length];
+        int count = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(Valid.class)) validated[count++] = i;
+        }
+        return Arrays.copyOf(validated, count);
+    }
+
 }
@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "jnova"
@@ -13,9 +14,30 @@ repositories {
 dependencies {
     implementation(project(":jnova-core"))
     implementation(project(":jnova-annotations"))
+    annotationProcessor(project(":jnova-annotations"))
+    jmhAnnotationProcessor(project(":jnova-annotations"))
     implementation("io.github.classgraph:classgraph:4.8.179")
     implementation("io.projectreactor:reactor-core:3.8.0-M3")
     implementation("com.google.code.gson:gson:2.13.1")
+    testImplementation(platform("org.junit:junit-bom:5.10.0"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
 }
 
 publishing {
@@ -0,0 +1,124 @@
+package jnova.tcp.dispatching;
+
+import com.google.gson.Gson;
+import jnova.annotations.tcp.FromSession;
+import jnova.annotations.tcp.JsonArg;
+import jnova.tcp.TcpSession;
+import jnova.tcp.dispatching.resolvers.ArgumentResolver;
+import jnova.tcp.dispatching.resolvers.ArgumentResolverRegistry;
+import jnova.tcp.dispatching.resolvers.BindingPlan;
+import jnova.tcp.dispatching.resolvers.FromSessionResolver;
+import jnova.tcp.dispatching.resolvers.JsonArgResolver;
+import jnova.tcp.dispatching.resolvers.JsonBodyResolver;
+import jnova.tcp.dispatching.resolvers.RoomRegistryResolver;
+import jnova.tcp.dispatching.resolvers.TcpSessionResolver;
+import jnova.tcp.framing.LineFraming;
+import jnova.tcp.transport.TcpTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding the arguments of a handler with a {@link BindingPlan} against resolving them
+ * through the {@link ArgumentResolverRegistry} on every request, as the dispatcher did before.
+ *
+ * <p>{@code customResolvers} adds resolvers that support none of the parameters, after the
+ * built-in ones. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BindingPlanBenchmark {
+    @Param({"0", "4"})
+    public int customResolvers;
+
+    private final ArgumentResolverRegistry registry = new ArgumentResolverRegistry();
+    private final Map<String, Object> json = Map.of("command", "SAY", "room", "lobby", "count", 3.0);
+    private TcpSession session;
+    private Method method;
+    private BindingPlan plan;
+
+    @Setup
+    public void setup() throws Exception {
+        registry.registerAll(List.of(new TcpSessionResolver(), new RoomRegistryResolver(), new JsonArgResolver(),
+                new FromSessionResolver(), new JsonBodyResolver()));
+        List<ArgumentResolver> custom = List.of(new Custom1(), new Custom2(), new Custom3(), new Custom4());
+        registry.registerAll(custom.subList(0, customResolvers));
+
+        session = new TcpSession(new IdleTransport(), "session-1", new LineFraming());
+        method = BindingPlanBenchmark.class.getMethod("handle", TcpSession.class, String.class, String.class, int.class);
+        plan = registry.plan(method);
+    }
+
+    @Benchmark
+    public Object[] resolvers() {
+        return registry.resolveArguments(method.getParameters(), json, session);
+    }
+
+    @Benchmark
+    public Object[] plan() {
+        return plan.bind(json, session);
+    }
+
+    public void handle(TcpSession session, @FromSession String id, @JsonArg("room") String room, @JsonArg("count") int count) {
+    }
+
+    static class IdleTransport implements TcpTransport {
+        @Override
+        public Mono<Void> send(byte[] message) {
+            return Mono.empty();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return InetSocketAddress.createUnresolved("localhost", 0);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    abstract static class CustomResolver implements ArgumentResolver {
+        @Override
+        public boolean supports(Parameter parameter) {
+            return parameter.isAnnotationPresent(Deprecated.class);
+        }
+
+        @Override
+        public Object resolve(Parameter parameter, Map<String, Object> json, TcpSession session, Gson gson) {
+            return null;
+        }
+    }
+
+    static class Custom1 extends CustomResolver {
+    }
+
+    static class Custom2 extends CustomResolver {
+    }
+
+    static class Custom3 extends CustomResolver {
+    }
+
+    static class Custom4 extends CustomResolver {
+    }
+}
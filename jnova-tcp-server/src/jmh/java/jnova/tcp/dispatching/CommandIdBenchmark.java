@@ -0,0 +1,70 @@
+package jnova.tcp.dispatching;
+
+import jnova.tcp.dispatching.resolvers.ArgumentResolverRegistry;
+import jnova.tcp.protocol.CommandHeader;
+import jnova.tcp.protocol.JsonDocument;
+import jnova.tcp.protocol.RequestDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares routing a short chat message by its {@code type} and {@code command} fields with routing
+ * it by a {@link CommandHeader}: each benchmark decodes the frame, finds the handler and reads the
+ * one argument, as the JSON handler does for every message of a chatty client.
+ *
+ * <p>The size of both frames is printed when the benchmark is set up. Run with
+ * {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandIdBenchmark {
+    private final TcpTypeHandler typeHandler = new TcpTypeHandler(new ArgumentResolverRegistry());
+    private byte[] routed;
+    private byte[] headed;
+
+    @Setup
+    public void setup() throws Exception {
+        Method method = CommandIdBenchmark.class.getMethod("handle");
+        List<TcpTypeHandler.HandlerMethod> handlers = new ArrayList<>();
+        for (String command : List.of("JOIN", "LEAVE", "PING", "SAY", "TYPING")) {
+            handlers.add(new TcpTypeHandler.HandlerMethod("command", command, method, this, args -> {}, null));
+        }
+        typeHandler.registerType("chat", CommandIdBenchmark.class, handlers);
+        int say = CommandTable.id("chat", "SAY");
+
+        routed = "{\"type\":\"chat\",\"command\":\"SAY\",\"text\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+        headed = CommandHeader.write(say, "{\"text\":\"ok\"}".getBytes(StandardCharsets.UTF_8));
+        System.out.println("routing fields " + routed.length + " bytes, command header " + headed.length + " bytes");
+    }
+
+    @Benchmark
+    public void routingFields(Blackhole bh) {
+        RequestDocument json = JsonDocument.parse(routed);
+        bh.consume(typeHandler.lookup(json.getType(), "command", json.getCommand()));
+        bh.consume(json.getString("text"));
+    }
+
+    @Benchmark
+    public void commandHeader(Blackhole bh) {
+        CommandHeader header = CommandHeader.read(headed);
+        RequestDocument json = JsonDocument.parse(header.body(headed));
+        bh.consume(typeHandler.commands().handler(header.id()));
+        bh.consume(json.getString("text"));
+    }
+
+    public void handle() {
+    }
+}
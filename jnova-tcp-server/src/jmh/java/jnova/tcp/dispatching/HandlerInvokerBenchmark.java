@@ -0,0 +1,75 @@
+package jnova.tcp.dispatching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of calling a handler through {@link Method#invoke}, which the dispatchers used
+ * before, with the invokers compiled by {@link HandlerInvokers}.
+ *
+ * <p>{@code lambda} is the path taken by public handlers, {@code methodHandle} the fallback for
+ * handlers that are not accessible to generated classes, and {@code direct} a plain call as the
+ * lower bound. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandlerInvokerBenchmark {
+    private final PublicHandler handler = new PublicHandler();
+    private final HiddenHandler hidden = new HiddenHandler();
+    private final Object[] args = {"lobby", 42};
+    private Method method;
+    private HandlerInvoker lambda;
+    private HandlerInvoker methodHandle;
+
+    @Setup
+    public void setup() throws Exception {
+        method = PublicHandler.class.getMethod("handle", String.class, int.class);
+        lambda = HandlerInvokers.compile(handler, method);
+        methodHandle = HandlerInvokers.compile(hidden, HiddenHandler.class.getDeclaredMethod("handle", String.class, int.class));
+    }
+
+    @Benchmark
+    public void reflection() throws Exception {
+        method.invoke(handler, args);
+    }
+
+    @Benchmark
+    public void lambda() throws Throwable {
+        lambda.invoke(args);
+    }
+
+    @Benchmark
+    public void methodHandle() throws Throwable {
+        methodHandle.invoke(args);
+    }
+
+    @Benchmark
+    public void direct() {
+        handler.handle((String) args[0], (Integer) args[1]);
+    }
+
+    public static class PublicHandler {
+        int total;
+
+        public void handle(String room, int count) {
+            total += room.length() + count;
+        }
+    }
+
+    static class HiddenHandler {
+        int total;
+
+        void handle(String room, int count) {
+            total += room.length() + count;
+        }
+    }
+}
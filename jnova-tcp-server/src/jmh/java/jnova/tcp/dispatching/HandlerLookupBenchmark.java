@@ -0,0 +1,69 @@
+package jnova.tcp.dispatching;
+
+import jnova.tcp.dispatching.resolvers.ArgumentResolverRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the handler index of {@link TcpTypeHandler} with the linear scan it replaced, looking up
+ * the last registered command of a type in mixed case, and with the {@link CommandTable} lookup of
+ * its command ID.
+ *
+ * <p>The scan grows with {@code handlers}; the index and the table should not. Run with
+ * {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandlerLookupBenchmark {
+    @Param({"10", "180"})
+    public int handlers;
+
+    private final TcpTypeHandler typeHandler = new TcpTypeHandler(new ArgumentResolverRegistry());
+    private final List<TcpTypeHandler.HandlerMethod> list = new ArrayList<>();
+    private String command;
+    private int commandId;
+
+    @Setup
+    public void setup() throws Exception {
+        Method method = HandlerLookupBenchmark.class.getMethod("handle");
+        for (int i = 0; i < handlers; i++) {
+            list.add(new TcpTypeHandler.HandlerMethod("command", "COMMAND_" + i, method, this, args -> {}, null));
+        }
+        typeHandler.registerType("command", HandlerLookupBenchmark.class, list);
+        command = "Command_" + (handlers - 1);
+        commandId = CommandTable.id("command", "COMMAND_" + (handlers - 1));
+    }
+
+    @Benchmark
+    public TcpTypeHandler.HandlerMethod index() {
+        return typeHandler.lookup("command", "command", command);
+    }
+
+    @Benchmark
+    public TcpTypeHandler.HandlerMethod commandId() {
+        return typeHandler.commands().handler(commandId);
+    }
+
+    @Benchmark
+    public Optional<TcpTypeHandler.HandlerMethod> linearScan() {
+        return list.stream()
+                .filter(h -> h.key().equalsIgnoreCase("command") && h.value().equalsIgnoreCase(command))
+                .findFirst();
+    }
+
+    public void handle() {
+    }
+}
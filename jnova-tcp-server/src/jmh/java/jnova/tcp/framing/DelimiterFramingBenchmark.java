@@ -0,0 +1,82 @@
+package jnova.tcp.framing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chunked, word-at-a-time {@link DelimiterFraming} with the byte-at-a-time reader it replaced.
+ *
+ * <p>Each invocation decodes about 4 MB of {@code \n}-delimited frames of the given size from an
+ * in-memory stream. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DelimiterFramingBenchmark {
+    private static final int TOTAL_BYTES = 4 * 1024 * 1024;
+
+    @Param({"64", "1024", "65536"})
+    public int frameSize;
+
+    private byte[] data;
+    private final DelimiterFraming framing = new DelimiterFraming('\n');
+
+    @Setup
+    public void setup() {
+        byte[] frame = new byte[frameSize - 1];
+        Arrays.fill(frame, (byte) 'x');
+        ByteArrayOutputStream out = new ByteArrayOutputStream(TOTAL_BYTES + frameSize);
+        while (out.size() < TOTAL_BYTES) {
+            out.writeBytes(frame);
+            out.write('\n');
+        }
+        data = out.toByteArray();
+    }
+
+    @Benchmark
+    public void chunked(Blackhole bh) {
+        framing.readMessages(new ByteArrayInputStream(data)).doOnNext(bh::consume).blockLast();
+    }
+
+    @Benchmark
+    public void byteAtATime(Blackhole bh) {
+        byteAtATime(new ByteArrayInputStream(data), (byte) '\n').doOnNext(bh::consume).blockLast();
+    }
+
+    /**
+     * The previous {@link DelimiterFraming#readMessages(InputStream)}, kept as the baseline.
+     */
+    private static Flux<byte[]> byteAtATime(InputStream input, byte delimiter) {
+        return Flux.create(sink -> {
+            try {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                int b;
+                while ((b = input.read()) != -1 && !sink.isCancelled()) {
+                    if (b == delimiter) {
+                        sink.next(buffer.toByteArray());
+                        buffer.reset();
+                    } else {
+                        buffer.write(b);
+                    }
+                }
+                sink.complete();
+            } catch (Throwable e) {
+                sink.error(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package jnova.tcp.models;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import jnova.annotations.tcp.JsonModel;
+import jnova.core.util.GsonFactory;
+import jnova.tcp.protocol.TcpMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the type adapters generated for models with Gson's reflective adapters, writing a
+ * {@link TcpMessage} and reading and writing an order with nested items.
+ *
+ * <p>{@code reflective} uses a plain Gson instance, {@code generated} one built by
+ * {@link GsonFactory#builder()}. The generated factories are registered directly as well, since the
+ * benchmark jar keeps only one of the service files listing them. Run with
+ * {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelAdapterBenchmark {
+    @Param({"reflective", "generated"})
+    public String adapters;
+
+    private final TcpMessage message = new TcpMessage("said", "4d659250-6d41-4a0c-bff1-e4b13109d83d", "hello everyone");
+    private final String orderJson = "{\"id\":1042,\"customer\":\"c-1042\",\"paid\":true,\"total\":130.25,"
+            + "\"items\":[{\"sku\":\"A-1\",\"qty\":2,\"price\":9.5},{\"sku\":\"B-7\",\"qty\":1,\"price\":120.0},"
+            + "{\"sku\":\"C-3\",\"qty\":12,\"price\":0.75}],\"note\":\"leave at the door\"}";
+    private Gson gson;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        gson = adapters.equals("generated")
+                ? GsonFactory.builder()
+                        .registerTypeAdapterFactory(new jnova.tcp.protocol.JNovaTypeAdapters())
+                        .registerTypeAdapterFactory(new JNovaTypeAdapters())
+                        .create()
+                : new GsonBuilder().create();
+        order = gson.fromJson(orderJson, Order.class);
+    }
+
+    @Benchmark
+    public String writeMessage() {
+        return gson.toJson(message);
+    }
+
+    @Benchmark
+    public Order readOrder() {
+        return gson.fromJson(orderJson, Order.class);
+    }
+
+    @Benchmark
+    public String writeOrder() {
+        return gson.toJson(order);
+    }
+
+    @JsonModel
+    public static class Order {
+        long id;
+        String customer;
+        boolean paid;
+        double total;
+        List<Item> items;
+        String note;
+    }
+
+    public static class Item {
+        String sku;
+        int qty;
+        double price;
+    }
+}
@@ -0,0 +1,80 @@
+package jnova.tcp.protocol;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding an order request with {@code items} line items in the JSON and the binary
+ * encodings: {@code accessors} routes the request and reads a few values through the typed
+ * accessors, {@code bind} converts the order to a model as a {@code @JsonArg} parameter would be.
+ *
+ * <p>The size of both frames is printed when the benchmark is set up. Compare the allocation rates
+ * with {@code -prof gc}. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodecBenchmark {
+    @Param({"json", "binary"})
+    public String codec;
+
+    @Param({"4", "64"})
+    public int items;
+
+    private MessageCodec messageCodec;
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("{\"type\":\"shop\",\"command\":\"ORDER\",\"user\":{\"id\":1042,\"admin\":false},"
+                + "\"order\":{\"id\":\"o-77\",\"rush\":true,\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"sku\":\"SKU-").append(1000 + i).append("\",\"quantity\":").append(i % 5 + 1)
+                    .append(",\"unitPrice\":").append(i * 3 + 0.5).append('}');
+        }
+        byte[] json = sb.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+        byte[] binary = new BinaryCodec().encode(JsonDocument.parse(json).getTree());
+        System.out.println(items + " items: json " + json.length + " bytes, binary " + binary.length + " bytes");
+        messageCodec = codec.equals("json") ? new JsonCodec() : new BinaryCodec();
+        frame = codec.equals("json") ? json : binary;
+    }
+
+    @Benchmark
+    public void accessors(Blackhole bh) {
+        RequestDocument json = messageCodec.decode(frame);
+        bh.consume(json.getType());
+        bh.consume(json.getCommand());
+        bh.consume(json.getLong("user.id"));
+        bh.consume(json.getString("order.id"));
+        bh.consume(json.getBoolean("order.rush"));
+    }
+
+    @Benchmark
+    public Order bind() {
+        return messageCodec.decode(frame).bind("order", Order.class);
+    }
+
+    public static class Order {
+        String id;
+        boolean rush;
+        List<Item> items;
+    }
+
+    public static class Item {
+        String sku;
+        int quantity;
+        double unitPrice;
+    }
+}
@@ -0,0 +1,87 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.util.GsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reads a typical request makes, a middleware reading a user id and a handler reading
+ * a room, a count and a nested flag, against a request carrying {@code fields} other fields.
+ *
+ * <p>{@code map} parses the request into a map and converts each value through Gson, as consumers
+ * did before; {@code tree} parses it into a Gson tree and reads the elements; {@code document} reads
+ * the values from the frame through the typed accessors of a {@link JsonDocument}. Compare the
+ * allocation rates with {@code -prof gc}. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DocumentBenchmark {
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+
+    @Param({"8", "64"})
+    public int fields;
+
+    private final Gson gson = GsonFactory.get();
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("{\"type\":\"chat\",\"command\":\"SAY\",\"user\":{\"id\":1042,\"admin\":false}");
+        for (int i = 0; i < fields; i++) {
+            sb.append(",\"field").append(i).append("\":");
+            if (i % 2 == 0) {
+                sb.append("\"value ").append(i).append('"');
+            } else {
+                sb.append(i * 31);
+            }
+        }
+        frame = sb.append(",\"room\":\"lobby\",\"count\":3}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void map(Blackhole bh) {
+        Map<String, Object> json = gson.fromJson(new String(frame, StandardCharsets.UTF_8), MAP_TYPE);
+        Map<String, Object> user = (Map<String, Object>) json.get("user");
+        bh.consume(gson.fromJson(gson.toJson(user.get("id")), long.class));
+        bh.consume(gson.fromJson(gson.toJson(json.get("room")), String.class));
+        bh.consume(gson.fromJson(gson.toJson(json.get("count")), int.class));
+        bh.consume(gson.fromJson(gson.toJson(user.get("admin")), boolean.class));
+    }
+
+    @Benchmark
+    public void tree(Blackhole bh) {
+        JsonObject json = JsonParser.parseString(new String(frame, StandardCharsets.UTF_8)).getAsJsonObject();
+        JsonObject user = json.getAsJsonObject("user");
+        bh.consume(user.get("id").getAsLong());
+        bh.consume(json.get("room").getAsString());
+        bh.consume(json.get("count").getAsInt());
+        bh.consume(user.get("admin").getAsBoolean());
+    }
+
+    @Benchmark
+    public void document(Blackhole bh) {
+        JsonDocument json = JsonDocument.parse(frame);
+        bh.consume(json.getLong("user.id"));
+        bh.consume(json.getString("room"));
+        bh.consume(json.getInt("count"));
+        bh.consume(json.getBoolean("user.admin"));
+    }
+}
@@ -0,0 +1,67 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.util.GsonFactory;
+import jnova.tcp.dispatching.ArgumentBindings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a request and binding a {@code @JsonBody} and a generic {@code @JsonArg} from it.
+ *
+ * <p>{@code roundTrip} is the previous path: the frame decoded to a string, parsed into a map, and
+ * every bound value printed back to JSON and parsed again. {@code document} parses the frame bytes
+ * into a {@link JsonDocument} and binds straight from them. Run with {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonBindingBenchmark {
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+    private static final Type ITEMS_TYPE = new TypeToken<List<Item>>() {}.getType();
+
+    private final Gson gson = GsonFactory.get();
+    private final byte[] frame = ("{\"type\":\"shop\",\"command\":\"ORDER\",\"customer\":\"c-1042\","
+            + "\"items\":[{\"sku\":\"A-1\",\"qty\":2,\"price\":9.5},{\"sku\":\"B-7\",\"qty\":1,\"price\":120.0},"
+            + "{\"sku\":\"C-3\",\"qty\":12,\"price\":0.75}],\"note\":\"leave at the door\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public Object roundTrip() {
+        Map<String, Object> json = gson.fromJson(new String(frame), MAP_TYPE);
+        Order order = gson.fromJson(gson.toJson(json), Order.class);
+        List<Item> items = gson.fromJson(gson.toJson(json.get("items")), ITEMS_TYPE);
+        return order.items.size() + items.size();
+    }
+
+    @Benchmark
+    public Object document() {
+        Map<String, Object> json = JsonDocument.parse(frame);
+        Order order = ArgumentBindings.jsonBody(json, Order.class);
+        List<Item> items = ArgumentBindings.jsonArg(json, "items", ITEMS_TYPE);
+        return order.items.size() + items.size();
+    }
+
+    static class Order {
+        String customer;
+        List<Item> items;
+        String note;
+    }
+
+    static class Item {
+        String sku;
+        int qty;
+        double price;
+    }
+}
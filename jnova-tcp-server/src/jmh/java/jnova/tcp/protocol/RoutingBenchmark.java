@@ -0,0 +1,63 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.util.GsonFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the routing fields of a request by parsing it into a map, as the JSON handler
+ * did before, with the byte-level peek of {@link JsonDocument#parse}.
+ *
+ * <p>The request carries {@code items} objects after its routing fields. Run with
+ * {@code gradle :jnova-tcp-server:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoutingBenchmark {
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {}.getType();
+
+    @Param({"1", "32", "1024"})
+    public int items;
+
+    private final Gson gson = GsonFactory.get();
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("{\"type\":\"shop\",\"command\":\"ORDER\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"sku\":\"SKU-").append(i).append("\",\"qty\":").append(i % 7).append(",\"price\":9.5}");
+        }
+        frame = sb.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void map(Blackhole bh) {
+        Map<String, Object> json = gson.fromJson(new String(frame), MAP_TYPE);
+        bh.consume(json.get("type"));
+        bh.consume(json.get("command"));
+    }
+
+    @Benchmark
+    public void peek(Blackhole bh) {
+        JsonDocument json = JsonDocument.parse(frame);
+        bh.consume(json.getType());
+        bh.consume(json.getCommand());
+    }
+}
@@ -0,0 +1,132 @@
+package jnova.tcp;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The outcome of a broadcast.
+ *
+ * <p>{@link #getQueued()} and {@link #getSkipped()} are final once the broadcast call has returned:
+ * a session is skipped when it is closed or its outbound queue is full, and queued otherwise.
+ * {@link #getDelivered()} and {@link #getFailed()} count queued frames as they are written or fail,
+ * and {@link #whenSettled()} completes once every queued frame has been accounted for.
+ */
+public final class BroadcastResult {
+    private final int targets;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger(1);
+    private final Sinks.One<BroadcastResult> settled = Sinks.one();
+
+    BroadcastResult(int targets) {
+        this.targets = targets;
+    }
+
+    static BroadcastResult none() {
+        BroadcastResult result = new BroadcastResult(0);
+        result.fannedOut();
+        return result;
+    }
+
+        /**
+     * Returns the number of sessions the broadcast was addressed to.
+     *
+     * @return The number of target sessions.
+     */
+    public int getTargets() {
+        return targets;
+    }
+
+        /**
+     * Returns the number of sessions the frame was handed to.
+     *
+     * @return The number of sessions whose outbound queue accepted the frame.
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+        /**
+     * Returns the number of sessions the frame was not handed to.
+     *
+     * @return The number of closed sessions and sessions whose outbound queue was full.
+     */
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+        /**
+     * Returns the number of sessions the frame has been written to so far.
+     *
+     * @return The number of completed writes.
+     */
+    public int getDelivered() {
+        return delivered.get();
+    }
+
+        /**
+     * Returns the number of queued writes that failed so far, typically because the connection closed.
+     *
+     * @return The number of failed writes.
+     */
+    public int getFailed() {
+        return failed.get();
+    }
+
+        /**
+     * Returns a {@link Mono} emitting this result once every queued frame has been written or has failed.
+     *
+     * @return A {@link Mono} of this result.
+     */
+    public Mono<BroadcastResult> whenSettled() {
+        return settled.asMono();
+    }
+
+    void queued() {
+        queued.incrementAndGet();
+        pending.incrementAndGet();
+    }
+
+    void rejected() {
+        queued.decrementAndGet();
+        pending.decrementAndGet();
+        skipped.incrementAndGet();
+    }
+
+    void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    void delivered() {
+        delivered.incrementAndGet();
+        settle();
+    }
+
+    void failed() {
+        failed.incrementAndGet();
+        settle();
+    }
+
+    /**
+     * Marks the end of the fan-out, after which the result settles as soon as nothing is pending.
+     */
+    void fannedOut() {
+        settle();
+    }
+
+    private void settle() {
+        if (pending.decrementAndGet() == 0) {
+            settled.tryEmitValue(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BroadcastResult{targets=" + targets + ", queued=" + getQueued() + ", skipped=" + getSkipped()
+                + ", delivered=" + getDelivered() + ", failed=" + getFailed() + "}";
+    }
+}
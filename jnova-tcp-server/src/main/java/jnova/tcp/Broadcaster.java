@@ -0,0 +1,141 @@
+package jnova.tcp;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.FramingStrategy;
+import jnova.tcp.transport.OutboundFramer;
+import jnova.tcp.transport.TcpTransport;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Fans a message out to many sessions, framing it only once.
+ *
+ * <p>The message is framed into a pooled buffer of the pool each target transport writes from,
+ * which is a single buffer for all sessions of a server, and every target's outbound queue receives
+ * a read-only view of that buffer through {@link TcpTransport#sendFramed(PooledBuffer, byte[])}.
+ * Nothing is scheduled per session: the transports' own writers pick the frame up.
+ *
+ * <p>Broadcasts to all sessions iterate an array snapshot of the session map, which is rebuilt only
+ * when sessions have been added or removed since the previous broadcast.
+ */
+public final class Broadcaster {
+    private final SessionSnapshot sessions;
+    private final OutboundFramer framer;
+
+        /**
+     * Constructs a broadcaster.
+     *
+     * @param sessions        The live sessions, keyed by session ID.
+     * @param framingStrategy The strategy used to frame broadcast messages.
+     */
+    public Broadcaster(Map<String, TcpSession> sessions, FramingStrategy framingStrategy) {
+        this.sessions = new SessionSnapshot(sessions.values());
+        this.framer = new OutboundFramer(framingStrategy);
+    }
+
+        /**
+     * Invalidates the session snapshot; called whenever a session is added to or removed from the map.
+     */
+    public void sessionsChanged() {
+        sessions.invalidate();
+    }
+
+        /**
+     * Returns the sessions a broadcast to everyone currently goes to.
+     *
+     * @return An array snapshot of the session map; callers must not modify it.
+     */
+    public TcpSession[] snapshot() {
+        return sessions.get();
+    }
+
+        /**
+     * Broadcasts a message to every live session.
+     *
+     * @param message The message to broadcast, without framing.
+     * @return The outcome of the broadcast.
+     * @throws UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult broadcast(byte[] message) {
+        return broadcast(message, snapshot());
+    }
+
+        /**
+     * Broadcasts a message to the given sessions.
+     *
+     * @param message The message to broadcast, without framing.
+     * @param targets The sessions to send the message to.
+     * @return The outcome of the broadcast.
+     * @throws UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult broadcast(byte[] message, TcpSession[] targets) {
+        BroadcastResult result = new BroadcastResult(targets.length);
+        PooledBuffer heapFrame = null;
+        PooledBuffer directFrame = null;
+        try {
+            for (TcpSession target : targets) {
+                if (!target.isAlive()) {
+                    result.skipped();
+                    continue;
+                }
+                TcpTransport transport = target.transport();
+                BufferPool pool = transport.outboundBufferPool();
+                PooledBuffer frame;
+                if (pool == BufferPool.direct()) {
+                    if (directFrame == null) directFrame = framer.frame(message, pool);
+                    frame = directFrame;
+                } else {
+                    if (heapFrame == null) heapFrame = framer.frame(message, pool);
+                    frame = heapFrame;
+                }
+                result.queued();
+                Delivery delivery = new Delivery(result);
+                transport.sendFramed(frame, message).subscribe(delivery);
+                delivery.subscribed();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (heapFrame != null) heapFrame.release();
+            if (directFrame != null) directFrame.release();
+            result.fannedOut();
+        }
+        return result;
+    }
+
+    /**
+     * Counts the outcome of one session's write. Errors signalled while subscribing come from the
+     * transport refusing the frame, so the session counts as skipped rather than failed.
+     */
+    private static final class Delivery extends BaseSubscriber<Void> {
+        private final BroadcastResult result;
+        private final Thread caller = Thread.currentThread();
+        private volatile boolean subscribing = true;
+
+        Delivery(BroadcastResult result) {
+            this.result = result;
+        }
+
+        void subscribed() {
+            subscribing = false;
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            result.delivered();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            if (subscribing && Thread.currentThread() == caller) {
+                result.rejected();
+            } else {
+                result.failed();
+            }
+        }
+    }
+}
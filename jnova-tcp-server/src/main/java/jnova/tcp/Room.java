@@ -0,0 +1,68 @@
+package jnova.tcp;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A named group of sessions that messages can be published to, also known as a topic.
+ *
+ * <p>Rooms are created and removed by a {@link RoomRegistry} as sessions join and leave them; a
+ * room exists as long as it has members.
+ */
+public final class Room {
+    private final String name;
+    private final Set<TcpSession> members = ConcurrentHashMap.newKeySet();
+    private final SessionSnapshot snapshot = new SessionSnapshot(members);
+
+    Room(String name) {
+        this.name = name;
+    }
+
+        /**
+     * Returns the name of this room.
+     *
+     * @return The room name.
+     */
+    public String getName() {
+        return name;
+    }
+
+        /**
+     * Returns the sessions currently in this room.
+     *
+     * @return An unmodifiable live view of the members.
+     */
+    public Set<TcpSession> getMembers() {
+        return Collections.unmodifiableSet(members);
+    }
+
+        /**
+     * Returns the number of sessions in this room.
+     *
+     * @return The member count.
+     */
+    public int size() {
+        return members.size();
+    }
+
+    boolean add(TcpSession session) {
+        if (!members.add(session)) return false;
+        snapshot.invalidate();
+        return true;
+    }
+
+    boolean remove(TcpSession session) {
+        if (!members.remove(session)) return false;
+        snapshot.invalidate();
+        return true;
+    }
+
+    boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    TcpSession[] snapshot() {
+        return snapshot.get();
+    }
+}
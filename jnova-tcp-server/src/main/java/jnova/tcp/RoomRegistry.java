@@ -0,0 +1,117 @@
+package jnova.tcp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rooms of a server, indexed by name.
+ *
+ * <p>Membership is kept in both directions: each {@link Room} holds its sessions and each
+ * {@link TcpSession} holds the names of its rooms. Publishing to a room therefore costs one lookup
+ * and a walk over its members, independent of how many sessions are connected, and a closing
+ * session leaves its rooms without scanning the others.
+ *
+ * <p>Joins and leaves of the same room are serialized by the index, so a room is created by its
+ * first member and dropped with its last without losing a concurrent join. A join records the room
+ * in the session before adding the session to the room, and undoes itself if the session closed in
+ * the meantime, so a session closing concurrently never stays behind in a room: either
+ * {@link #leaveAll} sees the room, or the join sees the session closed.
+ */
+public final class RoomRegistry {
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final Broadcaster broadcaster;
+
+        /**
+     * Constructs a registry publishing through the given broadcaster.
+     *
+     * @param broadcaster The broadcaster framing and fanning out published messages.
+     */
+    public RoomRegistry(Broadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+        /**
+     * Adds a session to a room, creating the room if needed.
+     *
+     * @param room    The name of the room.
+     * @param session The session joining the room.
+     * @return true if the session was not in the room yet; false if it was, or if it is closed.
+     */
+    public boolean join(String room, TcpSession session) {
+        if (!session.isAlive()) return false;
+        session.joinedRooms().add(room);
+        boolean[] joined = {false};
+        rooms.compute(room, (name, r) -> {
+            if (r == null) r = new Room(name);
+            joined[0] = r.add(session);
+            return r;
+        });
+        if (!session.isAlive()) {
+            leave(room, session);
+            return false;
+        }
+        return joined[0];
+    }
+
+        /**
+     * Removes a session from a room, dropping the room once it is empty.
+     *
+     * @param room    The name of the room.
+     * @param session The session leaving the room.
+     * @return true if the session was in the room.
+     */
+    public boolean leave(String room, TcpSession session) {
+        boolean[] left = {false};
+        rooms.computeIfPresent(room, (name, r) -> {
+            left[0] = r.remove(session);
+            return r.isEmpty() ? null : r;
+        });
+        session.joinedRooms().remove(room);
+        return left[0];
+    }
+
+        /**
+     * Removes a session from every room it is in; called once the session has been closed.
+     *
+     * @param session The session leaving its rooms.
+     */
+    public void leaveAll(TcpSession session) {
+        for (String room : session.joinedRooms()) {
+            leave(room, session);
+        }
+    }
+
+        /**
+     * Publishes a message to every session in a room, framing it once.
+     *
+     * @param room    The name of the room.
+     * @param message The message to publish, without framing.
+     * @return The outcome of the broadcast; it has no targets if the room does not exist.
+     * @throws java.io.UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult publish(String room, byte[] message) {
+        Room r = rooms.get(room);
+        return r != null ? broadcaster.broadcast(message, r.snapshot()) : BroadcastResult.none();
+    }
+
+        /**
+     * Returns a room by name.
+     *
+     * @param room The name of the room.
+     * @return The room, or null if no session is in it.
+     */
+    public Room getRoom(String room) {
+        return rooms.get(room);
+    }
+
+        /**
+     * Returns the names of all rooms that currently have members.
+     *
+     * @return An unmodifiable live view of the room names.
+     */
+    public Set<String> getRoomNames() {
+        return Collections.unmodifiableSet(rooms.keySet());
+    }
+}
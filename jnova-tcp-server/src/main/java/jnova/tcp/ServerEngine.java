@@ -0,0 +1,20 @@
+package jnova.tcp;
+
+/**
+ * Represents the I/O engines a {@link TcpServer} can run on.
+ */
+public enum ServerEngine {
+    /**
+     * Blocking sockets with one pooled thread per connection.
+     */
+    BLOCKING,
+    /**
+     * Blocking sockets with one virtual thread per connection; reads and writes park the
+     * virtual thread instead of holding a platform thread.
+     */
+    VIRTUAL_THREADS,
+    /**
+     * Non-blocking channels served by a fixed group of selector event loops.
+     */
+    NIO
+}
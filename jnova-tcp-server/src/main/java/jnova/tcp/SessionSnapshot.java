@@ -0,0 +1,44 @@
+package jnova.tcp;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cached array copy of a concurrent collection of sessions.
+ *
+ * <p>Iterating a concurrent collection for every broadcast is slower than iterating an array, and
+ * copying the collection for every broadcast costs an allocation per call. The copy is therefore
+ * kept until the owner reports a change with {@link #invalidate()}.
+ */
+final class SessionSnapshot {
+    private static final TcpSession[] NO_SESSIONS = new TcpSession[0];
+
+    private final Collection<TcpSession> sessions;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(-1, NO_SESSIONS);
+
+    SessionSnapshot(Collection<TcpSession> sessions) {
+        this.sessions = sessions;
+    }
+
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the current copy, rebuilding it if the collection changed since it was taken. A copy
+     * racing with a change is stored under the version read before copying, so it is rebuilt again
+     * on the next call.
+     */
+    TcpSession[] get() {
+        Snapshot current = snapshot;
+        long v = version.get();
+        if (current.version() != v) {
+            current = new Snapshot(v, sessions.toArray(NO_SESSIONS));
+            snapshot = current;
+        }
+        return current.sessions();
+    }
+
+    private record Snapshot(long version, TcpSession[] sessions) {}
+}
@@ -7,25 +7,41 @@ import jnova.core.events.EventType;
 import jnova.core.events.impl.ServerErrorEvent;
 import jnova.core.events.impl.ServerStartEvent;
 import jnova.core.events.impl.ServerStopEvent;
+import jnova.tcp.buffer.PooledBuffer;
 import jnova.tcp.dispatching.TcpMiddleware;
 import jnova.tcp.events.TcpMessageReceivedEvent;
 import jnova.tcp.events.TcpSessionCloseEvent;
 import jnova.tcp.events.TcpSessionErrorEvent;
 import jnova.tcp.events.TcpSessionOpenEvent;
+import jnova.tcp.events.TcpSlowConsumerEvent;
 import jnova.tcp.framing.FramingStrategy;
 import jnova.tcp.framing.LineFraming;
 import jnova.tcp.handler.TcpRequestHandler;
+import jnova.tcp.nio.NioChannelTransport;
+import jnova.tcp.nio.NioTcpEngine;
+import jnova.tcp.protocol.TcpMessage;
 import jnova.tcp.request.TcpBinaryRequest;
-import jnova.tcp.util.KeepAliveMonitor;
-import org.reactivestreams.Subscription;
+import jnova.tcp.transport.Heartbeat;
+import jnova.tcp.transport.HeartbeatResponder;
+import jnova.tcp.transport.InboundFlowControl;
+import jnova.tcp.transport.OutboundLimits;
+import jnova.tcp.transport.OverflowPolicy;
+import jnova.tcp.transport.SocketTransport;
+import jnova.tcp.transport.TcpTransport;
+import jnova.tcp.util.HashedTimingWheel;
 import reactor.core.publisher.BaseSubscriber;
-import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -41,21 +57,63 @@ import java.util.concurrent.*;
  * a thread pool to handle multiple concurrent client connections and supports configurable
  * framing strategies for message parsing.
  * <p>
- * The server also incorporates a keep-alive mechanism to monitor and close idle sessions,
- * and utilizes an event bus for publishing various events related to server lifecycle and
+ * The server also closes sessions that stay idle for longer than their idle timeout, tracked on
+ * one {@link HashedTimingWheel} for all sessions, and utilizes an event bus for publishing various events related to server lifecycle and
  * session activity.
+ * <p>
+ * Connections are served by the {@link ServerEngine} chosen through {@link #builder()}: the
+ * default blocking engine dedicates a pooled thread to every connection, the virtual-thread
+ * engine runs the same blocking code on virtual threads, and the NIO engine multiplexes all
+ * connections over a small, fixed number of selector threads.
  */
 public class TcpServer extends Server {
+    /**
+     * The number of requests per session processed concurrently unless configured otherwise.
+     */
+    public static final int DEFAULT_PIPELINING_WINDOW = 16;
+
+    /**
+     * The number of queued inbound frames per session at which reading pauses unless configured otherwise.
+     */
+    public static final int DEFAULT_HIGH_WATERMARK = 64;
+
+    /**
+     * The number of queued inbound frames per session at which reading resumes unless configured otherwise.
+     */
+    public static final int DEFAULT_LOW_WATERMARK = 16;
+
+    /**
+     * The message type of the credit frames sent when {@link Builder#creditFrames(boolean)} is enabled.
+     */
+    public static final String CREDIT_MESSAGE_TYPE = "credit";
+
+    /**
+     * How long a session may go without a frame being read or written before it is closed, unless configured otherwise.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
     private final FramingStrategy framingStrategy;
     private final ExecutorService threadPool;
     private final Map<String, TcpSession> sessionMap = new ConcurrentHashMap<>();
-    private final Duration idleTimeout = Duration.ofSeconds(30);
+    private final Broadcaster broadcaster;
+    private final RoomRegistry roomRegistry;
+    private final Duration idleTimeout;
     private final TcpRequestHandler handler;
     private final List<TcpMiddleware> middleware;
     private final EventBus eventBus = getEventBus();
+    private final ServerEngine engine;
+    private final int eventLoopThreads;
+    private final int pipeliningWindow;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final boolean creditFrames;
+    private final OutboundLimits outboundLimits;
+    private final HeartbeatResponder heartbeats;
+    private final Scheduler writeScheduler;
     private ServerSocket serverSocket;
+    private NioTcpEngine nioEngine;
     private volatile boolean running = false;
-    private KeepAliveMonitor keepAliveMonitor;
+    private HashedTimingWheel idleTimer;
 
     /**
      * Constructs a TcpServer with the given request handler, a cached thread pool, line framing, and no initial filters.
@@ -86,16 +144,77 @@ public class TcpServer extends Server {
      * @param middleware      A list of middleware to be executed on each request. Can be null or empty.
      */
     public TcpServer(TcpRequestHandler handler, ExecutorService pool, FramingStrategy framingStrategy, List<TcpMiddleware> middleware) {
-        this.handler = handler;
-        this.threadPool = pool;
-        this.framingStrategy = framingStrategy;
-        this.middleware = middleware != null ? middleware : List.of();
+        this(new Builder()
+                .handler(handler)
+                .threadPool(pool)
+                .framingStrategy(framingStrategy)
+                .middleware(middleware));
+    }
+
+    private TcpServer(Builder builder) {
+        this.handler = builder.handler;
+        this.engine = builder.engine;
+        this.threadPool = builder.pool != null ? builder.pool : builder.defaultPool();
+        this.framingStrategy = builder.framingStrategy != null ? builder.framingStrategy : new LineFraming();
+        this.middleware = builder.middleware != null ? builder.middleware : List.of();
+        this.broadcaster = new Broadcaster(sessionMap, framingStrategy);
+        this.roomRegistry = new RoomRegistry(broadcaster);
+        this.eventLoopThreads = builder.eventLoopThreads;
+        this.pipeliningWindow = builder.pipeliningWindow;
+        this.highWatermark = builder.highWatermark;
+        this.lowWatermark = builder.lowWatermark;
+        this.creditFrames = builder.creditFrames;
+        this.idleTimeout = builder.idleTimeout;
+        this.heartbeats = builder.heartbeat != null ? new HeartbeatResponder(builder.heartbeat, framingStrategy) : null;
+        this.outboundLimits = new OutboundLimits(builder.outboundQueueCapacity, builder.outboundQueueBytes, builder.overflowPolicy);
+        this.writeScheduler = engine == ServerEngine.VIRTUAL_THREADS
+                ? Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("jnova-vt-write-", 0).factory()), "jnova-vt-write")
+                : Schedulers.boundedElastic();
+    }
+
+        /**
+     * Returns a new Builder for configuring a TcpServer.
+     *
+     * @return A new Builder instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+        /**
+     * Broadcasts a message to every connected session, framing it once.
+     *
+     * @param message The message to broadcast, without framing.
+     * @return The outcome of the broadcast.
+     * @throws java.io.UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult broadcast(byte[] message) {
+        return broadcaster.broadcast(message);
+    }
+
+        /**
+     * Returns the broadcaster fanning messages out to this server's sessions.
+     *
+     * @return The server's broadcaster.
+     */
+    public Broadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+        /**
+     * Returns the rooms sessions of this server can join and publish to.
+     *
+     * @return The server's room registry.
+     */
+    public RoomRegistry getRoomRegistry() {
+        return roomRegistry;
     }
 
     /**
      * Starts the TCP server, listening for incoming client connections on the specified port.
      *
-     * <p>This method initializes the server socket, starts a keep-alive monitor,
+     * <p>This method initializes the server socket, starts the idle timer,
      * and enters a loop to accept and handle client connections.  It also emits
      * events for server startup and errors.</p>
      *
@@ -105,19 +224,29 @@ public class TcpServer extends Server {
     @Override
     public void start(int port) throws IOException {
         try {
-            serverSocket = new ServerSocket(port);
+            idleTimer = new HashedTimingWheel("jnova-idle-timer");
+            InetAddress address;
+            if (engine == ServerEngine.NIO) {
+                nioEngine = new NioTcpEngine(framingStrategy, eventLoopThreads, outboundLimits, this::handleChannel);
+                nioEngine.bind(port);
+                address = nioEngine.getInetAddress();
+            } else {
+                serverSocket = new ServerSocket(port);
+                address = serverSocket.getInetAddress();
+            }
             running = true;
-            System.out.println("JNova TCP Server listening on port " + port);
-
-            keepAliveMonitor = new KeepAliveMonitor(sessionMap, idleTimeout);
-            keepAliveMonitor.start();
+            System.out.println("JNova TCP Server listening on port " + port + " (" + engine + " engine)");
 
             eventBus.emit(EventBuilder.ofType(EventType.SERVER_START, ServerStartEvent::new)
                     .fromSource(this)
                     .with("port", port)
-                    .with("address", serverSocket.getInetAddress())
+                    .with("address", address)
                     .build());
 
+            if (nioEngine != null) {
+                nioEngine.acceptLoop();
+                return;
+            }
             while (running) {
                 Socket client = serverSocket.accept();
                 threadPool.submit(() -> handleClient(client));
@@ -126,7 +255,7 @@ public class TcpServer extends Server {
             eventBus.emit(EventBuilder.ofType(EventType.SERVER_ERROR, ServerErrorEvent::new)
                     .fromSource(this)
                     .with("port", port)
-                    .with("address", serverSocket != null ? serverSocket.getInetAddress() : null)
+                    .with("address", serverSocket != null ? serverSocket.getInetAddress() : nioEngine != null ? nioEngine.getInetAddress() : null)
                     .with("error", e)
                     .build());
             throw e;
@@ -138,11 +267,10 @@ public class TcpServer extends Server {
      * <p>
      * This method performs the following actions:
      * 1. Sets the `running` flag to false, indicating the server is no longer active.
-     * 2. Closes the `serverSocket` to prevent new connections.
-     * 3. Stops the `keepAliveMonitor` to halt keep-alive checks.
-     * 4. Iterates through active sessions, notifying each client about the server shutdown and closing the session.
-     * 5. Shuts down the `threadPool` to terminate active threads.
-     * 6. Emits a `SERVER_STOP` event to the event bus.
+     * 2. Closes the `serverSocket` (or the NIO acceptor) to prevent new connections.
+     * 3. Iterates through active sessions, notifying each client about the server shutdown and closing the session.
+     * 4. Shuts down the `threadPool`, any NIO event loops and the idle timer to terminate active threads.
+     * 5. Emits a `SERVER_STOP` event to the event bus.
      *
      * @throws IOException if an error occurs while closing the server socket or client sessions.
      */
@@ -152,9 +280,8 @@ public class TcpServer extends Server {
         if (serverSocket != null) {
             serverSocket.close();
         }
-
-        if (keepAliveMonitor != null) {
-            keepAliveMonitor.stop();
+        if (nioEngine != null) {
+            nioEngine.closeAcceptor();
         }
 
         System.out.println("Notifying clients about shutdown...");
@@ -171,6 +298,15 @@ public class TcpServer extends Server {
         });
 
         threadPool.shutdownNow();
+        if (engine == ServerEngine.VIRTUAL_THREADS) {
+            writeScheduler.dispose();
+        }
+        if (nioEngine != null) {
+            nioEngine.shutdown();
+        }
+        if (idleTimer != null) {
+            idleTimer.stop();
+        }
         System.out.println("JNova TCP Server stopped.");
         eventBus.emit(EventBuilder.ofType(EventType.SERVER_STOP, ServerStopEvent::new)
                 .fromSource(this)
@@ -180,9 +316,9 @@ public class TcpServer extends Server {
     /**
      * Handles a client connection on the given socket.
      *
-     * <p>This method manages the lifecycle of a TCP session, including establishing the session,
-     * handling incoming messages, processing requests, sending responses, and closing the session.
-     * It also incorporates middleware for handling connection events, exceptions, timeouts, and protocol errors.
+     * <p>This method runs on a pooled (or virtual) thread for the whole lifetime of the connection. It
+     * creates the session, serves the frames read by the framing strategy and waits until the session
+     * is closed.
      *
      * @param socket The socket representing the client connection.
      */
@@ -191,105 +327,497 @@ public class TcpServer extends Server {
         System.out.println("New connection [" + sessionId + "] from " + socket.getInetAddress());
         CountDownLatch latch = new CountDownLatch(1);
 
-        try (TcpSession session = new TcpSession(socket, sessionId, framingStrategy)) {
-            sessionMap.put(sessionId, session);
-            session.setSessions(sessionMap);
-
-            middleware.forEach(mw -> mw.onConnect(session));
+        SocketTransport transport = new SocketTransport(socket, framingStrategy, writeScheduler, outboundLimits);
+        try (TcpSession session = new TcpSession(transport, sessionId, framingStrategy)) {
+            serve(session, socket.getInetAddress(), framingStrategy.readFrames(transport.getInputStream()), latch::countDown);
 
-            eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_OPEN, TcpSessionOpenEvent::new)
-                    .fromSource(session)
+            latch.await();
+        } catch (IOException e) {
+            System.err.println("[" + sessionId + "] Connection error: " + e.getMessage());
+            eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_ERROR, TcpSessionErrorEvent::new)
+                    .fromSource(this)
                     .with("sessionId", sessionId)
-                    .with("remoteAddress", socket.getInetAddress())
+                    .with("error", e)
                     .build());
 
-            InputStream in = socket.getInputStream();
-
-            framingStrategy.readMessages(in)
-                    .timeout(idleTimeout)
-                    .onBackpressureBuffer(
-                            1,
-                            dropped -> System.err.println("[" + sessionId + "] Dropped message due to backpressure"),
-                            BufferOverflowStrategy.DROP_OLDEST
-                    )
-                    .subscribeWith(new BaseSubscriber<byte[]>() {
-                        @Override
-                        protected void hookOnSubscribe(Subscription subscription) {
-                            request(1);
-                        }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("[" + sessionId + "] Thread interrupted: " + e.getMessage());
+        }
+    }
 
-                        @Override
-                        protected void hookOnNext(byte[] messageBytes) {
-                            eventBus.emit(EventBuilder.ofType(EventType.TCP_MESSAGE_RECEIVED, TcpMessageReceivedEvent::new)
-                                    .fromSource(session)
-                                    .with("sessionId", sessionId)
-                                    .with("message", messageBytes)
-                                    .build());
-
-                            TcpBinaryRequest request = new TcpBinaryRequest(messageBytes, session);
-
-                            handler.handle(request)
-                                    .flatMap(response -> session.send(response.getBytes()))
-                                    .delayElement(Duration.ofSeconds(10))
-                                    .doOnError(e -> {
-                                        middleware.forEach(mw -> mw.onException(e, null, session));
-                                        System.err.println("[" + sessionId + "] Handler error: " + e.getMessage());
-                                    })
-                                    .doOnTerminate(() -> request(1))
-                                    .subscribe();
-                        }
+    /**
+     * Handles a client connection accepted by the NIO engine.
+     *
+     * <p>This method returns immediately: the connection's frames are decoded on its event loop
+     * and flow through the same pipeline as blocking connections.
+     *
+     * @param transport The transport representing the client connection.
+     */
+    private void handleChannel(NioChannelTransport transport) {
+        String sessionId = UUID.randomUUID().toString();
+        SocketAddress remote = transport.getRemoteAddress();
+        InetAddress remoteAddress = remote instanceof InetSocketAddress inet ? inet.getAddress() : null;
+        System.out.println("New connection [" + sessionId + "] from " + remoteAddress);
 
-                        @Override
-                        protected void hookOnError(Throwable e) {
-                            if (e instanceof TimeoutException) {
-                                middleware.forEach(mw -> mw.onTimeout(session));
-                                System.out.println("[" + sessionId + "] Idle timeout reached. Closing session.");
-                            } else {
-                                middleware.forEach(mw -> mw.onProtocolError(e, session));
-                                System.err.println("[" + sessionId + "] Unexpected error: " + e.getMessage());
-                                eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_ERROR, TcpSessionErrorEvent::new)
-                                        .fromSource(session)
-                                        .with("sessionId", sessionId)
-                                        .with("error", e)
-                                        .build());
-                            }
-                        }
+        TcpSession session = new TcpSession(transport, sessionId, framingStrategy);
+        serve(session, remoteAddress, transport.frames(), () -> {});
+    }
+
+    /**
+     * Serves the frames of a session until the connection ends.
+     *
+     * <p>This method manages the lifecycle of a TCP session, including registering the session,
+     * handling incoming messages, processing requests, sending responses, and closing the session.
+     * It also incorporates middleware for handling connection events, exceptions, timeouts, and protocol errors.
+     *
+     * <p>Every frame read and every write restarts the session's idle timeout on the server's timing
+     * wheel; when it expires, {@link #onIdle(TcpSession)} closes the session, which ends the frames.
+     * If heartbeats are enabled, heartbeat frames are answered by the {@link HeartbeatResponder} as
+     * soon as they are read and never reach flow control or the request handler.
+     *
+     * <p>Frames are counted by the session's {@link InboundFlowControl} from the moment they are read
+     * until their request has been processed; reading from the connection pauses while too many are
+     * queued, so a slow handler slows the client down instead of losing its frames.
+     *
+     * <p>Frames arrive in pooled buffers. Each is released when the {@code Mono} of its handler
+     * terminates. Heartbeat frames, which the filter drops, and frames still queued when the
+     * connection ends are released by the discard hook, which is their only owner. Handlers keep a
+     * frame longer with {@link TcpBinaryRequest#retain()}.
+     *
+     * @param session       The session the frames belong to.
+     * @param remoteAddress The address of the client.
+     * @param frames        The inbound frames of the connection.
+     * @param onClosed      Called once the session has been closed.
+     */
+    private void serve(TcpSession session, InetAddress remoteAddress, Flux<PooledBuffer> frames, Runnable onClosed) {
+        String sessionId = session.getId();
+        sessionMap.put(sessionId, session);
+        broadcaster.sessionsChanged();
+        session.setBroadcaster(broadcaster);
+        session.setRoomRegistry(roomRegistry);
+
+        InboundFlowControl flowControl = new InboundFlowControl(session.transport(), highWatermark, lowWatermark,
+                creditFrames ? credits -> sendCredits(session, credits) : null);
+        session.setInboundFlowControl(flowControl);
+        session.transport().setOverflowListener((policy, queuedMessages, queuedBytes) ->
+                onSlowConsumer(session, policy, queuedMessages, queuedBytes));
+        HashedTimingWheel.Timeout idle = idleTimer.schedule(idleTimeout, () -> onIdle(session));
+        session.setIdleTimer(idle);
+        session.transport().setWriteListener(session::touch);
+
+        middleware.forEach(mw -> mw.onConnect(session));
 
-                        @Override
-                        protected void hookFinally(SignalType signalType) {
-                            sessionMap.remove(sessionId);
-                            System.out.println("[" + sessionId + "] Session closing due to: " + signalType);
+        eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_OPEN, TcpSessionOpenEvent::new)
+                .fromSource(session)
+                .with("sessionId", sessionId)
+                .with("remoteAddress", remoteAddress)
+                .build());
+
+        flowControl.start();
+
+        frames
+                .filter(frame -> {
+                    session.touch();
+                    return heartbeats == null || !heartbeats.handle(frame.array(), frame.buffer().limit(), session.transport());
+                })
+                .doOnNext(frame -> flowControl.onFrameReceived())
+                .onBackpressureBuffer()
+                .flatMapSequential(frame -> process(session, frame)
+                        .doFinally(signalType -> {
+                            frame.release();
+                            flowControl.onFrameCompleted();
+                        }), pipeliningWindow)
+                .doOnDiscard(PooledBuffer.class, PooledBuffer::release)
+                .concatMap(response -> session.send(response.getBytes())
+                        .onErrorResume(e -> {
+                            middleware.forEach(mw -> mw.onException(e, null, session));
+                            System.err.println("[" + sessionId + "] Send error: " + e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribeWith(new BaseSubscriber<Void>() {
+                    @Override
+                    protected void hookOnError(Throwable e) {
+                        if (idle.isExpired()) return;
+                        middleware.forEach(mw -> mw.onProtocolError(e, session));
+                        System.err.println("[" + sessionId + "] Unexpected error: " + e.getMessage());
+                        eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_ERROR, TcpSessionErrorEvent::new)
+                                .fromSource(session)
+                                .with("sessionId", sessionId)
+                                .with("error", e)
+                                .build());
+                    }
 
-                            middleware.forEach(mw -> mw.onDisconnect(session));
+                    @Override
+                    protected void hookFinally(SignalType signalType) {
+                        idle.cancel();
+                        sessionMap.remove(sessionId);
+                        broadcaster.sessionsChanged();
+                        System.out.println("[" + sessionId + "] Session closing due to: " + signalType
+                                + " (reads paused " + flowControl.getPauseCount() + " times, "
+                                + flowControl.getPausedTimeMillis() + " ms)");
 
-                            eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_CLOSE, TcpSessionCloseEvent::new)
-                                    .fromSource(session)
-                                    .with("sessionId", sessionId)
-                                    .with("reason", signalType.name())
-                                    .build());
+                        middleware.forEach(mw -> mw.onDisconnect(session));
 
-                            try {
-                                session.close();
-                            } catch (IOException e) {
-                                System.err.println("[" + sessionId + "] Error during session close: " + e.getMessage());
-                            }
+                        eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_CLOSE, TcpSessionCloseEvent::new)
+                                .fromSource(session)
+                                .with("sessionId", sessionId)
+                                .with("reason", signalType.name())
+                                .build());
 
-                            latch.countDown();
+                        try {
+                            session.close();
+                        } catch (IOException e) {
+                            System.err.println("[" + sessionId + "] Error during session close: " + e.getMessage());
                         }
-                    });
+                        roomRegistry.leaveAll(session);
 
-            latch.await();
+                        onClosed.run();
+                    }
+                });
+    }
+
+    /**
+     * Closes a session whose idle timeout expired, after telling middleware about it.
+     *
+     * <p>This runs on the idle timer's thread. Closing the session ends its frames, and the rest of the
+     * cleanup happens where the frames are served.
+     *
+     * @param session The session that has been idle for too long.
+     */
+    private void onIdle(TcpSession session) {
+        middleware.forEach(mw -> mw.onTimeout(session));
+        System.out.println("[" + session.getId() + "] Idle timeout reached. Closing session.");
+        try {
+            session.close();
         } catch (IOException e) {
-            System.err.println("[" + sessionId + "] Connection error: " + e.getMessage());
-            eventBus.emit(EventBuilder.ofType(EventType.TCP_SESSION_ERROR, TcpSessionErrorEvent::new)
-                    .fromSource(this)
+            System.err.println("[" + session.getId() + "] Error during session close: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reports a session whose outbound queue overflowed to middleware and as a
+     * {@link EventType#TCP_SLOW_CONSUMER} event.
+     *
+     * @param session        The session that does not keep up with its outbound messages.
+     * @param policy         The overflow policy that was applied.
+     * @param queuedMessages The number of messages waiting to be written.
+     * @param queuedBytes    The number of framed bytes waiting to be written.
+     */
+    private void onSlowConsumer(TcpSession session, OverflowPolicy policy, int queuedMessages, long queuedBytes) {
+        System.err.println("[" + session.getId() + "] Slow consumer: " + queuedMessages + " messages ("
+                + queuedBytes + " bytes) waiting, applying " + policy);
+        middleware.forEach(mw -> mw.onSlowConsumer(session, policy, queuedMessages, queuedBytes));
+        eventBus.emit(EventBuilder.ofType(EventType.TCP_SLOW_CONSUMER, TcpSlowConsumerEvent::new)
+                .fromSource(session)
+                .with("session", session)
+                .with("policy", policy)
+                .with("queuedMessages", queuedMessages)
+                .with("queuedBytes", queuedBytes)
+                .build());
+    }
+
+    /**
+     * Processes a single frame with the request handler.
+     *
+     * <p>Handler failures are reported to middleware and swallowed so that one failing request
+     * does not end the session or hold up the responses of the requests pipelined behind it.
+     *
+     * <p>A {@link EventType#TCP_MESSAGE_RECEIVED} event, which carries a copy of the frame, is only
+     * emitted while something is subscribed to it.
+     *
+     * @param session The session the frame was received on.
+     * @param frame   The frame, released by the caller once the returned {@link Mono} terminates.
+     * @return A {@link Mono} emitting the handler's response, if any.
+     */
+    private Mono<TcpResponse> process(TcpSession session, PooledBuffer frame) {
+        String sessionId = session.getId();
+        TcpBinaryRequest request = new TcpBinaryRequest(frame, session);
+        if (eventBus.hasSubscribers(TcpMessageReceivedEvent.class)) {
+            eventBus.emit(EventBuilder.ofType(EventType.TCP_MESSAGE_RECEIVED, TcpMessageReceivedEvent::new)
+                    .fromSource(session)
                     .with("sessionId", sessionId)
-                    .with("error", e)
+                    .with("message", request.getData())
                     .build());
+        }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("[" + sessionId + "] Thread interrupted: " + e.getMessage());
+        return Mono.defer(() -> handler.handle(request))
+                .onErrorResume(e -> {
+                    middleware.forEach(mw -> mw.onException(e, null, session));
+                    System.err.println("[" + sessionId + "] Handler error: " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Grants the client of a session more credits by sending a credit frame.
+     *
+     * @param session The session to grant credits to.
+     * @param credits The number of additional frames the client may send.
+     */
+    private void sendCredits(TcpSession session, int credits) {
+        byte[] frame = new TcpMessage(CREDIT_MESSAGE_TYPE, String.valueOf(credits)).toString().getBytes();
+        session.send(frame).subscribe(null,
+                e -> System.err.println("[" + session.getId() + "] Failed to send credits: " + e.getMessage()));
+    }
+
+    /**
+     * A builder class for constructing {@link TcpServer} instances.
+     *
+     * <p>This class provides a fluent interface for configuring the request handler, thread pool,
+     * framing strategy, middleware and the {@link ServerEngine} connections are served by.
+     */
+    public static class Builder {
+        private TcpRequestHandler handler;
+        private ExecutorService pool;
+        private FramingStrategy framingStrategy;
+        private List<TcpMiddleware> middleware;
+        private ServerEngine engine = ServerEngine.BLOCKING;
+        private int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+        private int pipeliningWindow = DEFAULT_PIPELINING_WINDOW;
+        private int highWatermark = DEFAULT_HIGH_WATERMARK;
+        private int lowWatermark = DEFAULT_LOW_WATERMARK;
+        private boolean creditFrames = false;
+        private int outboundQueueCapacity = TcpTransport.DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+        private long outboundQueueBytes = OutboundLimits.DEFAULT_MAX_BYTES;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private Duration idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private Heartbeat heartbeat;
+
+                /**
+         * Sets the request handler used for processing incoming TCP requests.
+         *
+         * @param handler The request handler.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder handler(TcpRequestHandler handler) {
+            this.handler = handler;
+            return this;
+        }
+
+                /**
+         * Sets the executor service running blocking connections. Defaults to a cached thread pool,
+         * or to a virtual-thread-per-task executor for {@link ServerEngine#VIRTUAL_THREADS}.
+         *
+         * @param pool The executor service.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder threadPool(ExecutorService pool) {
+            this.pool = pool;
+            return this;
+        }
+
+                /**
+         * Sets the framing strategy used for delineating messages. Defaults to {@link LineFraming}.
+         *
+         * @param framingStrategy The framing strategy.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder framingStrategy(FramingStrategy framingStrategy) {
+            this.framingStrategy = framingStrategy;
+            return this;
+        }
+
+                /**
+         * Sets the middleware executed on each connection.
+         *
+         * @param middleware The list of {@link TcpMiddleware} to be applied.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder middleware(List<TcpMiddleware> middleware) {
+            this.middleware = middleware;
+            return this;
+        }
+
+                /**
+         * Sets the engine connections are served by. Defaults to {@link ServerEngine#BLOCKING}.
+         *
+         * @param engine The server engine.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder engine(ServerEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+                /**
+         * Sets the number of selector threads used by the NIO engine. Defaults to the number of processors.
+         *
+         * @param eventLoopThreads The number of event loop threads.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder eventLoopThreads(int eventLoopThreads) {
+            this.eventLoopThreads = eventLoopThreads;
+            return this;
+        }
+
+                /**
+         * Sets how many requests of one session may be processed at the same time.
+         *
+         * <p>Further frames are read ahead and queued while the window is full, up to the
+         * {@link #inboundWatermarks(int, int) high watermark}. Responses are always
+         * written in the order the requests arrived, whatever order the handlers complete in.
+         * Defaults to {@value TcpServer#DEFAULT_PIPELINING_WINDOW}.
+         *
+         * @param pipeliningWindow The maximum number of in-flight requests per session.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder pipeliningWindow(int pipeliningWindow) {
+            this.pipeliningWindow = pipeliningWindow;
+            return this;
+        }
+
+                /**
+         * Sets the inbound queue limits of a session.
+         *
+         * <p>Once {@code highWatermark} frames of a session are read but not yet processed, the server
+         * stops reading from its connection and lets TCP flow control push back on the client. Reading
+         * resumes when the queue has drained down to {@code lowWatermark}. Defaults to
+         * {@value TcpServer#DEFAULT_HIGH_WATERMARK} and {@value TcpServer#DEFAULT_LOW_WATERMARK}.
+         *
+         * @param highWatermark The number of queued frames at which reading pauses.
+         * @param lowWatermark  The number of queued frames at which reading resumes.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder inboundWatermarks(int highWatermark, int lowWatermark) {
+            this.highWatermark = highWatermark;
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+                /**
+         * Enables protocol-level credit frames. Disabled by default.
+         *
+         * <p>When enabled, every session is sent a {@link TcpMessage} of type
+         * {@value TcpServer#CREDIT_MESSAGE_TYPE} with the high watermark as content when it opens, and
+         * further credit frames as its requests are processed. A client that never has more frames
+         * outstanding than it was granted credits for is never paused.
+         *
+         * @param creditFrames true to send credit frames.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder creditFrames(boolean creditFrames) {
+            this.creditFrames = creditFrames;
+            return this;
+        }
+
+                /**
+         * Sets how many frames a session may have waiting to be written.
+         *
+         * <p>Each session's messages are written by a single writer that drains this queue in
+         * batches. Sends that do not fit are handled according to the
+         * {@link #overflowPolicy(OverflowPolicy) overflow policy}. Defaults to
+         * {@value TcpTransport#DEFAULT_OUTBOUND_QUEUE_CAPACITY}.
+         *
+         * @param outboundQueueCapacity The outbound queue capacity, in frames.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder outboundQueueCapacity(int outboundQueueCapacity) {
+            this.outboundQueueCapacity = outboundQueueCapacity;
+            return this;
+        }
+
+                /**
+         * Sets how many framed bytes a session may have waiting to be written.
+         *
+         * <p>Defaults to {@value OutboundLimits#DEFAULT_MAX_BYTES} bytes.
+         *
+         * @param outboundQueueBytes The outbound queue capacity, in bytes.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder outboundQueueBytes(long outboundQueueBytes) {
+            this.outboundQueueBytes = outboundQueueBytes;
+            return this;
+        }
+
+                /**
+         * Sets what happens to a message that does not fit in its session's outbound queue.
+         *
+         * <p>Every overflow is reported to {@link TcpMiddleware#onSlowConsumer} and as a
+         * {@link EventType#TCP_SLOW_CONSUMER} event, once until the queue has drained. Defaults to
+         * {@link OverflowPolicy#DROP_NEWEST}.
+         *
+         * @param overflowPolicy The policy applied to messages that do not fit.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+                /**
+         * Sets how long a session may go without a frame being read or written before it is closed.
+         *
+         * <p>Sessions can change their own timeout with {@link TcpSession#setIdleTimeout(Duration)}.
+         * Defaults to 30 seconds.
+         *
+         * @param idleTimeout The idle timeout of new sessions.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+                /**
+         * Enables heartbeat frames answered below request dispatch, or disables them.
+         *
+         * <p>A frame equal to the ping is answered with a pre-framed pong as soon as it is read; a
+         * frame equal to the pong is dropped. Neither reaches middleware or the request handler, but
+         * both keep the session from idling out. Heartbeats are disabled by default, so every frame is
+         * dispatched: enable them only when the ping and pong cannot be requests of the handler, as
+         * the {@code PING} command of a {@code @TcpCommand} server would be with {@link Heartbeat#DEFAULT}.
+         *
+         * @param heartbeat The heartbeat frames, such as {@link Heartbeat#DEFAULT}, or null to dispatch every frame.
+         * @return This {@code Builder} instance for chaining.
+         */
+        public Builder heartbeat(Heartbeat heartbeat) {
+            this.heartbeat = heartbeat;
+            return this;
+        }
+
+                /**
+         * Builds the configured {@link TcpServer}.
+         *
+         * @return A new TcpServer instance.
+         * @throws IllegalStateException if no handler, engine or overflow policy is provided, eventLoopThreads,
+         *                               pipeliningWindow, outboundQueueCapacity, outboundQueueBytes or
+         *                               idleTimeout is not positive, or the watermarks do not satisfy
+         *                               {@code 0 <= lowWatermark < highWatermark}.
+         */
+        public TcpServer build() {
+            if (handler == null || engine == null) {
+                throw new IllegalStateException("handler and engine must be provided");
+            }
+            if (eventLoopThreads < 1) {
+                throw new IllegalStateException("eventLoopThreads must be at least 1");
+            }
+            if (pipeliningWindow < 1) {
+                throw new IllegalStateException("pipeliningWindow must be at least 1");
+            }
+            if (outboundQueueCapacity < 1) {
+                throw new IllegalStateException("outboundQueueCapacity must be at least 1");
+            }
+            if (outboundQueueBytes < 1) {
+                throw new IllegalStateException("outboundQueueBytes must be at least 1");
+            }
+            if (overflowPolicy == null) {
+                throw new IllegalStateException("overflowPolicy must be provided");
+            }
+            if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalStateException("idleTimeout must be positive");
+            }
+            if (lowWatermark < 0 || lowWatermark >= highWatermark) {
+                throw new IllegalStateException("watermarks must satisfy 0 <= lowWatermark < highWatermark");
+            }
+            return new TcpServer(this);
+        }
+
+        private ExecutorService defaultPool() {
+            if (engine == ServerEngine.VIRTUAL_THREADS) {
+                return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jnova-vt-conn-", 0).factory());
+            }
+            return Executors.newCachedThreadPool();
         }
     }
 }
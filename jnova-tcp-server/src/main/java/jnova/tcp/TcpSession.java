@@ -4,13 +4,20 @@ import com.google.gson.Gson;
 import jnova.core.session.Session;
 import jnova.tcp.framing.FramingStrategy;
 import jnova.tcp.protocol.TcpMessage;
+import jnova.tcp.transport.InboundFlowControl;
+import jnova.tcp.transport.SocketTransport;
+import jnova.tcp.transport.TcpTransport;
+import jnova.tcp.util.HashedTimingWheel;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.*;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -19,16 +26,20 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * <p>This class handles sending and receiving data, managing session attributes,
  * and tracking session lifecycle events like keep-alive and closure. It uses a
- * {@link FramingStrategy} to handle message framing over the TCP stream.
+ * {@link FramingStrategy} to handle message framing over the TCP stream, and a
+ * {@link TcpTransport} for the underlying blocking socket or non-blocking channel.
  */
 public class TcpSession implements Session {
-    private final Socket socket;
+    private final TcpTransport transport;
     private final String sessionId;
     private final FramingStrategy framingStrategy;
     private final AtomicLong lastKeepAlive = new AtomicLong(System.currentTimeMillis());
     private final Map<String, Object> attributes = new ConcurrentHashMap<>();
-    private Map<String, TcpSession> sessions = new ConcurrentHashMap<>();
-    private final Object writeLock = new Object();
+    private final Set<String> rooms = ConcurrentHashMap.newKeySet();
+    private volatile Broadcaster broadcaster;
+    private volatile RoomRegistry roomRegistry;
+    private volatile InboundFlowControl inboundFlowControl;
+    private volatile HashedTimingWheel.Timeout idleTimer;
 
         /**
      * Constructs a TcpSession with the given socket, session ID, and framing strategy.
@@ -39,7 +50,18 @@ public class TcpSession implements Session {
      * @throws IOException If an I/O error occurs during socket initialization.
      */
     public TcpSession(Socket socket, String sessionId, FramingStrategy framingStrategy) throws IOException {
-        this.socket = socket;
+        this(new SocketTransport(socket, framingStrategy), sessionId, framingStrategy);
+    }
+
+        /**
+     * Constructs a TcpSession on top of an existing transport.
+     *
+     * @param transport The transport carrying this session's bytes.
+     * @param sessionId The unique identifier for this session.
+     * @param framingStrategy The strategy used for framing messages.
+     */
+    public TcpSession(TcpTransport transport, String sessionId, FramingStrategy framingStrategy) {
+        this.transport = transport;
         this.sessionId = sessionId;
         this.framingStrategy = framingStrategy;
     }
@@ -47,50 +69,197 @@ public class TcpSession implements Session {
         /**
      * Sends a message through the socket.
      *
-     * The message is written to the output stream of the socket using the configured framing strategy.
-     * This method is synchronized to ensure that only one thread writes to the socket at a time.
+     * The message is framed with the configured framing strategy and written by the session's transport.
      *
      * @param message The byte array containing the message to send.
      * @return A {@code Mono<Void>} that completes when the message has been written to the socket.
      *         Any IOException during writing will be propagated as an UncheckedIOException.
      */
         public Mono<Void> send(byte[] message) {
-            return Mono.fromCallable(() -> {
-                        framingStrategy.writeMessage(socket.getOutputStream(), message);
-                        return null;
-                    })
-                    .subscribeOn(Schedulers.boundedElastic()).then();
+            return transport.send(message);
         }
 
+        /**
+     * Sends several messages in order, without messages of other senders in between.
+     *
+     * <p>The messages are queued together and written with as few system calls as the transport allows.
+     *
+     * @param messages The messages to send.
+     * @return A {@code Mono<Void>} that completes when all messages have been written.
+     */
+    public Mono<Void> sendBatch(List<byte[]> messages) {
+        return transport.sendBatch(messages);
+    }
+
         /**
      * Broadcasts a message to all currently active TCP sessions.
      *
+     * <p>The message is framed once and the same frame is queued on every session's transport.
+     *
      * @param message The byte array containing the message to be broadcast.
+     * @return The number of sessions the message was queued for, skipped or delivered to; a session
+     *         that is not served by a {@link TcpServer} has no one to broadcast to.
+     * @throws UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult broadcast(byte[] message) {
+        Broadcaster b = broadcaster;
+        return b != null ? b.broadcast(message) : BroadcastResult.none();
+    }
+
+        /**
+     * Sets the broadcaster used by {@link #broadcast(byte[])}.
+     *
+     * @param broadcaster The broadcaster of the server serving this session.
      */
-    public void broadcast(byte[] message) {
-        for (TcpSession s : sessions.values()) {
-            s.send(message).subscribe();
+    public void setBroadcaster(Broadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+        /**
+     * Adds this session to a room.
+     *
+     * @param room The name of the room.
+     * @return true if the session was not in the room yet.
+     * @throws IllegalStateException If the session is not served by a {@link TcpServer}.
+     */
+    public boolean join(String room) {
+        return requireRoomRegistry().join(room, this);
+    }
+
+        /**
+     * Removes this session from a room.
+     *
+     * @param room The name of the room.
+     * @return true if the session was in the room.
+     * @throws IllegalStateException If the session is not served by a {@link TcpServer}.
+     */
+    public boolean leave(String room) {
+        return requireRoomRegistry().leave(room, this);
+    }
+
+        /**
+     * Publishes a message to every session in a room, including this one if it is a member.
+     *
+     * <p>The session does not need to be in the room to publish to it.
+     *
+     * @param room    The name of the room.
+     * @param message The message to publish.
+     * @return The outcome of the broadcast to the room's members.
+     * @throws IllegalStateException If the session is not served by a {@link TcpServer}.
+     * @throws UncheckedIOException If the message cannot be framed.
+     */
+    public BroadcastResult publish(String room, byte[] message) {
+        return requireRoomRegistry().publish(room, message);
+    }
+
+        /**
+     * Returns the names of the rooms this session is in.
+     *
+     * @return An unmodifiable live view of the room names.
+     */
+    public Set<String> getRooms() {
+        return Collections.unmodifiableSet(rooms);
+    }
+
+        /**
+     * Sets the rooms this session can join and publish to.
+     *
+     * @param roomRegistry The room registry of the server serving this session.
+     */
+    public void setRoomRegistry(RoomRegistry roomRegistry) {
+        this.roomRegistry = roomRegistry;
+    }
+
+        /**
+     * Returns the rooms this session can join and publish to.
+     *
+     * @return The room registry, or null if the session is not served by a {@link TcpServer}.
+     */
+    public RoomRegistry getRoomRegistry() {
+        return roomRegistry;
+    }
+
+    Set<String> joinedRooms() {
+        return rooms;
+    }
+
+    private RoomRegistry requireRoomRegistry() {
+        RoomRegistry r = roomRegistry;
+        if (r == null) {
+            throw new IllegalStateException("Session " + sessionId + " is not served by a TcpServer");
         }
+        return r;
+    }
+
+        /**
+     * Sets the flow control accounting for this session's inbound frames.
+     *
+     * @param inboundFlowControl The inbound flow control of this session.
+     */
+    public void setInboundFlowControl(InboundFlowControl inboundFlowControl) {
+        this.inboundFlowControl = inboundFlowControl;
     }
 
         /**
-     * Sets the session map for this object.
+     * Returns the flow control of this session's inbound frames, exposing queue depth and paused-time counters.
      *
-     * @param sessions A map of session IDs to TcpSession objects.
+     * @return The inbound flow control, or null if the session is not served by a {@link TcpServer}.
      */
-    public void setSessions(Map<String, TcpSession> sessions) {
-        this.sessions = sessions;
+    public InboundFlowControl getInboundFlowControl() {
+        return inboundFlowControl;
+    }
+
+    TcpTransport transport() {
+        return transport;
     }
 
         /**
-     * Updates the last keep-alive timestamp to the current time.
+     * Updates the last keep-alive timestamp to the current time and restarts the idle timeout.
      *
      * This method is typically called to indicate that the resource or connection
-     * is still active and should be kept alive.
+     * is still active and should be kept alive. The server calls it for every frame read or written.
      */
     @Override
     public void touch() {
         lastKeepAlive.set(System.currentTimeMillis());
+        HashedTimingWheel.Timeout t = idleTimer;
+        if (t != null) t.reset();
+    }
+
+        /**
+     * Changes how long this session may stay idle before the server closes it, and restarts the idle timeout.
+     *
+     * @param timeout The idle timeout of this session.
+     * @throws IllegalArgumentException If the timeout is not positive.
+     * @throws IllegalStateException If the session is not served by a {@link TcpServer}.
+     */
+    public void setIdleTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("idle timeout must be positive");
+        }
+        HashedTimingWheel.Timeout t = idleTimer;
+        if (t == null) {
+            throw new IllegalStateException("Session " + sessionId + " is not served by a TcpServer");
+        }
+        t.reset(timeout);
+    }
+
+        /**
+     * Returns how long this session may stay idle before the server closes it.
+     *
+     * @return The idle timeout, or null if the session is not served by a {@link TcpServer}.
+     */
+    public Duration getIdleTimeout() {
+        HashedTimingWheel.Timeout t = idleTimer;
+        return t != null ? t.getDelay() : null;
+    }
+
+    void setIdleTimer(HashedTimingWheel.Timeout idleTimer) {
+        this.idleTimer = idleTimer;
+    }
+
+    HashedTimingWheel.Timeout idleTimer() {
+        return idleTimer;
     }
 
         /**
@@ -110,7 +279,7 @@ public class TcpSession implements Session {
      */
     @Override
     public boolean isAlive() {
-        return !socket.isClosed();
+        return transport.isOpen();
     }
 
         /**
@@ -130,7 +299,7 @@ public class TcpSession implements Session {
      */
     @Override
     public SocketAddress getRemoteAddress() {
-        return socket.getRemoteSocketAddress();
+        return transport.getRemoteAddress();
     }
 
         /**
@@ -151,7 +320,7 @@ public class TcpSession implements Session {
      */
     @Override
     public void close() throws IOException {
-        socket.close();
+        transport.close();
     }
 
         /**
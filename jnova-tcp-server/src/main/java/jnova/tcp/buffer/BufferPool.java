@@ -0,0 +1,144 @@
+package jnova.tcp.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A size-class pool of heap or direct {@link ByteBuffer}s.
+ *
+ * <p>Requests are rounded up to the next power of two between {@value #MIN_SIZE} bytes and
+ * {@value #MAX_POOLED_SIZE} bytes; larger requests are allocated unpooled. Released buffers are
+ * first kept in a small cache of the releasing platform thread, so a thread that allocates and
+ * releases in a loop never contends with other threads, and spill over into a bounded pool shared
+ * by all threads. Virtual threads bypass the thread-local cache, which would otherwise be created
+ * and thrown away with every short-lived thread.
+ *
+ * <p>{@link #heap()} and {@link #direct()} are the pools used by the framing and transport code.
+ */
+public final class BufferPool {
+    /**
+     * The smallest buffer handed out.
+     */
+    public static final int MIN_SIZE = 64;
+
+    /**
+     * The largest buffer kept in the pool; larger buffers are allocated on every request.
+     */
+    public static final int MAX_POOLED_SIZE = 64 * 1024;
+
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_SIZE / MIN_SIZE) + 1;
+    private static final int THREAD_CACHE_SIZE = 16;
+    private static final int SHARED_POOL_SIZE = 256;
+
+    private static final BufferPool HEAP = new BufferPool(false);
+    private static final BufferPool DIRECT = new BufferPool(true);
+
+    private final boolean direct;
+    private final Queue<PooledBuffer>[] shared;
+    private final AtomicInteger[] sharedCounts;
+    private final ThreadLocal<ArrayDeque<PooledBuffer>[]> threadCaches;
+
+        /**
+     * Constructs a pool.
+     *
+     * @param direct Whether the pool hands out direct buffers instead of heap buffers.
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(boolean direct) {
+        this.direct = direct;
+        this.shared = new Queue[SIZE_CLASSES];
+        this.sharedCounts = new AtomicInteger[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            shared[i] = new ConcurrentLinkedQueue<>();
+            sharedCounts[i] = new AtomicInteger();
+        }
+        this.threadCaches = ThreadLocal.withInitial(() -> {
+            ArrayDeque<PooledBuffer>[] caches = new ArrayDeque[SIZE_CLASSES];
+            for (int i = 0; i < SIZE_CLASSES; i++) {
+                caches[i] = new ArrayDeque<>(THREAD_CACHE_SIZE);
+            }
+            return caches;
+        });
+    }
+
+        /**
+     * Returns the shared pool of heap buffers.
+     *
+     * @return The heap buffer pool.
+     */
+    public static BufferPool heap() {
+        return HEAP;
+    }
+
+        /**
+     * Returns the shared pool of direct buffers.
+     *
+     * @return The direct buffer pool.
+     */
+    public static BufferPool direct() {
+        return DIRECT;
+    }
+
+        /**
+     * Returns the capacity of the buffer that {@link #acquire(int)} hands out for a requested size.
+     *
+     * @param size The requested size in bytes.
+     * @return The rounded-up size in bytes.
+     */
+    public static int sizeFor(int size) {
+        if (size <= MIN_SIZE) return MIN_SIZE;
+        if (size > MAX_POOLED_SIZE) return size;
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+        /**
+     * Borrows a cleared buffer with at least the given capacity.
+     *
+     * @param size The minimum capacity in bytes.
+     * @return A buffer with a reference count of one.
+     */
+    public PooledBuffer acquire(int size) {
+        int capacity = sizeFor(size);
+        if (capacity > MAX_POOLED_SIZE) {
+            return new PooledBuffer(allocate(capacity), this, -1);
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(capacity / MIN_SIZE);
+
+        PooledBuffer buffer = null;
+        if (!Thread.currentThread().isVirtual()) {
+            buffer = threadCaches.get()[sizeClass].pollLast();
+        }
+        if (buffer == null) {
+            buffer = shared[sizeClass].poll();
+            if (buffer != null) sharedCounts[sizeClass].decrementAndGet();
+        }
+        if (buffer == null || !buffer.reset()) {
+            return new PooledBuffer(allocate(capacity), this, sizeClass);
+        }
+        return buffer;
+    }
+
+    void recycle(PooledBuffer buffer) {
+        int sizeClass = buffer.sizeClass();
+        if (sizeClass < 0) return;
+        if (!Thread.currentThread().isVirtual()) {
+            ArrayDeque<PooledBuffer> cache = threadCaches.get()[sizeClass];
+            if (cache.size() < THREAD_CACHE_SIZE) {
+                cache.addLast(buffer);
+                return;
+            }
+        }
+        if (sharedCounts[sizeClass].incrementAndGet() <= SHARED_POOL_SIZE) {
+            shared[sizeClass].add(buffer);
+        } else {
+            sharedCounts[sizeClass].decrementAndGet();
+        }
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+}
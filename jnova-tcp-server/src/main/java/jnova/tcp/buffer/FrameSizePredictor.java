@@ -0,0 +1,58 @@
+package jnova.tcp.buffer;
+
+/**
+ * Predicts the size of the next frame of a connection from the sizes of its recent frames.
+ *
+ * <p>The prediction follows a {@link BufferPool} size class: it jumps up at once when a frame does not
+ * fit, and steps down one class only after several consecutive frames would have fitted in half the
+ * space, so that an occasional small frame does not cause the next large one to be gathered through
+ * repeated reallocations.
+ */
+public class FrameSizePredictor {
+    private static final int SHRINK_AFTER = 4;
+
+    private final int minimum;
+    private final int maximum;
+    private int expected;
+    private int smallerInARow = 0;
+
+        /**
+     * Constructs a predictor.
+     *
+     * @param initial The size predicted before any frame has been observed.
+     * @param maximum The largest size ever predicted.
+     */
+    public FrameSizePredictor(int initial, int maximum) {
+        this.minimum = BufferPool.MIN_SIZE;
+        this.maximum = Math.max(maximum, minimum);
+        this.expected = Math.min(BufferPool.sizeFor(initial), this.maximum);
+    }
+
+        /**
+     * Returns the predicted size of the next frame.
+     *
+     * @return The predicted size in bytes, a buffer size class.
+     */
+    public int expectedSize() {
+        return expected;
+    }
+
+        /**
+     * Records the size of a completed frame.
+     *
+     * @param size The frame size in bytes.
+     */
+    public void record(int size) {
+        if (size > expected) {
+            expected = Math.min(BufferPool.sizeFor(size), maximum);
+            smallerInARow = 0;
+        } else if (size <= expected / 2 && expected > minimum) {
+            if (++smallerInARow >= SHRINK_AFTER) {
+                expected /= 2;
+                smallerInARow = 0;
+            }
+        } else {
+            smallerInARow = 0;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package jnova.tcp.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference-counted {@link ByteBuffer} borrowed from a {@link BufferPool}.
+ *
+ * <p>A buffer starts with a reference count of one. Every holder that keeps the buffer beyond the
+ * scope it received it in calls {@link #retain()}, and every holder calls {@link #release()} once it
+ * is done; the buffer goes back to its pool when the count drops to zero. The buffer must not be
+ * touched after its last release. A buffer that is never released is simply garbage collected.
+ */
+public final class PooledBuffer {
+    private final ByteBuffer buffer;
+    private final BufferPool pool;
+    private final int sizeClass;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    PooledBuffer(ByteBuffer buffer, BufferPool pool, int sizeClass) {
+        this.buffer = buffer;
+        this.pool = pool;
+        this.sizeClass = sizeClass;
+    }
+
+        /**
+     * Wraps an array in a buffer that belongs to no pool, limited to the array's length.
+     *
+     * <p>It is reference-counted like any other, and simply left to the garbage collector on its last release.
+     *
+     * @param array The array to wrap.
+     * @return The buffer.
+     */
+    public static PooledBuffer wrap(byte[] array) {
+        return new PooledBuffer(ByteBuffer.wrap(array), BufferPool.heap(), -1);
+    }
+
+        /**
+     * Returns the underlying buffer, cleared when it was acquired.
+     *
+     * @return The byte buffer; its capacity is at least the size that was requested.
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+        /**
+     * Returns the backing array of a heap buffer.
+     *
+     * @return The backing array.
+     * @throws UnsupportedOperationException If the buffer is direct.
+     */
+    public byte[] array() {
+        return buffer.array();
+    }
+
+        /**
+     * Adds a reference to this buffer.
+     *
+     * @return This buffer.
+     * @throws IllegalStateException If the buffer has already been released.
+     */
+    public PooledBuffer retain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Buffer has already been released");
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return this;
+    }
+
+        /**
+     * Drops a reference to this buffer, returning it to its pool when it was the last one.
+     *
+     * @return true if the buffer went back to the pool.
+     * @throws IllegalStateException If the buffer has already been released.
+     */
+    public boolean release() {
+        int count = refCount.decrementAndGet();
+        if (count > 0) return false;
+        if (count < 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+        pool.recycle(this);
+        return true;
+    }
+
+        /**
+     * Returns the current reference count.
+     *
+     * @return The number of live references.
+     */
+    public int refCount() {
+        return refCount.get();
+    }
+
+    int sizeClass() {
+        return sizeClass;
+    }
+
+    boolean reset() {
+        if (!refCount.compareAndSet(0, 1)) return false;
+        buffer.clear();
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package jnova.tcp.dispatching;
+
+import jnova.tcp.TcpSession;
+
+import java.util.Map;
+
+/**
+ * Binds the arguments of one handler method from a request, without looking at its parameters at runtime.
+ *
+ * <p>Binders are generated at compile time into a {@link DispatchTable}; handlers without one get a
+ * {@link jnova.tcp.dispatching.resolvers.BindingPlan} built by the resolver registry when they are registered.
+ */
+@FunctionalInterface
+public interface ArgumentBinder {
+        /**
+     * Builds the arguments of the handler method.
+     *
+     * @param json    The parsed request.
+     * @param session The session the request was received on.
+     * @return The arguments, one per parameter of the method.
+     */
+    Object[] bind(Map<String, Object> json, TcpSession session);
+}
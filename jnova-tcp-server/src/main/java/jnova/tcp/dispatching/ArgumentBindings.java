@@ -0,0 +1,89 @@
+package jnova.tcp.dispatching;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.util.GsonFactory;
+import jnova.tcp.protocol.RequestDocument;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Conversions of request values to parameter types, shared by generated {@link ArgumentBinder}s and
+ * the built-in resolvers.
+ *
+ * <p>Values of a {@link RequestDocument} are converted by the document through their Gson type
+ * adapter, straight from the bytes of a JSON frame without building a tree. Values of any other map
+ * are converted to a tree first.
+ * Types may be generic, so a {@code List<Item>} parameter is bound to a list of {@code Item}s.
+ */
+public final class ArgumentBindings {
+    private static final Gson gson = GsonFactory.get();
+
+    private ArgumentBindings() {
+    }
+
+        /**
+     * Converts a value of the request to a parameter type, as {@link jnova.tcp.dispatching.resolvers.JsonArgResolver} does.
+     *
+     * @param json The parsed request.
+     * @param key  The key of the value, or a dotted path into a nested value of a {@link RequestDocument}.
+     * @param type The parameter type.
+     * @param <T>  The parameter type.
+     * @return The converted value, or null if the key is absent.
+     */
+    public static <T> T jsonArg(Map<String, Object> json, String key, Type type) {
+        return jsonArg(gson, json, key, type);
+    }
+
+        /**
+     * Converts a value of the request to a parameter type with a given Gson instance.
+     *
+     * @param gson The Gson instance used for the conversion.
+     * @param json The parsed request.
+     * @param key  The key of the value, or a dotted path into a nested value of a {@link RequestDocument}.
+     * @param type The parameter type.
+     * @param <T>  The parameter type.
+     * @return The converted value, or null if the key is absent.
+     */
+    public static <T> T jsonArg(Gson gson, Map<String, Object> json, String key, Type type) {
+        if (json instanceof RequestDocument document) {
+            return document.read(key, adapter(gson, type));
+        }
+        return gson.fromJson(gson.toJsonTree(json.get(key)), type);
+    }
+
+        /**
+     * Converts the whole request to a parameter type, as {@link jnova.tcp.dispatching.resolvers.JsonBodyResolver} does.
+     *
+     * @param json The parsed request.
+     * @param type The parameter type.
+     * @param <T>  The parameter type.
+     * @return The converted request.
+     */
+    public static <T> T jsonBody(Map<String, Object> json, Type type) {
+        return jsonBody(gson, json, type);
+    }
+
+        /**
+     * Converts the whole request to a parameter type with a given Gson instance.
+     *
+     * @param gson The Gson instance used for the conversion.
+     * @param json The parsed request.
+     * @param type The parameter type.
+     * @param <T>  The parameter type.
+     * @return The converted request.
+     */
+    public static <T> T jsonBody(Gson gson, Map<String, Object> json, Type type) {
+        if (json instanceof RequestDocument document) {
+            return document.read(adapter(gson, type));
+        }
+        return gson.fromJson(gson.toJsonTree(json), type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypeAdapter<T> adapter(Gson gson, Type type) {
+        return (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type));
+    }
+}
@@ -0,0 +1,171 @@
+package jnova.tcp.dispatching;
+
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable table of numeric IDs for the registered (type, command) pairs, so clients can send a
+ * {@link jnova.tcp.protocol.CommandHeader command header} instead of the routing fields and have the
+ * request dispatched by a lookup in an array of IDs.
+ *
+ * <p>The handlers selected by the {@code command} key get as ID a hash of their type and command
+ * with the case folded, between 1 and {@link #MAX_ID}. An ID depends on nothing but the names it
+ * stands for, so adding or removing other handlers, or registering them in another order, leaves it
+ * unchanged, and a client may keep IDs it has fetched with the {@link #HANDSHAKE 0} handshake, or
+ * compute them with {@link #id(String, String)}. Two commands whose names hash to the same ID are
+ * rejected when the second is registered, and one of them has to be renamed.
+ */
+public final class CommandTable {
+    /**
+     * The ID a client sends to receive the table.
+     */
+    public static final int HANDSHAKE = 0;
+
+    /**
+     * The largest command ID, the largest number of nine digits.
+     */
+    public static final int MAX_ID = 999_999_999;
+
+    static final CommandTable EMPTY = new CommandTable(List.of());
+
+    private static final String KEY = "command";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Comparator<Command> ORDER = Comparator
+            .comparing(Command::type, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Command::command, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Command::type)
+            .thenComparing(Command::command);
+
+    private final List<Slot> slots;
+    private final int[] ids;
+    private final HandlerMethod[] handlers;
+    private final List<Command> commands;
+
+    private CommandTable(List<Slot> slots) {
+        int capacity = 2;
+        while (capacity < slots.size() * 2) capacity <<= 1;
+
+        this.slots = slots;
+        this.ids = new int[capacity];
+        this.handlers = new HandlerMethod[capacity];
+        List<Command> commands = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            int mask = capacity - 1;
+            int i = mix(slot.command.id()) & mask;
+            while (ids[i] != HANDSHAKE) i = (i + 1) & mask;
+            ids[i] = slot.command.id();
+            handlers[i] = slot.handler;
+            commands.add(slot.command);
+        }
+        commands.sort(ORDER);
+        this.commands = List.copyOf(commands);
+    }
+
+        /**
+     * Returns a new table with the commands of a type added.
+     *
+     * <p>Handlers selected by another key than {@code command} get no ID. Duplicates are rejected
+     * by the {@link HandlerIndex} before the table is built.
+     *
+     * @param type     The type the handlers are registered for.
+     * @param handlers The handlers to add.
+     * @return The new table.
+     * @throws ConfigurationException If a command gets the ID of another command.
+     */
+    CommandTable with(String type, List<HandlerMethod> handlers) {
+        List<Slot> merged = new ArrayList<>(slots);
+        for (HandlerMethod handler : handlers) {
+            if (!KEY.equalsIgnoreCase(handler.key())) continue;
+
+            Command command = new Command(id(type, handler.value()), type, handler.value());
+            for (Slot slot : merged) {
+                if (slot.command.id() == command.id()) {
+                    throw new ConfigurationException("Command ID " + command.id() + " of type '" + type
+                            + "', command=" + command.command() + " collides with type '" + slot.command.type()
+                            + "', command=" + slot.command.command() + "; rename one of them");
+                }
+            }
+            merged.add(new Slot(command, handler));
+        }
+        return new CommandTable(merged);
+    }
+
+        /**
+     * Computes the ID of a command, as the table assigns it.
+     *
+     * <p>The ID is the 64-bit FNV-1a hash of the UTF-8 bytes of the type, a zero byte and the
+     * command, with every code point folded to {@code toLowerCase(toUpperCase(c))}, reduced to the
+     * range 1 to {@link #MAX_ID}.
+     *
+     * @param type    The type of the handler.
+     * @param command The value of the {@code command} field its handler is selected by.
+     * @return The command ID.
+     */
+    public static int id(String type, String command) {
+        String folded = fold(type) + '\0' + fold(command);
+        long h = FNV_OFFSET;
+        for (byte b : folded.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return (int) Long.remainderUnsigned(h, MAX_ID) + 1;
+    }
+
+        /**
+     * Finds the handler of a command ID.
+     *
+     * <p>This is the lookup of every request sent with a command header: a probe of an open-addressing
+     * table of IDs kept at most half full.
+     *
+     * @param id The command ID.
+     * @return The handler method, or null if no command has the ID.
+     */
+    public HandlerMethod handler(int id) {
+        if (id <= HANDSHAKE) return null;
+        int[] table = ids;
+        int mask = table.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int candidate = table[i];
+            if (candidate == id) return handlers[i];
+            if (candidate == HANDSHAKE) return null;
+        }
+    }
+
+        /**
+     * Returns the commands of the table, in the order of their type and command ignoring case.
+     *
+     * @return The unmodifiable list of commands.
+     */
+    public List<Command> commands() {
+        return commands;
+    }
+
+    private static String fold(String s) {
+        StringBuilder folded = new StringBuilder(s.length());
+        s.codePoints().map(cp -> Character.toLowerCase(Character.toUpperCase(cp))).forEach(folded::appendCodePoint);
+        return folded.toString();
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A command of the table, as sent to clients in the handshake.
+     *
+     * @param id      The ID of the command.
+     * @param type    The type of its handler.
+     * @param command The value of the {@code command} field its handler is selected by.
+     */
+    public record Command(int id, String type, String command) {
+    }
+
+    private record Slot(Command command, HandlerMethod handler) {
+    }
+}
@@ -0,0 +1,38 @@
+package jnova.tcp.dispatching;
+
+import jnova.tcp.routing.commands.TcpCommandRegistry;
+
+/**
+ * The handlers of one package, registered by code generated at compile time instead of a classpath scan.
+ *
+ * <p>Implementations are generated by the {@code jnova.annotations.processing.DispatchTableProcessor}
+ * annotation processor, one per package containing {@code @TcpType} or {@code @TcpCommand} handlers,
+ * and listed in {@code META-INF/services/jnova.tcp.dispatching.DispatchTable}. Their invokers call
+ * the handler methods directly and their binders build the arguments without reflection.
+ *
+ * @see DispatchTables
+ */
+public interface DispatchTable {
+        /**
+     * Returns the package whose handlers this table registers.
+     *
+     * @return The package name.
+     */
+    String packageName();
+
+        /**
+     * Instantiates the {@code @TcpType} handlers of the package and registers their methods.
+     *
+     * @param registry The registry to add the handlers to.
+     * @throws ReflectiveOperationException If a handler method cannot be looked up for its metadata.
+     */
+    void registerTypes(TcpTypeHandler registry) throws ReflectiveOperationException;
+
+        /**
+     * Instantiates the classes of the package declaring {@code @TcpCommand} methods and registers the commands.
+     *
+     * @param registry The registry to add the commands to.
+     * @throws ReflectiveOperationException If a command method cannot be looked up for its metadata.
+     */
+    void registerCommands(TcpCommandRegistry registry) throws ReflectiveOperationException;
+}
@@ -0,0 +1,35 @@
+package jnova.tcp.dispatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the {@link DispatchTable}s generated for a base package.
+ *
+ * <p>Tables are listed as services, so finding them reads one resource per jar instead of scanning
+ * every class on the classpath.
+ */
+public final class DispatchTables {
+    private DispatchTables() {
+    }
+
+        /**
+     * Returns the generated tables of a package and its subpackages.
+     *
+     * @param basePackage The base package handlers are registered from.
+     * @return The tables found, empty if the handlers were compiled without the annotation processor.
+     */
+    public static List<DispatchTable> find(String basePackage) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) loader = DispatchTables.class.getClassLoader();
+        List<DispatchTable> tables = new ArrayList<>();
+        for (DispatchTable table : ServiceLoader.load(DispatchTable.class, loader)) {
+            String pkg = table.packageName();
+            if (pkg.equals(basePackage) || pkg.startsWith(basePackage + ".")) {
+                tables.add(table);
+            }
+        }
+        return tables;
+    }
+}
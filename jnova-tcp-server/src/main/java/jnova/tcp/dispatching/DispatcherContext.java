@@ -2,12 +2,14 @@ package jnova.tcp.dispatching;
 
 import jnova.core.validation.ParameterValidator;
 import jnova.tcp.dispatching.resolvers.*;
+import jnova.tcp.protocol.JsonCodec;
+import jnova.tcp.protocol.MessageCodec;
 
 import java.util.List;
 
 /**
  * Context class that holds registries, validator, type handler, sub-dispatcher,
- * and middleware used for processing dispatched TCP requests.
+ * middleware and message codecs used for processing dispatched TCP requests.
  *
  * <p>This context manages argument resolution, parameter validation, TCP type handling,
  * sub-handler dispatching, and middleware execution for incoming TCP requests.
@@ -18,24 +20,57 @@ public class DispatcherContext {
     public final TcpTypeHandler typeRegistry;
     public final TcpSubHandlerDispatcher subDispatcher;
     public final List<TcpMiddleware> middleware;
+    public final List<MessageCodec> codecs;
 
         /**
      * Constructs a DispatcherContext.
      *
-     * @param basePackage The base package to scan for type handlers.
+     * <p>Type handlers are registered from the {@link DispatchTable}s generated for the base package
+     * when there are any, and by scanning the classpath otherwise.
+     *
+     * @param basePackage The base package to register type handlers from.
      * @param resolvers A list of argument resolvers to register.
      * @param middleware A list of TCP middleware to apply. If null or empty, defaults to a no-op middleware.
      */
     public DispatcherContext(String basePackage, List<ArgumentResolver> resolvers, List<TcpMiddleware> middleware) {
+        this(basePackage, resolvers, middleware, List.of(new JsonCodec()));
+    }
+
+        /**
+     * Constructs a DispatcherContext decoding requests with the given codecs.
+     *
+     * @param basePackage The base package to register type handlers from.
+     * @param resolvers A list of argument resolvers to register.
+     * @param middleware A list of TCP middleware to apply. If null or empty, defaults to a no-op middleware.
+     * @param codecs The codecs frames are offered to, in order. The first one decodes frames no codec accepts.
+     * @throws IllegalArgumentException If no codec is given.
+     */
+    public DispatcherContext(String basePackage, List<ArgumentResolver> resolvers, List<TcpMiddleware> middleware,
+                             List<MessageCodec> codecs) {
+        if (codecs == null || codecs.isEmpty()) {
+            throw new IllegalArgumentException("At least one message codec is required");
+        }
+        this.codecs = List.copyOf(codecs);
         this.resolverRegistry = new ArgumentResolverRegistry();
-        List<ArgumentResolver> defaultResolvers = List.of(new TcpSessionResolver(), new JsonArgResolver(), new FromSessionResolver(), new JsonBodyResolver());
+        List<ArgumentResolver> defaultResolvers = List.of(new TcpSessionResolver(), new RoomRegistryResolver(), new JsonArgResolver(), new FromSessionResolver(), new JsonBodyResolver());
         this.resolverRegistry.registerAll(defaultResolvers);
         this.resolverRegistry.registerAll(resolvers);
 
         this.validator = new ParameterValidator();
 
         this.typeRegistry = new TcpTypeHandler(resolverRegistry);
-        this.typeRegistry.scanAndRegister(basePackage);
+        List<DispatchTable> tables = DispatchTables.find(basePackage);
+        if (tables.isEmpty()) {
+            this.typeRegistry.scanAndRegister(basePackage);
+        } else {
+            try {
+                for (DispatchTable table : tables) {
+                    table.registerTypes(typeRegistry);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to register TCP handlers", e);
+            }
+        }
 
         if (middleware == null || middleware.isEmpty()) {
             this.middleware = List.of(new TcpMiddleware() {});
@@ -0,0 +1,129 @@
+package jnova.tcp.dispatching;
+
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod;
+
+import java.util.List;
+
+/**
+ * An immutable, case-insensitive hash index of handler methods by type, key and value.
+ *
+ * <p>The index is an open-addressing table whose hash folds the case of every code point the way
+ * {@link String#equalsIgnoreCase} compares them, so a lookup hashes the three strings in place and
+ * compares them only against the entries of its probe sequence: it allocates nothing, and its cost
+ * does not grow with the number of handlers. The table is kept at most half full.
+ *
+ * <p>Registering handlers builds a new index; the dispatcher reads whichever index was last published.
+ */
+final class HandlerIndex {
+    static final HandlerIndex EMPTY = new HandlerIndex(new Entry[2], 0);
+
+    private final Entry[] entries;
+    private final int size;
+
+    private HandlerIndex(Entry[] entries, int size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+        /**
+     * Returns a new index with the handlers of a type added.
+     *
+     * @param type     The type the handlers are registered for.
+     * @param handlers The handlers to add.
+     * @return The new index.
+     * @throws ConfigurationException If a handler is already registered for the same type, key and value.
+     */
+    HandlerIndex with(String type, List<HandlerMethod> handlers) {
+        int newSize = size + handlers.size();
+        int capacity = entries.length;
+        while (capacity < newSize * 2) capacity <<= 1;
+
+        Entry[] table = new Entry[capacity];
+        for (Entry e : entries) {
+            if (e != null) insert(table, e);
+        }
+        for (HandlerMethod handler : handlers) {
+            Entry e = new Entry(type, handler.key(), handler.value(), hash(type, handler.key(), handler.value()), handler);
+            Entry existing = insert(table, e);
+            if (existing != null) {
+                throw new ConfigurationException("Duplicate handler for type '" + type + "', "
+                        + handler.key() + "=" + handler.value() + ": " + handler.method()
+                        + " conflicts with " + existing.handler.method());
+            }
+        }
+        return new HandlerIndex(table, newSize);
+    }
+
+        /**
+     * Finds the handler registered for a type, key and value, ignoring case.
+     *
+     * @param type  The type of the handler.
+     * @param key   The key to match.
+     * @param value The value to match.
+     * @return The handler, or null if none is registered.
+     */
+    HandlerMethod find(String type, String key, String value) {
+        Entry[] table = entries;
+        int mask = table.length - 1;
+        int h = hash(type, key, value);
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            Entry e = table[i];
+            if (e == null) return null;
+            if (e.hash == h && matches(e.value, value) && matches(e.key, key) && matches(e.type, type)) {
+                return e.handler;
+            }
+        }
+    }
+
+        /**
+     * Returns the number of handlers in the index.
+     *
+     * @return The number of handlers.
+     */
+    int size() {
+        return size;
+    }
+
+    private static Entry insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        for (int i = entry.hash & mask; ; i = (i + 1) & mask) {
+            Entry e = table[i];
+            if (e == null) {
+                table[i] = entry;
+                return null;
+            }
+            if (e.hash == entry.hash && matches(e.value, entry.value)
+                    && matches(e.key, entry.key) && matches(e.type, entry.type)) {
+                return e;
+            }
+        }
+    }
+
+    private static boolean matches(String a, String b) {
+        return a == b || a.equalsIgnoreCase(b);
+    }
+
+    private static int hash(String type, String key, String value) {
+        int h = fold(fold(fold(0, type), key), value);
+        return h ^ (h >>> 16);
+    }
+
+    private static int fold(int h, String s) {
+        for (int i = 0; i < s.length(); ) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                h = 31 * h + (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+                i++;
+            } else {
+                int cp = s.codePointAt(i);
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(cp));
+                i += Character.charCount(cp);
+            }
+        }
+        return 31 * h + s.length();
+    }
+
+    private record Entry(String type, String key, String value, int hash, HandlerMethod handler) {
+    }
+}
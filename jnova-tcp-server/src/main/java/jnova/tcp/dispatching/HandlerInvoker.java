@@ -0,0 +1,19 @@
+package jnova.tcp.dispatching;
+
+/**
+ * A handler method compiled into a direct call, bound to the instance it is invoked on.
+ *
+ * <p>Invokers are created once, when a handler is registered, by {@link HandlerInvokers#compile}.
+ * Unlike {@link java.lang.reflect.Method#invoke}, they neither check access nor wrap exceptions on
+ * every call, and the JIT can inline through them into the handler.
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+        /**
+     * Invokes the handler method.
+     *
+     * @param args The arguments, one per parameter of the method, with primitives boxed.
+     * @throws Throwable Whatever the handler method throws, unwrapped.
+     */
+    void invoke(Object[] args) throws Throwable;
+}
@@ -0,0 +1,159 @@
+package jnova.tcp.dispatching;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Compiles handler methods into {@link HandlerInvoker}s.
+ *
+ * <p>Public methods of public classes with up to {@value #MAX_LAMBDA_ARITY} parameters are turned
+ * into classes generated by {@link LambdaMetafactory}, which call the method with a plain
+ * {@code invokevirtual} or {@code invokestatic}. Any other method is invoked through a
+ * {@link MethodHandle} bound to its instance and spreading the argument array, which is still
+ * free of the per-call access checks of reflection.
+ */
+public final class HandlerInvokers {
+    /**
+     * The highest number of parameters compiled with {@link LambdaMetafactory}.
+     */
+    public static final int MAX_LAMBDA_ARITY = 6;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?>[] SHAPES = {
+            Arity0.class, Arity1.class, Arity2.class, Arity3.class, Arity4.class, Arity5.class, Arity6.class
+    };
+
+    private HandlerInvokers() {
+    }
+
+        /**
+     * Compiles a handler method into an invoker.
+     *
+     * @param instance The instance the method is invoked on, or null for a static method.
+     * @param method   The handler method.
+     * @return An invoker calling the method on the instance.
+     * @throws IllegalArgumentException If the method cannot be accessed.
+     */
+    public static HandlerInvoker compile(Object instance, Method method) {
+        try {
+            if (isLambdaCompatible(method)) {
+                return lambda(instance, method);
+            }
+            return methodHandle(instance, method);
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Cannot compile handler " + method, t);
+        }
+    }
+
+    private static boolean isLambdaCompatible(Method method) {
+        return method.getParameterCount() <= MAX_LAMBDA_ARITY
+                && !method.isVarArgs()
+                && Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                && method.getDeclaringClass().getModule().isExported(method.getDeclaringClass().getPackageName());
+    }
+
+    private static HandlerInvoker lambda(Object instance, Method method) throws Throwable {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        int arity = method.getParameterCount();
+        Class<?> shape = SHAPES[arity];
+        MethodHandle impl = LOOKUP.unreflect(method);
+
+        Class<?>[] erased = new Class<?>[arity];
+        Class<?>[] boxed = new Class<?>[arity];
+        Class<?>[] params = method.getParameterTypes();
+        for (int i = 0; i < arity; i++) {
+            erased[i] = Object.class;
+            boxed[i] = MethodType.methodType(params[i]).wrap().returnType();
+        }
+        MethodType factoryType = isStatic
+                ? MethodType.methodType(shape)
+                : MethodType.methodType(shape, method.getDeclaringClass());
+        Object target;
+        try {
+            MethodHandle factory = LambdaMetafactory.metafactory(LOOKUP, "invoke", factoryType,
+                    MethodType.methodType(void.class, erased), impl,
+                    MethodType.methodType(void.class, boxed)).getTarget();
+            target = isStatic ? factory.invoke() : factory.invoke(instance);
+        } catch (LambdaConversionException e) {
+            return methodHandle(instance, method);
+        }
+        return switch (arity) {
+            case 0 -> {
+                Arity0 f = (Arity0) target;
+                yield args -> f.invoke();
+            }
+            case 1 -> {
+                Arity1 f = (Arity1) target;
+                yield args -> f.invoke(args[0]);
+            }
+            case 2 -> {
+                Arity2 f = (Arity2) target;
+                yield args -> f.invoke(args[0], args[1]);
+            }
+            case 3 -> {
+                Arity3 f = (Arity3) target;
+                yield args -> f.invoke(args[0], args[1], args[2]);
+            }
+            case 4 -> {
+                Arity4 f = (Arity4) target;
+                yield args -> f.invoke(args[0], args[1], args[2], args[3]);
+            }
+            case 5 -> {
+                Arity5 f = (Arity5) target;
+                yield args -> f.invoke(args[0], args[1], args[2], args[3], args[4]);
+            }
+            default -> {
+                Arity6 f = (Arity6) target;
+                yield args -> f.invoke(args[0], args[1], args[2], args[3], args[4], args[5]);
+            }
+        };
+    }
+
+    private static HandlerInvoker methodHandle(Object instance, Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(instance);
+        }
+        MethodHandle spread = handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(void.class, Object[].class));
+        return args -> {
+            spread.invokeExact(args);
+        };
+    }
+
+    interface Arity0 {
+        void invoke() throws Throwable;
+    }
+
+    interface Arity1 {
+        void invoke(Object a0) throws Throwable;
+    }
+
+    interface Arity2 {
+        void invoke(Object a0, Object a1) throws Throwable;
+    }
+
+    interface Arity3 {
+        void invoke(Object a0, Object a1, Object a2) throws Throwable;
+    }
+
+    interface Arity4 {
+        void invoke(Object a0, Object a1, Object a2, Object a3) throws Throwable;
+    }
+
+    interface Arity5 {
+        void invoke(Object a0, Object a1, Object a2, Object a3, Object a4) throws Throwable;
+    }
+
+    interface Arity6 {
+        void invoke(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5) throws Throwable;
+    }
+}
@@ -1,6 +1,7 @@
 package jnova.tcp.dispatching;
 
 import jnova.tcp.TcpSession;
+import jnova.tcp.transport.OverflowPolicy;
 
 import java.util.Map;
 
@@ -10,6 +11,10 @@ import java.util.Map;
  *  <p>This interface provides default methods that can be overridden to intercept and process
  *  various events in a TCP session lifecycle, such as before and after data dispatch,
  *  exceptions, connection establishment, disconnection, timeouts, and protocol errors.
+ *
+ *  <p>The JSON map passed to the dispatch and exception callbacks is the request's
+ *  {@link jnova.tcp.protocol.RequestDocument}, shared with the resolvers of its handler. Read typed
+ *  values through {@link jnova.tcp.protocol.RequestDocument#of} rather than converting the map.
  */
 public interface TcpMiddleware {
         /**
@@ -71,4 +76,16 @@ public interface TcpMiddleware {
      * @param session The TCP session where the error occurred.
      */
     default void onProtocolError(Throwable t, TcpSession session) {}
+        /**
+     * Handles a session whose peer reads more slowly than messages are sent to it.
+     *
+     * <p>Called when a message does not fit in the session's outbound queue, after the overflow
+     * policy has been applied, and not again until the queue has drained.
+     *
+     * @param session        The slow session.
+     * @param policy         The overflow policy that was applied to the message.
+     * @param queuedMessages The number of messages waiting to be written.
+     * @param queuedBytes    The number of framed bytes waiting to be written.
+     */
+    default void onSlowConsumer(TcpSession session, OverflowPolicy policy, int queuedMessages, long queuedBytes) {}
 }
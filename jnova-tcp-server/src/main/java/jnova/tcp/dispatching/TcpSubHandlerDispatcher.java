@@ -1,10 +1,10 @@
 package jnova.tcp.dispatching;
 
-import com.google.gson.Gson;
-import jnova.core.util.GsonFactory;
 import jnova.core.validation.ParameterValidator;
 import jnova.tcp.TcpResponse;
 import jnova.tcp.TcpSession;
+import jnova.tcp.protocol.JsonCodec;
+import jnova.tcp.protocol.MessageCodec;
 import jnova.tcp.service.DispatcherReportService;
 import reactor.core.publisher.Mono;
 
@@ -22,7 +22,7 @@ public class TcpSubHandlerDispatcher {
     private final TcpTypeHandler registry;
     private final ParameterValidator validator;
     private final List<TcpMiddleware> middleware;
-    private final Gson gson = GsonFactory.get();
+    private final MessageCodec jsonCodec = new JsonCodec();
 
         /**
      * Constructs a TcpSubHandlerDispatcher.
@@ -61,6 +61,84 @@ public class TcpSubHandlerDispatcher {
      *         returned upon successful completion.
      */
     public Mono<TcpResponse> dispatch(String type, Map<String, Object> json, TcpSession session) {
+        return dispatch(type, json, session, jsonCodec);
+    }
+
+        /**
+     * Dispatches a TCP request decoded by a codec, encoding any error response with the same codec.
+     *
+     * @param type The type of the request.
+     * @param json The decoded request, which should contain a "command" key.
+     * @param session The TCP session associated with the request.
+     * @param codec The codec the request was decoded with.
+     * @return A {@link Mono} emitting the error response, if any, as {@link #dispatch(String, Map, TcpSession)} does.
+     */
+    public Mono<TcpResponse> dispatch(String type, Map<String, Object> json, TcpSession session, MessageCodec codec) {
+        beforeDispatch(json, session);
+
+        try {
+            Object keyVal = json.get("command");
+            if (keyVal == null)
+                return errorResponse(codec, "Missing 'command' field", List.of());
+
+            String command = keyVal.toString();
+
+            TcpTypeHandler.HandlerMethod handler = registry.lookup(type, "command", command);
+            if (handler == null) {
+                return noHandler("No handler found for command: " + command, json, session, codec);
+            }
+            return invoke(handler, json, session, codec);
+
+        } catch (Throwable t) {
+            for (TcpMiddleware mw : middleware) {
+                mw.onException(t, json, session);
+            }
+            return errorResponse(codec, "Dispatcher error: " + t.getMessage(), List.of());
+        }
+    }
+
+        /**
+     * Dispatches a TCP request sent with a {@link jnova.tcp.protocol.CommandHeader command header},
+     * selecting its handler by command ID from the {@link CommandTable} instead of by its routing fields.
+     *
+     * @param commandId The ID of the command.
+     * @param json The decoded body of the request, which needs no routing fields.
+     * @param session The TCP session associated with the request.
+     * @param codec The codec the body was decoded with.
+     * @return A {@link Mono} emitting the error response, if any, as {@link #dispatch(String, Map, TcpSession)} does.
+     */
+    public Mono<TcpResponse> dispatch(int commandId, Map<String, Object> json, TcpSession session, MessageCodec codec) {
+        beforeDispatch(json, session);
+
+        TcpTypeHandler.HandlerMethod handler = registry.commands().handler(commandId);
+        if (handler == null) {
+            return noHandler("No handler found for command ID: " + commandId, json, session, codec);
+        }
+        return invoke(handler, json, session, codec);
+    }
+
+        /**
+     * Answers a handshake with the table of command IDs.
+     *
+     * @param codec The codec encoding the table.
+     * @return A Mono emitting a TcpResponse of type {@code commands}, listing the ID, type and command
+     *         of every command.
+     */
+    public Mono<TcpResponse> handshake(MessageCodec codec) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "commands");
+        payload.put("commands", registry.commands().commands());
+
+        return Mono.just(new TcpResponse(codec.encode(payload)));
+    }
+
+        /**
+     * Runs the middleware before a request is dispatched, reporting their failures to them.
+     *
+     * @param json The request.
+     * @param session The TCP session associated with the request.
+     */
+    private void beforeDispatch(Map<String, Object> json, TcpSession session) {
         for (TcpMiddleware mw : middleware) {
             try {
                 mw.beforeDispatch(json, session);
@@ -68,75 +146,80 @@ public class TcpSubHandlerDispatcher {
                 mw.onException(t, json, session);
             }
         }
+    }
 
+        /**
+     * Reports a request no handler is registered for to the middleware.
+     *
+     * @param message The error message.
+     * @param json The request.
+     * @param session The TCP session associated with the request.
+     * @param codec The codec encoding the response.
+     * @return A Mono emitting the error response.
+     */
+    private Mono<TcpResponse> noHandler(String message, Map<String, Object> json, TcpSession session, MessageCodec codec) {
+        RuntimeException noHandlerEx = new RuntimeException(message);
+        for (TcpMiddleware mw : middleware) {
+            mw.onException(noHandlerEx, json, session);
+        }
+        return errorResponse(codec, noHandlerEx.getMessage(), List.of());
+    }
+
+        /**
+     * Resolves and validates the arguments of a handler, invokes it and runs the middleware after it.
+     *
+     * @param handler The handler of the request.
+     * @param json The request.
+     * @param session The TCP session associated with the request.
+     * @param codec The codec encoding any error response.
+     * @return An empty Mono, or one emitting the error response if validation or invocation failed.
+     */
+    private Mono<TcpResponse> invoke(TcpTypeHandler.HandlerMethod handler, Map<String, Object> json,
+                                     TcpSession session, MessageCodec codec) {
         try {
-            Object keyVal = json.get("command");
-            if (keyVal == null)
-                return errorResponse("Missing 'command' field", List.of());
+            Object[] args = registry.resolveArguments(handler, json, session);
+            List<String> violations = validator.validateParameters(args, handler.validated());
+            if (!violations.isEmpty()) {
+                return errorResponse(codec, "Validation failed", violations);
+            }
 
-            String command = keyVal.toString();
+            handler.invoker().invoke(args);
 
-            return registry.findHandler(type, "command", command)
-                    .map(handler -> {
-                        try {
-                            Object[] args = registry.resolveArguments(handler.method(), json, session);
-                            List<String> violations = validator.validateParameters(args, handler.method().getParameters());
-                            if (!violations.isEmpty()) {
-                                return errorResponse("Validation failed", violations);
-                            }
-
-                            handler.method().invoke(handler.instance(), args);
-
-                            for (TcpMiddleware mw : middleware) {
-                                try {
-                                    mw.afterDispatch(json, session);
-                                } catch (Throwable mwErr) {
-                                    mw.onException(mwErr, json, session);
-                                }
-                            }
-
-                            return Mono.<TcpResponse>empty();
-
-                        } catch (Throwable t) {
-                            for (TcpMiddleware mw : middleware) {
-                                mw.onException(t, json, session);
-                            }
-
-                            String trace = formatStackTrace(t);
-                            return errorResponse("Invocation failed: " + trace, List.of());
-                        }
-                    })
-                    .orElseGet(() -> {
-                        RuntimeException noHandlerEx = new RuntimeException("No handler found for command: " + command);
-                        for (TcpMiddleware mw : middleware) {
-                            mw.onException(noHandlerEx, json, session);
-                        }
-                        return errorResponse(noHandlerEx.getMessage(), List.of());
-                    });
+            for (TcpMiddleware mw : middleware) {
+                try {
+                    mw.afterDispatch(json, session);
+                } catch (Throwable mwErr) {
+                    mw.onException(mwErr, json, session);
+                }
+            }
+
+            return Mono.empty();
 
         } catch (Throwable t) {
             for (TcpMiddleware mw : middleware) {
                 mw.onException(t, json, session);
             }
-            return errorResponse("Dispatcher error: " + t.getMessage(), List.of());
+
+            String trace = formatStackTrace(t);
+            return errorResponse(codec, "Invocation failed: " + trace, List.of());
         }
     }
 
         /**
      * Creates an error response containing a validation error message and optional error details.
      *
+     * @param codec   The codec encoding the response.
      * @param message The main error message.
      * @param errors  A list of specific error messages (can be empty).
-     * @return A Mono emitting a TcpResponse containing the error as a JSON string.
+     * @return A Mono emitting a TcpResponse containing the error, a JSON string for the JSON codec.
      */
-    private Mono<TcpResponse> errorResponse(String message, List<String> errors) {
+    private Mono<TcpResponse> errorResponse(MessageCodec codec, String message, List<String> errors) {
         Map<String, Object> payload = new LinkedHashMap<>();
         payload.put("type", "validation_error");
         payload.put("message", message);
         if (!errors.isEmpty()) payload.put("errors", errors);
 
-        String jsonStr = gson.toJson(payload) + "\n";
-        return Mono.just(new TcpResponse(jsonStr.getBytes()));
+        return Mono.just(new TcpResponse(codec.encode(payload)));
     }
 
         /**
@@ -3,9 +3,12 @@ package jnova.tcp.dispatching;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
+import jnova.core.exceptions.ConfigurationException;
+import jnova.core.validation.ParameterValidator;
 import jnova.annotations.tcp.*;
 import jnova.tcp.TcpSession;
 import jnova.tcp.dispatching.resolvers.ArgumentResolverRegistry;
+import jnova.tcp.metadata.introspection.dispatcher.RegisteredCommand;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredMethod;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredParameter;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredType;
@@ -15,7 +18,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *  Registry for managing TCP type handlers.
@@ -26,7 +28,8 @@ import java.util.concurrent.ConcurrentHashMap;
  *  argument resolution capabilities using {@link ArgumentResolverRegistry}.
  */
 public class TcpTypeHandler {
-    private final Map<String, List<HandlerMethod>> registry = new ConcurrentHashMap<>();
+    private volatile HandlerIndex index = HandlerIndex.EMPTY;
+    private volatile CommandTable commands = CommandTable.EMPTY;
     private final ArgumentResolverRegistry resolverRegistry;
 
         /**
@@ -48,7 +51,7 @@ public class TcpTypeHandler {
      * The handler registration involves extracting information about the method's parameters, including
      * their types, annotations (e.g., {@link JsonArg}, {@link JsonBody}, {@link FromSession}), and
      * validation constraints. This information is then used to create {@link HandlerMethod} instances,
-     * which are stored in the {@link registry} for later dispatching of TCP requests.
+     * which are added to the handler index for later dispatching of TCP requests.
      *
      * <p>Additionally, the method collects metadata about each registered handler method, such as its
      * name, parameter types, return type, declared exceptions, and deprecation status (if applicable).
@@ -57,6 +60,7 @@ public class TcpTypeHandler {
      * {@link DispatcherReportService} for documentation and reporting purposes.
      *
      * @param basePackage The base package to scan for TCP handler classes.
+     * @throws ConfigurationException If two handlers are registered for the same type, key and value.
      * @throws RuntimeException If an error occurs during the scanning or registration process.
      */
     public void scanAndRegister(String basePackage) {
@@ -70,77 +74,118 @@ public class TcpTypeHandler {
                 TcpType tcpType = clazz.getAnnotation(TcpType.class);
                 Object instance = clazz.getDeclaredConstructor().newInstance();
 
-                List<RegisteredMethod> registeredMethods = new ArrayList<>();
-
+                List<HandlerMethod> handlers = new ArrayList<>();
                 for (Method method : clazz.getDeclaredMethods()) {
                     if (!method.isAnnotationPresent(JsonProperty.class)) continue;
 
                     JsonProperty jp = method.getAnnotation(JsonProperty.class);
-                    registry
-                            .computeIfAbsent(tcpType.value(), k -> new ArrayList<>())
-                            .add(new HandlerMethod(jp.key(), jp.value(), method, instance));
-
-                    List<RegisteredParameter> parameters = new ArrayList<>();
-                    for (Parameter param : method.getParameters()) {
-                        String name = param.getName();
-                        String annotation = null;
-                        if (param.isAnnotationPresent(JsonArg.class)) {
-                            annotation = param.getAnnotation(JsonArg.class).value();
-                        } else if (param.isAnnotationPresent(JsonBody.class)) {
-                            annotation = "@JsonBody";
-                        } else if (param.isAnnotationPresent(FromSession.class)) {
-                            annotation = "@FromSession";
-                        }
-
-                        RegisteredParameter rp = new RegisteredParameter(
-                                name,
-                                param.getType(),
-                                annotation,
-                                hasValidationAnnotations(param)
-                        );
-                        for (Annotation a : param.getAnnotations()) {
-                            String pkg = a.annotationType().getPackageName();
-                            if (pkg.startsWith("javax.validation") || pkg.startsWith("org.hibernate.validator") || pkg.startsWith("jakarta.validation")) {
-                                rp.validationAnnotations.add(a.annotationType().getSimpleName());
-                            }
-                        }
-                        parameters.add(rp);
-                    }
-
-                    RegisteredMethod rm = new RegisteredMethod(
-                            method.getName(),
-                            jp.key(),
-                            jp.value(),
-                            parameters
-                    );
-                    rm.returnTypeName = method.getGenericReturnType().getTypeName();
-
-                    for (Class<?> ex : method.getExceptionTypes()) {
-                        rm.declaredExceptions.add(ex.getSimpleName());
-                    }
-
-                    if (method.isAnnotationPresent(HandlerDeprecated.class)) {
-                        HandlerDeprecated hd = method.getAnnotation(HandlerDeprecated.class);
-                        rm.deprecated = true;
-                        rm.sinceVersion = hd.since();
-                        rm.deprecationMessage = hd.message();
-                    }
-
-                    registeredMethods.add(rm);
+                    handlers.add(new HandlerMethod(jp.key(), jp.value(), method, instance));
                 }
-
-                RegisteredType registeredType = new RegisteredType(
-                        tcpType.value(),
-                        clazz,
-                        registeredMethods
-                );
-                DispatcherReportService.registerType(registeredType);
+                registerType(tcpType.value(), clazz, handlers);
             }
+        } catch (ConfigurationException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to scan and register TCP handlers", e);
         }
     }
 
+            /**
+     * Registers the handler methods of one {@link TcpType} class and reports their metadata to the
+     * {@link DispatcherReportService}.
+     *
+     * <p>This is how {@link #scanAndRegister} adds the classes it finds, and how a generated
+     * {@link DispatchTable} adds the handlers it was compiled with. Handlers without a generated
+     * binder get a {@link jnova.tcp.dispatching.resolvers.BindingPlan} from the resolver registry,
+     * so resolvers are selected here rather than on every request. Handlers are matched ignoring
+     * case, so two handlers whose type, key and value differ only in case are duplicates. The
+     * commands of the type are added to the {@link CommandTable}, and its IDs are reported too.
+     *
+     * @param type     The value of the {@link TcpType} annotation of the class.
+     * @param clazz    The handler class.
+     * @param handlers The handler methods of the class.
+     * @throws ConfigurationException If a handler is already registered for the same type, key and value.
+     */
+    public synchronized void registerType(String type, Class<?> clazz, List<HandlerMethod> handlers) {
+        List<HandlerMethod> planned = new ArrayList<>(handlers.size());
+        for (HandlerMethod handler : handlers) {
+            planned.add(handler.binder() != null ? handler : new HandlerMethod(handler.key(), handler.value(),
+                    handler.method(), handler.instance(), handler.invoker(), resolverRegistry.plan(handler.method()),
+                    handler.validated()));
+        }
+        index = index.with(type, planned);
+        commands = commands.with(type, planned);
+
+        List<RegisteredMethod> registeredMethods = new ArrayList<>();
+        for (HandlerMethod handler : handlers) {
+            registeredMethods.add(describe(handler));
+        }
+        DispatcherReportService.registerType(new RegisteredType(type, clazz, registeredMethods));
+
+        List<RegisteredCommand> registeredCommands = new ArrayList<>();
+        for (CommandTable.Command command : commands.commands()) {
+            registeredCommands.add(new RegisteredCommand(command.id(), command.type(), command.command()));
+        }
+        DispatcherReportService.registerCommands(registeredCommands);
+    }
+
+        /**
+     * Collects the metadata of a handler method: its parameters, return type, declared exceptions and
+     * deprecation status.
+     *
+     * @param handler The handler method.
+     * @return The metadata of the method.
+     */
+    private static RegisteredMethod describe(HandlerMethod handler) {
+        Method method = handler.method();
+        List<RegisteredParameter> parameters = new ArrayList<>();
+        for (Parameter param : method.getParameters()) {
+            String name = param.getName();
+            String annotation = null;
+            if (param.isAnnotationPresent(JsonArg.class)) {
+                annotation = param.getAnnotation(JsonArg.class).value();
+            } else if (param.isAnnotationPresent(JsonBody.class)) {
+                annotation = "@JsonBody";
+            } else if (param.isAnnotationPresent(FromSession.class)) {
+                annotation = "@FromSession";
+            }
+
+            RegisteredParameter rp = new RegisteredParameter(
+                    name,
+                    param.getType(),
+                    annotation,
+                    hasValidationAnnotations(param)
+            );
+            for (Annotation a : param.getAnnotations()) {
+                String pkg = a.annotationType().getPackageName();
+                if (pkg.startsWith("javax.validation") || pkg.startsWith("org.hibernate.validator") || pkg.startsWith("jakarta.validation")) {
+                    rp.validationAnnotations.add(a.annotationType().getSimpleName());
+                }
+            }
+            parameters.add(rp);
+        }
+
+        RegisteredMethod rm = new RegisteredMethod(
+                method.getName(),
+                handler.key(),
+                handler.value(),
+                parameters
+        );
+        rm.returnTypeName = method.getGenericReturnType().getTypeName();
+
+        for (Class<?> ex : method.getExceptionTypes()) {
+            rm.declaredExceptions.add(ex.getSimpleName());
+        }
+
+        if (method.isAnnotationPresent(HandlerDeprecated.class)) {
+            HandlerDeprecated hd = method.getAnnotation(HandlerDeprecated.class);
+            rm.deprecated = true;
+            rm.sinceVersion = hd.since();
+            rm.deprecationMessage = hd.message();
+        }
+        return rm;
+    }
+
         /**
      * Checks if a parameter has any validation annotations from javax.validation or org.hibernate.validator.
      *
@@ -164,9 +209,31 @@ public class TcpTypeHandler {
      * @return An Optional containing the handler method if found, otherwise empty.
      */
     public Optional<HandlerMethod> findHandler(String type, String key, String value) {
-        return registry.getOrDefault(type, List.of()).stream()
-                .filter(h -> h.key().equalsIgnoreCase(key) && h.value().equalsIgnoreCase(value))
-                .findFirst();
+        return Optional.ofNullable(lookup(type, key, value));
+    }
+
+        /**
+     * Finds a handler method based on the given type, key, and value, ignoring case.
+     *
+     * <p>This is the lookup of every dispatched request: it is a single probe of a hash index and
+     * allocates nothing, however many handlers are registered.
+     *
+     * @param type  The type of the handler.
+     * @param key   The key to match.
+     * @param value The value to match.
+     * @return The handler method, or null if none is registered.
+     */
+    public HandlerMethod lookup(String type, String key, String value) {
+        return index.find(type, key, value);
+    }
+
+        /**
+     * Returns the table of command IDs of the registered handlers.
+     *
+     * @return The command table last built.
+     */
+    public CommandTable commands() {
+        return commands;
     }
 
         /**
@@ -181,5 +248,64 @@ public class TcpTypeHandler {
         return resolverRegistry.resolveArguments(method.getParameters(), json, session);
     }
 
-    public record HandlerMethod(String key, String value, Method method, Object instance) {}
+        /**
+     * Resolves the arguments of a handler with its binder: the generated one, or the binding plan
+     * built when it was registered. Handlers without either are resolved by the resolver registry.
+     *
+     * @param handler The handler whose arguments need to be resolved.
+     * @param json    A map containing the JSON data used for resolving arguments.
+     * @param session The TcpSession associated with the request.
+     * @return An array of objects representing the resolved arguments for the method.
+     */
+    public Object[] resolveArguments(HandlerMethod handler, Map<String, Object> json, TcpSession session) {
+        ArgumentBinder binder = handler.binder();
+        if (binder != null) {
+            return binder.bind(json, session);
+        }
+        return resolverRegistry.resolveArguments(handler.method().getParameters(), json, session);
+    }
+
+    /**
+     * A registered handler method, together with the invoker it was compiled into.
+     *
+     * @param key       The JSON key the handler is selected by.
+     * @param value     The value of the key the handler is selected by.
+     * @param method    The handler method.
+     * @param instance  The instance the method is invoked on.
+     * @param invoker   The compiled call of the method on the instance.
+     * @param binder    The generated binder of the arguments, or null to resolve them with the
+     *                  {@link ArgumentResolverRegistry}.
+     * @param validated The indices of the parameters annotated with {@code @Valid}, which are the only
+     *                  arguments the dispatcher validates.
+     */
+    public record HandlerMethod(String key, String value, Method method, Object instance, HandlerInvoker invoker,
+                                ArgumentBinder binder, int[] validated) {
+            /**
+         * Creates a handler method with a compiled invoker, finding its {@code @Valid} parameters.
+         *
+         * @param key      The JSON key the handler is selected by.
+         * @param value    The value of the key the handler is selected by.
+         * @param method   The handler method.
+         * @param instance The instance the method is invoked on.
+         * @param invoker  The compiled call of the method on the instance.
+         * @param binder   The generated binder of the arguments, or null to resolve them with the
+         *                 {@link ArgumentResolverRegistry}.
+         */
+        public HandlerMethod(String key, String value, Method method, Object instance, HandlerInvoker invoker,
+                             ArgumentBinder binder) {
+            this(key, value, method, instance, invoker, binder, ParameterValidator.validatedParameters(method.getParameters()));
+        }
+
+            /**
+         * Creates a handler method, compiling its invoker.
+         *
+         * @param key      The JSON key the handler is selected by.
+         * @param value    The value of the key the handler is selected by.
+         * @param method   The handler method.
+         * @param instance The instance the method is invoked on.
+         */
+        public HandlerMethod(String key, String value, Method method, Object instance) {
+            this(key, value, method, instance, HandlerInvokers.compile(instance, method), null);
+        }
+    }
 }
@@ -13,6 +13,9 @@ import java.util.Map;
  * Implementations of this interface are responsible for determining if they
  * support a given parameter and for resolving the argument value from the
  * request data.
+ *
+ * <p>The JSON map of a dispatched request is its {@link jnova.tcp.protocol.RequestDocument}, whose
+ * typed accessors and type adapters read values straight from the frame, whatever its encoding.
  */
 public interface ArgumentResolver {
         /**
@@ -34,6 +37,21 @@ public interface ArgumentResolver {
     Object resolve(Parameter parameter, Map<String, Object> json, TcpSession session, com.google.gson.Gson gson);
 
         /**
+     * Creates the binder of a parameter this resolver supports, used by the binding plan of its handler.
+     *
+     * <p>The binder is created once, when the handler is registered. The default implementation
+     * delegates to {@link #resolve} on every request; resolvers that read annotations or types of
+     * the parameter should override it to read them here instead.
+     *
+     * @param parameter The parameter to bind.
+     * @param gson The Gson instance for JSON serialization/deserialization.
+     * @return The binder of the parameter.
+     */
+    default ParameterBinder binder(Parameter parameter, com.google.gson.Gson gson) {
+        return (json, session) -> resolve(parameter, json, session, gson);
+    }
+
+        /**
          * Returns a list of annotation types supported by this processor.
          *
          * <p>The default implementation returns an empty list. Subclasses can override this
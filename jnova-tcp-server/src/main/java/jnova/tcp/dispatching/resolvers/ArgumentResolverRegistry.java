@@ -7,6 +7,7 @@ import jnova.tcp.metadata.introspection.dispatcher.RegisteredArgumentResolver;
 import jnova.tcp.service.DispatcherReportService;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
 
@@ -22,6 +23,7 @@ public class ArgumentResolverRegistry {
     private final List<ArgumentResolver> resolvers = new ArrayList<>();
     private final Set<String> registeredClasses = new HashSet<>();
     private final Gson gson = GsonFactory.get();
+    private static final ParameterBinder UNRESOLVED = (json, session) -> null;
 
         /**
          * Registers an argument resolver.
@@ -84,4 +86,29 @@ public class ArgumentResolverRegistry {
         }
         return args;
     }
+
+        /**
+     * Builds the binding plan of a handler method.
+     *
+     * <p>Each parameter is bound by the first registered resolver supporting it, as in
+     * {@link #resolveArguments}, and is left null if none does. Resolvers are selected when the plan
+     * is built, so resolvers registered afterwards do not apply to it.
+     *
+     * @param method The handler method.
+     * @return The binding plan of the method.
+     */
+    public BindingPlan plan(Method method) {
+        Parameter[] parameters = method.getParameters();
+        ParameterBinder[] binders = new ParameterBinder[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            binders[i] = UNRESOLVED;
+            for (ArgumentResolver resolver : resolvers) {
+                if (resolver.supports(parameters[i])) {
+                    binders[i] = resolver.binder(parameters[i], gson);
+                    break;
+                }
+            }
+        }
+        return new BindingPlan(binders);
+    }
 }
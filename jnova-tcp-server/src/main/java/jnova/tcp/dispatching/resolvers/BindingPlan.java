@@ -0,0 +1,32 @@
+package jnova.tcp.dispatching.resolvers;
+
+import jnova.tcp.TcpSession;
+import jnova.tcp.dispatching.ArgumentBinder;
+
+import java.util.Map;
+
+/**
+ * The arguments of one handler method, bound by the resolvers selected for its parameters when the
+ * handler was registered.
+ *
+ * <p>A plan is built by {@link ArgumentResolverRegistry#plan}: each parameter is matched against the
+ * resolvers once, and the matching resolver turns it into a {@link ParameterBinder} with its
+ * annotation values and target type already read. Binding a request then calls one binder per
+ * parameter, however many resolvers are registered.
+ */
+public final class BindingPlan implements ArgumentBinder {
+    private final ParameterBinder[] binders;
+
+    BindingPlan(ParameterBinder[] binders) {
+        this.binders = binders;
+    }
+
+    @Override
+    public Object[] bind(Map<String, Object> json, TcpSession session) {
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(json, session);
+        }
+        return args;
+    }
+}
@@ -38,6 +38,18 @@ public class FromSessionResolver implements ArgumentResolver {
         return session.getId();
     }
 
+        /**
+     * Creates a binder producing the session ID.
+     *
+     * @param param The parameter to bind.
+     * @param gson The Gson object for JSON serialization/deserialization.
+     * @return The binder of the parameter.
+     */
+    @Override
+    public ParameterBinder binder(Parameter param, Gson gson) {
+        return (json, session) -> session.getId();
+    }
+
         /**
      * Returns a list of annotations supported by this processor.
      *
@@ -3,9 +3,11 @@ package jnova.tcp.dispatching.resolvers;
 import com.google.gson.Gson;
 import jnova.annotations.tcp.JsonArg;
 import jnova.tcp.TcpSession;
+import jnova.tcp.dispatching.ArgumentBindings;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
@@ -14,7 +16,7 @@ import java.util.Map;
  *
  * This class implements the {@link ArgumentResolver} interface to provide a way to
  * resolve method arguments annotated with {@link JsonArg} from a JSON map. It uses Gson
- * to convert the JSON value to the required parameter type.
+ * to convert the JSON value to the required parameter type, including its type arguments.
  */
 public class JsonArgResolver implements ArgumentResolver {
         /**
@@ -33,12 +35,26 @@ public class JsonArgResolver implements ArgumentResolver {
      * @param json The JSON map containing the data.
      * @param session The TCP session (unused in this method).
      * @param gson The Gson instance for JSON parsing.
-     * @return The resolved parameter value, converted to the parameter's type.
+     * @return The resolved parameter value, converted to the parameter's generic type.
      */
     public Object resolve(Parameter param, Map<String, Object> json, TcpSession session, Gson gson) {
         String key = param.getAnnotation(JsonArg.class).value();
-        Object val = json.get(key);
-        return gson.fromJson(gson.toJson(val), param.getType());
+        return ArgumentBindings.jsonArg(gson, json, key, param.getParameterizedType());
+    }
+
+        /**
+     * Creates a binder converting the JSON value of the parameter's key, with the key and the
+     * parameter's type read once.
+     *
+     * @param param The parameter to bind.
+     * @param gson The Gson instance for JSON parsing.
+     * @return The binder of the parameter.
+     */
+    @Override
+    public ParameterBinder binder(Parameter param, Gson gson) {
+        String key = param.getAnnotation(JsonArg.class).value();
+        Type type = param.getParameterizedType();
+        return (json, session) -> ArgumentBindings.jsonArg(gson, json, key, type);
     }
 
         /**
@@ -3,9 +3,11 @@ package jnova.tcp.dispatching.resolvers;
 import com.google.gson.Gson;
 import jnova.annotations.tcp.JsonBody;
 import jnova.tcp.TcpSession;
+import jnova.tcp.dispatching.ArgumentBindings;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
@@ -36,7 +38,20 @@ public class JsonBodyResolver implements ArgumentResolver {
      * @return An object of the parameter's type, populated with data from the JSON map.
      */
     public Object resolve(Parameter param, Map<String, Object> json, TcpSession session, Gson gson) {
-        return gson.fromJson(gson.toJson(json), param.getType());
+        return ArgumentBindings.jsonBody(gson, json, param.getParameterizedType());
+    }
+
+        /**
+     * Creates a binder converting the JSON map to the parameter's type, with the type read once.
+     *
+     * @param param The parameter to bind.
+     * @param gson  The Gson instance used for JSON conversion.
+     * @return The binder of the parameter.
+     */
+    @Override
+    public ParameterBinder binder(Parameter param, Gson gson) {
+        Type type = param.getParameterizedType();
+        return (json, session) -> ArgumentBindings.jsonBody(gson, json, type);
     }
 
         /**
@@ -0,0 +1,23 @@
+package jnova.tcp.dispatching.resolvers;
+
+import jnova.tcp.TcpSession;
+
+import java.util.Map;
+
+/**
+ * Produces the value of one handler parameter from a request, with everything that depends only on
+ * the parameter already looked up.
+ *
+ * @see ArgumentResolver#binder
+ */
+@FunctionalInterface
+public interface ParameterBinder {
+        /**
+     * Produces the value of the parameter.
+     *
+     * @param json    The parsed request.
+     * @param session The session the request was received on.
+     * @return The value of the parameter.
+     */
+    Object bind(Map<String, Object> json, TcpSession session);
+}
@@ -0,0 +1,49 @@
+package jnova.tcp.dispatching.resolvers;
+
+import com.google.gson.Gson;
+import jnova.tcp.RoomRegistry;
+import jnova.tcp.TcpSession;
+
+import java.lang.reflect.Parameter;
+import java.util.Map;
+
+/**
+ * An argument resolver for injecting the {@link RoomRegistry} of the current session's server into handler methods.
+ *
+ * <p>This resolver checks if a parameter is of type {@link RoomRegistry} and, if so,
+ * resolves it to the registry the current session joins and publishes through.
+ */
+public class RoomRegistryResolver implements ArgumentResolver {
+        /**
+     * Checks if the given parameter is supported by this component.
+     *
+     * @param parameter The parameter to check.
+     * @return {@code true} if the parameter type is RoomRegistry.class, {@code false} otherwise.
+     */
+    @Override public boolean supports(Parameter parameter) {
+        return parameter.getType().equals(RoomRegistry.class);
+    }
+        /**
+     * Resolves a parameter to the room registry of the current session.
+     *
+     * @param parameter The parameter to resolve.
+     * @param json The JSON data associated with the request.
+     * @param session The current TCP session.
+     * @param gson The Gson instance for JSON serialization/deserialization.
+     * @return The room registry, or null if the session is not served by a TcpServer.
+     */
+    @Override public Object resolve(Parameter parameter, Map<String, Object> json, TcpSession session, Gson gson) {
+        return session.getRoomRegistry();
+    }
+
+        /**
+     * Creates a binder producing the room registry of the current session.
+     *
+     * @param parameter The parameter to bind.
+     * @param gson The Gson instance for JSON serialization/deserialization.
+     * @return The binder of the parameter.
+     */
+    @Override public ParameterBinder binder(Parameter parameter, Gson gson) {
+        return (json, session) -> session.getRoomRegistry();
+    }
+}
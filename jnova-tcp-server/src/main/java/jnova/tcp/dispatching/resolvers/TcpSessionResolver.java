@@ -34,4 +34,15 @@ public class TcpSessionResolver implements ArgumentResolver {
     @Override public Object resolve(Parameter parameter, Map<String, Object> json, TcpSession session, Gson gson) {
         return session;
     }
+
+        /**
+     * Creates a binder producing the current TCP session.
+     *
+     * @param parameter The parameter to bind.
+     * @param gson The Gson instance for JSON serialization/deserialization.
+     * @return The binder of the parameter.
+     */
+    @Override public ParameterBinder binder(Parameter parameter, Gson gson) {
+        return (json, session) -> session;
+    }
 }
@@ -0,0 +1,68 @@
+package jnova.tcp.events;
+
+import jnova.core.events.AbstractEvent;
+import jnova.core.events.EventBuilder;
+import jnova.tcp.TcpSession;
+import jnova.tcp.transport.OverflowPolicy;
+
+/**
+ * An event that represents a TCP session whose outbound queue overflowed.
+ *
+ * This event contains the session whose peer reads too slowly, the overflow policy that was
+ * applied, and how much was waiting to be written when the overflow occurred.
+ */
+public class TcpSlowConsumerEvent extends AbstractEvent {
+    private final TcpSession session;
+    private final OverflowPolicy policy;
+    private final int queuedMessages;
+    private final long queuedBytes;
+
+        /**
+     * Constructs a {@code TcpSlowConsumerEvent}.
+     *
+     * @param builder The builder used to construct the event.
+     */
+    public TcpSlowConsumerEvent(EventBuilder<TcpSlowConsumerEvent> builder) {
+        super(builder.getType(), builder.getCorrelationId(), builder.getTimestamp(), builder.getSource());
+        this.session = builder.get("session", TcpSession.class);
+        this.policy = builder.get("policy", OverflowPolicy.class);
+        this.queuedMessages = builder.get("queuedMessages", Integer.class);
+        this.queuedBytes = builder.get("queuedBytes", Long.class);
+    }
+
+        /**
+     * Retrieves the slow TCP session.
+     *
+     * @return The TCP session whose outbound queue overflowed.
+     */
+    public TcpSession getSession() {
+        return session;
+    }
+
+        /**
+     * Retrieves the overflow policy that was applied.
+     *
+     * @return The overflow policy.
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+        /**
+     * Retrieves the number of messages that were waiting to be written.
+     *
+     * @return The number of queued messages.
+     */
+    public int getQueuedMessages() {
+        return queuedMessages;
+    }
+
+        /**
+     * Retrieves the number of framed bytes that were waiting to be written.
+     *
+     * @return The number of queued bytes.
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+}
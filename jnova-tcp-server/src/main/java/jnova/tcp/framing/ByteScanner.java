@@ -0,0 +1,60 @@
+package jnova.tcp.framing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Word-at-a-time byte search used by the delimiter-based decoders.
+ *
+ * <p>Instead of comparing one byte per iteration, {@link #indexOf(ByteBuffer, int, int, byte)} loads
+ * eight bytes at once and tests all of them for the wanted value with a handful of arithmetic
+ * operations (SWAR, "SIMD within a register"). The bytes left over at the end of the range are
+ * compared one at a time.
+ */
+public final class ByteScanner {
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    private ByteScanner() {
+    }
+
+        /**
+     * Finds the first occurrence of a byte in a range of a buffer, without moving its position.
+     *
+     * @param buffer The buffer to search.
+     * @param from   The absolute index to start at, inclusive.
+     * @param to     The absolute index to stop at, exclusive.
+     * @param value  The byte to look for.
+     * @return The absolute index of the first occurrence, or -1 if the range does not contain it.
+     */
+    public static int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        long pattern = (value & 0xFFL) * ONES;
+        boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long match = zeroBytes(buffer.getLong(i) ^ pattern);
+            if (match != 0) {
+                int bits = bigEndian ? Long.numberOfLeadingZeros(match) : Long.numberOfTrailingZeros(match);
+                return i + (bits >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+        /**
+     * Flags the zero bytes of a word: the high bit of every zero byte is set, all other bits are clear.
+     *
+     * <p>Unlike the common {@code (x - 0x01..) & ~x & 0x80..} test this variant never borrows across
+     * bytes, so it has no false positives and the first flagged byte is exact in either byte order.
+     *
+     * @param word The word to test.
+     * @return A mask with the high bit of each zero byte set.
+     */
+    private static long zeroBytes(long word) {
+        long sum = (word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        return ~(sum | word | LOW_SEVEN_BITS);
+    }
+}
@@ -0,0 +1,84 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.PooledBuffer;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Adapts a {@link FrameCodec} to the stream-based {@link FramingStrategy} interface.
+ *
+ * <p>Reading drives the codec's decoder with chunks of the input stream through a {@link FrameReader};
+ * writing frames each message with the codec's encoder and writes it in a single call. This lets a
+ * codec be passed to {@link jnova.tcp.TcpServer} on any engine.
+ */
+public class CodecFraming implements FramingStrategy {
+    private final FrameCodec codec;
+    private final FrameEncoder encoder;
+
+        /**
+     * Constructs a framing strategy backed by the given codec.
+     *
+     * @param codec The codec to adapt.
+     */
+    public CodecFraming(FrameCodec codec) {
+        this.codec = codec;
+        this.encoder = codec.newEncoder();
+    }
+
+        /**
+     * Reads and decodes frames from the input stream with a new decoder of the codec.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} of decoded frames.
+     */
+    @Override
+    public Flux<byte[]> readMessages(InputStream input) {
+        return FrameReader.read(input, codec.newDecoder());
+    }
+
+        /**
+     * Reads and decodes frames from the input stream into pooled buffers with a new decoder of the codec.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} of decoded frames.
+     */
+    @Override
+    public Flux<PooledBuffer> readFrames(InputStream input) {
+        return FrameReader.readPooled(input, codec.newDecoder());
+    }
+
+        /**
+     * Frames a message with the codec's encoder and writes it to the output stream.
+     *
+     * @param output  The output stream to write to.
+     * @param message The message to write.
+     * @throws IOException If an I/O error occurs during the write operation.
+     */
+    @Override
+    public void writeMessage(OutputStream output, byte[] message) throws IOException {
+        encoder.write(message, output);
+    }
+
+        /**
+     * Creates a new decoder of the codec.
+     *
+     * @return A new {@link FrameDecoder}.
+     */
+    @Override
+    public FrameDecoder newDecoder() {
+        return codec.newDecoder();
+    }
+
+        /**
+     * Returns the codec's encoder.
+     *
+     * @return The {@link FrameEncoder} of the codec.
+     */
+    @Override
+    public FrameEncoder newEncoder() {
+        return encoder;
+    }
+}
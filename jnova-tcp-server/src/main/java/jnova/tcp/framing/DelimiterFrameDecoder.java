@@ -0,0 +1,224 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.FrameSizePredictor;
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A {@link FrameDecoder} that splits the byte stream on a delimiter of one or more bytes.
+ *
+ * <p>Delimiters are located with {@link ByteScanner}, eight bytes at a time, and each frame is
+ * copied out of the chunk in one piece into a buffer borrowed from {@link BufferPool#heap()}. Bytes
+ * that arrive after the last delimiter of a chunk are kept in an accumulation buffer and prepended
+ * to the next frame; a multi-byte delimiter may itself be split across chunks. The accumulation
+ * buffer is borrowed only while a partial frame is pending, sized after the connection's recent
+ * frames, and becomes the frame itself when the rest of the frame fits in it.
+ */
+public class DelimiterFrameDecoder implements FrameDecoder {
+    private final byte[] delimiter;
+    private final FrameSizePredictor sizePredictor = new FrameSizePredictor(256, BufferPool.MAX_POOLED_SIZE);
+    private PooledBuffer pending;
+    private int pendingLength = 0;
+
+        /**
+     * Constructs a DelimiterFrameDecoder for the given delimiter byte.
+     *
+     * @param delimiter The byte that terminates each frame.
+     */
+    public DelimiterFrameDecoder(byte delimiter) {
+        this(new byte[]{delimiter});
+    }
+
+        /**
+     * Constructs a DelimiterFrameDecoder for the given delimiter sequence.
+     *
+     * @param delimiter The bytes that terminate each frame.
+     * @throws IllegalArgumentException If the delimiter is empty.
+     */
+    public DelimiterFrameDecoder(byte[] delimiter) {
+        if (delimiter.length == 0) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        this.delimiter = delimiter.clone();
+    }
+
+        /**
+     * Splits the buffer on the delimiter, emitting a copy of each completed frame without the delimiter.
+     *
+     * @param in  The buffer to consume.
+     * @param out The consumer receiving each decoded frame.
+     */
+    @Override
+    public void decode(ByteBuffer in, Consumer<byte[]> out) {
+        decodePooled(in, FrameDecoder.copying(out));
+    }
+
+        /**
+     * Splits the buffer on the delimiter, emitting each completed frame without the delimiter in a pooled buffer.
+     *
+     * @param in  The buffer to consume.
+     * @param out The consumer receiving each decoded frame.
+     */
+    @Override
+    public void decodePooled(ByteBuffer in, Consumer<PooledBuffer> out) {
+        int start = in.position();
+        int limit = in.limit();
+        if (pendingLength > 0 && delimiter.length > 1) {
+            start = completeSplitDelimiter(in, start, limit, out);
+        }
+
+        int from = start;
+        int i;
+        while ((i = ByteScanner.indexOf(in, from, limit, delimiter[0])) >= 0) {
+            if (delimiter.length == 1 || matches(in, i, limit)) {
+                out.accept(frame(in, start, i - start));
+                start = i + delimiter.length;
+                from = start;
+            } else {
+                from = i + 1;
+            }
+        }
+        append(in, start, limit - start);
+        in.position(limit);
+    }
+
+        /**
+     * Discards an unterminated frame left at the end of the stream, returning its buffer to the pool.
+     *
+     * @param out Unused; a partial frame is never emitted.
+     */
+    @Override
+    public void decodeLast(Consumer<byte[]> out) {
+        decodeLastPooled(FrameDecoder.copying(out));
+    }
+
+        /**
+     * Discards an unterminated frame left at the end of the stream, returning its buffer to the pool.
+     *
+     * @param out Unused; a partial frame is never emitted.
+     */
+    @Override
+    public void decodeLastPooled(Consumer<PooledBuffer> out) {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+        pendingLength = 0;
+    }
+
+        /**
+     * Builds a frame from the accumulated bytes followed by the given slice of the buffer.
+     *
+     * @param in     The buffer holding the tail of the frame.
+     * @param offset The absolute index of the first byte of the tail.
+     * @param length The number of bytes in the tail.
+     * @return The complete frame, in a pooled buffer owned by the caller.
+     */
+    protected PooledBuffer frame(ByteBuffer in, int offset, int length) {
+        return copyFrame(in, offset, length, 0);
+    }
+
+        /**
+     * Copies a frame out of the accumulated bytes and the given slice, leaving off its last bytes.
+     *
+     * <p>The accumulation buffer is completed in place and handed out as the frame when the slice
+     * fits in it; otherwise the frame is copied into a buffer of its size.
+     *
+     * @param in       The buffer holding the tail of the frame.
+     * @param offset   The absolute index of the first byte of the tail.
+     * @param length   The number of bytes in the tail.
+     * @param trailing The number of bytes to drop from the end of the frame.
+     * @return The frame without its trailing bytes, in a pooled buffer owned by the caller.
+     */
+    protected final PooledBuffer copyFrame(ByteBuffer in, int offset, int length, int trailing) {
+        int size = pendingLength + length - trailing;
+        int fromPending = Math.min(pendingLength, size);
+        PooledBuffer frame;
+        if (pending != null && size <= pending.array().length) {
+            frame = pending;
+        } else {
+            frame = BufferPool.heap().acquire(size);
+            if (pending != null) {
+                System.arraycopy(pending.array(), 0, frame.array(), 0, fromPending);
+                pending.release();
+            }
+        }
+        pending = null;
+        in.get(offset, frame.array(), fromPending, size - fromPending);
+        frame.buffer().limit(size);
+        pendingLength = 0;
+        sizePredictor.record(size + delimiter.length);
+        return frame;
+    }
+
+        /**
+     * Returns the last byte of the frame made of the accumulated bytes and the given slice.
+     *
+     * @param in     The buffer holding the tail of the frame.
+     * @param offset The absolute index of the first byte of the tail.
+     * @param length The number of bytes in the tail.
+     * @return The last byte as an unsigned value, or -1 if the frame is empty.
+     */
+    protected final int lastByte(ByteBuffer in, int offset, int length) {
+        if (length > 0) return in.get(offset + length - 1) & 0xFF;
+        return pendingLength > 0 ? pending.array()[pendingLength - 1] & 0xFF : -1;
+    }
+
+        /**
+     * Checks whether bytes of an unterminated frame have been accumulated.
+     *
+     * @return true if a partial frame is pending.
+     */
+    protected final boolean hasPending() {
+        return pendingLength > 0;
+    }
+
+    /**
+     * Looks for a delimiter that starts in the accumulated bytes and ends in the new chunk.
+     *
+     * @return The index of the first byte of the chunk that still has to be scanned.
+     */
+    private int completeSplitDelimiter(ByteBuffer in, int start, int limit, Consumer<PooledBuffer> out) {
+        for (int j = Math.max(0, pendingLength - delimiter.length + 1); j < pendingLength; j++) {
+            int inPending = pendingLength - j;
+            int inChunk = delimiter.length - inPending;
+            if (inChunk > limit - start) continue;
+            if (!Arrays.equals(pending.array(), j, pendingLength, delimiter, 0, inPending)) continue;
+            if (!matchesAt(in, start, delimiter, inPending)) continue;
+
+            pendingLength = j;
+            out.accept(frame(in, start, 0));
+            return start + inChunk;
+        }
+        return start;
+    }
+
+    private boolean matches(ByteBuffer in, int index, int limit) {
+        return index + delimiter.length <= limit && matchesAt(in, index + 1, delimiter, 1);
+    }
+
+    private static boolean matchesAt(ByteBuffer in, int index, byte[] delimiter, int delimiterOffset) {
+        for (int k = delimiterOffset; k < delimiter.length; k++) {
+            if (in.get(index + k - delimiterOffset) != delimiter[k]) return false;
+        }
+        return true;
+    }
+
+    private void append(ByteBuffer in, int offset, int length) {
+        if (length == 0) return;
+        if (pending == null) {
+            pending = BufferPool.heap().acquire(Math.max(sizePredictor.expectedSize(), length));
+        } else if (pendingLength + length > pending.array().length) {
+            PooledBuffer grown = BufferPool.heap().acquire(Math.max(pending.array().length * 2, pendingLength + length));
+            System.arraycopy(pending.array(), 0, grown.array(), 0, pendingLength);
+            pending.release();
+            pending = grown;
+        }
+        in.get(offset, pending.array(), pendingLength, length);
+        pendingLength += length;
+    }
+}
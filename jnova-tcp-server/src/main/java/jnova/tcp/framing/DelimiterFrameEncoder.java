@@ -0,0 +1,41 @@
+package jnova.tcp.framing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link FrameEncoder} that terminates every message with a delimiter of one or more bytes.
+ */
+public class DelimiterFrameEncoder implements FrameEncoder {
+    private final byte[] delimiter;
+
+        /**
+     * Constructs a DelimiterFrameEncoder for the given delimiter sequence.
+     *
+     * @param delimiter The bytes appended to each message.
+     */
+    public DelimiterFrameEncoder(byte[] delimiter) {
+        this.delimiter = delimiter.clone();
+    }
+
+        /**
+     * Returns the length of the message plus the delimiter.
+     *
+     * @param message The message to frame.
+     * @return The size of the frame in bytes.
+     */
+    @Override
+    public int encodedLength(byte[] message) {
+        return message.length + delimiter.length;
+    }
+
+        /**
+     * Writes the message followed by the delimiter.
+     *
+     * @param message The message to frame.
+     * @param out     The buffer to write to.
+     */
+    @Override
+    public void encode(byte[] message, ByteBuffer out) {
+        out.put(message).put(delimiter);
+    }
+}
@@ -1,22 +1,24 @@
 package jnova.tcp.framing;
 
+import jnova.tcp.buffer.PooledBuffer;
 import reactor.core.publisher.Flux;
 
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.IOException;
 
 /**
- * A framing strategy that uses a delimiter character to separate messages.
+ * A framing strategy that uses a delimiter to separate messages.
  *
  * <p>This class implements the {@link FramingStrategy} interface and provides methods for
- * reading and writing messages using a specified delimiter. When reading, it accumulates bytes
- * until the delimiter is encountered, then emits the accumulated bytes as a single message.
- * When writing, it appends the delimiter to the end of each message.
+ * reading and writing messages using a specified delimiter of one or more bytes. When reading,
+ * it reads the stream in large chunks and splits them with a {@link DelimiterFrameDecoder},
+ * emitting the bytes between two delimiters as a single message. When writing, it appends the
+ * delimiter to the end of each message.
  */
 public class DelimiterFraming implements FramingStrategy {
-    private final byte delimiter;
+    private final byte[] delimiter;
+    private final DelimiterFrameEncoder encoder;
 
     /**
      * Constructs a DelimiterFraming instance with the specified delimiter character.
@@ -24,47 +26,79 @@ public class DelimiterFraming implements FramingStrategy {
      * @param delimiterChar The character used to delimit frames.  This will be cast to a byte.
      */
     public DelimiterFraming(char delimiterChar) {
-        this.delimiter = (byte) delimiterChar;
+        this(new byte[]{(byte) delimiterChar});
+    }
+
+    /**
+     * Constructs a DelimiterFraming instance with a multi-byte delimiter, such as {@code "\r\n\r\n"}.
+     *
+     * @param delimiter The bytes used to delimit frames.
+     * @throws IllegalArgumentException If the delimiter is empty.
+     */
+    public DelimiterFraming(byte[] delimiter) {
+        if (delimiter.length == 0) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+        this.delimiter = delimiter.clone();
+        this.encoder = new DelimiterFrameEncoder(delimiter);
     }
 
         /**
      * Reads messages from an input stream, splitting them based on a delimiter.
      *
+     * <p>The stream is read in chunks by a {@link FrameReader}, so no per-byte read is made against
+     * the socket.
+     *
      * @param input The input stream to read from.
      * @return A Flux of byte arrays, where each byte array represents a complete message.
      */
     @Override
     public Flux<byte[]> readMessages(InputStream input) {
-        return Flux.create(sink -> {
-            try {
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                int b;
-                while ((b = input.read()) != -1 && !sink.isCancelled()) {
-                    if (b == delimiter) {
-                        sink.next(buffer.toByteArray());
-                        buffer.reset();
-                    } else {
-                        buffer.write(b);
-                    }
-                }
-                sink.complete();
-            } catch (Throwable e) {
-                sink.error(e);
-            }
-        });
+        return FrameReader.read(input, newDecoder());
+    }
+
+        /**
+     * Reads and decodes frames from the input stream into pooled buffers with a new decoder.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} of decoded frames.
+     */
+    @Override
+    public Flux<PooledBuffer> readFrames(InputStream input) {
+        return FrameReader.readPooled(input, newDecoder());
     }
 
         /**
      * Writes a message to the output stream, followed by a delimiter, and flushes the stream.
      *
+     * <p>Message and delimiter are written with a single {@code write} call.
+     *
      * @param output  The {@link OutputStream} to write to.
      * @param message The byte array containing the message to write.
      * @throws IOException If an I/O error occurs during the write operation.
      */
     @Override
     public void writeMessage(OutputStream output, byte[] message) throws IOException {
-        output.write(message);
-        output.write(delimiter);
-        output.flush();
+        encoder.write(message, output);
+    }
+
+        /**
+     * Creates an incremental decoder splitting on this strategy's delimiter.
+     *
+     * @return A new {@link DelimiterFrameDecoder}.
+     */
+    @Override
+    public FrameDecoder newDecoder() {
+        return new DelimiterFrameDecoder(delimiter);
+    }
+
+        /**
+     * Returns the encoder appending this strategy's delimiter.
+     *
+     * @return A {@link DelimiterFrameEncoder}.
+     */
+    @Override
+    public FrameEncoder newEncoder() {
+        return encoder;
     }
 }
@@ -0,0 +1,25 @@
+package jnova.tcp.framing;
+
+/**
+ * A push-style framing codec: an incremental {@link FrameDecoder} for inbound bytes paired with a
+ * {@link FrameEncoder} for outbound messages.
+ *
+ * <p>Unlike the stream methods of {@link FramingStrategy}, a codec never blocks and can be driven by
+ * non-blocking reads that deliver partial data. Every {@link FramingStrategy} is a codec, and any
+ * codec can be used where a framing strategy is expected by wrapping it in a {@link CodecFraming}.
+ */
+public interface FrameCodec {
+        /**
+     * Creates a fresh decoder for one connection.
+     *
+     * @return A new {@link FrameDecoder} holding no partial frame.
+     */
+    FrameDecoder newDecoder();
+
+        /**
+     * Returns an encoder for outbound messages.
+     *
+     * @return A {@link FrameEncoder}, which may be shared between connections.
+     */
+    FrameEncoder newEncoder();
+}
@@ -0,0 +1,83 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Incremental, push-style decoder that turns arbitrary chunks of bytes into complete frames.
+ *
+ * <p>Unlike {@link FramingStrategy#readMessages(java.io.InputStream)}, a decoder never blocks: it is
+ * handed whatever bytes a non-blocking read produced and keeps any partial frame internally until
+ * the rest of it arrives. A decoder holds per-connection state and must not be shared between
+ * connections.
+ *
+ * <p>Frames are emitted either as arrays of their own or, through {@link #decodePooled}, as heap
+ * {@link PooledBuffer}s holding the frame from index 0 up to the buffer's limit. The server reads
+ * pooled frames and releases them once their request has been handled; the built-in decoders emit
+ * them without copying the bytes again, and emit arrays by copying their pooled frames.
+ */
+public interface FrameDecoder {
+        /**
+     * Consumes all remaining bytes of the given buffer and emits every frame they complete.
+     *
+     * @param in  The buffer to consume. On return it has no remaining bytes.
+     * @param out The consumer receiving each decoded frame, in arrival order.
+     * @throws IOException If the bytes violate the framing protocol.
+     */
+    void decode(ByteBuffer in, Consumer<byte[]> out) throws IOException;
+
+        /**
+     * Called once the stream has ended, to emit a final frame that was never terminated.
+     *
+     * <p>The default implementation discards any partial frame.
+     *
+     * @param out The consumer receiving the final frame, if any.
+     * @throws IOException If the partial frame cannot be emitted.
+     */
+    default void decodeLast(Consumer<byte[]> out) throws IOException {
+    }
+
+        /**
+     * Consumes all remaining bytes of the given buffer and emits every frame they complete as a pooled buffer.
+     *
+     * <p>Each frame is handed over with one reference, which the consumer owns and must release.
+     * The default implementation wraps the frames emitted by {@link #decode(ByteBuffer, Consumer)}.
+     *
+     * @param in  The buffer to consume. On return it has no remaining bytes.
+     * @param out The consumer receiving each decoded frame, in arrival order.
+     * @throws IOException If the bytes violate the framing protocol.
+     */
+    default void decodePooled(ByteBuffer in, Consumer<PooledBuffer> out) throws IOException {
+        decode(in, frame -> out.accept(PooledBuffer.wrap(frame)));
+    }
+
+        /**
+     * Called once the stream has ended, to emit a final frame that was never terminated as a pooled buffer.
+     *
+     * <p>The default implementation wraps the frame emitted by {@link #decodeLast(Consumer)}, if any.
+     *
+     * @param out The consumer receiving the final frame, if any.
+     * @throws IOException If the partial frame cannot be emitted.
+     */
+    default void decodeLastPooled(Consumer<PooledBuffer> out) throws IOException {
+        decodeLast(frame -> out.accept(PooledBuffer.wrap(frame)));
+    }
+
+        /**
+     * Adapts a consumer of arrays to pooled frames, copying each frame and releasing its buffer.
+     *
+     * @param out The consumer receiving each frame as an array of its own.
+     * @return The consumer of pooled frames.
+     */
+    static Consumer<PooledBuffer> copying(Consumer<byte[]> out) {
+        return frame -> {
+            byte[] copy = Arrays.copyOf(frame.array(), frame.buffer().limit());
+            frame.release();
+            out.accept(copy);
+        };
+    }
+}
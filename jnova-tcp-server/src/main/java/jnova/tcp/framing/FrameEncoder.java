@@ -0,0 +1,56 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Encoder that frames outbound messages into a buffer supplied by the caller.
+ *
+ * <p>The counterpart of {@link FrameDecoder}: the caller asks for the {@link #encodedLength(byte[])}
+ * of a message, provides a buffer with at least that many bytes remaining, and the encoder writes
+ * the complete frame (header, message and trailer) into it. Encoders hold no per-connection state,
+ * so one instance may be shared between connections and threads.
+ */
+public interface FrameEncoder {
+        /**
+     * Returns the number of bytes the framed message takes.
+     *
+     * @param message The message to frame.
+     * @return The size of the frame in bytes.
+     */
+    int encodedLength(byte[] message);
+
+        /**
+     * Writes the framed message into the buffer, advancing its position by {@link #encodedLength(byte[])}.
+     *
+     * @param message The message to frame.
+     * @param out     The buffer to write to, with at least {@link #encodedLength(byte[])} bytes remaining.
+     * @throws IOException If the message cannot be framed.
+     * @throws java.nio.BufferOverflowException If the buffer is too small.
+     */
+    void encode(byte[] message, ByteBuffer out) throws IOException;
+
+        /**
+     * Frames a message and writes it to a stream with a single {@code write} call, then flushes the stream.
+     *
+     * <p>The frame is assembled in a buffer borrowed from {@link BufferPool#heap()} and returned once written.
+     *
+     * @param message The message to frame.
+     * @param output  The stream to write to.
+     * @throws IOException If the message cannot be framed or an I/O error occurs.
+     */
+    default void write(byte[] message, OutputStream output) throws IOException {
+        PooledBuffer frame = BufferPool.heap().acquire(encodedLength(message));
+        try {
+            encode(message, frame.buffer());
+            output.write(frame.array(), 0, frame.buffer().position());
+            output.flush();
+        } finally {
+            frame.release();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import reactor.core.publisher.Flux;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Drives a {@link FrameDecoder} from a blocking {@link InputStream}.
+ *
+ * <p>The stream is read in chunks of {@value #READ_BUFFER_SIZE} bytes into one buffer borrowed from
+ * {@link BufferPool#heap()} for the whole connection, and every chunk is handed to the decoder. This lets stream-based strategies share
+ * the decoders of the non-blocking engine instead of reading the socket one byte or one line at a time.
+ */
+public final class FrameReader {
+    /**
+     * The size of the chunks read from the input stream.
+     */
+    public static final int READ_BUFFER_SIZE = 8192;
+
+    private FrameReader() {
+    }
+
+        /**
+     * Reads and decodes frames from a stream on the subscribing thread.
+     *
+     * <p>When the stream ends, {@link FrameDecoder#decodeLast(java.util.function.Consumer)} is given
+     * the chance to emit a final unterminated frame before the flux completes. Read and decoding
+     * errors terminate the flux with the error.
+     *
+     * @param input   The stream to read from.
+     * @param decoder The decoder for this stream, holding no partial frame.
+     * @return A {@link Flux} of decoded frames.
+     */
+    public static Flux<byte[]> read(InputStream input, FrameDecoder decoder) {
+        return Flux.create(sink -> {
+            PooledBuffer pooled = BufferPool.heap().acquire(READ_BUFFER_SIZE);
+            try {
+                byte[] chunk = pooled.array();
+                ByteBuffer buffer = pooled.buffer();
+                int n;
+                while (!sink.isCancelled() && (n = input.read(chunk)) != -1) {
+                    buffer.limit(n).position(0);
+                    decoder.decode(buffer, sink::next);
+                }
+                if (!sink.isCancelled()) {
+                    decoder.decodeLast(sink::next);
+                }
+                sink.complete();
+            } catch (Throwable e) {
+                sink.error(e);
+            } finally {
+                pooled.release();
+            }
+        });
+    }
+
+        /**
+     * Reads and decodes frames from a stream on the subscribing thread, as pooled buffers.
+     *
+     * <p>Frames are emitted as by {@link FrameDecoder#decodePooled}, each with one reference that
+     * the subscriber owns and must release. Frames dropped by a cancelled subscription are left to
+     * the garbage collector.
+     *
+     * @param input   The stream to read from.
+     * @param decoder The decoder for this stream, holding no partial frame.
+     * @return A {@link Flux} of decoded frames.
+     */
+    public static Flux<PooledBuffer> readPooled(InputStream input, FrameDecoder decoder) {
+        return Flux.create(sink -> {
+            PooledBuffer pooled = BufferPool.heap().acquire(READ_BUFFER_SIZE);
+            try {
+                byte[] chunk = pooled.array();
+                ByteBuffer buffer = pooled.buffer();
+                int n;
+                while (!sink.isCancelled() && (n = input.read(chunk)) != -1) {
+                    buffer.limit(n).position(0);
+                    decoder.decodePooled(buffer, sink::next);
+                }
+                if (!sink.isCancelled()) {
+                    decoder.decodeLastPooled(sink::next);
+                }
+                sink.complete();
+            } catch (Throwable e) {
+                sink.error(e);
+            } finally {
+                pooled.release();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package jnova.tcp.framing;
 
+import jnova.tcp.buffer.PooledBuffer;
 import reactor.core.publisher.Flux;
 
 import java.io.IOException;
@@ -12,8 +13,12 @@ import java.io.OutputStream;
  * Defines methods for reading a stream of byte arrays (messages) from an input stream,
  * and writing a single byte array message to an output stream.  Implementations handle
  * the specific details of how messages are delimited or framed within the stream.
+ *
+ * <p>A strategy may also act as a push-style {@link FrameCodec} by overriding {@link #newDecoder()}
+ * and {@link #newEncoder()}; the built-in strategies do. Conversely, a plain codec can be used as a
+ * strategy through {@link CodecFraming}.
  */
-public interface FramingStrategy {
+public interface FramingStrategy extends FrameCodec {
         /**
      * Reads messages from an input stream as a reactive stream of byte arrays.
      *
@@ -21,6 +26,21 @@ public interface FramingStrategy {
      * @return A {@link Flux} emitting byte arrays representing the messages read from the input stream.
      */
     Flux<byte[]> readMessages(InputStream input);
+
+        /**
+     * Reads messages from an input stream as a reactive stream of pooled buffers.
+     *
+     * <p>Each frame is emitted as by {@link FrameDecoder#decodePooled}, with one reference that the
+     * subscriber owns and must release. The server reads connections of the blocking engines this
+     * way. The default implementation wraps the messages of {@link #readMessages(InputStream)}; the
+     * built-in strategies decode straight into pooled buffers.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} emitting the messages read from the input stream.
+     */
+    default Flux<PooledBuffer> readFrames(InputStream input) {
+        return readMessages(input).map(PooledBuffer::wrap);
+    }
         /**
      * Writes a byte array message to the given output stream.
      *
@@ -29,4 +49,33 @@ public interface FramingStrategy {
      * @throws IOException If an I/O error occurs during the write operation.
      */
     void writeMessage(OutputStream output, byte[] message) throws IOException;
+
+        /**
+     * Creates a fresh incremental decoder for one connection.
+     *
+     * <p>Non-blocking engines cannot drive {@link #readMessages(InputStream)} and use this decoder
+     * instead. The default implementation reports that the strategy has no incremental decoder.
+     *
+     * @return A new {@link FrameDecoder} holding no partial frame.
+     * @throws UnsupportedOperationException If this strategy cannot be decoded incrementally.
+     */
+    @Override
+    default FrameDecoder newDecoder() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not provide an incremental decoder");
+    }
+
+        /**
+     * Returns an encoder framing messages into caller-supplied buffers.
+     *
+     * <p>Non-blocking engines use it, when available, to frame outbound messages directly into the
+     * buffer they write to the channel. The default implementation reports that the strategy has no
+     * encoder, in which case {@link #writeMessage(OutputStream, byte[])} is used.
+     *
+     * @return A {@link FrameEncoder} for this strategy.
+     * @throws UnsupportedOperationException If this strategy has no buffer encoder.
+     */
+    @Override
+    default FrameEncoder newEncoder() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not provide a buffer encoder");
+    }
 }
@@ -0,0 +1,90 @@
+package jnova.tcp.framing;
+
+/**
+ * The encodings of the length header used by {@link LengthPrefixedFraming}.
+ */
+public enum LengthHeader {
+    /**
+     * A 4-byte big-endian signed integer, as written by {@link java.io.DataOutputStream#writeInt(int)}.
+     */
+    INT32(Integer.MAX_VALUE),
+
+    /**
+     * A 2-byte big-endian unsigned integer, for protocols whose frames never exceed 64 KB.
+     */
+    UINT16(0xFFFF),
+
+    /**
+     * An unsigned base-128 varint of one to five bytes, seven bits per byte with the high bit set on
+     * every byte but the last. Frames shorter than 128 bytes take a single header byte.
+     */
+    VARINT(Integer.MAX_VALUE);
+
+    /**
+     * The largest number of bytes any header takes.
+     */
+    public static final int MAX_SIZE = 5;
+
+    private final int maxLength;
+
+    LengthHeader(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+        /**
+     * Returns the largest frame length this header can represent.
+     *
+     * @return The maximum length in bytes.
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+        /**
+     * Returns the number of bytes the header for the given length takes.
+     *
+     * @param length The frame length.
+     * @return The header size in bytes.
+     */
+    public int size(int length) {
+        return switch (this) {
+            case INT32 -> 4;
+            case UINT16 -> 2;
+            case VARINT -> length < 1 << 7 ? 1 : length < 1 << 14 ? 2 : length < 1 << 21 ? 3 : length < 1 << 28 ? 4 : 5;
+        };
+    }
+
+        /**
+     * Writes the header for the given length into an array.
+     *
+     * @param length The frame length, between 0 and {@link #maxLength()}.
+     * @param dst    The array to write to.
+     * @param offset The index of the first header byte.
+     * @return The number of bytes written.
+     */
+    public int encode(int length, byte[] dst, int offset) {
+        switch (this) {
+            case INT32 -> {
+                dst[offset] = (byte) (length >>> 24);
+                dst[offset + 1] = (byte) (length >>> 16);
+                dst[offset + 2] = (byte) (length >>> 8);
+                dst[offset + 3] = (byte) length;
+                return 4;
+            }
+            case UINT16 -> {
+                dst[offset] = (byte) (length >>> 8);
+                dst[offset + 1] = (byte) length;
+                return 2;
+            }
+            default -> {
+                int i = offset;
+                while ((length & ~0x7F) != 0) {
+                    dst[i++] = (byte) ((length & 0x7F) | 0x80);
+                    length >>>= 7;
+                }
+                dst[i++] = (byte) length;
+                return i - offset;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.FrameSizePredictor;
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link FrameDecoder} for frames prefixed with their length.
+ *
+ * <p>The header and body of a frame may be split across any number of chunks; the decoder
+ * remembers how much of the current header or body has been received so far. A frame that lies
+ * entirely within one chunk is copied out of it directly into a buffer borrowed from
+ * {@link BufferPool#heap()}. The body of a split frame is gathered in such a buffer too, sized after
+ * the connection's recent frames, that grows with the bytes actually received rather than with the
+ * announced length, so a forged header cannot make the server allocate memory on the client's
+ * behalf; once complete, that buffer is emitted as the frame.
+ */
+public class LengthPrefixedFrameDecoder implements FrameDecoder {
+    private final LengthHeader header;
+    private final int maxFrameSize;
+    private final FrameSizePredictor sizePredictor = new FrameSizePredictor(256, BufferPool.MAX_POOLED_SIZE);
+    private int headerValue = 0;
+    private int headerBytes = 0;
+    private int frameLength = -1;
+    private PooledBuffer body;
+    private int bodyBytes = 0;
+
+        /**
+     * Constructs a decoder for 4-byte big-endian headers and frames of up to
+     * {@value LengthPrefixedFraming#DEFAULT_MAX_FRAME_SIZE} bytes.
+     */
+    public LengthPrefixedFrameDecoder() {
+        this(LengthHeader.INT32, LengthPrefixedFraming.DEFAULT_MAX_FRAME_SIZE);
+    }
+
+        /**
+     * Constructs a decoder.
+     *
+     * @param header       The encoding of the length header.
+     * @param maxFrameSize The largest frame accepted, in bytes.
+     */
+    public LengthPrefixedFrameDecoder(LengthHeader header, int maxFrameSize) {
+        this.header = header;
+        this.maxFrameSize = maxFrameSize;
+    }
+
+        /**
+     * Reads length headers and bodies from the buffer, emitting a copy of each completed body.
+     *
+     * @param in  The buffer to consume.
+     * @param out The consumer receiving each decoded frame.
+     * @throws IOException If a header is malformed or announces a frame larger than the maximum frame size.
+     */
+    @Override
+    public void decode(ByteBuffer in, Consumer<byte[]> out) throws IOException {
+        decodePooled(in, FrameDecoder.copying(out));
+    }
+
+        /**
+     * Reads length headers and bodies from the buffer, emitting each completed body in a pooled buffer.
+     *
+     * @param in  The buffer to consume.
+     * @param out The consumer receiving each decoded frame.
+     * @throws IOException If a header is malformed or announces a frame larger than the maximum frame size.
+     */
+    @Override
+    public void decodePooled(ByteBuffer in, Consumer<PooledBuffer> out) throws IOException {
+        while (in.hasRemaining()) {
+            if (frameLength < 0 && !readHeader(in)) return;
+
+            if (bodyBytes == 0 && in.remaining() >= frameLength) {
+                PooledBuffer frame = BufferPool.heap().acquire(frameLength);
+                in.get(frame.array(), 0, frameLength);
+                frame.buffer().limit(frameLength);
+                sizePredictor.record(frameLength);
+                frameLength = -1;
+                out.accept(frame);
+                continue;
+            }
+
+            int n = Math.min(frameLength - bodyBytes, in.remaining());
+            ensureCapacity(bodyBytes + n);
+            in.get(body.array(), bodyBytes, n);
+            bodyBytes += n;
+            if (bodyBytes == frameLength) {
+                PooledBuffer frame = body;
+                frame.buffer().limit(frameLength);
+                body = null;
+                sizePredictor.record(frameLength);
+                bodyBytes = 0;
+                frameLength = -1;
+                out.accept(frame);
+            }
+        }
+    }
+
+        /**
+     * Fails if the stream ended in the middle of a frame, returning any gather buffer to the pool.
+     *
+     * @param out Unused; a partial frame is never emitted.
+     * @throws EOFException If part of a header or body has been received.
+     */
+    @Override
+    public void decodeLast(Consumer<byte[]> out) throws IOException {
+        decodeLastPooled(FrameDecoder.copying(out));
+    }
+
+        /**
+     * Fails if the stream ended in the middle of a frame, returning any gather buffer to the pool.
+     *
+     * @param out Unused; a partial frame is never emitted.
+     * @throws EOFException If part of a header or body has been received.
+     */
+    @Override
+    public void decodeLastPooled(Consumer<PooledBuffer> out) throws IOException {
+        if (body != null) {
+            body.release();
+            body = null;
+        }
+        if (headerBytes > 0 || frameLength >= 0) {
+            throw new EOFException("Stream ended inside a frame");
+        }
+    }
+
+    /**
+     * Consumes header bytes until the header is complete or the buffer is exhausted.
+     *
+     * @return true once the frame length is known.
+     */
+    private boolean readHeader(ByteBuffer in) throws IOException {
+        while (in.hasRemaining()) {
+            int b = in.get() & 0xFF;
+            switch (header) {
+                case INT32, UINT16 -> {
+                    headerValue = (headerValue << 8) | b;
+                    headerBytes++;
+                    if (headerBytes == (header == LengthHeader.INT32 ? 4 : 2)) {
+                        return headerComplete(headerValue);
+                    }
+                }
+                case VARINT -> {
+                    if (headerBytes == LengthHeader.MAX_SIZE - 1 && (b & 0xF8) != 0) {
+                        throw new IOException("Malformed varint frame length");
+                    }
+                    headerValue |= (b & 0x7F) << (7 * headerBytes);
+                    headerBytes++;
+                    if ((b & 0x80) == 0) {
+                        return headerComplete(headerValue);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int size) {
+        if (body == null) {
+            body = BufferPool.heap().acquire(Math.min(frameLength, Math.max(sizePredictor.expectedSize(), size)));
+        } else if (size > body.array().length) {
+            PooledBuffer grown = BufferPool.heap().acquire(Math.min(frameLength, Math.max(body.array().length * 2, size)));
+            System.arraycopy(body.array(), 0, grown.array(), 0, bodyBytes);
+            body.release();
+            body = grown;
+        }
+    }
+
+    private boolean headerComplete(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        if (length > maxFrameSize) {
+            throw new IOException("Frame length " + length + " exceeds the maximum of " + maxFrameSize);
+        }
+        frameLength = length;
+        headerValue = 0;
+        headerBytes = 0;
+        return true;
+    }
+}
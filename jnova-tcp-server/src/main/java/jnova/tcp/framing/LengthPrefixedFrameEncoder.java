@@ -0,0 +1,94 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link FrameEncoder} that prefixes every message with its length.
+ */
+public class LengthPrefixedFrameEncoder implements FrameEncoder {
+    /**
+     * Messages up to this size are copied behind their header and written to streams with a single call.
+     */
+    private static final int GATHER_THRESHOLD = 64 * 1024;
+
+    private final LengthHeader header;
+
+        /**
+     * Constructs a LengthPrefixedFrameEncoder.
+     *
+     * @param header The encoding of the length header.
+     */
+    public LengthPrefixedFrameEncoder(LengthHeader header) {
+        this.header = header;
+    }
+
+        /**
+     * Returns the length of the header plus the message.
+     *
+     * @param message The message to frame.
+     * @return The size of the frame in bytes.
+     */
+    @Override
+    public int encodedLength(byte[] message) {
+        return header.size(message.length) + message.length;
+    }
+
+        /**
+     * Writes the length header followed by the message.
+     *
+     * @param message The message to frame.
+     * @param out     The buffer to write to.
+     * @throws IOException If the message is too long for the header.
+     */
+    @Override
+    public void encode(byte[] message, ByteBuffer out) throws IOException {
+        checkLength(message);
+        byte[] prefix = new byte[LengthHeader.MAX_SIZE];
+        int headerSize = header.encode(message.length, prefix, 0);
+        out.put(prefix, 0, headerSize).put(message);
+    }
+
+        /**
+     * Writes the framed message to a stream and flushes it.
+     *
+     * <p>Header and body are written with a single {@code write} call, so an unbuffered socket
+     * stream sends them in one system call; the frame is assembled in a buffer borrowed from
+     * {@link BufferPool#heap()}. Messages above 64 KB are written in two calls instead of being copied.
+     *
+     * @param message The message to frame.
+     * @param output  The stream to write to.
+     * @throws IOException If the message is too long for the header, or an I/O error occurs.
+     */
+    @Override
+    public void write(byte[] message, OutputStream output) throws IOException {
+        checkLength(message);
+        int headerSize = header.size(message.length);
+        if (message.length <= GATHER_THRESHOLD) {
+            PooledBuffer frame = BufferPool.heap().acquire(headerSize + message.length);
+            try {
+                header.encode(message.length, frame.array(), 0);
+                System.arraycopy(message, 0, frame.array(), headerSize, message.length);
+                output.write(frame.array(), 0, headerSize + message.length);
+            } finally {
+                frame.release();
+            }
+        } else {
+            byte[] prefix = new byte[headerSize];
+            header.encode(message.length, prefix, 0);
+            output.write(prefix);
+            output.write(message);
+        }
+        output.flush();
+    }
+
+    private void checkLength(byte[] message) throws IOException {
+        if (message.length > header.maxLength()) {
+            throw new IOException("Message of " + message.length + " bytes exceeds the " + header + " header limit");
+        }
+    }
+}
@@ -1,68 +1,113 @@
 package jnova.tcp.framing;
 
+import jnova.tcp.buffer.PooledBuffer;
 import reactor.core.publisher.Flux;
 
-import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 
 /**
- * A {@link FramingStrategy} implementation that frames messages by prepending their length as an integer.
+ * A {@link FramingStrategy} implementation that frames messages by prepending their length.
  *
  * <p>This strategy reads and writes messages to streams, prefixing each message with its length
- * encoded as an integer.  This allows for easy separation of messages within a stream.
+ * encoded as a {@link LengthHeader}, a 4-byte integer by default.  This allows for easy separation
+ * of messages within a stream. Frames announcing a length above the configured maximum frame size
+ * are rejected before any memory is allocated for them.
  */
 public class LengthPrefixedFraming implements FramingStrategy {
+    /**
+     * The largest frame accepted unless configured otherwise, 16 MB.
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private final LengthHeader header;
+    private final int maxFrameSize;
+    private final LengthPrefixedFrameEncoder encoder;
+
+        /**
+     * Constructs a LengthPrefixedFraming with 4-byte headers and the default maximum frame size.
+     */
+    public LengthPrefixedFraming() {
+        this(LengthHeader.INT32, DEFAULT_MAX_FRAME_SIZE);
+    }
+
+        /**
+     * Constructs a LengthPrefixedFraming.
+     *
+     * @param header       The encoding of the length header.
+     * @param maxFrameSize The largest frame accepted when reading, in bytes.
+     * @throws IllegalArgumentException If maxFrameSize is negative.
+     */
+    public LengthPrefixedFraming(LengthHeader header, int maxFrameSize) {
+        if (maxFrameSize < 0) {
+            throw new IllegalArgumentException("maxFrameSize must not be negative");
+        }
+        this.header = header;
+        this.maxFrameSize = Math.min(maxFrameSize, header.maxLength());
+        this.encoder = new LengthPrefixedFrameEncoder(header);
+    }
+
         /**
      * Reads messages from an input stream and emits them as a Flux of byte arrays.
      *
-     * <p>This method reads the input stream, expecting each message to be prefixed with an integer
-     * representing the length of the message. It then reads the specified number of bytes into a byte
-     * array and emits it as a next signal in the Flux. The Flux completes when an EOFException is
-     * encountered while reading the length, or if the sink is cancelled. Any other exceptions
-     * encountered during the reading process are emitted as an error signal in the Flux.
+     * <p>The stream is read in chunks by a {@link FrameReader} and split by a
+     * {@link LengthPrefixedFrameDecoder}. The Flux completes when the stream ends between two
+     * frames, or if the sink is cancelled. It errors if the stream ends inside a frame, a header is
+     * malformed or a frame exceeds the maximum frame size.
      *
      * @param input The InputStream to read messages from.
      * @return A Flux of byte arrays representing the messages read from the input stream.
      */
     @Override
     public Flux<byte[]> readMessages(InputStream input) {
-        return Flux.create(sink -> {
-            DataInputStream dis = new DataInputStream(input);
-            try {
-                while (!sink.isCancelled()) {
-                    int len;
-                    try {
-                        len = dis.readInt();
-                    } catch (EOFException eof) {
-                        sink.complete();
-                        break;
-                    }
-                    byte[] data = new byte[len];
-                    dis.readFully(data);
-                    sink.next(data);
-                }
-            } catch (Throwable e) {
-                sink.error(e);
-            }
-        });
+        return FrameReader.read(input, newDecoder());
+    }
+
+        /**
+     * Reads and decodes frames from the input stream into pooled buffers with a new decoder.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} of decoded frames.
+     */
+    @Override
+    public Flux<PooledBuffer> readFrames(InputStream input) {
+        return FrameReader.readPooled(input, newDecoder());
     }
 
         /**
      * Writes a message to the output stream, prefixed with its length.
      *
+     * <p>Header and body are written with a single {@code write} call, so an unbuffered socket
+     * stream sends them in one system call. Messages above 64 KB are written in two calls instead
+     * of being copied.
+     *
      * @param output  The {@link OutputStream} to write the message to.
      * @param message The byte array containing the message to write.
-     * @throws IOException If an I/O error occurs while writing to the stream.
+     * @throws IOException If the message is too long for the header, or an I/O error occurs while writing to the stream.
      */
     @Override
     public void writeMessage(OutputStream output, byte[] message) throws IOException {
-        DataOutputStream dos = new DataOutputStream(output);
-        dos.writeInt(message.length);
-        dos.write(message);
-        dos.flush();
+        encoder.write(message, output);
+    }
+
+        /**
+     * Creates an incremental decoder for this strategy's header and maximum frame size.
+     *
+     * @return A new {@link LengthPrefixedFrameDecoder}.
+     */
+    @Override
+    public FrameDecoder newDecoder() {
+        return new LengthPrefixedFrameDecoder(header, maxFrameSize);
+    }
+
+        /**
+     * Returns the encoder writing this strategy's length header.
+     *
+     * @return A {@link LengthPrefixedFrameEncoder}.
+     */
+    @Override
+    public FrameEncoder newEncoder() {
+        return encoder;
     }
 }
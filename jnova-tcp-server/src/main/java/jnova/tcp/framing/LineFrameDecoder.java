@@ -0,0 +1,63 @@
+package jnova.tcp.framing;
+
+import jnova.tcp.buffer.PooledBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * A {@link FrameDecoder} that splits the byte stream into lines.
+ *
+ * <p>Lines are terminated by {@code \n} and found directly in the bytes, without decoding them to
+ * text. Unless disabled, a {@code \r} directly preceding the terminator is dropped as well, so both
+ * {@code \n} and {@code \r\n} line endings are accepted. A final line that is not terminated is
+ * emitted when the stream ends.
+ */
+public class LineFrameDecoder extends DelimiterFrameDecoder {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final boolean stripCarriageReturn;
+
+        /**
+     * Constructs a LineFrameDecoder accepting both {@code \n} and {@code \r\n} line endings.
+     */
+    public LineFrameDecoder() {
+        this(true);
+    }
+
+        /**
+     * Constructs a LineFrameDecoder.
+     *
+     * @param stripCarriageReturn Whether a {@code \r} before the {@code \n} is removed from the line.
+     */
+    public LineFrameDecoder(boolean stripCarriageReturn) {
+        super((byte) '\n');
+        this.stripCarriageReturn = stripCarriageReturn;
+    }
+
+        /**
+     * Builds a line frame, removing a trailing carriage return if configured to.
+     *
+     * @param in     The buffer holding the tail of the line.
+     * @param offset The absolute index of the first byte of the tail.
+     * @param length The number of bytes in the tail.
+     * @return The line without its terminator, in a pooled buffer owned by the caller.
+     */
+    @Override
+    protected PooledBuffer frame(ByteBuffer in, int offset, int length) {
+        int trailing = stripCarriageReturn && lastByte(in, offset, length) == '\r' ? 1 : 0;
+        return copyFrame(in, offset, length, trailing);
+    }
+
+        /**
+     * Emits the final line if the stream ended without a line terminator.
+     *
+     * @param out The consumer receiving the final line.
+     */
+    @Override
+    public void decodeLastPooled(Consumer<PooledBuffer> out) {
+        if (hasPending()) {
+            out.accept(frame(EMPTY, 0, 0));
+        }
+    }
+}
@@ -1,63 +1,73 @@
 package jnova.tcp.framing;
 
+import jnova.tcp.buffer.PooledBuffer;
 import reactor.core.publisher.Flux;
-import reactor.core.scheduler.Schedulers;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * A {@link FramingStrategy} that frames messages based on line boundaries.
  *
  * <p>This strategy reads messages from an input stream, treating each line as a separate message.
- * It also writes messages to an output stream, appending a newline character to each message.
+ * Lines end with {@code \n} or, unless disabled, {@code \r\n}. It also writes messages to an
+ * output stream, appending a newline character to each message.
  */
 public class LineFraming implements FramingStrategy {
 
+    private static final FrameEncoder ENCODER = new DelimiterFrameEncoder(new byte[]{'\n'});
+
+    private final boolean stripCarriageReturn;
+
+    /**
+     * Constructs a LineFraming accepting both {@code \n} and {@code \r\n} line endings.
+     */
+    public LineFraming() {
+        this(true);
+    }
+
+    /**
+     * Constructs a LineFraming.
+     *
+     * @param stripCarriageReturn Whether a {@code \r} before the {@code \n} is removed from received lines.
+     */
+    public LineFraming(boolean stripCarriageReturn) {
+        this.stripCarriageReturn = stripCarriageReturn;
+    }
+
     /**
      * Reads messages from the given InputStream and emits them as a Flux of byte arrays.
      * <p>
-     * Each line read from the input stream is converted to a byte array using UTF-8 encoding
-     * and emitted as a separate element in the Flux. The Flux completes when the end of the
-     * input stream is reached or an error occurs.
+     * Lines are split directly in the byte stream by a {@link LineFrameDecoder}, and each line's
+     * bytes are emitted as they were received, without decoding them to a {@link String} and back.
+     * The stream is read in chunks on the subscribing thread, i.e. the connection's own (possibly
+     * virtual) thread. The Flux completes when the end of the input stream is reached or an I/O
+     * error occurs.
      *
      * @param input The InputStream to read messages from.
      * @return A Flux of byte arrays representing the messages read from the input stream.
      */
     @Override
     public Flux<byte[]> readMessages(InputStream input) {
-        BlockingQueue<String> queue = new LinkedBlockingQueue<>();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
-
-        Schedulers.boundedElastic().schedule(() -> {
-            try {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    queue.put(line);
-                }
-            } catch (IOException | InterruptedException e) {
-                queue.offer("__EOF__");
-            }
-        });
+        return FrameReader.read(input, newDecoder())
+                .onErrorResume(IOException.class, e -> Flux.empty());
+    }
 
-        return Flux.generate(sink -> {
-            try {
-                String line = queue.take();
-                if ("__EOF__".equals(line)) {
-                    sink.complete();
-                } else {
-                    sink.next(line.getBytes(StandardCharsets.UTF_8));
-                }
-            } catch (InterruptedException e) {
-                sink.error(e);
-            }
-        });
+        /**
+     * Reads and decodes frames from the input stream into pooled buffers with a new decoder.
+     *
+     * @param input The input stream to read messages from.
+     * @return A {@link Flux} of decoded frames.
+     */
+    @Override
+    public Flux<PooledBuffer> readFrames(InputStream input) {
+        return FrameReader.readPooled(input, newDecoder())
+                .onErrorResume(IOException.class, e -> Flux.empty());
     }
 
     /**
-     * Writes a message to the given output stream, followed by a newline character.
+     * Writes a message to the given output stream, followed by a newline character, in a single {@code write} call.
      *
      * @param output  The output stream to write to.
      * @param message The message to write as a byte array.
@@ -65,9 +75,27 @@ public class LineFraming implements FramingStrategy {
      */
     @Override
     public void writeMessage(OutputStream output, byte[] message) throws IOException {
-        output.write(message);
-        output.write('\n');
-        output.flush();
+        ENCODER.write(message, output);
+    }
+
+    /**
+     * Creates an incremental decoder splitting on line endings.
+     *
+     * @return A new {@link LineFrameDecoder}.
+     */
+    @Override
+    public FrameDecoder newDecoder() {
+        return new LineFrameDecoder(stripCarriageReturn);
+    }
+
+    /**
+     * Returns the encoder terminating each message with {@code \n}.
+     *
+     * @return A {@link DelimiterFrameEncoder} for the newline character.
+     */
+    @Override
+    public FrameEncoder newEncoder() {
+        return ENCODER;
     }
 
 }
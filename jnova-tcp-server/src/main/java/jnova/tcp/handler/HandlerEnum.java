@@ -8,6 +8,11 @@ public enum HandlerEnum {
      * Handler for JSON data.
      */
     JSON,
+    /**
+     * Handler for the compact {@link jnova.tcp.protocol.BinaryCodec binary encoding}, also accepting
+     * JSON frames, dispatched to the same handlers as {@link #JSON}.
+     */
+    BINARY,
     /**
      * Handler for command-based data.
      */
@@ -1,31 +1,40 @@
 package jnova.tcp.handler;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import jnova.core.util.GsonFactory;
 import jnova.tcp.TcpResponse;
+import jnova.tcp.dispatching.CommandTable;
 import jnova.tcp.dispatching.DispatcherContext;
+import jnova.tcp.protocol.CommandHeader;
+import jnova.tcp.protocol.JsonDocument;
+import jnova.tcp.protocol.MessageCodec;
+import jnova.tcp.protocol.RequestDocument;
 import jnova.tcp.request.TcpBinaryRequest;
 import jnova.tcp.routing.commands.TcpCommandDispatcher;
 import reactor.core.publisher.Mono;
 
-import java.lang.reflect.Type;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A TCP request handler that processes JSON structure requests.
  *
  * This class implements the {@link TcpRequestHandler} interface and handles incoming
  * {@link TcpBinaryRequest} by parsing the JSON data, dispatching the request to a
- * sub-dispatcher, and applying middleware for pre- and post-processing. It utilizes
- * Gson for JSON parsing and a {@link DispatcherContext} for managing dispatching and
- * middleware.
+ * sub-dispatcher, and applying middleware for pre- and post-processing. Requests are
+ * decoded into a {@link RequestDocument} by the first {@link MessageCodec} of the
+ * {@link DispatcherContext} accepting the frame, a {@link JsonDocument} by default, and the context
+ * manages dispatching and middleware. Handlers are the same whichever codec decoded the request.
+ *
+ * <p>Frames starting with a {@link CommandHeader} name their command by its ID in the
+ * {@link CommandTable} instead, and only their body is decoded. Their documents hold no routing
+ * fields, so middleware sees a null type and command for them.
+ *
+ * <p>Frames are decoded in place, from {@link TcpBinaryRequest#getArray()}, so the documents handed
+ * to middleware and handlers are valid until the handler's {@code Mono} terminates; anything that
+ * reads one later retains the request first.
  */
 public class JsonStructureRequestHandler implements TcpRequestHandler {
+    private static final byte[] EMPTY_BODY = {'{', '}'};
+
     private final DispatcherContext ctx;
-    private final Gson gson = GsonFactory.get();
-    private final Type mapType = new TypeToken<Map<String, Object>>() {}.getType();
 
         /**
      * Constructs a {@code JsonStructureRequestHandler} with the given dispatcher context.
@@ -39,7 +48,7 @@ public class JsonStructureRequestHandler implements TcpRequestHandler {
         /**
      * Handles a TCP binary request.
      *
-     * <p>This method parses the JSON from the request, extracts the type, applies middleware,
+     * <p>This method decodes the request, extracts the type, applies middleware,
      * dispatches the request to a sub-dispatcher, applies middleware after dispatch, and returns
      * a Mono of TcpResponse.</p>
      *
@@ -48,26 +57,65 @@ public class JsonStructureRequestHandler implements TcpRequestHandler {
      */
     @Override
     public Mono<TcpResponse> handle(TcpBinaryRequest request) {
-        Map<String,Object> json = parseJson(request);
-        String type = (String)json.get("type");
+        byte[] frame = request.getArray();
+        int length = request.getLength();
+        if (CommandHeader.present(frame, length)) {
+            return handleCommandId(request);
+        }
+        MessageCodec codec = codec(frame, 0, length);
+        RequestDocument json = codec.decode(frame, 0, length);
+        String type = json.getType();
 
         ctx.middleware.forEach(mw -> mw.beforeDispatch(json, request.getSession()));
 
-        Mono<TcpResponse> response = ctx.subDispatcher.dispatch(type, json, request.getSession());
+        Mono<TcpResponse> response = ctx.subDispatcher.dispatch(type, json, request.getSession(), codec);
         response = response.doOnSuccess(r -> ctx.middleware.forEach(mw -> mw.afterDispatch(json, request.getSession())));
 
         return response;
     }
 
         /**
-     * Parses a JSON string from a TCP binary request into a Map.
+     * Handles a request sent with a command header: answers the handshake, or decodes the body and
+     * dispatches it by command ID. A request without a body is dispatched with an empty document.
      *
-     * @param request The TCP binary request containing the JSON data.
-     * @return A Map representing the parsed JSON data, or null if parsing fails.
+     * @param request The TCP binary request to handle.
+     * @return A Mono of TcpResponse representing the result of handling the request.
      */
-    private Map<String, Object> parseJson(TcpBinaryRequest request) {
-        String msg = new String(request.getData());
-        return gson.fromJson(msg, mapType);
+    private Mono<TcpResponse> handleCommandId(TcpBinaryRequest request) {
+        byte[] frame = request.getArray();
+        CommandHeader header = CommandHeader.read(frame, request.getLength());
+        int bodyLength = request.getLength() - header.length();
+        MessageCodec codec = codec(frame, header.length(), bodyLength);
+        if (header.id() == CommandTable.HANDSHAKE) {
+            return ctx.subDispatcher.handshake(codec);
+        }
+        RequestDocument json = bodyLength == 0
+                ? JsonDocument.parse(EMPTY_BODY)
+                : codec.decode(frame, header.length(), bodyLength);
+
+        ctx.middleware.forEach(mw -> mw.beforeDispatch(json, request.getSession()));
+
+        Mono<TcpResponse> response = ctx.subDispatcher.dispatch(header.id(), json, request.getSession(), codec);
+        response = response.doOnSuccess(r -> ctx.middleware.forEach(mw -> mw.afterDispatch(json, request.getSession())));
+
+        return response;
     }
-}
 
+        /**
+     * Selects the codec of a frame: the first one accepting it, or the first one if none does, which
+     * then reports the frame as malformed.
+     *
+     * @param data   The array holding the frame.
+     * @param offset The index of the first byte of the frame.
+     * @param length The length of the frame in bytes.
+     * @return The codec decoding the frame.
+     */
+    private MessageCodec codec(byte[] data, int offset, int length) {
+        List<MessageCodec> codecs = ctx.codecs;
+        for (int i = 0; i < codecs.size(); i++) {
+            MessageCodec codec = codecs.get(i);
+            if (codec.accepts(data, offset, length)) return codec;
+        }
+        return codecs.get(0);
+    }
+}
@@ -0,0 +1,26 @@
+package jnova.tcp.metadata.introspection.dispatcher;
+
+/**
+ * Represents the numeric ID assigned to a registered (type, command) pair.
+ *
+ * This class holds the ID clients send in a command header in place of the routing fields,
+ * together with the type and command it stands for.
+ */
+public class RegisteredCommand {
+    public int id;
+    public String typeName;
+    public String command;
+
+        /**
+     * Constructs a RegisteredCommand instance.
+     *
+     * @param id       The ID of the command.
+     * @param typeName The type of its handler.
+     * @param command  The value of the command field its handler is selected by.
+     */
+    public RegisteredCommand(int id, String typeName, String command) {
+        this.id = id;
+        this.typeName = typeName;
+        this.command = command;
+    }
+}
@@ -0,0 +1,392 @@
+package jnova.tcp.nio;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.FrameDecoder;
+import jnova.tcp.framing.FramingStrategy;
+import jnova.tcp.transport.OutboundFramer;
+import jnova.tcp.transport.OutboundLimits;
+import jnova.tcp.transport.OutboundQueue;
+import jnova.tcp.transport.OutboundQueueFullException;
+import jnova.tcp.transport.OverflowListener;
+import jnova.tcp.transport.OverflowPolicy;
+import jnova.tcp.transport.TcpTransport;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link TcpTransport} backed by a non-blocking {@link SocketChannel} served by an {@link NioEventLoop}.
+ *
+ * <p>Inbound bytes are decoded with the framing strategy's {@link FrameDecoder} on the loop thread and
+ * published through {@link #frames()}. Outbound messages are framed on the calling thread and put on an
+ * {@link OutboundQueue}; the loop is its only writer and writes the queued frames with gathering writes as
+ * the socket becomes writable, so a slow peer never blocks a thread.
+ */
+public class NioChannelTransport implements TcpTransport {
+    private static final int GATHER_LIMIT = 64;
+
+    private final SocketChannel channel;
+    private final NioEventLoop loop;
+    private final FrameDecoder decoder;
+    private final OutboundFramer framer;
+    private final OutboundQueue outbound;
+    private final Queue<OutboundQueue.Entry> writing = new ArrayDeque<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER_LIMIT];
+    private final SocketAddress remoteAddress;
+    private SelectionKey key;
+    private volatile FluxSink<PooledBuffer> sink;
+    private volatile Runnable writeListener;
+    private volatile boolean readPaused = false;
+    private boolean readStopped = false;
+    private int writingBuffers = 0;
+    private boolean writeBlocked = false;
+
+        /**
+     * Constructs a transport for an accepted channel.
+     *
+     * @param channel         The accepted channel, already in non-blocking mode.
+     * @param loop            The event loop that will serve the channel.
+     * @param framingStrategy The strategy used to frame and decode messages.
+     * @throws IOException If the remote address cannot be determined.
+     */
+    public NioChannelTransport(SocketChannel channel, NioEventLoop loop, FramingStrategy framingStrategy) throws IOException {
+        this(channel, loop, framingStrategy, OutboundLimits.DEFAULT);
+    }
+
+        /**
+     * Constructs a transport for an accepted channel.
+     *
+     * @param channel               The accepted channel, already in non-blocking mode.
+     * @param loop                  The event loop that will serve the channel.
+     * @param framingStrategy       The strategy used to frame and decode messages.
+     * @param outboundLimits        The bounds of the outbound queue and the policy applied when they are exceeded.
+     * @throws IOException If the remote address cannot be determined.
+     */
+    public NioChannelTransport(SocketChannel channel, NioEventLoop loop, FramingStrategy framingStrategy, OutboundLimits outboundLimits) throws IOException {
+        this.channel = channel;
+        this.loop = loop;
+        this.decoder = framingStrategy.newDecoder();
+        this.framer = new OutboundFramer(framingStrategy);
+        this.outbound = new OutboundQueue(outboundLimits, this::closeQuietly);
+        this.remoteAddress = channel.getRemoteAddress();
+    }
+
+        /**
+     * Returns the inbound frames of this connection.
+     *
+     * <p>Reading starts when the returned flux is subscribed and stops when it is cancelled. The flux
+     * completes when the peer closes the connection and errors if reading or decoding fails. It may
+     * only be subscribed once. Frames are emitted as by {@link FrameDecoder#decodePooled}, each with
+     * one reference that the subscriber owns and must release.
+     *
+     * @return A {@link Flux} of decoded frames.
+     */
+    public Flux<PooledBuffer> frames() {
+        return Flux.create(s -> {
+            sink = s;
+            s.onDispose(() -> loop.execute(() -> {
+                readStopped = true;
+                updateReadInterest();
+            }));
+            loop.execute(this::updateReadInterest);
+        });
+    }
+
+        /**
+     * Frames the message and queues it for writing on the event loop.
+     *
+     * @param message The message to send.
+     * @return A {@code Mono<Void>} completing once the whole frame has been written to the channel, or
+     *         erroring with an {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops it.
+     */
+    @Override
+    public Mono<Void> send(byte[] message) {
+        return sendBatch(List.of(message));
+    }
+
+        /**
+     * Frames several messages and queues them for writing on the event loop as one unit.
+     *
+     * <p>Messages are framed by the strategy's {@link jnova.tcp.framing.FrameEncoder} straight into
+     * direct buffers borrowed from {@link BufferPool#direct()}, which saves the JDK from copying them
+     * into temporary direct buffers of its own, and returned to the pool once written or failed.
+     *
+     * @param messages The messages to send.
+     * @return A {@code Mono<Void>} completing once all frames have been written to the channel, or
+     *         erroring with an {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops them.
+     */
+    @Override
+    public Mono<Void> sendBatch(List<byte[]> messages) {
+        return Mono.create(ms -> {
+            PooledBuffer[] frames = new PooledBuffer[messages.size()];
+            try {
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = framer.frame(messages.get(i), BufferPool.direct());
+                }
+            } catch (IOException e) {
+                for (PooledBuffer frame : frames) {
+                    if (frame != null) frame.release();
+                }
+                ms.error(e);
+                return;
+            }
+            ByteBuffer[] buffers = new ByteBuffer[frames.length];
+            for (int i = 0; i < frames.length; i++) {
+                buffers[i] = frames[i].buffer();
+            }
+            offer(frames, buffers, ms);
+        });
+    }
+
+        /**
+     * Queues a read-only view of an already framed message for writing on the event loop.
+     *
+     * @param frame   A direct frame, retained until it has been written.
+     * @param message The message the frame was built from; not used.
+     * @return A {@code Mono<Void>} completing once the frame has been written to the channel, or
+     *         erroring with an {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops it.
+     */
+    @Override
+    public Mono<Void> sendFramed(PooledBuffer frame, byte[] message) {
+        return Mono.create(ms -> offer(new PooledBuffer[]{frame.retain()},
+                new ByteBuffer[]{frame.buffer().asReadOnlyBuffer()}, ms));
+    }
+
+        /**
+     * Returns the direct pool, which the channel writes without an intermediate copy.
+     *
+     * @return {@link BufferPool#direct()}.
+     */
+    @Override
+    public BufferPool outboundBufferPool() {
+        return BufferPool.direct();
+    }
+
+        /**
+     * Returns the number of frames waiting to be written.
+     *
+     * @return The number of queued frames.
+     */
+    public int getQueuedFrames() {
+        return outbound.getQueuedMessages();
+    }
+
+        /**
+     * Sets the listener told when a message does not fit in the outbound queue.
+     *
+     * @param listener The listener, or null for none.
+     */
+    @Override
+    public void setOverflowListener(OverflowListener listener) {
+        outbound.setOverflowListener(listener);
+    }
+
+        /**
+     * Sets the listener told on the loop thread after every gathering write that completed messages.
+     *
+     * @param listener The listener, or null for none.
+     */
+    @Override
+    public void setWriteListener(Runnable listener) {
+        this.writeListener = listener;
+    }
+
+        /**
+     * Stops selecting the channel for reads until {@link #resumeReading()} is called.
+     */
+    @Override
+    public void pauseReading() {
+        readPaused = true;
+        loop.execute(this::updateReadInterest);
+    }
+
+        /**
+     * Selects the channel for reads again after {@link #pauseReading()}.
+     */
+    @Override
+    public void resumeReading() {
+        readPaused = false;
+        loop.execute(this::updateReadInterest);
+    }
+
+        /**
+     * Checks whether the channel is still open.
+     *
+     * @return true if the channel is open.
+     */
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+        /**
+     * Returns the address of the remote peer.
+     *
+     * @return The remote address captured when the connection was accepted.
+     */
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+        /**
+     * Closes the channel, failing writes that have not been flushed yet and completing {@link #frames()}.
+     *
+     * @throws IOException If an I/O error occurs when closing the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            outbound.close(new ClosedChannelException());
+            loop.execute(this::closed);
+        }
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    void registered(SelectionKey key) {
+        this.key = key;
+    }
+
+    void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("Error closing channel " + remoteAddress + ": " + e.getMessage());
+        }
+    }
+
+    void onReadable(ByteBuffer readBuffer) {
+        FluxSink<PooledBuffer> s = sink;
+        try {
+            readBuffer.clear();
+            int n = channel.read(readBuffer);
+            if (n < 0) {
+                readStopped = true;
+                updateReadInterest();
+                if (s != null) {
+                    decoder.decodeLastPooled(s::next);
+                    s.complete();
+                }
+                return;
+            }
+            readBuffer.flip();
+            decoder.decodePooled(readBuffer, s::next);
+        } catch (IOException e) {
+            readStopped = true;
+            updateReadInterest();
+            if (s != null) s.error(e);
+        }
+    }
+
+    void onWritable() {
+        writeBlocked = false;
+        flush();
+    }
+
+    private void offer(PooledBuffer[] frames, ByteBuffer[] buffers, MonoSink<Void> sink) {
+        if (outbound.offer(frames, buffers, sink) && flushScheduled.compareAndSet(false, true)) {
+            loop.execute(() -> {
+                flushScheduled.set(false);
+                if (!writeBlocked) flush();
+            });
+        }
+    }
+
+    /**
+     * Writes as much as the socket accepts, taking entries from the outbound queue until up to
+     * {@value #GATHER_LIMIT} frames can be gathered into each write call. Entries taken from the
+     * queue stay in {@code writing}, which only the loop touches, until they have been written.
+     */
+    private void flush() {
+        try {
+            while (true) {
+                OutboundQueue.Entry next;
+                while (writingBuffers < GATHER_LIMIT && (next = outbound.poll()) != null) {
+                    writing.add(next);
+                    writingBuffers += next.buffers().length;
+                }
+                if (writing.isEmpty()) {
+                    interest(SelectionKey.OP_WRITE, false);
+                    return;
+                }
+
+                int n = 0;
+                collect:
+                for (OutboundQueue.Entry write : writing) {
+                    for (ByteBuffer buffer : write.buffers()) {
+                        if (!buffer.hasRemaining()) continue;
+                        if (n == gather.length) break collect;
+                        gather[n++] = buffer;
+                    }
+                }
+                if (n > 0) channel.write(gather, 0, n);
+                boolean drained = n == 0 || !gather[n - 1].hasRemaining();
+                Arrays.fill(gather, 0, n, null);
+
+                OutboundQueue.Entry write;
+                boolean completed = false;
+                while ((write = writing.peek()) != null && write.isWritten()) {
+                    writing.poll();
+                    writingBuffers -= write.buffers().length;
+                    write.complete();
+                    completed = true;
+                }
+                Runnable listener = writeListener;
+                if (completed && listener != null) listener.run();
+                if (!drained) {
+                    writeBlocked = true;
+                    interest(SelectionKey.OP_WRITE, true);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            failWriting(e);
+            closeQuietly();
+        }
+    }
+
+    private void closed() {
+        failWriting(new ClosedChannelException());
+        FluxSink<PooledBuffer> s = sink;
+        if (s != null) s.complete();
+    }
+
+    private void failWriting(Throwable error) {
+        OutboundQueue.Entry write;
+        while ((write = writing.poll()) != null) {
+            write.fail(error);
+        }
+        writingBuffers = 0;
+    }
+
+    private void updateReadInterest() {
+        interest(SelectionKey.OP_READ, sink != null && !readPaused && !readStopped);
+    }
+
+    private void interest(int op, boolean enabled) {
+        if (key == null || !key.isValid()) return;
+        int ops = key.interestOps();
+        key.interestOps(enabled ? ops | op : ops & ~op);
+    }
+
+}
@@ -0,0 +1,144 @@
+package jnova.tcp.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A single selector thread serving the read and write readiness of many channels.
+ *
+ * <p>Every channel registered with a loop is only ever touched from that loop's thread. Work
+ * coming from other threads (registration, outbound writes, interest changes) is queued with
+ * {@link #execute(Runnable)} and run between two selections.
+ */
+public class NioEventLoop implements Runnable {
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private volatile boolean running = true;
+
+        /**
+     * Constructs an event loop with its own selector and thread.
+     *
+     * @param name The name given to the loop's thread.
+     * @throws IOException If the selector cannot be opened.
+     */
+    public NioEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+        /**
+     * Starts the loop's thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+        /**
+     * Checks whether the caller is running on this loop's thread.
+     *
+     * @return true if called from the loop thread, false otherwise.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+        /**
+     * Runs a task on the loop thread, immediately if already there, otherwise after the next wake-up.
+     *
+     * @param task The task to run.
+     */
+    public void execute(Runnable task) {
+        if (inEventLoop()) {
+            task.run();
+        } else {
+            tasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+        /**
+     * Registers a channel transport with this loop's selector, without any interest yet.
+     *
+     * @param transport The transport to register.
+     */
+    public void register(NioChannelTransport transport) {
+        execute(() -> {
+            try {
+                transport.registered(transport.channel().register(selector, 0, transport));
+            } catch (ClosedChannelException e) {
+                transport.closeQuietly();
+            }
+        });
+    }
+
+        /**
+     * Stops the loop; channels still registered with it are closed on the way out.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+        /**
+     * Selects and dispatches readiness events until {@link #shutdown()} is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    NioChannelTransport transport = (NioChannelTransport) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable()) {
+                            transport.onReadable(readBuffer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            transport.onWritable();
+                        }
+                    } catch (CancelledKeyException e) {
+                        transport.closeQuietly();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[" + thread.getName() + "] Selector failure: " + e.getMessage());
+        } finally {
+            runTasks();
+            for (SelectionKey key : selector.keys()) {
+                ((NioChannelTransport) key.attachment()).closeQuietly();
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("[" + thread.getName() + "] Error closing selector: " + e.getMessage());
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                System.err.println("[" + thread.getName() + "] Task failed: " + t.getMessage());
+            }
+        }
+    }
+}
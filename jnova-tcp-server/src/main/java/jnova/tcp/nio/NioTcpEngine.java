@@ -0,0 +1,171 @@
+package jnova.tcp.nio;
+
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.framing.FramingStrategy;
+import jnova.tcp.transport.OutboundLimits;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * A non-blocking TCP engine built on {@link ServerSocketChannel} and {@link Selector}.
+ *
+ * <p>One acceptor selector hands accepted connections round-robin to a fixed group of
+ * {@link NioEventLoop}s, each of which serves read and write readiness for all of its channels.
+ * The number of threads therefore stays constant regardless of how many connections are open.
+ */
+public class NioTcpEngine {
+    private final FramingStrategy framingStrategy;
+    private final int eventLoopThreads;
+    private final OutboundLimits outboundLimits;
+    private final Consumer<NioChannelTransport> connectionHandler;
+    private NioEventLoop[] loops;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private volatile boolean running = false;
+    private int nextLoop = 0;
+
+        /**
+     * Constructs a NioTcpEngine.
+     *
+     * @param framingStrategy   The strategy used to frame and decode messages on every connection.
+     * @param eventLoopThreads  The number of event loop threads serving connections.
+     * @param connectionHandler Called on the acceptor thread for every accepted connection.
+     */
+    public NioTcpEngine(FramingStrategy framingStrategy, int eventLoopThreads, Consumer<NioChannelTransport> connectionHandler) {
+        this(framingStrategy, eventLoopThreads, OutboundLimits.DEFAULT, connectionHandler);
+    }
+
+        /**
+     * Constructs a NioTcpEngine.
+     *
+     * @param framingStrategy       The strategy used to frame and decode messages on every connection.
+     * @param eventLoopThreads      The number of event loop threads serving connections.
+     * @param outboundLimits        The bounds of every connection's outbound queue.
+     * @param connectionHandler     Called on the acceptor thread for every accepted connection.
+     */
+    public NioTcpEngine(FramingStrategy framingStrategy, int eventLoopThreads, OutboundLimits outboundLimits, Consumer<NioChannelTransport> connectionHandler) {
+        if (eventLoopThreads < 1) {
+            throw new IllegalArgumentException("eventLoopThreads must be at least 1");
+        }
+        this.framingStrategy = framingStrategy;
+        this.eventLoopThreads = eventLoopThreads;
+        this.outboundLimits = outboundLimits;
+        this.connectionHandler = connectionHandler;
+    }
+
+        /**
+     * Binds the listening channel to the given port and starts the event loops.
+     *
+     * @param port The port number to listen on.
+     * @throws IOException If the channel cannot be opened or bound.
+     * @throws ConfigurationException If the framing strategy has no incremental decoder.
+     */
+    public void bind(int port) throws IOException {
+        try {
+            framingStrategy.newDecoder();
+        } catch (UnsupportedOperationException e) {
+            throw new ConfigurationException("The NIO engine needs an incremental decoder: " + e.getMessage());
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        acceptSelector = Selector.open();
+        serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+
+        loops = new NioEventLoop[eventLoopThreads];
+        for (int i = 0; i < eventLoopThreads; i++) {
+            loops[i] = new NioEventLoop("jnova-nio-" + i);
+            loops[i].start();
+        }
+        running = true;
+    }
+
+        /**
+     * Returns the local address the engine is bound to.
+     *
+     * @return The local address, or null if the engine is not bound.
+     */
+    public InetAddress getInetAddress() {
+        return serverChannel != null ? serverChannel.socket().getInetAddress() : null;
+    }
+
+        /**
+     * Accepts connections on the calling thread until {@link #closeAcceptor()} is called.
+     *
+     * @throws IOException If accepting fails while the engine is running.
+     */
+    public void acceptLoop() throws IOException {
+        try {
+            while (running) {
+                acceptSelector.select();
+                acceptSelector.selectedKeys().clear();
+
+                SocketChannel channel;
+                while (running && (channel = serverChannel.accept()) != null) {
+                    accept(channel);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            if (running) throw new IOException("Acceptor selector closed", e);
+        } catch (IOException e) {
+            if (running) throw e;
+        }
+    }
+
+        /**
+     * Stops accepting new connections; established connections keep being served.
+     *
+     * @throws IOException If an I/O error occurs when closing the listening channel.
+     */
+    public void closeAcceptor() throws IOException {
+        running = false;
+        if (acceptSelector != null) {
+            acceptSelector.wakeup();
+            acceptSelector.close();
+        }
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+    }
+
+        /**
+     * Stops accepting and shuts down every event loop, closing all remaining connections.
+     *
+     * @throws IOException If an I/O error occurs when closing the listening channel.
+     */
+    public void shutdown() throws IOException {
+        closeAcceptor();
+        if (loops != null) {
+            for (NioEventLoop loop : loops) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    private void accept(SocketChannel channel) {
+        try {
+            channel.configureBlocking(false);
+            NioEventLoop loop = loops[nextLoop];
+            nextLoop = (nextLoop + 1) % loops.length;
+
+            NioChannelTransport transport = new NioChannelTransport(channel, loop, framingStrategy, outboundLimits);
+            loop.register(transport);
+            connectionHandler.accept(transport);
+        } catch (IOException e) {
+            System.err.println("Failed to accept connection: " + e.getMessage());
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
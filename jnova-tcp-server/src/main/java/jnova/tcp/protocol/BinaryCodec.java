@@ -0,0 +1,264 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import jnova.core.util.GsonFactory;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A compact binary encoding of the values JSON carries, for internal links where the size and the
+ * decoding cost of text matter more than readability.
+ *
+ * <p>A frame holds a table of the keys used in it, each written once, followed by one value, which
+ * is an object for requests:
+ * <pre>
+ * frame  = MAGIC keys value
+ * keys   = count *(length utf8)
+ * value  = NULL | FALSE | TRUE
+ *        | INT zigzag-varint
+ *        | FLOAT 4 bytes, IEEE 754, little-endian
+ *        | DOUBLE 8 bytes, IEEE 754, little-endian
+ *        | STRING length utf8
+ *        | ARRAY size count *value
+ *        | OBJECT size count *(key value)
+ * </pre>
+ * {@code MAGIC} is the byte {@code 0xB1}, which cannot start a JSON text, so binary and JSON frames
+ * can share a connection. Tags are single bytes, numbered from {@code NULL = 0} in the order above.
+ * Counts, lengths, sizes and keys are unsigned varints, seven bits to a byte with the high bit set
+ * on all but the last; a key is the position of its name in the table. The size of an array or
+ * object is the number of bytes after it up to the end of the container, so any value can be
+ * skipped without reading it.
+ *
+ * <p>Numbers are written in the shortest of these forms that holds them exactly: whole numbers as
+ * {@code INT}s, then {@code FLOAT}s, then {@code DOUBLE}s. Requests are decoded into
+ * {@link BinaryDocument}s, whose values Gson type adapters read as they read JSON, and messages are
+ * encoded from the tree of their Gson type adapter, so the models and handlers of the JSON encoding
+ * serve this one unchanged.
+ */
+public class BinaryCodec implements MessageCodec {
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte FLOAT = 4;
+    static final byte DOUBLE = 5;
+    static final byte STRING = 6;
+    static final byte ARRAY = 7;
+    static final byte OBJECT = 8;
+
+    private static final long MAX_EXACT = 1L << 53;
+
+    private final Gson gson = GsonFactory.get();
+
+        /**
+     * Accepts frames starting with the {@code MAGIC} byte.
+     *
+     * @param frame The frame content.
+     * @return Whether the frame is a binary frame.
+     */
+    @Override
+    public boolean accepts(byte[] frame) {
+        return accepts(frame, 0, frame.length);
+    }
+
+    @Override
+    public boolean accepts(byte[] data, int offset, int length) {
+        return length > 0 && data[offset] == MAGIC;
+    }
+
+    @Override
+    public RequestDocument decode(byte[] frame) {
+        return BinaryDocument.parse(frame);
+    }
+
+    @Override
+    public RequestDocument decode(byte[] data, int offset, int length) {
+        return BinaryDocument.parse(data, offset, length);
+    }
+
+    @Override
+    public byte[] encode(Object message) {
+        return encode(gson.toJsonTree(message));
+    }
+
+        /**
+     * Encodes a Gson tree.
+     *
+     * @param value The value.
+     * @return The frame content.
+     */
+    public byte[] encode(JsonElement value) {
+        Encoder encoder = new Encoder();
+        encoder.collectKeys(value);
+        encoder.buffer[encoder.pos++] = MAGIC;
+        encoder.varint(encoder.keys.size());
+        for (String key : encoder.keys.keySet()) {
+            encoder.string(key);
+        }
+        encoder.value(value);
+        return Arrays.copyOf(encoder.buffer, encoder.pos);
+    }
+
+    private static final class Encoder {
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private byte[] buffer = new byte[256];
+        private int pos;
+
+        private void collectKeys(JsonElement value) {
+            if (value.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+                    keys.putIfAbsent(entry.getKey(), keys.size());
+                    collectKeys(entry.getValue());
+                }
+            } else if (value.isJsonArray()) {
+                for (JsonElement element : value.getAsJsonArray()) {
+                    collectKeys(element);
+                }
+            }
+        }
+
+        private void value(JsonElement value) {
+            if (value.isJsonObject()) {
+                JsonObject object = value.getAsJsonObject();
+                ensure(1);
+                buffer[pos++] = OBJECT;
+                int mark = pos;
+                varint(object.size());
+                for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                    varint(keys.get(entry.getKey()));
+                    value(entry.getValue());
+                }
+                size(mark);
+            } else if (value.isJsonArray()) {
+                JsonArray array = value.getAsJsonArray();
+                ensure(1);
+                buffer[pos++] = ARRAY;
+                int mark = pos;
+                varint(array.size());
+                for (JsonElement element : array) {
+                    value(element);
+                }
+                size(mark);
+            } else if (value.isJsonPrimitive()) {
+                primitive(value.getAsJsonPrimitive());
+            } else {
+                ensure(1);
+                buffer[pos++] = NULL;
+            }
+        }
+
+        private void primitive(JsonPrimitive value) {
+            ensure(9);
+            if (value.isBoolean()) {
+                buffer[pos++] = value.getAsBoolean() ? TRUE : FALSE;
+            } else if (value.isString()) {
+                buffer[pos++] = STRING;
+                string(value.getAsString());
+            } else {
+                Number number = value.getAsNumber();
+                Long integer = integer(number);
+                double d = number.doubleValue();
+                if (integer != null) {
+                    buffer[pos++] = INT;
+                    long v = integer;
+                    varint((v << 1) ^ (v >> 63));
+                } else if ((float) d == d || Double.isNaN(d)) {
+                    buffer[pos++] = FLOAT;
+                    fixed(Float.floatToRawIntBits((float) d), 4);
+                } else {
+                    buffer[pos++] = DOUBLE;
+                    fixed(Double.doubleToRawLongBits(d), 8);
+                }
+            }
+        }
+
+        private void fixed(long bits, int width) {
+            for (int i = 0; i < width; i++) {
+                buffer[pos++] = (byte) (bits >>> (i * 8));
+            }
+        }
+
+                /**
+         * Returns a number as a long if it is a whole one: of an integer type, or without a fraction
+         * and small enough for a double to hold exactly. Negative zero stays a floating-point number.
+         */
+        private static Long integer(Number number) {
+            if (number instanceof Integer || number instanceof Long || number instanceof Short
+                    || number instanceof Byte || number instanceof AtomicInteger || number instanceof AtomicLong) {
+                return number.longValue();
+            }
+            if (number instanceof BigInteger big) {
+                return big.bitLength() < 64 ? big.longValue() : null;
+            }
+            if (!(number instanceof Double) && !(number instanceof Float)) {
+                String text = number.toString();
+                try {
+                    long l = Long.parseLong(text);
+                    if (l != 0 || text.charAt(0) != '-') return l;
+                } catch (NumberFormatException e) {
+                    // Not written as a whole number; it may still hold one.
+                }
+            }
+            double d = number.doubleValue();
+            long l = (long) d;
+            return l == d && Math.abs(l) <= MAX_EXACT && (l != 0 || 1 / d > 0) ? l : null;
+        }
+
+        private void string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+                /**
+         * Inserts the size of the container whose contents start at a mark before its contents.
+         */
+        private void size(int mark) {
+            int size = pos - mark;
+            int width = width(size);
+            ensure(width);
+            System.arraycopy(buffer, mark, buffer, mark + width, size);
+            int end = pos + width;
+            pos = mark;
+            varint(size);
+            pos = end;
+        }
+
+        private void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[pos++] = (byte) value;
+        }
+
+        private static int width(long value) {
+            int width = 1;
+            while ((value & ~0x7FL) != 0) {
+                value >>>= 7;
+                width++;
+            }
+            return width;
+        }
+
+        private void ensure(int bytes) {
+            if (pos + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, pos + bytes));
+            }
+        }
+    }
+}
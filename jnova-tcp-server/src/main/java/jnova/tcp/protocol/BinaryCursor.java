@@ -0,0 +1,154 @@
+package jnova.tcp.protocol;
+
+import jnova.core.exceptions.JsonParseException;
+
+import java.nio.charset.StandardCharsets;
+
+import static jnova.tcp.protocol.BinaryCodec.ARRAY;
+import static jnova.tcp.protocol.BinaryCodec.DOUBLE;
+import static jnova.tcp.protocol.BinaryCodec.FALSE;
+import static jnova.tcp.protocol.BinaryCodec.FLOAT;
+import static jnova.tcp.protocol.BinaryCodec.INT;
+import static jnova.tcp.protocol.BinaryCodec.NULL;
+import static jnova.tcp.protocol.BinaryCodec.OBJECT;
+import static jnova.tcp.protocol.BinaryCodec.STRING;
+import static jnova.tcp.protocol.BinaryCodec.TRUE;
+
+/**
+ * A position in a frame of the {@link BinaryCodec binary encoding}, reading its values.
+ *
+ * <p>Every read checks the bounds of the frame and reports a truncated or malformed frame with a
+ * {@link JsonParseException}. The readers of values expect the cursor on the tag of a value of the
+ * right kind and leave it after the value.
+ */
+final class BinaryCursor {
+    final byte[] data;
+    final int limit;
+    int pos;
+
+    BinaryCursor(byte[] data, int pos, int limit) {
+        this.data = data;
+        this.pos = pos;
+        this.limit = limit;
+    }
+
+        /**
+     * Returns the tag of the value at the cursor, without moving it.
+     */
+    byte tag() {
+        return at(pos);
+    }
+
+        /**
+     * Moves into the array or object at the cursor.
+     *
+     * @return The number of elements or fields of the container.
+     */
+    int enter() {
+        pos++;
+        length();
+        return length();
+    }
+
+        /**
+     * Moves past the value at the cursor, skipping containers and strings by their length.
+     */
+    void skip() {
+        byte tag = at(pos++);
+        switch (tag) {
+            case NULL, FALSE, TRUE -> {
+            }
+            case INT -> varint();
+            case FLOAT -> pos += 4;
+            case DOUBLE -> pos += 8;
+            case STRING, ARRAY, OBJECT -> {
+                int length = length();
+                pos += length;
+            }
+            default -> throw malformed("Unknown tag " + tag);
+        }
+        if (pos > limit) throw truncated();
+    }
+
+    long readInt() {
+        pos++;
+        long value = varint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+        /**
+     * Reads a {@code FLOAT} or {@code DOUBLE} value.
+     */
+    double readDouble() {
+        int width = data[pos] == FLOAT ? 4 : 8;
+        int start = pos + 1;
+        if (start + width > limit) throw truncated();
+        long bits = 0;
+        for (int i = start + width - 1; i >= start; i--) {
+            bits = (bits << 8) | (data[i] & 0xFF);
+        }
+        pos = start + width;
+        return width == 4 ? Float.intBitsToFloat((int) bits) : Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+        pos++;
+        int length = length();
+        pos += length;
+        return new String(data, pos - length, length, StandardCharsets.UTF_8);
+    }
+
+        /**
+     * Reads a key, checking that it is in a key table of the given size.
+     */
+    int key(int keyCount) {
+        long key = varint();
+        if (Long.compareUnsigned(key, keyCount) >= 0) throw malformed("Key " + Long.toUnsignedString(key) + " is not in the key table");
+        return (int) key;
+    }
+
+        /**
+     * Reads a count, length or size, which cannot exceed the bytes left in the frame. Varints are
+     * unsigned, so one with the highest bit set is out of bounds too.
+     */
+    int length() {
+        long value = varint();
+        if (Long.compareUnsigned(value, limit - pos) > 0) throw truncated();
+        return (int) value;
+    }
+
+    long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = at(pos++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw malformed("Varint is longer than 10 bytes");
+    }
+
+    byte at(int position) {
+        if (position >= limit) throw truncated();
+        return data[position];
+    }
+
+    static String describe(byte tag) {
+        return switch (tag) {
+            case NULL -> "null";
+            case FALSE, TRUE -> "a boolean";
+            case INT, FLOAT, DOUBLE -> "a number";
+            case STRING -> "a string";
+            case ARRAY -> "an array";
+            case OBJECT -> "an object";
+            default -> "tag " + tag;
+        };
+    }
+
+    static JsonParseException truncated() {
+        return new JsonParseException("Binary frame is truncated");
+    }
+
+    static JsonParseException malformed(String message) {
+        return new JsonParseException("Malformed binary frame: " + message);
+    }
+}
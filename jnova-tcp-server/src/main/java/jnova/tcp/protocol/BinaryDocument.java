@@ -0,0 +1,556 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import jnova.core.exceptions.JsonParseException;
+import jnova.core.exceptions.MissingFieldException;
+import jnova.core.util.GsonFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static jnova.tcp.protocol.BinaryCodec.ARRAY;
+import static jnova.tcp.protocol.BinaryCodec.DOUBLE;
+import static jnova.tcp.protocol.BinaryCodec.FALSE;
+import static jnova.tcp.protocol.BinaryCodec.FLOAT;
+import static jnova.tcp.protocol.BinaryCodec.INT;
+import static jnova.tcp.protocol.BinaryCodec.NULL;
+import static jnova.tcp.protocol.BinaryCodec.OBJECT;
+import static jnova.tcp.protocol.BinaryCodec.STRING;
+import static jnova.tcp.protocol.BinaryCodec.TRUE;
+import static jnova.tcp.protocol.BinaryCursor.describe;
+import static jnova.tcp.protocol.JsonScanner.ABSENT;
+import static jnova.tcp.protocol.JsonScanner.end;
+import static jnova.tcp.protocol.JsonScanner.start;
+
+/**
+ * A request in the {@link BinaryCodec binary encoding}, read straight from the bytes of its frame as
+ * a read-only {@code Map<String, Object>}.
+ *
+ * <p>When the document is created, the key table is located and the top-level fields are indexed,
+ * skipping each value by its size without decoding it, and the routing fields are read. Nested
+ * values are found the same way when a path leads into them. Numbers and strings are read from
+ * their bytes without any text parsing, and names come from the key table, each decoded once:
+ * the typed accessors return primitives without boxing them, and {@link #read} streams a value into
+ * its Gson {@link TypeAdapter}. Types holding a {@code Map}, whose Gson adapter cannot read from a
+ * stream other than its own, are read from a tree of the value instead. {@link #get} returns the
+ * shapes a {@code Map} parsed by Gson holds, so middleware sees the same map whichever encoding a
+ * client uses.
+ *
+ * <p>As in a {@link JsonDocument}, a repeated top-level key is rejected, and in nested objects the
+ * last of repeated keys wins. Strings and values read through {@link #get} are cached. A document is
+ * read by one request at a time and is not thread-safe.
+ */
+public final class BinaryDocument extends AbstractMap<String, Object> implements RequestDocument {
+    private static final int MAX_DEPTH = 255;
+    private static final TypeAdapter<Object> objects = GsonFactory.get().getAdapter(Object.class);
+    private static final Set<TypeAdapter<?>> treeAdapters = ConcurrentHashMap.newKeySet();
+
+    private final byte[] data;
+    private final int limit;
+    private final BinaryCursor cursor;
+    private final int[] keyStarts;
+    private final int[] keyEnds;
+    private final String[] keys;
+    private final int root;
+    private final int[] fields;
+    private String type;
+    private String command;
+    private Map<String, Object> values;
+    private Map<String, String> strings;
+    private JsonObject tree;
+    private Set<Entry<String, Object>> entries;
+
+    private BinaryDocument(byte[] data, int offset, int limit) {
+        this.data = data;
+        this.limit = limit;
+        this.cursor = new BinaryCursor(data, offset + 1, limit);
+        int keyCount = cursor.length();
+        this.keyStarts = new int[keyCount];
+        this.keyEnds = new int[keyCount];
+        this.keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            int length = cursor.length();
+            keyStarts[i] = cursor.pos;
+            cursor.pos += length;
+            keyEnds[i] = cursor.pos;
+        }
+        this.root = cursor.pos;
+        if (cursor.tag() != OBJECT) {
+            throw new JsonParseException("Expected an object but was " + describe(data[root]));
+        }
+        int count = cursor.enter();
+        int[] index = new int[count * 3];
+        boolean[] seen = new boolean[keyCount];
+        for (int i = 0; i < count; i++) {
+            int key = cursor.key(keyCount);
+            if (seen[key]) throw BinaryCursor.malformed("Key " + key(key) + " is repeated");
+            seen[key] = true;
+            index[i * 3] = key;
+            index[i * 3 + 1] = cursor.pos;
+            cursor.skip();
+            index[i * 3 + 2] = cursor.pos;
+        }
+        this.fields = index;
+    }
+
+        /**
+     * Indexes the top-level fields of a frame in the binary encoding and reads its routing fields.
+     *
+     * @param data The frame content, which must not be modified afterwards.
+     * @return The document.
+     * @throws JsonParseException If the frame is not a binary object or is truncated.
+     */
+    public static BinaryDocument parse(byte[] data) {
+        return parse(data, 0, data.length);
+    }
+
+        /**
+     * Indexes the top-level fields of a frame held in part of an array and reads its routing fields.
+     *
+     * <p>The document reads the array in place, so it is valid only as long as the range holds the frame.
+     *
+     * @param data   The array holding the frame, which must not be modified afterwards.
+     * @param offset The index of the first byte of the frame.
+     * @param length The length of the frame in bytes.
+     * @return The document.
+     * @throws JsonParseException If the frame is not a binary object or is truncated.
+     */
+    public static BinaryDocument parse(byte[] data, int offset, int length) {
+        if (length == 0 || data[offset] != BinaryCodec.MAGIC) {
+            throw new JsonParseException("Expected a binary frame but was "
+                    + (length == 0 ? "an empty frame" : "'" + (char) (data[offset] & 0xFF) + "'"));
+        }
+        BinaryDocument document = new BinaryDocument(data, offset, offset + length);
+        document.type = document.routingField(JsonDocument.TYPE);
+        document.command = document.routingField(JsonDocument.COMMAND);
+        return document;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getCommand() {
+        return command;
+    }
+
+    @Override
+    public boolean has(String path) {
+        return locate(path) != ABSENT;
+    }
+
+    @Override
+    public String getString(String path) {
+        String value = strings == null ? null : strings.get(path);
+        if (value != null) return value;
+        long range = locate(path);
+        if (range == ABSENT) return null;
+        cursor.pos = start(range);
+        value = switch (cursor.tag()) {
+            case NULL -> null;
+            case FALSE -> "false";
+            case TRUE -> "true";
+            case INT -> Long.toString(cursor.readInt());
+            case FLOAT, DOUBLE -> Double.toString(cursor.readDouble());
+            case STRING -> cursor.readString();
+            default -> throw new JsonParseException("Expected a string at '" + path + "' but was " + describe(cursor.tag()));
+        };
+        if (value == null) return null;
+        if (strings == null) strings = new HashMap<>();
+        strings.put(path, value);
+        return value;
+    }
+
+    @Override
+    public long getLong(String path) {
+        return longAt(path, require(path));
+    }
+
+    @Override
+    public long getLong(String path, long defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : longAt(path, range);
+    }
+
+    @Override
+    public int getInt(String path) {
+        return intAt(path, require(path));
+    }
+
+    @Override
+    public int getInt(String path, int defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : intAt(path, range);
+    }
+
+    @Override
+    public double getDouble(String path) {
+        return doubleAt(path, require(path));
+    }
+
+    @Override
+    public double getDouble(String path, double defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : doubleAt(path, range);
+    }
+
+    @Override
+    public boolean getBoolean(String path) {
+        return booleanAt(path, require(path));
+    }
+
+    @Override
+    public boolean getBoolean(String path, boolean defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : booleanAt(path, range);
+    }
+
+    @Override
+    public <T> T read(String path, TypeAdapter<T> adapter) {
+        long range = locate(path);
+        return range == ABSENT ? null : read(start(range), end(range), adapter);
+    }
+
+    @Override
+    public <T> T read(TypeAdapter<T> adapter) {
+        return read(root, limit, adapter);
+    }
+
+    @Override
+    public JsonObject getTree() {
+        if (tree == null) {
+            tree = element(root).getAsJsonObject();
+        }
+        return tree;
+    }
+
+    @Override
+    public JsonElement getElement(String path) {
+        long range = locate(path);
+        return range == ABSENT ? null : element(start(range));
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) return null;
+        if (values != null) {
+            Object value = values.get(name);
+            if (value != null || values.containsKey(name)) return value;
+        }
+        int field = field(name, 0, name.length());
+        if (field < 0) return null;
+        int s = fields[field * 3 + 1];
+        Object value;
+        if (data[s] == STRING) {
+            cursor.pos = s;
+            value = cursor.readString();
+        } else {
+            value = read(s, fields[field * 3 + 2], objects);
+        }
+        if (values == null) values = new HashMap<>();
+        values.put(name, value);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && field(name, 0, name.length()) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return fields.length / 3;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entries == null) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (int i = 0; i < fields.length; i += 3) {
+                String name = key(fields[i]);
+                copy.putIfAbsent(name, get(name));
+            }
+            entries = Collections.unmodifiableMap(copy).entrySet();
+        }
+        return entries;
+    }
+
+        /**
+     * Returns the name of a key in the key table, decoding it on the first call.
+     */
+    String key(int index) {
+        String key = keys[index];
+        if (key == null) {
+            key = new String(data, keyStarts[index], keyEnds[index] - keyStarts[index], StandardCharsets.UTF_8);
+            keys[index] = key;
+        }
+        return key;
+    }
+
+        /**
+     * Converts the value in a range by streaming it into an adapter, or through a tree for adapters
+     * that have asked for a name as a value before.
+     */
+    private <T> T read(int start, int end, TypeAdapter<T> adapter) {
+        if (!treeAdapters.contains(adapter)) {
+            try {
+                return adapter.read(new BinaryReader(this, data, keys.length, start, end));
+            } catch (BinaryReader.NameAsValue e) {
+                treeAdapters.add(adapter);
+            } catch (IOException | IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+        try {
+            return adapter.fromJsonTree(element(start));
+        } catch (IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private int keyIndex(String path, int off, int len) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keyEquals(i, path, off, len)) return i;
+        }
+        return -1;
+    }
+
+        /**
+     * Compares a key with part of a path, on its bytes while both are ASCII, so that looking up a
+     * field does not decode the names of the others.
+     */
+    private boolean keyEquals(int index, String path, int off, int len) {
+        String key = keys[index];
+        if (key == null) {
+            int start = keyStarts[index];
+            int length = keyEnds[index] - start;
+            int n = Math.min(length, len);
+            int i = 0;
+            while (i < n) {
+                byte b = data[start + i];
+                char c = path.charAt(off + i);
+                if (b < 0 || c >= 0x80) break;
+                if (b != c) return false;
+                i++;
+            }
+            if (i == n) return length == len;
+            key = key(index);
+        }
+        return key.length() == len && path.regionMatches(off, key, 0, len);
+    }
+
+    private String routingField(String name) {
+        int field = field(name, 0, name.length());
+        if (field < 0) return null;
+        cursor.pos = fields[field * 3 + 1];
+        return cursor.tag() == STRING ? cursor.readString() : null;
+    }
+
+        /**
+     * Finds the range of the value at a dotted path, from its tag to its end.
+     *
+     * <p>A top-level field whose name contains dots is matched before the path is split. Segments
+     * after the first select fields of objects, or elements of arrays by index.
+     */
+    private long locate(String path) {
+        int dot = path.indexOf('.');
+        if (dot >= 0) {
+            int whole = field(path, 0, path.length());
+            if (whole >= 0) return JsonScanner.range(fields[whole * 3 + 1], fields[whole * 3 + 2]);
+        }
+        int field = field(path, 0, dot < 0 ? path.length() : dot);
+        if (field < 0) return ABSENT;
+        long range = JsonScanner.range(fields[field * 3 + 1], fields[field * 3 + 2]);
+        while (dot >= 0) {
+            int off = dot + 1;
+            dot = path.indexOf('.', off);
+            int len = (dot < 0 ? path.length() : dot) - off;
+            int s = start(range);
+            if (data[s] == OBJECT) {
+                int key = keyIndex(path, off, len);
+                range = key < 0 ? ABSENT : findField(s, key);
+            } else if (data[s] == ARRAY) {
+                int index = index(path, off, len);
+                range = index < 0 ? ABSENT : findElement(s, index);
+            } else {
+                range = ABSENT;
+            }
+            if (range == ABSENT) return ABSENT;
+        }
+        return range;
+    }
+
+    private int field(String name, int off, int len) {
+        int key = keyIndex(name, off, len);
+        if (key < 0) return -1;
+        for (int i = 0; i < fields.length; i += 3) {
+            if (fields[i] == key) return i / 3;
+        }
+        return -1;
+    }
+
+        /**
+     * Finds a field of a nested object, the last one if the key is repeated, as Gson reads it.
+     */
+    private long findField(int object, int key) {
+        cursor.pos = object;
+        int count = cursor.enter();
+        long found = ABSENT;
+        for (int i = 0; i < count; i++) {
+            int k = cursor.key(keys.length);
+            int s = cursor.pos;
+            cursor.skip();
+            if (k == key) found = JsonScanner.range(s, cursor.pos);
+        }
+        return found;
+    }
+
+    private long findElement(int array, int index) {
+        cursor.pos = array;
+        int count = cursor.enter();
+        if (index >= count) return ABSENT;
+        for (int i = 0; i < index; i++) {
+            cursor.skip();
+        }
+        int s = cursor.pos;
+        cursor.skip();
+        return JsonScanner.range(s, cursor.pos);
+    }
+
+        /**
+     * Builds the Gson tree of the value whose tag is at a position.
+     */
+    private JsonElement element(int at) {
+        cursor.pos = at;
+        return nextElement(0);
+    }
+
+    private JsonElement nextElement(int depth) {
+        if (depth > MAX_DEPTH) throw BinaryCursor.malformed("Nesting is deeper than " + MAX_DEPTH);
+        byte tag = cursor.tag();
+        switch (tag) {
+            case NULL:
+                cursor.pos++;
+                return JsonNull.INSTANCE;
+            case FALSE:
+            case TRUE:
+                cursor.pos++;
+                return new JsonPrimitive(tag == TRUE);
+            case INT:
+                return new JsonPrimitive(cursor.readInt());
+            case FLOAT:
+            case DOUBLE:
+                return new JsonPrimitive(cursor.readDouble());
+            case STRING:
+                return new JsonPrimitive(cursor.readString());
+            case ARRAY: {
+                int count = cursor.enter();
+                JsonArray array = new JsonArray(count);
+                for (int i = 0; i < count; i++) {
+                    array.add(nextElement(depth + 1));
+                }
+                return array;
+            }
+            case OBJECT: {
+                int count = cursor.enter();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < count; i++) {
+                    String name = key(cursor.key(keys.length));
+                    object.add(name, nextElement(depth + 1));
+                }
+                return object;
+            }
+            default:
+                throw BinaryCursor.malformed("Unknown tag " + tag);
+        }
+    }
+
+    private long require(String path) {
+        long range = locate(path);
+        if (range == ABSENT || isNull(range)) throw new MissingFieldException("Missing field '" + path + "'");
+        return range;
+    }
+
+    private boolean isNull(long range) {
+        return data[start(range)] == NULL;
+    }
+
+    private long longAt(String path, long range) {
+        cursor.pos = start(range);
+        return switch (cursor.tag()) {
+            case INT -> cursor.readInt();
+            case FLOAT, DOUBLE -> {
+                double value = cursor.readDouble();
+                if (!(value >= -0x1p63 && value < 0x1p63)) {
+                    throw new JsonParseException("Number at '" + path + "' does not fit in a long");
+                }
+                yield (long) value;
+            }
+            case STRING -> {
+                try {
+                    yield JsonScanner.truncate(cursor.readString());
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException("Expected a number at '" + path + "'");
+                } catch (ArithmeticException e) {
+                    throw new JsonParseException("Number at '" + path + "' does not fit in a long");
+                }
+            }
+            default -> throw new JsonParseException("Expected a number at '" + path + "' but was " + describe(cursor.tag()));
+        };
+    }
+
+    private int intAt(String path, long range) {
+        long value = longAt(path, range);
+        if (value != (int) value) throw new JsonParseException("Number at '" + path + "' does not fit in an int");
+        return (int) value;
+    }
+
+    private double doubleAt(String path, long range) {
+        cursor.pos = start(range);
+        return switch (cursor.tag()) {
+            case INT -> cursor.readInt();
+            case FLOAT, DOUBLE -> cursor.readDouble();
+            case STRING -> {
+                try {
+                    yield Double.parseDouble(cursor.readString());
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException("Expected a number at '" + path + "'");
+                }
+            }
+            default -> throw new JsonParseException("Expected a number at '" + path + "' but was " + describe(cursor.tag()));
+        };
+    }
+
+    private boolean booleanAt(String path, long range) {
+        byte tag = data[start(range)];
+        if (tag == TRUE) return true;
+        if (tag == FALSE) return false;
+        throw new JsonParseException("Expected a boolean at '" + path + "' but was " + describe(tag));
+    }
+
+    private static int index(String path, int off, int len) {
+        if (len == 0 || len > 9) return -1;
+        int index = 0;
+        for (int i = off; i < off + len; i++) {
+            int digit = path.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            index = index * 10 + digit;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,319 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import static jnova.tcp.protocol.BinaryCodec.ARRAY;
+import static jnova.tcp.protocol.BinaryCodec.DOUBLE;
+import static jnova.tcp.protocol.BinaryCodec.FALSE;
+import static jnova.tcp.protocol.BinaryCodec.FLOAT;
+import static jnova.tcp.protocol.BinaryCodec.INT;
+import static jnova.tcp.protocol.BinaryCodec.NULL;
+import static jnova.tcp.protocol.BinaryCodec.OBJECT;
+import static jnova.tcp.protocol.BinaryCodec.STRING;
+import static jnova.tcp.protocol.BinaryCodec.TRUE;
+
+/**
+ * A {@link JsonReader} over one value of a {@link BinaryDocument}, so that Gson type adapters read
+ * binary frames the way they read JSON text, with names taken from the key table of the frame.
+ *
+ * <p>Gson's map adapter reads keys through an internal hook that only its own readers support.
+ * That hook reaches the reader this class hands to {@link JsonReader}, which throws
+ * {@link NameAsValue}; the document then reads the value from a tree instead.
+ */
+final class BinaryReader extends JsonReader {
+    private static final int MAX_DEPTH = 255;
+    private static final Reader UNREADABLE = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            throw new NameAsValue();
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final BinaryDocument document;
+    private final BinaryCursor cursor;
+    private final int end;
+    private final int keyCount;
+    private int depth;
+    private int[] counts = new int[8];
+    private boolean[] objects = new boolean[8];
+    private boolean[] named = new boolean[8];
+    private String[] names = new String[8];
+    private int[] indices = new int[8];
+
+    BinaryReader(BinaryDocument document, byte[] data, int keyCount, int start, int end) {
+        super(UNREADABLE);
+        this.document = document;
+        this.cursor = new BinaryCursor(data, start, end);
+        this.keyCount = keyCount;
+        this.end = end;
+    }
+
+    @Override
+    public JsonToken peek() {
+        if (depth == 0) {
+            return cursor.pos >= end ? JsonToken.END_DOCUMENT : token(cursor.tag());
+        }
+        int top = depth - 1;
+        if (counts[top] == 0) return objects[top] ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+        if (objects[top] && !named[top]) return JsonToken.NAME;
+        return token(cursor.tag());
+    }
+
+    @Override
+    public void beginArray() {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(false, cursor.enter());
+    }
+
+    @Override
+    public void endArray() {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+        consumed();
+    }
+
+    @Override
+    public void beginObject() {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(true, cursor.enter());
+    }
+
+    @Override
+    public void endObject() {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+        consumed();
+    }
+
+    @Override
+    public boolean hasNext() {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() {
+        expect(JsonToken.NAME);
+        int top = depth - 1;
+        String name = document.key(cursor.key(keyCount));
+        named[top] = true;
+        names[top] = name;
+        return name;
+    }
+
+    @Override
+    public String nextString() {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) throw unexpected("a string", token);
+        String value = switch (cursor.tag()) {
+            case STRING -> cursor.readString();
+            case INT -> Long.toString(cursor.readInt());
+            case FLOAT, DOUBLE -> Double.toString(cursor.readDouble());
+            default -> throw unexpected("a string", token);
+        };
+        consumed();
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        JsonToken token = peek();
+        if (token != JsonToken.BOOLEAN) throw unexpected("a boolean", token);
+        boolean value = cursor.tag() == TRUE;
+        cursor.pos++;
+        consumed();
+        return value;
+    }
+
+    @Override
+    public void nextNull() {
+        expect(JsonToken.NULL);
+        cursor.pos++;
+        consumed();
+    }
+
+    @Override
+    public double nextDouble() {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) throw unexpected("a double", token);
+        double value = switch (cursor.tag()) {
+            case INT -> cursor.readInt();
+            case FLOAT, DOUBLE -> cursor.readDouble();
+            case STRING -> Double.parseDouble(cursor.readString());
+            default -> throw unexpected("a double", token);
+        };
+        consumed();
+        return value;
+    }
+
+    @Override
+    public long nextLong() {
+        long value = nextInteger("a long");
+        consumed();
+        return value;
+    }
+
+    @Override
+    public int nextInt() {
+        long value = nextInteger("an int");
+        if (value != (int) value) throw new NumberFormatException("Expected an int but was " + value + locationString());
+        consumed();
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() {
+        switch (peek()) {
+            case NAME -> {
+                cursor.key(keyCount);
+                named[depth - 1] = true;
+                names[depth - 1] = "<skipped>";
+            }
+            case END_ARRAY -> endArray();
+            case END_OBJECT -> endObject();
+            case END_DOCUMENT -> {
+            }
+            default -> {
+                cursor.skip();
+                consumed();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        depth = 0;
+        cursor.pos = end;
+    }
+
+    @Override
+    public String getPath() {
+        StringBuilder path = new StringBuilder("$");
+        for (int i = 0; i < depth; i++) {
+            if (!objects[i]) {
+                path.append('[').append(indices[i]).append(']');
+            } else if (names[i] != null) {
+                path.append('.').append(names[i]);
+            }
+        }
+        return path.toString();
+    }
+
+    @Override
+    public String getPreviousPath() {
+        return getPath();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + locationString();
+    }
+
+    private long nextInteger(String expected) {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) throw unexpected(expected, token);
+        switch (cursor.tag()) {
+            case INT:
+                return cursor.readInt();
+            case FLOAT:
+            case DOUBLE:
+                return exact(cursor.readDouble(), expected);
+            case STRING: {
+                String value = cursor.readString();
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    return exact(Double.parseDouble(value), expected);
+                }
+            }
+            default:
+                throw unexpected(expected, token);
+        }
+    }
+
+    private long exact(double value, String expected) {
+        long result = (long) value;
+        if (result != value) throw new NumberFormatException("Expected " + expected + " but was " + value + locationString());
+        return result;
+    }
+
+        /**
+     * Counts off the value just read from the container it is in.
+     */
+    private void consumed() {
+        if (depth == 0) return;
+        int top = depth - 1;
+        counts[top]--;
+        if (objects[top]) {
+            named[top] = false;
+        } else {
+            indices[top]++;
+        }
+    }
+
+    private void push(boolean object, int count) {
+        if (depth == MAX_DEPTH) throw BinaryCursor.malformed("Nesting is deeper than " + MAX_DEPTH);
+        if (depth == counts.length) {
+            int size = depth * 2;
+            counts = Arrays.copyOf(counts, size);
+            objects = Arrays.copyOf(objects, size);
+            named = Arrays.copyOf(named, size);
+            names = Arrays.copyOf(names, size);
+            indices = Arrays.copyOf(indices, size);
+        }
+        counts[depth] = count;
+        objects[depth] = object;
+        named[depth] = false;
+        names[depth] = null;
+        indices[depth] = 0;
+        depth++;
+    }
+
+    private void expect(JsonToken expected) {
+        JsonToken token = peek();
+        if (token != expected) throw unexpected(expected.toString(), token);
+    }
+
+    private IllegalStateException unexpected(String expected, JsonToken token) {
+        return new IllegalStateException("Expected " + expected + " but was " + token + locationString());
+    }
+
+    private String locationString() {
+        return " at path " + getPath();
+    }
+
+    private static JsonToken token(byte tag) {
+        return switch (tag) {
+            case NULL -> JsonToken.NULL;
+            case FALSE, TRUE -> JsonToken.BOOLEAN;
+            case INT, FLOAT, DOUBLE -> JsonToken.NUMBER;
+            case STRING -> JsonToken.STRING;
+            case ARRAY -> JsonToken.BEGIN_ARRAY;
+            case OBJECT -> JsonToken.BEGIN_OBJECT;
+            default -> throw BinaryCursor.malformed("Unknown tag " + tag);
+        };
+    }
+
+        /**
+     * Thrown when Gson reads a name as a value through the reader given to {@link JsonReader}.
+     */
+    static final class NameAsValue extends IOException {
+        NameAsValue() {
+            super("Names cannot be read as values from a binary frame");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
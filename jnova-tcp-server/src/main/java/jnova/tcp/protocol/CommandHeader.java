@@ -0,0 +1,110 @@
+package jnova.tcp.protocol;
+
+import jnova.core.exceptions.JsonParseException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The numeric header a frame may start with in place of the {@code type} and {@code command}
+ * fields of its request, naming the command by its ID in the
+ * {@link jnova.tcp.dispatching.CommandTable command table} of the server.
+ *
+ * <p>The header is a {@code '#'} followed by the ID in decimal digits, and the rest of the frame is
+ * the body of the request in any codec, or nothing for a request without arguments:
+ * <pre>
+ * #0
+ * #7{"text":"hello"}
+ * </pre>
+ * {@code '#'} starts neither JSON nor binary frames, and the header holds no delimiter or line
+ * break, so header frames share connections and framings with the others. ID {@code 0} is the
+ * handshake, answered with the table of IDs in the codec of its body, or the first codec of the
+ * server if it has none.
+ *
+ * @param id     The command ID.
+ * @param length The length of the header in bytes, where the body starts.
+ */
+public record CommandHeader(int id, int length) {
+    /**
+     * The first byte of a frame with a command header.
+     */
+    public static final byte MARKER = '#';
+
+    private static final int MAX_DIGITS = 9;
+
+        /**
+     * Checks whether a frame starts with a command header.
+     *
+     * @param frame The frame content.
+     * @return Whether the frame has a command header.
+     */
+    public static boolean present(byte[] frame) {
+        return present(frame, frame.length);
+    }
+
+        /**
+     * Checks whether a frame held at the start of an array starts with a command header.
+     *
+     * @param data   The array holding the frame.
+     * @param length The length of the frame in bytes.
+     * @return Whether the frame has a command header.
+     */
+    public static boolean present(byte[] data, int length) {
+        return length > 0 && data[0] == MARKER;
+    }
+
+        /**
+     * Reads the command header of a frame.
+     *
+     * @param frame The frame content, which must start with {@link #MARKER}.
+     * @return The header.
+     * @throws JsonParseException If the marker is not followed by an ID of at most nine digits.
+     */
+    public static CommandHeader read(byte[] frame) {
+        return read(frame, frame.length);
+    }
+
+        /**
+     * Reads the command header of a frame held at the start of an array.
+     *
+     * @param data   The array holding the frame, which must start with {@link #MARKER}.
+     * @param length The length of the frame in bytes.
+     * @return The header.
+     * @throws JsonParseException If the marker is not followed by an ID of at most nine digits.
+     */
+    public static CommandHeader read(byte[] data, int length) {
+        int id = 0;
+        int pos = 1;
+        while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+            if (pos > MAX_DIGITS) throw new JsonParseException("Command ID is longer than " + MAX_DIGITS + " digits");
+            id = id * 10 + (data[pos++] - '0');
+        }
+        if (pos == 1) throw new JsonParseException("Expected a command ID after '#'");
+        return new CommandHeader(id, pos);
+    }
+
+        /**
+     * Returns a frame with this header and the given body, as a client sends it.
+     *
+     * @param id   The command ID.
+     * @param body The body of the request, which may be empty.
+     * @return The frame content.
+     */
+    public static byte[] write(int id, byte[] body) {
+        if (id < 0) throw new IllegalArgumentException("Command IDs are not negative: " + id);
+        byte[] header = ("#" + id).getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = Arrays.copyOf(header, header.length + body.length);
+        System.arraycopy(body, 0, frame, header.length, body.length);
+        return frame;
+    }
+
+        /**
+     * Returns the body following this header in a frame.
+     *
+     * @param frame The frame content.
+     * @return The body, which is empty if the frame holds only the header.
+     */
+    public byte[] body(byte[] frame) {
+        return Arrays.copyOfRange(frame, length, frame.length);
+    }
+}
@@ -0,0 +1,46 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import jnova.core.util.GsonFactory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The JSON encoding: requests are UTF-8 JSON objects read as {@link JsonDocument}s, and messages are
+ * printed with {@link GsonFactory#get()} and ended with a newline.
+ */
+public class JsonCodec implements MessageCodec {
+    private final Gson gson = GsonFactory.get();
+
+        /**
+     * Accepts frames starting, after any whitespace, with an opening brace.
+     *
+     * @param frame The frame content.
+     * @return Whether the frame holds a JSON object.
+     */
+    @Override
+    public boolean accepts(byte[] frame) {
+        return accepts(frame, 0, frame.length);
+    }
+
+    @Override
+    public boolean accepts(byte[] data, int offset, int length) {
+        int start = JsonScanner.skipWhitespace(data, offset, offset + length);
+        return start < offset + length && data[start] == '{';
+    }
+
+    @Override
+    public RequestDocument decode(byte[] frame) {
+        return JsonDocument.parse(frame);
+    }
+
+    @Override
+    public RequestDocument decode(byte[] data, int offset, int length) {
+        return JsonDocument.parse(data, offset, length);
+    }
+
+    @Override
+    public byte[] encode(Object message) {
+        return (gson.toJson(message) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,581 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import jnova.core.exceptions.JsonParseException;
+import jnova.core.exceptions.MissingFieldException;
+import jnova.core.util.GsonFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static jnova.tcp.protocol.JsonScanner.ABSENT;
+import static jnova.tcp.protocol.JsonScanner.end;
+import static jnova.tcp.protocol.JsonScanner.start;
+
+/**
+ * A JSON request, read straight from the bytes of its frame as a read-only {@code Map<String, Object>}.
+ *
+ * <p>Nothing is parsed up front. The top-level fields are indexed by where their names start and
+ * their values end, as far as the fields looked up so far required: the routing fields, {@value #TYPE}
+ * and {@value #COMMAND}, are found when the document is created, and the values skipped on the way
+ * are not decoded, so routing a request costs the same whatever the size of its payload. Indexed
+ * names are kept in a hash table, so finding a field or a repeated name costs the same however many
+ * fields precede it.
+ *
+ * <p>Values are read from their bytes when they are asked for, in one of three ways:
+ * <ul>
+ *     <li>the typed accessors, such as {@link #getLong} and {@link #getString}, which take dotted
+ *     paths into nested objects and arrays ({@code "order.items.0.qty"}) and return primitives
+ *     without boxing them;</li>
+ *     <li>{@link #read} and {@code bind}, which convert a value straight into a type through its
+ *     Gson {@link TypeAdapter}, without building a tree or an intermediate map;</li>
+ *     <li>{@link #get}, which returns the shapes a {@code Map} parsed by Gson holds ({@code Double}s,
+ *     {@code String}s, nested {@code Map}s and {@code List}s).</li>
+ * </ul>
+ * Strings and values read through {@link #get} are cached, so the document can be shared by the
+ * middleware, resolvers and error handlers of a request without any of them reading a value twice.
+ * Use {@link #from} to get the document of a request map. A document is read by one request at a
+ * time and is not thread-safe.
+ *
+ * <p>Structure is checked as far as it is scanned, and values only when they are read, so malformed
+ * JSON after the routing fields is reported when the part containing it is needed. The same goes for
+ * a top-level field name that is repeated, which is rejected as a Gson-parsed request map rejects it,
+ * once the fields are indexed up to the repetition, and for anything but whitespace after the
+ * closing brace, once the whole object is scanned. In nested objects, the last of repeated names
+ * wins, as it does for Gson.
+ *
+ * <p>This is the {@link RequestDocument} decoded by {@link JsonCodec}.
+ */
+public final class JsonDocument extends AbstractMap<String, Object> implements RequestDocument {
+    /**
+     * The field naming the {@code @TcpType} a request is dispatched to.
+     */
+    public static final String TYPE = "type";
+    /**
+     * The field naming the command a request is dispatched to.
+     */
+    public static final String COMMAND = "command";
+
+    private static final Gson gson = GsonFactory.get();
+    private static final TypeAdapter<Object> objects = gson.getAdapter(Object.class);
+
+    private final byte[] data;
+    private final int start;
+    private final int limit;
+    private int[] fields;
+    private int[] hashes;
+    private int[] table;
+    private int fieldCount;
+    private boolean indexed;
+    private final int[] scratch = new int[4];
+    private String type;
+    private String command;
+    private Map<String, Object> values;
+    private Map<String, String> strings;
+    private JsonObject tree;
+    private Set<Entry<String, Object>> entries;
+
+    private JsonDocument(byte[] data, int start, int limit) {
+        this.data = data;
+        this.start = start;
+        this.limit = limit;
+        int capacity = Math.min(Math.max((limit - start) >> 4, 8), 64);
+        this.fields = new int[2 * capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[Integer.highestOneBit(capacity) << 2];
+    }
+
+        /**
+     * Reads the routing fields of a frame containing a UTF-8 encoded JSON object.
+     *
+     * <p>The frame is kept, and the rest of it is read only when a value is asked for.
+     *
+     * @param data The frame content, which must not be modified afterwards.
+     * @return The document.
+     * @throws JsonParseException If the frame is not a JSON object.
+     * @throws JsonSyntaxException If the frame is not valid JSON up to its routing fields.
+     */
+    public static JsonDocument parse(byte[] data) {
+        return parse(data, 0, data.length);
+    }
+
+        /**
+     * Reads the routing fields of a frame held in part of an array.
+     *
+     * <p>The document reads the array in place, so it is valid only as long as the range holds the frame.
+     *
+     * @param data   The array holding the frame, which must not be modified afterwards.
+     * @param offset The index of the first byte of the frame.
+     * @param length The length of the frame in bytes.
+     * @return The document.
+     * @throws JsonParseException If the frame is not a JSON object.
+     * @throws JsonSyntaxException If the frame is not valid JSON up to its routing fields.
+     */
+    public static JsonDocument parse(byte[] data, int offset, int length) {
+        int limit = offset + length;
+        int start = JsonScanner.skipWhitespace(data, offset, limit);
+        if (start >= limit || data[start] != '{') {
+            throw new JsonParseException("Expected a JSON object but was "
+                    + (start >= limit ? "the end of the frame" : "'" + (char) (data[start] & 0xFF) + "'"));
+        }
+        JsonDocument document = new JsonDocument(data, start, limit);
+        document.type = document.routingField(TYPE);
+        document.command = document.routingField(COMMAND);
+        return document;
+    }
+
+        /**
+     * Returns the document of a request map, converting any other map to one.
+     *
+     * <p>Requests dispatched by the server are documents already; other maps, such as ones built by
+     * hand, are printed to JSON once and read back.
+     *
+     * @param json The request.
+     * @return The document.
+     */
+    public static JsonDocument from(Map<String, Object> json) {
+        return json instanceof JsonDocument document
+                ? document
+                : parse(gson.toJson(json).getBytes(StandardCharsets.UTF_8));
+    }
+
+        /**
+     * Returns the {@value #TYPE} field, read when the document was created.
+     *
+     * @return The type, or null if the field is absent or not a string.
+     */
+    public String getType() {
+        return type;
+    }
+
+        /**
+     * Returns the {@value #COMMAND} field, read when the document was created.
+     *
+     * @return The command, or null if the field is absent or not a string.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+        /**
+     * Checks whether a path leads to a value, which may be null.
+     *
+     * @param path The dotted path of the value.
+     * @return Whether the value is present.
+     */
+    public boolean has(String path) {
+        return locate(path) != ABSENT;
+    }
+
+        /**
+     * Returns a value as a string, decoding it on the first call.
+     *
+     * @param path The dotted path of the value.
+     * @return The string, numbers and booleans as written, or null if the value is absent or null.
+     * @throws JsonParseException If the value is an object or an array.
+     */
+    public String getString(String path) {
+        String value = strings == null ? null : strings.get(path);
+        if (value != null) return value;
+        long range = locate(path);
+        if (range == ABSENT || isNull(range)) return null;
+        int s = start(range);
+        int e = end(range);
+        if (data[s] == '{' || data[s] == '[') {
+            throw new JsonParseException("Expected a string at '" + path + "' but was " + (data[s] == '{' ? "an object" : "an array"));
+        }
+        value = data[s] == '"' ? JsonScanner.readString(data, s, e) : JsonScanner.ascii(data, s, e);
+        if (strings == null) strings = new HashMap<>();
+        strings.put(path, value);
+        return value;
+    }
+
+        /**
+     * Returns a number as a long, truncating any fraction.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number or does not fit in a long.
+     */
+    public long getLong(String path) {
+        return longAt(path, require(path));
+    }
+
+        /**
+     * Returns a number as a long, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number or does not fit in a long.
+     */
+    public long getLong(String path, long defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : longAt(path, range);
+    }
+
+        /**
+     * Returns a number as an int, truncating any fraction.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number or does not fit in an int.
+     */
+    public int getInt(String path) {
+        return intAt(path, require(path));
+    }
+
+        /**
+     * Returns a number as an int, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number or does not fit in an int.
+     */
+    public int getInt(String path, int defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : intAt(path, range);
+    }
+
+        /**
+     * Returns a number as a double.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number.
+     */
+    public double getDouble(String path) {
+        return doubleAt(path, require(path));
+    }
+
+        /**
+     * Returns a number as a double, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number.
+     */
+    public double getDouble(String path, double defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : doubleAt(path, range);
+    }
+
+        /**
+     * Returns a boolean.
+     *
+     * @param path The dotted path of the value.
+     * @return The boolean.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a boolean.
+     */
+    public boolean getBoolean(String path) {
+        return booleanAt(path, require(path));
+    }
+
+        /**
+     * Returns a boolean, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the boolean is absent or null.
+     * @return The boolean.
+     * @throws JsonParseException If the value is not a boolean.
+     */
+    public boolean getBoolean(String path, boolean defaultValue) {
+        long range = locate(path);
+        return range == ABSENT || isNull(range) ? defaultValue : booleanAt(path, range);
+    }
+
+        /**
+     * Converts a value straight from its bytes through a type adapter.
+     *
+     * @param path    The dotted path of the value.
+     * @param adapter The type adapter.
+     * @param <T>     The type.
+     * @return The converted value, or null if the value is absent.
+     * @throws JsonSyntaxException If the value is not valid JSON for the adapter.
+     */
+    public <T> T read(String path, TypeAdapter<T> adapter) {
+        long range = locate(path);
+        return range == ABSENT ? null : JsonScanner.reader(data, start(range), end(range), adapter::read);
+    }
+
+        /**
+     * Converts the whole document straight from its bytes through a type adapter.
+     *
+     * @param adapter The type adapter.
+     * @param <T>     The type.
+     * @return The converted document.
+     * @throws JsonSyntaxException If the document is not valid JSON for the adapter.
+     */
+    public <T> T read(TypeAdapter<T> adapter) {
+        indexAll();
+        return JsonScanner.reader(data, start, limit, adapter::read);
+    }
+
+        /**
+     * Returns the whole document as a Gson tree, parsing it on the first call.
+     *
+     * @return The JSON object, which must not be modified.
+     * @throws JsonSyntaxException If the frame is not valid JSON.
+     */
+    public JsonObject getTree() {
+        if (tree == null) {
+            indexAll();
+            tree = JsonScanner.reader(data, start, limit, JsonParser::parseReader).getAsJsonObject();
+        }
+        return tree;
+    }
+
+        /**
+     * Returns a value as a Gson tree.
+     *
+     * @param path The dotted path of the value.
+     * @return The JSON value, or null if the value is absent.
+     */
+    public JsonElement getElement(String path) {
+        long range = locate(path);
+        return range == ABSENT ? null : JsonScanner.reader(data, start(range), end(range), JsonParser::parseReader);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) return null;
+        if (values != null) {
+            Object value = values.get(name);
+            if (value != null || values.containsKey(name)) return value;
+        }
+        int field = field(name, 0, name.length());
+        if (field < 0) return null;
+        int s = valueStart(field);
+        int e = fields[field * 2 + 1];
+        Object value = data[s] == '"'
+                ? JsonScanner.readString(data, s, e)
+                : JsonScanner.reader(data, s, e, objects::read);
+        if (values == null) values = new HashMap<>();
+        values.put(name, value);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && field(name, 0, name.length()) >= 0;
+    }
+
+    @Override
+    public int size() {
+        indexAll();
+        return fieldCount;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entries == null) {
+            indexAll();
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (int i = 0; i < fieldCount; i++) {
+                int nameStart = fields[i * 2];
+                String name = JsonScanner.readString(data, nameStart, JsonScanner.skipString(data, nameStart, limit));
+                copy.putIfAbsent(name, get(name));
+            }
+            entries = Collections.unmodifiableMap(copy).entrySet();
+        }
+        return entries;
+    }
+
+    private String routingField(String name) {
+        int field = field(name, 0, name.length());
+        if (field < 0) return null;
+        int s = valueStart(field);
+        return data[s] == '"' ? JsonScanner.readString(data, s, fields[field * 2 + 1]) : null;
+    }
+
+        /**
+     * Finds the range of the value at a dotted path.
+     *
+     * <p>A top-level field whose name contains dots is matched before the path is split. Segments
+     * after the first select fields of objects, or elements of arrays by index.
+     */
+    private long locate(String path) {
+        int dot = path.indexOf('.');
+        int field = field(path, 0, dot < 0 ? path.length() : dot);
+        if (dot >= 0) {
+            int whole = field(path, 0, path.length());
+            if (whole >= 0) return JsonScanner.range(valueStart(whole), fields[whole * 2 + 1]);
+        }
+        if (field < 0) return ABSENT;
+        long range = JsonScanner.range(valueStart(field), fields[field * 2 + 1]);
+        while (dot >= 0) {
+            int off = dot + 1;
+            dot = path.indexOf('.', off);
+            int len = (dot < 0 ? path.length() : dot) - off;
+            int s = start(range);
+            if (data[s] == '{') {
+                range = JsonScanner.findField(data, s, end(range), path, off, len, scratch);
+            } else if (data[s] == '[') {
+                int index = index(path, off, len);
+                range = index < 0 ? ABSENT : JsonScanner.findElement(data, s, end(range), index);
+            } else {
+                range = ABSENT;
+            }
+            if (range == ABSENT) return ABSENT;
+        }
+        return range;
+    }
+
+        /**
+     * Finds a top-level field by name, indexing further fields until it is found.
+     *
+     * @return The number of the field, or -1 if the document has no such field.
+     */
+    private int field(String key, int off, int len) {
+        int h = JsonScanner.nameHash(key, off, len);
+        int mask = table.length - 1;
+        for (int i = slot(h) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int field = table[i] - 1;
+            if (hashes[field] == h && JsonScanner.nameEquals(data, fields[field * 2], limit, key, off, len)) return field;
+        }
+        while (indexNext()) {
+            int field = fieldCount - 1;
+            if (hashes[field] == h && JsonScanner.nameEquals(data, fields[field * 2], limit, key, off, len)) return field;
+        }
+        return -1;
+    }
+
+        /**
+     * Indexes the next top-level field, rejecting a name that is already indexed.
+     *
+     * <p>The table maps name hashes to field numbers plus one, so that zero marks a free slot, and
+     * is kept at most half full.
+     *
+     * @return Whether a field was indexed, false once the closing brace is reached.
+     */
+    private boolean indexNext() {
+        if (indexed) return false;
+        int pos = fieldCount == 0 ? start + 1 : fields[fieldCount * 2 - 1];
+        if (!JsonScanner.nextField(data, pos, limit, fieldCount == 0, scratch, 0)) {
+            indexed = true;
+            int rest = JsonScanner.skipWhitespace(data, JsonScanner.skipWhitespace(data, pos, limit) + 1, limit);
+            if (rest < limit) throw JsonScanner.syntax("JSON document was not fully consumed", rest);
+            return false;
+        }
+        if (fieldCount == hashes.length) grow();
+        int h = JsonScanner.nameHash(data, scratch[0], limit);
+        int mask = table.length - 1;
+        int i = slot(h) & mask;
+        for (; table[i] != 0; i = (i + 1) & mask) {
+            int field = table[i] - 1;
+            if (hashes[field] == h && JsonScanner.sameName(data, fields[field * 2], scratch[0], limit)) {
+                throw new JsonSyntaxException("duplicate key: " + JsonScanner.readString(data, scratch[0], scratch[1]));
+            }
+        }
+        table[i] = fieldCount + 1;
+        hashes[fieldCount] = h;
+        fields[fieldCount * 2] = scratch[0];
+        fields[fieldCount * 2 + 1] = scratch[3];
+        fieldCount++;
+        return true;
+    }
+
+    private void grow() {
+        fields = Arrays.copyOf(fields, fields.length * 2);
+        hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int field = 0; field < fieldCount; field++) {
+            int i = slot(hashes[field]) & mask;
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = field + 1;
+        }
+    }
+
+    private static int slot(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private int valueStart(int field) {
+        return JsonScanner.valueStart(data, fields[field * 2], limit);
+    }
+
+    private void indexAll() {
+        while (indexNext()) {
+            // Index every field.
+        }
+    }
+
+    private long require(String path) {
+        long range = locate(path);
+        if (range == ABSENT || isNull(range)) throw new MissingFieldException("Missing field '" + path + "'");
+        return range;
+    }
+
+    private boolean isNull(long range) {
+        return JsonScanner.literalEquals(data, start(range), end(range), "null");
+    }
+
+    private long longAt(String path, long range) {
+        int s = start(range);
+        int e = end(range);
+        try {
+            return data[s] == '"'
+                    ? JsonScanner.truncate(JsonScanner.readString(data, s, e))
+                    : JsonScanner.parseLong(data, s, e);
+        } catch (NumberFormatException ex) {
+            throw new JsonParseException("Expected a number at '" + path + "'");
+        } catch (ArithmeticException ex) {
+            throw new JsonParseException("Number at '" + path + "' does not fit in a long");
+        }
+    }
+
+    private int intAt(String path, long range) {
+        long value = longAt(path, range);
+        if (value != (int) value) throw new JsonParseException("Number at '" + path + "' does not fit in an int");
+        return (int) value;
+    }
+
+    private double doubleAt(String path, long range) {
+        int s = start(range);
+        int e = end(range);
+        try {
+            return data[s] == '"'
+                    ? Double.parseDouble(JsonScanner.readString(data, s, e))
+                    : JsonScanner.parseDouble(data, s, e);
+        } catch (NumberFormatException ex) {
+            throw new JsonParseException("Expected a number at '" + path + "'");
+        }
+    }
+
+    private boolean booleanAt(String path, long range) {
+        int s = start(range);
+        int e = end(range);
+        if (JsonScanner.literalEquals(data, s, e, "true")) return true;
+        if (JsonScanner.literalEquals(data, s, e, "false")) return false;
+        throw new JsonParseException("Expected a boolean at '" + path + "'");
+    }
+
+    private static int index(String path, int off, int len) {
+        if (len == 0 || len > 9) return -1;
+        int index = 0;
+        for (int i = off; i < off + len; i++) {
+            int digit = path.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            index = index * 10 + digit;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,412 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Structural scanning of UTF-8 encoded JSON, straight on the bytes of a frame.
+ *
+ * <p>Values are located as {@code [start, end)} ranges of the frame, packed into a {@code long} by
+ * {@link #range}, without decoding anything but the field names compared on the way. Scanning checks
+ * the structure of what it passes over, not the values themselves: a malformed number is only
+ * reported when it is read.
+ */
+final class JsonScanner {
+    static final long ABSENT = -1L;
+
+    private static final int SEED = ThreadLocalRandom.current().nextInt() | 1;
+    private static final int LONG_DIGITS = 19;
+
+    private JsonScanner() {
+    }
+
+    static long range(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    static int end(long range) {
+        return (int) range;
+    }
+
+    static int skipWhitespace(byte[] data, int pos, int end) {
+        while (pos < end) {
+            byte b = data[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') break;
+            pos++;
+        }
+        return pos;
+    }
+
+        /**
+     * Returns the position just after the value starting at a position.
+     *
+     * @param data  The frame.
+     * @param pos   The first byte of the value.
+     * @param end   The end of the frame.
+     * @return The position after the value.
+     * @throws JsonSyntaxException If the value is not terminated before the end of the frame.
+     */
+    static int skipValue(byte[] data, int pos, int end) {
+        if (pos >= end) throw syntax("Expected a value", pos);
+        byte first = data[pos];
+        if (first == '"') return skipString(data, pos, end);
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            while (pos < end) {
+                byte b = data[pos];
+                if (b == '"') {
+                    pos = skipString(data, pos, end);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return pos + 1;
+                }
+                pos++;
+            }
+            throw syntax(first == '{' ? "Unterminated object" : "Unterminated array", pos);
+        }
+        int start = pos;
+        while (pos < end) {
+            byte b = data[pos];
+            if (b == ',' || b == '}' || b == ']' || b == ':' || b == ' ' || b == '\n' || b == '\r' || b == '\t') break;
+            pos++;
+        }
+        if (pos == start) throw syntax("Expected a value", pos);
+        return pos;
+    }
+
+    static int skipString(byte[] data, int pos, int end) {
+        for (pos++; pos < end; pos++) {
+            byte b = data[pos];
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return pos + 1;
+            }
+        }
+        throw syntax("Unterminated string", pos);
+    }
+
+        /**
+     * Reads the next field of an object.
+     *
+     * @param data   The frame.
+     * @param pos    The position after the opening brace, or after the previous field.
+     * @param end    The end of the frame.
+     * @param first  Whether no field has been read from the object yet.
+     * @param fields The array receiving the name start, name end, value start and value end.
+     * @param offset The offset in {@code fields} to write at.
+     * @return Whether a field was read, false at the closing brace.
+     */
+    static boolean nextField(byte[] data, int pos, int end, boolean first, int[] fields, int offset) {
+        pos = skipWhitespace(data, pos, end);
+        if (pos < end && data[pos] == '}') return false;
+        if (!first) {
+            if (pos >= end || data[pos] != ',') throw syntax("Expected ',' or '}'", pos);
+            pos = skipWhitespace(data, pos + 1, end);
+        }
+        if (pos >= end || data[pos] != '"') throw syntax("Expected a field name", pos);
+        int nameEnd = skipString(data, pos, end);
+        int colon = skipWhitespace(data, nameEnd, end);
+        if (colon >= end || data[colon] != ':') throw syntax("Expected ':'", colon);
+        int valueStart = skipWhitespace(data, colon + 1, end);
+        fields[offset] = pos;
+        fields[offset + 1] = nameEnd;
+        fields[offset + 2] = valueStart;
+        fields[offset + 3] = skipValue(data, valueStart, end);
+        return true;
+    }
+
+        /**
+     * Finds a field of a nested object by name.
+     *
+     * @param data  The frame.
+     * @param pos   The opening brace of the object.
+     * @param end   The end of the object.
+     * @param key   The string containing the name.
+     * @param off   The offset of the name in {@code key}.
+     * @param len   The length of the name.
+     * @param field A scratch array of at least four elements.
+     * @return The range of the value, the last one if the name is repeated as Gson reads it, or {@link #ABSENT}.
+     */
+    static long findField(byte[] data, int pos, int end, String key, int off, int len, int[] field) {
+        long found = ABSENT;
+        boolean first = true;
+        int next = pos + 1;
+        while (nextField(data, next, end, first, field, 0)) {
+            if (nameEquals(data, field[0], end, key, off, len)) found = range(field[2], field[3]);
+            first = false;
+            next = field[3];
+        }
+        return found;
+    }
+
+        /**
+     * Finds an element of a nested array by index.
+     *
+     * @param data  The frame.
+     * @param pos   The opening bracket of the array.
+     * @param end   The end of the array.
+     * @param index The index of the element.
+     * @return The range of the element, or {@link #ABSENT}.
+     */
+    static long findElement(byte[] data, int pos, int end, int index) {
+        pos = skipWhitespace(data, pos + 1, end);
+        for (int i = 0; pos < end && data[pos] != ']'; i++) {
+            int valueEnd = skipValue(data, pos, end);
+            if (i == index) return range(pos, valueEnd);
+            pos = skipWhitespace(data, valueEnd, end);
+            if (pos < end && data[pos] == ',') pos = skipWhitespace(data, pos + 1, end);
+        }
+        return ABSENT;
+    }
+
+        /**
+     * Compares a quoted name in the frame with a region of a string.
+     *
+     * <p>ASCII bytes are compared with the string as they are read, so names differing early, which
+     * is nearly all of them, are rejected after a byte or two. Names with escapes or multi-byte
+     * sequences are decoded first.
+     *
+     * @param data  The frame.
+     * @param start The opening quote of the name.
+     * @param end   The end of the frame.
+     * @param key   The string containing the name.
+     * @param off   The offset of the name in {@code key}.
+     * @param len   The length of the name.
+     * @return Whether the names are equal.
+     */
+    static boolean nameEquals(byte[] data, int start, int end, String key, int off, int len) {
+        int pos = start + 1;
+        for (int i = 0; i < len; i++, pos++) {
+            if (pos >= end) return false;
+            byte b = data[pos];
+            if (b == '\\' || b < 0) {
+                String name = readString(data, start, skipString(data, start, end));
+                return name.length() == len && name.regionMatches(0, key, off, len);
+            }
+            if (b != key.charAt(off + i)) return false;
+        }
+        return pos < end && data[pos] == '"';
+    }
+
+        /**
+     * Compares two quoted names in the frame, decoding them only if either contains an escape.
+     *
+     * @param data The frame.
+     * @param a    The opening quote of the first name.
+     * @param b    The opening quote of the second name.
+     * @param end  The end of the frame.
+     * @return Whether the names are equal.
+     */
+    static boolean sameName(byte[] data, int a, int b, int end) {
+        int aEnd = skipString(data, a, end);
+        int bEnd = skipString(data, b, end);
+        if (Arrays.equals(data, a, aEnd, data, b, bEnd)) return true;
+        if (!hasEscape(data, a, aEnd) && !hasEscape(data, b, bEnd)) return false;
+        return readString(data, a, aEnd).equals(readString(data, b, bEnd));
+    }
+
+        /**
+     * Hashes a quoted name in the frame as {@link #nameHash(String, int, int)} hashes it decoded.
+     *
+     * <p>Names of ASCII bytes without escapes, nearly all of them, are hashed from their bytes; the
+     * others are decoded first. The hash is seeded per process, so names cannot be picked to collide.
+     *
+     * @param data  The frame.
+     * @param start The opening quote of the name.
+     * @param end   The end of the frame.
+     * @return The hash.
+     */
+    static int nameHash(byte[] data, int start, int end) {
+        int h = SEED;
+        for (int pos = start + 1; pos < end; pos++) {
+            byte b = data[pos];
+            if (b == '"') return h;
+            if (b == '\\' || b < 0) {
+                String name = readString(data, start, skipString(data, start, end));
+                return nameHash(name, 0, name.length());
+            }
+            h = (h ^ b) * 0x01000193;
+        }
+        throw syntax("Unterminated string", end);
+    }
+
+        /**
+     * Hashes a region of a string, as a name decoded from the frame.
+     *
+     * @param key The string containing the name.
+     * @param off The offset of the name in {@code key}.
+     * @param len The length of the name.
+     * @return The hash.
+     */
+    static int nameHash(String key, int off, int len) {
+        int h = SEED;
+        for (int i = off; i < off + len; i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        return h;
+    }
+
+    private static boolean hasEscape(byte[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] == '\\') return true;
+        }
+        return false;
+    }
+
+        /**
+     * Returns the position of the value of a field.
+     *
+     * @param data  The frame.
+     * @param start The opening quote of the name of the field.
+     * @param end   The end of the frame.
+     * @return The first byte of the value.
+     */
+    static int valueStart(byte[] data, int start, int end) {
+        int colon = skipWhitespace(data, skipString(data, start, end), end);
+        return skipWhitespace(data, colon + 1, end);
+    }
+
+        /**
+     * Decodes a string value.
+     *
+     * @param data  The frame.
+     * @param start The opening quote.
+     * @param end   The position after the closing quote.
+     * @return The string.
+     */
+    static String readString(byte[] data, int start, int end) {
+        boolean ascii = true;
+        for (int i = start + 1; i < end - 1; i++) {
+            byte b = data[i];
+            if (b == '\\') return reader(data, start, end, JsonReader::nextString);
+            if (b < 0) ascii = false;
+        }
+        return new String(data, start + 1, end - start - 2, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+        /**
+     * Reads a number as a long, without allocating when it is an integer that fits.
+     *
+     * @param data  The frame.
+     * @param start The first byte of the number.
+     * @param end   The position after the number.
+     * @return The number, truncated if it has a fraction.
+     * @throws NumberFormatException If the value is not a number.
+     * @throws ArithmeticException If the number does not fit in a long.
+     */
+    static long parseLong(byte[] data, int start, int end) {
+        int i = start;
+        boolean negative = i < end && data[i] == '-';
+        if (negative) i++;
+        if (i < end && end - i <= 18) {
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) break;
+                value = value * 10 + digit;
+            }
+            if (i == end) return negative ? -value : value;
+        }
+        return truncate(ascii(data, start, end));
+    }
+
+        /**
+     * Converts the text of a number to a long, truncating any fraction.
+     *
+     * @param number The number as written.
+     * @return The number.
+     * @throws NumberFormatException If the text is not a number.
+     * @throws ArithmeticException If the number does not fit in a long.
+     */
+    static long truncate(String number) {
+        BigDecimal value = new BigDecimal(number);
+        int digits = value.precision() - value.scale();
+        if (digits <= 0) return 0;
+        if (digits > LONG_DIGITS) throw new ArithmeticException("Overflow");
+        return value.toBigInteger().longValueExact();
+    }
+
+        /**
+     * Reads a number as a double.
+     *
+     * @param data  The frame.
+     * @param start The first byte of the number.
+     * @param end   The position after the number.
+     * @return The number.
+     * @throws NumberFormatException If the value is not a number.
+     */
+    static double parseDouble(byte[] data, int start, int end) {
+        int i = start;
+        boolean negative = i < end && data[i] == '-';
+        if (negative) i++;
+        if (i < end && end - i <= 15) {
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) break;
+                value = value * 10 + digit;
+            }
+            if (i == end) return negative ? -(double) value : value;
+        }
+        return Double.parseDouble(ascii(data, start, end));
+    }
+
+    static boolean literalEquals(byte[] data, int start, int end, String literal) {
+        if (end - start != literal.length()) return false;
+        for (int i = 0; i < literal.length(); i++) {
+            if (data[start + i] != literal.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    static String ascii(byte[] data, int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+        /**
+     * Reads a value through a {@link JsonReader} positioned on it.
+     *
+     * @param data   The frame.
+     * @param start  The first byte of the value.
+     * @param end    The position after the value.
+     * @param read   The read operation.
+     * @param <T>    The type read.
+     * @return The value.
+     * @throws JsonSyntaxException If the value is not valid JSON.
+     */
+    static <T> T reader(byte[] data, int start, int end, Read<T> read) {
+        try {
+            return read.apply(new JsonReader(new Utf8Reader(data, start, end)));
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static JsonSyntaxException syntax(String message, int pos) {
+        return new JsonSyntaxException(message + " at byte " + pos);
+    }
+
+    /**
+     * An operation reading a value from a {@link JsonReader}.
+     *
+     * @param <T> The type read.
+     */
+    @FunctionalInterface
+    interface Read<T> {
+        T apply(JsonReader reader) throws IOException;
+    }
+}
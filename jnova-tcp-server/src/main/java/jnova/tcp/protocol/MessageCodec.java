@@ -0,0 +1,75 @@
+package jnova.tcp.protocol;
+
+import java.util.Arrays;
+
+/**
+ * An encoding of the messages carried in frames, decoding requests into {@link RequestDocument}s and
+ * encoding the responses sent back.
+ *
+ * <p>A {@link jnova.tcp.handler.JsonStructureRequestHandler} is given its codecs in order, through
+ * {@link jnova.tcp.routing.commands.DispatcherFactory.Builder#codecs}, and decodes each frame with the
+ * first codec accepting it, so one server and one set of {@code @TcpType} handlers serve clients of
+ * several encodings. Dispatcher errors are encoded with the codec their request was decoded with.
+ * Implementations must be thread-safe.
+ *
+ * @see JsonCodec
+ * @see BinaryCodec
+ */
+public interface MessageCodec {
+        /**
+     * Checks whether a frame is in this encoding, from its first bytes.
+     *
+     * @param frame The frame content.
+     * @return Whether this codec decodes the frame.
+     */
+    boolean accepts(byte[] frame);
+
+        /**
+     * Decodes a request, reading at least its routing fields.
+     *
+     * @param frame The frame content, which must not be modified afterwards.
+     * @return The document of the request.
+     * @throws jnova.core.exceptions.JsonParseException If the frame is not a request in this encoding.
+     */
+    RequestDocument decode(byte[] frame);
+
+        /**
+     * Checks whether a frame held in part of an array is in this encoding.
+     *
+     * <p>The default implementation copies the frame out of the array.
+     *
+     * @param data   The array holding the frame.
+     * @param offset The index of the first byte of the frame.
+     * @param length The length of the frame in bytes.
+     * @return Whether this codec decodes the frame.
+     */
+    default boolean accepts(byte[] data, int offset, int length) {
+        return accepts(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+        /**
+     * Decodes a request held in part of an array.
+     *
+     * <p>Codecs reading the array in place, as the built-in ones do, return a document that is valid
+     * only as long as the range holds the frame: for frames read by the server, until the handler of
+     * the request has finished, unless the request is {@link jnova.tcp.request.TcpBinaryRequest#retain()
+     * retained}. The default implementation decodes a copy of the frame.
+     *
+     * @param data   The array holding the frame, which must not be modified afterwards.
+     * @param offset The index of the first byte of the frame.
+     * @param length The length of the frame in bytes.
+     * @return The document of the request.
+     * @throws jnova.core.exceptions.JsonParseException If the frame is not a request in this encoding.
+     */
+    default RequestDocument decode(byte[] data, int offset, int length) {
+        return decode(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+        /**
+     * Encodes a message, such as a response payload, through its Gson type adapter.
+     *
+     * @param message The message.
+     * @return The frame content.
+     */
+    byte[] encode(Object message);
+}
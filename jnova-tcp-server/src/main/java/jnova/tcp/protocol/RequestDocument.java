@@ -0,0 +1,211 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.exceptions.JsonParseException;
+import jnova.core.exceptions.MissingFieldException;
+import jnova.core.util.GsonFactory;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * A request decoded by a {@link MessageCodec}, read from the bytes of its frame as a read-only
+ * {@code Map<String, Object>}.
+ *
+ * <p>Whatever the encoding of the frame, a document offers the same views of it: the routing fields,
+ * typed accessors taking dotted paths into nested objects and arrays ({@code "order.items.0.qty"}),
+ * conversion through Gson {@link TypeAdapter}s, and the map view holding the shapes a {@code Map}
+ * parsed by Gson holds. Handlers, resolvers and middleware written against it serve clients of
+ * every codec.
+ *
+ * @see JsonDocument
+ * @see BinaryDocument
+ */
+public interface RequestDocument extends Map<String, Object> {
+
+        /**
+     * Returns the document of a request map, converting any other map to a {@link JsonDocument}.
+     *
+     * @param json The request.
+     * @return The document.
+     */
+    static RequestDocument of(Map<String, Object> json) {
+        return json instanceof RequestDocument document ? document : JsonDocument.from(json);
+    }
+
+        /**
+     * Returns the {@value JsonDocument#TYPE} field, read when the document was created.
+     *
+     * @return The type, or null if the field is absent or not a string.
+     */
+    String getType();
+
+        /**
+     * Returns the {@value JsonDocument#COMMAND} field, read when the document was created.
+     *
+     * @return The command, or null if the field is absent or not a string.
+     */
+    String getCommand();
+
+        /**
+     * Checks whether a path leads to a value, which may be null.
+     *
+     * @param path The dotted path of the value.
+     * @return Whether the value is present.
+     */
+    boolean has(String path);
+
+        /**
+     * Returns a value as a string.
+     *
+     * @param path The dotted path of the value.
+     * @return The string, numbers and booleans as text, or null if the value is absent or null.
+     * @throws JsonParseException If the value is an object or an array.
+     */
+    String getString(String path);
+
+        /**
+     * Returns a number as a long, truncating any fraction.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number or does not fit in a long.
+     */
+    long getLong(String path);
+
+        /**
+     * Returns a number as a long, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number or does not fit in a long.
+     */
+    long getLong(String path, long defaultValue);
+
+        /**
+     * Returns a number as an int, truncating any fraction.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number or does not fit in an int.
+     */
+    int getInt(String path);
+
+        /**
+     * Returns a number as an int, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number or does not fit in an int.
+     */
+    int getInt(String path, int defaultValue);
+
+        /**
+     * Returns a number as a double.
+     *
+     * @param path The dotted path of the value.
+     * @return The number.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a number.
+     */
+    double getDouble(String path);
+
+        /**
+     * Returns a number as a double, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the number is absent or null.
+     * @return The number.
+     * @throws JsonParseException If the value is not a number.
+     */
+    double getDouble(String path, double defaultValue);
+
+        /**
+     * Returns a boolean.
+     *
+     * @param path The dotted path of the value.
+     * @return The boolean.
+     * @throws MissingFieldException If the value is absent or null.
+     * @throws JsonParseException If the value is not a boolean.
+     */
+    boolean getBoolean(String path);
+
+        /**
+     * Returns a boolean, or a default if it is absent or null.
+     *
+     * @param path         The dotted path of the value.
+     * @param defaultValue The value returned if the boolean is absent or null.
+     * @return The boolean.
+     * @throws JsonParseException If the value is not a boolean.
+     */
+    boolean getBoolean(String path, boolean defaultValue);
+
+        /**
+     * Converts a value through a type adapter.
+     *
+     * @param path    The dotted path of the value.
+     * @param adapter The type adapter.
+     * @param <T>     The type.
+     * @return The converted value, or null if the value is absent.
+     * @throws JsonSyntaxException If the value does not suit the adapter.
+     */
+    <T> T read(String path, TypeAdapter<T> adapter);
+
+        /**
+     * Converts the whole document through a type adapter.
+     *
+     * @param adapter The type adapter.
+     * @param <T>     The type.
+     * @return The converted document.
+     * @throws JsonSyntaxException If the document does not suit the adapter.
+     */
+    <T> T read(TypeAdapter<T> adapter);
+
+        /**
+     * Converts a value to a type.
+     *
+     * @param path The dotted path of the value.
+     * @param type The type, which may be generic.
+     * @param <T>  The type.
+     * @return The converted value, or null if the value is absent or null.
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T bind(String path, Type type) {
+        return read(path, (TypeAdapter<T>) GsonFactory.get().getAdapter(TypeToken.get(type)));
+    }
+
+        /**
+     * Converts the whole document to a type.
+     *
+     * @param type The type, which may be generic.
+     * @param <T>  The type.
+     * @return The converted document.
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T bind(Type type) {
+        return read((TypeAdapter<T>) GsonFactory.get().getAdapter(TypeToken.get(type)));
+    }
+
+        /**
+     * Returns the whole document as a Gson tree, building it on the first call.
+     *
+     * @return The JSON object, which must not be modified.
+     */
+    JsonObject getTree();
+
+        /**
+     * Returns a value as a Gson tree.
+     *
+     * @param path The dotted path of the value.
+     * @return The JSON value, or null if the value is absent.
+     */
+    JsonElement getElement(String path);
+}
@@ -1,6 +1,7 @@
 package jnova.tcp.protocol;
 
 import com.google.gson.Gson;
+import jnova.annotations.tcp.JsonModel;
 import jnova.core.util.GsonFactory;
 
 /**
@@ -8,14 +9,16 @@ import jnova.core.util.GsonFactory;
  *
  * <p>This class is used for creating and serializing TCP messages for communication.
  * It includes fields for message type, sender identifier, and message content.
- * The class also provides methods for converting the message to a JSON string.
+ * The class also provides methods for converting the message to a JSON string, written by an
+ * adapter generated at compile time.
  */
+@JsonModel
 public class TcpMessage {
     public String type;
     public String from;
     public String content;
 
-    private static final Gson gson = new Gson();
+    private static final Gson gson = GsonFactory.builder().create();
 
         /**
      * Constructs a new TcpMessage object.
@@ -0,0 +1,93 @@
+package jnova.tcp.protocol;
+
+import java.io.Reader;
+
+/**
+ * A reader decoding UTF-8 straight out of a byte array, as far as its consumer reads.
+ *
+ * <p>Unlike an {@link java.io.InputStreamReader}, it neither allocates a decode buffer nor decodes
+ * ahead, so a {@link com.google.gson.stream.JsonReader} that stops after the first few fields of a
+ * frame only decodes those. Malformed sequences are decoded as U+FFFD.
+ */
+final class Utf8Reader extends Reader {
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final byte[] data;
+    private final int end;
+    private int pos;
+    private char pendingLow;
+
+    Utf8Reader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    Utf8Reader(byte[] data, int start, int end) {
+        this.data = data;
+        this.pos = start;
+        this.end = end;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (len == 0) return 0;
+        int n = 0;
+        if (pendingLow != 0) {
+            cbuf[off + n++] = pendingLow;
+            pendingLow = 0;
+        }
+        while (n < len && pos < end) {
+            int b = data[pos];
+            if (b >= 0) {
+                cbuf[off + n++] = (char) b;
+                pos++;
+                continue;
+            }
+            int cp = decode();
+            if (cp >= 0x10000) {
+                cbuf[off + n++] = Character.highSurrogate(cp);
+                char low = Character.lowSurrogate(cp);
+                if (n < len) {
+                    cbuf[off + n++] = low;
+                } else {
+                    pendingLow = low;
+                }
+            } else {
+                cbuf[off + n++] = (char) cp;
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    private int decode() {
+        int b = data[pos++] & 0xFF;
+        int extra;
+        int cp;
+        if (b >= 0xF5) {
+            return REPLACEMENT;
+        } else if (b >= 0xF0) {
+            extra = 3;
+            cp = b & 0x07;
+        } else if (b >= 0xE0) {
+            extra = 2;
+            cp = b & 0x0F;
+        } else if (b >= 0xC2 && b <= 0xDF) {
+            extra = 1;
+            cp = b & 0x1F;
+        } else {
+            return REPLACEMENT;
+        }
+        for (int i = 0; i < extra; i++) {
+            if (pos >= end || (data[pos] & 0xC0) != 0x80) return REPLACEMENT;
+            cp = (cp << 6) | (data[pos++] & 0x3F);
+        }
+        if ((extra == 2 && (cp < 0x800 || Character.isSurrogate((char) cp)))
+                || (extra == 3 && (cp < 0x10000 || cp > 0x10FFFF))) {
+            return REPLACEMENT;
+        }
+        return cp;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -1,19 +1,28 @@
 package jnova.tcp.request;
 
 import jnova.tcp.TcpSession;
+import jnova.tcp.buffer.PooledBuffer;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Represents a TCP binary request containing data, session, and payload information.
  *
  *  This class encapsulates the raw byte data received, the associated TCP session,
  *  and a string representation of the data (the payload).
+ *
+ * <p>Requests read by the server hold their frame in a {@link PooledBuffer}, which the server
+ * releases once the handler's {@code Mono} has terminated. {@link #getArray()} and documents decoded
+ * from it in place are valid until then; a handler that keeps reading them afterwards, for instance
+ * from work it schedules elsewhere, calls {@link #retain()} first and {@link #release()} when done.
+ * {@link #getData()} and {@link #getPayload()} return copies, which stay valid once taken.
  */
 public class TcpBinaryRequest {
-    private final byte[] data;
+    private final PooledBuffer frame;
+    private final int length;
     private final TcpSession session;
-    private final String payload;
+    private byte[] data;
+    private String payload;
 
         /**
          * Constructs a TcpBinaryRequest with the given data and session.
@@ -22,28 +31,95 @@ public class TcpBinaryRequest {
          * @param session The TCP session associated with the request.
          */
     public TcpBinaryRequest(byte[] data, TcpSession session) {
+        this(PooledBuffer.wrap(data), session);
         this.data = data;
+    }
+
+        /**
+     * Constructs a TcpBinaryRequest for a frame held in a pooled buffer, taking over its reference.
+     *
+     * @param frame   The buffer holding the frame from index 0 up to its limit.
+     * @param session The TCP session associated with the request.
+     */
+    public TcpBinaryRequest(PooledBuffer frame, TcpSession session) {
+        this.frame = frame;
+        this.length = frame.buffer().limit();
         this.session = session;
-        this.payload = new String(data).trim();
     }
 
         /**
      * Retrieves the internal data array.
      *
+     * <p>For a pooled frame, the bytes are copied out of the buffer on the first call.
+     *
      * @return A byte array containing the stored data.
      */
-    public byte[] getData() { return data; }
+    public byte[] getData() {
+        if (data == null) {
+            data = Arrays.copyOf(frame.array(), length);
+        }
+        return data;
+    }
+
+        /**
+     * Returns the array holding the frame, without copying it.
+     *
+     * <p>The frame takes the first {@link #getLength()} bytes of the array, which may be longer. The
+     * array goes back to its pool once the request is released and must not be read afterwards.
+     *
+     * @return The backing array of the frame.
+     */
+    public byte[] getArray() {
+        return frame.array();
+    }
+
+        /**
+     * Returns the length of the frame in {@link #getArray()}.
+     *
+     * @return The number of bytes in the frame.
+     */
+    public int getLength() {
+        return length;
+    }
+
         /**
      * Returns the TCP session associated with this object.
      *
      * @return The TCP session.
      */
     public TcpSession getSession() { return session; }
+
         /**
      * Retrieves the payload.
      *
      * @return the payload string
      */
-    public String getPayload() { return payload; }
-}
+    public String getPayload() {
+        if (payload == null) {
+            payload = new String(frame.array(), 0, length).trim();
+        }
+        return payload;
+    }
+
+        /**
+     * Keeps the frame of this request valid beyond the handler's {@code Mono}, until a matching
+     * {@link #release()}.
+     *
+     * @return This request.
+     * @throws IllegalStateException If the frame has already been released.
+     */
+    public TcpBinaryRequest retain() {
+        frame.retain();
+        return this;
+    }
 
+        /**
+     * Drops a reference to the frame of this request, returning its buffer to the pool when it was the last one.
+     *
+     * @return true if the buffer went back to the pool.
+     * @throws IllegalStateException If the frame has already been released.
+     */
+    public boolean release() {
+        return frame.release();
+    }
+}
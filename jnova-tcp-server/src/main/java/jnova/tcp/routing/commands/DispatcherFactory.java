@@ -1,5 +1,7 @@
 package jnova.tcp.routing.commands;
 
+import jnova.tcp.dispatching.DispatchTable;
+import jnova.tcp.dispatching.DispatchTables;
 import jnova.tcp.dispatching.DispatcherContext;
 import jnova.tcp.dispatching.TcpMiddleware;
 import jnova.tcp.dispatching.resolvers.ArgumentResolver;
@@ -7,6 +9,9 @@ import jnova.tcp.handler.CommandRequestHandler;
 import jnova.tcp.handler.HandlerEnum;
 import jnova.tcp.handler.JsonStructureRequestHandler;
 import jnova.tcp.handler.TcpRequestHandler;
+import jnova.tcp.protocol.BinaryCodec;
+import jnova.tcp.protocol.JsonCodec;
+import jnova.tcp.protocol.MessageCodec;
 
 import java.util.List;
 
@@ -15,8 +20,11 @@ import java.util.List;
  *
  * <p>This class provides a builder pattern for configuring and creating different types of
  * `TcpRequestHandler` based on specified parameters such as base package, argument resolvers,
- * middleware, and handler type. It supports creating handlers for JSON structures and command-based
- * requests.</p>
+ * middleware, and handler type. It supports creating handlers for JSON structures, the compact
+ * binary encoding and command-based requests.</p>
+ *
+ * <p>Handlers are registered from the {@link DispatchTable}s generated at compile time for the base
+ * package when they are present, which avoids scanning the classpath at startup.</p>
  */
 public class DispatcherFactory {
 
@@ -35,13 +43,14 @@ public class DispatcherFactory {
      * <p>This class provides a fluent interface for configuring the properties of a {@link
      * TcpRequestHandler}, such as the base package for scanning handlers, argument resolvers, TCP
      * middleware, and the handler type. It supports building different types of {@link
-     * TcpRequestHandler} based on the specified handler type (JSON or COMMAND).
+     * TcpRequestHandler} based on the specified handler type (JSON, BINARY or COMMAND).
      */
     public static class Builder {
         private String basePackage;
         private List<ArgumentResolver> resolvers;
         private List<TcpMiddleware> middleware;
         private HandlerEnum handlerType;
+        private List<MessageCodec> codecs;
 
                 /**
          * Sets the base package for generated classes.
@@ -87,6 +96,21 @@ public class DispatcherFactory {
             return this;
         }
 
+                /**
+         * Sets the codecs of a JSON or BINARY handler, replacing its defaults.
+         *
+         * <p>Frames are decoded by the first codec accepting them, and by the first codec when none
+         * does. JSON handlers default to {@link JsonCodec}, and BINARY handlers to {@link JsonCodec}
+         * and {@link BinaryCodec}.
+         *
+         * @param codecs The {@link MessageCodec}s, in the order frames are offered to them.
+         * @return This {@link Builder} instance for chaining.
+         */
+        public Builder codecs(List<MessageCodec> codecs) {
+            this.codecs = codecs;
+            return this;
+        }
+
                 /**
          * Builds a {@link TcpRequestHandler} based on the configured handler type.
          *
@@ -99,17 +123,32 @@ public class DispatcherFactory {
                 throw new IllegalStateException("basePackage and handlerType must be provided");
             }
             switch (handlerType) {
-                case JSON -> {
+                case JSON, BINARY -> {
+                    List<MessageCodec> handlerCodecs = codecs != null ? codecs
+                            : handlerType == HandlerEnum.BINARY ? List.of(new JsonCodec(), new BinaryCodec())
+                            : List.of(new JsonCodec());
                     DispatcherContext context = new DispatcherContext(
                             basePackage,
                             resolvers,
-                            middleware
+                            middleware,
+                            handlerCodecs
                     );
                     return new JsonStructureRequestHandler(context);
                 }
                 case COMMAND -> {
                     TcpCommandRegistry registry = new TcpCommandRegistry();
-                    TcpCommandScanner.scanAndRegister(basePackage, registry);
+                    List<DispatchTable> tables = DispatchTables.find(basePackage);
+                    if (tables.isEmpty()) {
+                        TcpCommandScanner.scanAndRegister(basePackage, registry);
+                    } else {
+                        try {
+                            for (DispatchTable table : tables) {
+                                table.registerCommands(registry);
+                            }
+                        } catch (ReflectiveOperationException e) {
+                            throw new RuntimeException("Failed to register TCP commands", e);
+                        }
+                    }
                     TcpCommandDispatcher dispatcher = new TcpCommandDispatcher(registry);
                     return new CommandRequestHandler(dispatcher);
                 }
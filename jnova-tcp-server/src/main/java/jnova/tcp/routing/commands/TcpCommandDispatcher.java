@@ -44,9 +44,9 @@ public class TcpCommandDispatcher {
             System.out.printf("Found handler: %s.%s()%n", instance.getClass().getName(), method.getName());
 
             try {
-                method.invoke(instance, session, args);
+                cmd.invoker().invoke(new Object[]{session, args});
                 System.out.printf("Successfully invoked command '%s'%n", commandName);
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 System.err.printf("Error invoking command '%s': %s%n", commandName, e.getMessage());
                 e.printStackTrace();
             }
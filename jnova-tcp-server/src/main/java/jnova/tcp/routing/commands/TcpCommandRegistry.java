@@ -1,5 +1,9 @@
 package jnova.tcp.routing.commands;
 
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.dispatching.HandlerInvoker;
+import jnova.tcp.dispatching.HandlerInvokers;
+
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,9 +23,26 @@ public class TcpCommandRegistry {
      * @param name The name of the command (case-insensitive).
      * @param instance The object instance on which the method is invoked.
      * @param method The method to be executed when the command is called.
+     * @throws ConfigurationException If a command with the same name is already registered.
      */
     public void register(String name, Object instance, Method method) {
-        commands.put(name.toUpperCase(), new RegisteredCommand(instance, method));
+        register(name, new RegisteredCommand(instance, method));
+    }
+
+        /**
+     * Registers a command whose invoker has already been compiled, as a generated
+     * {@link jnova.tcp.dispatching.DispatchTable} does.
+     *
+     * @param name The name of the command (case-insensitive).
+     * @param command The command handler.
+     * @throws ConfigurationException If a command with the same name is already registered.
+     */
+    public void register(String name, RegisteredCommand command) {
+        RegisteredCommand existing = commands.putIfAbsent(name.toUpperCase(), command);
+        if (existing != null) {
+            throw new ConfigurationException("Duplicate command '" + name + "': " + command.method()
+                    + " conflicts with " + existing.method());
+        }
     }
 
         /**
@@ -34,5 +55,22 @@ public class TcpCommandRegistry {
         return Optional.ofNullable(commands.get(name.toUpperCase()));
     }
 
-    public record RegisteredCommand(Object instance, Method method) {}
+    /**
+     * A registered command handler, together with the invoker it was compiled into.
+     *
+     * @param instance The instance the method is invoked on.
+     * @param method   The command method, taking the session and the command's arguments.
+     * @param invoker  The compiled call of the method on the instance.
+     */
+    public record RegisteredCommand(Object instance, Method method, HandlerInvoker invoker) {
+            /**
+         * Creates a registered command, compiling its invoker.
+         *
+         * @param instance The instance the method is invoked on.
+         * @param method   The command method.
+         */
+        public RegisteredCommand(Object instance, Method method) {
+            this(instance, method, HandlerInvokers.compile(instance, method));
+        }
+    }
 }
@@ -2,12 +2,14 @@ package jnova.tcp.service;
 
 import jnova.tcp.metadata.introspection.DispatcherMetadata;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredArgumentResolver;
+import jnova.tcp.metadata.introspection.dispatcher.RegisteredCommand;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredMethod;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredParameter;
 import jnova.tcp.metadata.introspection.dispatcher.RegisteredType;
 import jnova.core.util.GsonFactory;
 import com.google.gson.Gson;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +41,15 @@ public class DispatcherReportService {
         metadata.types.add(type);
     }
 
+        /**
+     * Replaces the command IDs with those of the latest command table.
+     *
+     * @param commands The commands, in the order of their type and command.
+     */
+    public static void registerCommands(List<RegisteredCommand> commands) {
+        metadata.commands = commands;
+    }
+
         /**
      * Registers an argument resolver.
      *
@@ -71,8 +82,8 @@ public class DispatcherReportService {
      * Generates a detailed report of registered types, handlers, argument resolvers, and middleware.
      *
      * The report includes information about registered types and their associated handlers,
-     * methods with parameter details and return types, argument resolvers with supported annotations,
-     * and configured middleware components.
+     * methods with parameter details and return types, the IDs of their commands, argument resolvers
+     * with supported annotations, and configured middleware components.
      *
      * @return A formatted string containing the report details.
      */
@@ -114,6 +125,14 @@ public class DispatcherReportService {
             }
         }
 
+        // COMMAND IDS
+        if (!metadata.commands.isEmpty()) {
+            sb.append("== Command IDs ==\n");
+            for (RegisteredCommand c : metadata.commands) {
+                sb.append("- " + c.id + " -> " + c.typeName + " " + c.command + "\n");
+            }
+        }
+
         // ARGUMENT RESOLVERS
         if (!metadata.argumentResolvers.isEmpty()) {
             sb.append("== Argument Resolvers ==\n");
@@ -0,0 +1,103 @@
+package jnova.tcp.transport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The heartbeat frames of a protocol: a ping a peer sends to check the connection, and the pong it
+ * is answered with.
+ *
+ * <p>Heartbeats are recognized by comparing whole frames byte for byte, after framing has been
+ * removed, so with {@link #DEFAULT} a client sends the line {@code PING} and reads back {@code PONG}.
+ * A frame equal to the pong is a heartbeat too, which lets clients answer pings of their own.
+ * Servers answer heartbeats only once they are given one through
+ * {@link jnova.tcp.TcpServer.Builder#heartbeat(Heartbeat)}.
+ */
+public final class Heartbeat {
+    /**
+     * The conventional heartbeat: {@code PING} answered with {@code PONG}.
+     */
+    public static final Heartbeat DEFAULT = new Heartbeat(
+            "PING".getBytes(StandardCharsets.US_ASCII), "PONG".getBytes(StandardCharsets.US_ASCII));
+
+    private final byte[] ping;
+    private final byte[] pong;
+
+        /**
+     * Constructs a heartbeat.
+     *
+     * @param ping The frame content of a ping, without framing.
+     * @param pong The frame content of the reply to a ping, without framing.
+     * @throws IllegalArgumentException If either frame is empty or both are the same.
+     */
+    public Heartbeat(byte[] ping, byte[] pong) {
+        if (ping.length == 0 || pong.length == 0) {
+            throw new IllegalArgumentException("heartbeat frames must not be empty");
+        }
+        if (Arrays.equals(ping, pong)) {
+            throw new IllegalArgumentException("ping and pong must differ");
+        }
+        this.ping = ping.clone();
+        this.pong = pong.clone();
+    }
+
+        /**
+     * Returns the frame content of a ping.
+     *
+     * @return A copy of the ping.
+     */
+    public byte[] getPing() {
+        return ping.clone();
+    }
+
+        /**
+     * Returns the frame content of the reply to a ping.
+     *
+     * @return A copy of the pong.
+     */
+    public byte[] getPong() {
+        return pong.clone();
+    }
+
+        /**
+     * Checks whether a frame is a ping.
+     *
+     * @param frame The frame content.
+     * @return true if the frame equals the ping.
+     */
+    public boolean isPing(byte[] frame) {
+        return frame.length == ping.length && Arrays.equals(frame, ping);
+    }
+
+        /**
+     * Checks whether a frame is a pong.
+     *
+     * @param frame The frame content.
+     * @return true if the frame equals the pong.
+     */
+    public boolean isPong(byte[] frame) {
+        return frame.length == pong.length && Arrays.equals(frame, pong);
+    }
+
+        /**
+     * Checks whether a frame held at the start of an array is a ping.
+     *
+     * @param data   The array holding the frame.
+     * @param length The length of the frame in bytes.
+     * @return true if the frame equals the ping.
+     */
+    public boolean isPing(byte[] data, int length) {
+        return length == ping.length && Arrays.equals(data, 0, length, ping, 0, ping.length);
+    }
+
+        /**
+     * Checks whether a frame held at the start of an array is a pong.
+     *
+     * @param data   The array holding the frame.
+     * @param length The length of the frame in bytes.
+     * @return true if the frame equals the pong.
+     */
+    public boolean isPong(byte[] data, int length) {
+        return length == pong.length && Arrays.equals(data, 0, length, pong, 0, pong.length);
+    }
+}
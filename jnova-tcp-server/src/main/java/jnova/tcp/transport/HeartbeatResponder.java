@@ -0,0 +1,78 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.FramingStrategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Answers heartbeat frames as they are read, before they reach request dispatch.
+ *
+ * <p>The pong is framed once per buffer pool when the responder is created, and every reply queues a
+ * read-only view of that frame through {@link TcpTransport#sendFramed}, so answering a ping costs a
+ * byte comparison and an enqueue: no parsing, no handler lookup and no allocation of a new frame.
+ */
+public final class HeartbeatResponder {
+    private final Heartbeat heartbeat;
+    private final byte[] pong;
+    private final PooledBuffer heapPong;
+    private final PooledBuffer directPong;
+
+        /**
+     * Constructs a responder and frames its pong.
+     *
+     * @param heartbeat       The heartbeat frames to recognize.
+     * @param framingStrategy The strategy used to frame the pong.
+     * @throws UncheckedIOException If the pong cannot be framed.
+     */
+    public HeartbeatResponder(Heartbeat heartbeat, FramingStrategy framingStrategy) {
+        this.heartbeat = heartbeat;
+        this.pong = heartbeat.getPong();
+        OutboundFramer framer = new OutboundFramer(framingStrategy);
+        try {
+            this.heapPong = framer.frame(pong, BufferPool.heap());
+            this.directPong = framer.frame(pong, BufferPool.direct());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+        /**
+     * Handles a frame if it is a heartbeat: a ping is answered with the pong, a pong is consumed.
+     *
+     * @param frame     The frame content, as decoded.
+     * @param transport The transport the frame was read from.
+     * @return true if the frame was a heartbeat and must not be dispatched.
+     */
+    public boolean handle(byte[] frame, TcpTransport transport) {
+        return handle(frame, frame.length, transport);
+    }
+
+        /**
+     * Handles a frame held at the start of an array if it is a heartbeat.
+     *
+     * @param data      The array holding the frame, as decoded.
+     * @param length    The length of the frame in bytes.
+     * @param transport The transport the frame was read from.
+     * @return true if the frame was a heartbeat and must not be dispatched.
+     */
+    public boolean handle(byte[] data, int length, TcpTransport transport) {
+        if (heartbeat.isPing(data, length)) {
+            PooledBuffer reply = transport.outboundBufferPool() == BufferPool.direct() ? directPong : heapPong;
+            transport.sendFramed(reply, pong).subscribe(null, e -> {});
+            return true;
+        }
+        return heartbeat.isPong(data, length);
+    }
+
+        /**
+     * Returns the heartbeat frames this responder recognizes.
+     *
+     * @return The heartbeat.
+     */
+    public Heartbeat getHeartbeat() {
+        return heartbeat;
+    }
+}
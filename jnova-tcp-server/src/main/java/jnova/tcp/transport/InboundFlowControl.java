@@ -0,0 +1,149 @@
+package jnova.tcp.transport;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Per-session accounting of inbound frames that pauses and resumes reading from a {@link TcpTransport}.
+ *
+ * <p>Every frame read from the connection counts as queued until the server has finished processing
+ * it. Once the number of queued frames reaches the high watermark the transport stops reading, so the
+ * kernel's receive buffer fills up and TCP flow control pushes back on the client. Reading resumes
+ * when the queue has drained down to the low watermark.
+ *
+ * <p>Clients that want to avoid being paused at all can use credits instead: when a credit listener
+ * is set, the client is granted {@code highWatermark} credits up front and one credit is given back
+ * for every processed frame, in batches of {@code highWatermark - lowWatermark}.
+ */
+public class InboundFlowControl {
+    private final TcpTransport transport;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final IntConsumer creditListener;
+    private int queued = 0;
+    private int completedSinceGrant = 0;
+    private boolean paused = false;
+    private long pausedSince = 0;
+    private long pausedNanos = 0;
+    private long pauseCount = 0;
+
+        /**
+     * Constructs flow control for a transport without protocol-level credits.
+     *
+     * @param transport     The transport to pause and resume.
+     * @param highWatermark The number of queued frames at which reading pauses.
+     * @param lowWatermark  The number of queued frames at which reading resumes.
+     */
+    public InboundFlowControl(TcpTransport transport, int highWatermark, int lowWatermark) {
+        this(transport, highWatermark, lowWatermark, null);
+    }
+
+        /**
+     * Constructs flow control for a transport.
+     *
+     * @param transport      The transport to pause and resume.
+     * @param highWatermark  The number of queued frames at which reading pauses.
+     * @param lowWatermark   The number of queued frames at which reading resumes.
+     * @param creditListener Called with the number of credits to grant to the client, or null to disable credits.
+     * @throws IllegalArgumentException If the watermarks are not {@code 0 <= lowWatermark < highWatermark}.
+     */
+    public InboundFlowControl(TcpTransport transport, int highWatermark, int lowWatermark, IntConsumer creditListener) {
+        if (lowWatermark < 0 || lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high, got low=" + lowWatermark + ", high=" + highWatermark);
+        }
+        this.transport = transport;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.creditListener = creditListener;
+    }
+
+        /**
+     * Grants the initial credits to the client, if credits are enabled.
+     */
+    public void start() {
+        if (creditListener != null) {
+            creditListener.accept(highWatermark);
+        }
+    }
+
+        /**
+     * Records a frame read from the connection, pausing reads if the high watermark is reached.
+     */
+    public void onFrameReceived() {
+        boolean pause;
+        synchronized (this) {
+            queued++;
+            pause = !paused && queued >= highWatermark;
+            if (pause) {
+                paused = true;
+                pausedSince = System.nanoTime();
+                pauseCount++;
+            }
+        }
+        if (pause) {
+            transport.pauseReading();
+        }
+    }
+
+        /**
+     * Records a frame the server is done with, resuming reads once the low watermark is reached.
+     */
+    public void onFrameCompleted() {
+        boolean resume;
+        int credits = 0;
+        synchronized (this) {
+            queued--;
+            resume = paused && queued <= lowWatermark;
+            if (resume) {
+                paused = false;
+                pausedNanos += System.nanoTime() - pausedSince;
+            }
+            if (creditListener != null && ++completedSinceGrant >= highWatermark - lowWatermark) {
+                credits = completedSinceGrant;
+                completedSinceGrant = 0;
+            }
+        }
+        if (resume) {
+            transport.resumeReading();
+        }
+        if (credits > 0) {
+            creditListener.accept(credits);
+        }
+    }
+
+        /**
+     * Returns the number of frames read but not yet processed.
+     *
+     * @return The number of queued frames.
+     */
+    public synchronized int getQueuedFrames() {
+        return queued;
+    }
+
+        /**
+     * Checks whether reading is currently paused.
+     *
+     * @return true if the transport is paused.
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+        /**
+     * Returns how many times reading has been paused.
+     *
+     * @return The number of pauses.
+     */
+    public synchronized long getPauseCount() {
+        return pauseCount;
+    }
+
+        /**
+     * Returns the total time reading has been paused, including a pause still in progress.
+     *
+     * @return The paused time in milliseconds.
+     */
+    public synchronized long getPausedTimeMillis() {
+        long total = paused ? pausedNanos + (System.nanoTime() - pausedSince) : pausedNanos;
+        return total / 1_000_000;
+    }
+}
@@ -0,0 +1,67 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.FrameEncoder;
+import jnova.tcp.framing.FramingStrategy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Frames outbound messages into pooled buffers ready to be written by a transport.
+ *
+ * <p>Messages are framed with the strategy's {@link FrameEncoder} directly into the pooled buffer.
+ * Strategies without an encoder are framed through {@link FramingStrategy#writeMessage} into a
+ * temporary stream first.
+ */
+public final class OutboundFramer {
+    private final FramingStrategy framingStrategy;
+    private final FrameEncoder encoder;
+
+        /**
+     * Constructs a framer for the given strategy.
+     *
+     * @param framingStrategy The strategy used to frame outbound messages.
+     */
+    public OutboundFramer(FramingStrategy framingStrategy) {
+        this.framingStrategy = framingStrategy;
+        this.encoder = encoderOf(framingStrategy);
+    }
+
+        /**
+     * Frames a message into a buffer borrowed from the given pool.
+     *
+     * @param message The message to frame.
+     * @param pool    The pool to borrow the buffer from.
+     * @return A buffer holding the frame between its position and limit; the caller must release it.
+     * @throws IOException If the message cannot be framed.
+     */
+    public PooledBuffer frame(byte[] message, BufferPool pool) throws IOException {
+        PooledBuffer frame;
+        if (encoder != null) {
+            frame = pool.acquire(encoder.encodedLength(message));
+            try {
+                encoder.encode(message, frame.buffer());
+            } catch (IOException | RuntimeException e) {
+                frame.release();
+                throw e;
+            }
+        } else {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(message.length + 8);
+            framingStrategy.writeMessage(out, message);
+            frame = pool.acquire(out.size());
+            frame.buffer().put(out.toByteArray());
+        }
+        frame.buffer().flip();
+        return frame;
+    }
+
+    private static FrameEncoder encoderOf(FramingStrategy framingStrategy) {
+        try {
+            return framingStrategy.newEncoder();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package jnova.tcp.transport;
+
+/**
+ * Bounds of a session's outbound queue and the policy applied when a message exceeds them.
+ *
+ * <p>A message fits if neither the number of queued messages nor the number of queued framed bytes
+ * would exceed its limit. A message always fits in an empty queue, so one larger than the byte limit
+ * can still be sent to a peer that keeps up.
+ *
+ * @param maxMessages The number of messages that may wait to be written.
+ * @param maxBytes    The number of framed bytes that may wait to be written.
+ * @param policy      What happens to a message that does not fit.
+ */
+public record OutboundLimits(int maxMessages, long maxBytes, OverflowPolicy policy) {
+    /**
+     * The number of framed bytes that may wait to be written unless configured otherwise, 4 MB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * {@value TcpTransport#DEFAULT_OUTBOUND_QUEUE_CAPACITY} messages, {@value #DEFAULT_MAX_BYTES} bytes,
+     * and rejecting messages that do not fit.
+     */
+    public static final OutboundLimits DEFAULT = new OutboundLimits(
+            TcpTransport.DEFAULT_OUTBOUND_QUEUE_CAPACITY, DEFAULT_MAX_BYTES, OverflowPolicy.DROP_NEWEST);
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException If a limit is not positive or the policy is null.
+     */
+    public OutboundLimits {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("maxMessages must be positive");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.PooledBuffer;
+import reactor.core.publisher.MonoSink;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outbound queue of one connection, bounded by {@link OutboundLimits}.
+ *
+ * <p>Any thread may {@link #offer} framed messages; the transport's single writer takes them with
+ * {@link #poll()} and completes or fails each entry once it has been written. The queue only counts
+ * entries the writer has not taken yet, so its limits measure how far the peer lags behind, and
+ * applies the {@link OverflowPolicy} to messages that do not fit. Messages parked by the
+ * {@link OverflowPolicy#BLOCK} policy are bounded by the same limits as the queue; a message that
+ * does not fit among them either is handled as by {@link OverflowPolicy#DISCONNECT}. Sinks are
+ * always signalled and listeners always called outside the queue's lock.
+ */
+public final class OutboundQueue {
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final ArrayDeque<Entry> parked = new ArrayDeque<>();
+    private final OutboundLimits limits;
+    private final Runnable disconnect;
+    private volatile OverflowListener overflowListener;
+    private int messages = 0;
+    private long bytes = 0;
+    private int parkedMessages = 0;
+    private long parkedBytes = 0;
+    private boolean overflowing = false;
+    private boolean closed = false;
+
+        /**
+     * Constructs a queue.
+     *
+     * @param limits     The bounds of the queue and the policy applied when they are exceeded.
+     * @param disconnect Closes the connection; run by the {@link OverflowPolicy#DISCONNECT} policy.
+     */
+    public OutboundQueue(OutboundLimits limits, Runnable disconnect) {
+        this.limits = limits;
+        this.disconnect = disconnect;
+    }
+
+        /**
+     * Sets the listener told about overflows.
+     *
+     * @param overflowListener The listener, or null for none.
+     */
+    public void setOverflowListener(OverflowListener overflowListener) {
+        this.overflowListener = overflowListener;
+    }
+
+        /**
+     * Offers framed messages to be written as one unit.
+     *
+     * <p>The entry is queued if it fits. Otherwise the policy decides: the entry is parked until it
+     * fits, rejected, or queued after discarding older entries. An entry that cannot be parked
+     * because the parked entries have reached the limits is rejected and the connection closed. Rejected and discarded entries have
+     * their frames released and their sinks failed with an {@link OutboundQueueFullException}, or a
+     * {@link ClosedChannelException} once the queue has been closed.
+     *
+     * @param frames  The frames, released once written or failed.
+     * @param buffers The bytes to write, one view per frame.
+     * @param sink    The sink completed once every frame has been written.
+     * @return true if the entry was queued and the writer should be woken.
+     */
+    public boolean offer(PooledBuffer[] frames, ByteBuffer[] buffers, MonoSink<Void> sink) {
+        Entry entry = new Entry(frames, buffers, sink);
+        List<Entry> evicted = null;
+        Throwable rejected = null;
+        boolean queued = false;
+        boolean report = false;
+        boolean close = false;
+        OverflowPolicy applied = limits.policy();
+        int queuedMessages;
+        long queuedBytes;
+        synchronized (this) {
+            queuedMessages = messages;
+            queuedBytes = bytes;
+            if (closed) {
+                rejected = new ClosedChannelException();
+            } else if (parked.isEmpty() && fits(entry)) {
+                add(entry);
+                queued = true;
+            } else {
+                report = !overflowing;
+                overflowing = true;
+                switch (limits.policy()) {
+                    case BLOCK -> {
+                        if (parkable(entry)) {
+                            park(entry);
+                        } else {
+                            rejected = new OutboundQueueFullException(limits);
+                            close = true;
+                            report = true;
+                            applied = OverflowPolicy.DISCONNECT;
+                        }
+                    }
+                    case DROP_NEWEST -> rejected = new OutboundQueueFullException(limits);
+                    case DROP_OLDEST -> {
+                        evicted = new ArrayList<>();
+                        while (!fits(entry)) {
+                            evicted.add(remove(entries.poll()));
+                        }
+                        add(entry);
+                        queued = true;
+                    }
+                    case DISCONNECT -> {
+                        rejected = new OutboundQueueFullException(limits);
+                        close = true;
+                    }
+                }
+            }
+        }
+        if (evicted != null) {
+            for (Entry e : evicted) {
+                e.fail(new OutboundQueueFullException(limits));
+            }
+        }
+        if (rejected != null) {
+            entry.fail(rejected);
+        }
+        OverflowListener listener = overflowListener;
+        if (report && listener != null) {
+            listener.onOverflow(applied, queuedMessages, queuedBytes);
+        }
+        if (close) {
+            disconnect.run();
+        }
+        return queued;
+    }
+
+        /**
+     * Takes the oldest queued entry, making room for parked entries.
+     *
+     * @return The entry, now owned by the writer, or null if the queue is empty.
+     */
+    public synchronized Entry poll() {
+        Entry entry = entries.poll();
+        if (entry != null) {
+            remove(entry);
+            while (!parked.isEmpty() && fits(parked.peek())) {
+                add(unpark(parked.poll()));
+            }
+        }
+        if (entries.isEmpty()) {
+            overflowing = false;
+        }
+        return entry;
+    }
+
+        /**
+     * Closes the queue, failing every queued or parked entry and rejecting later offers.
+     *
+     * @param error The error to fail the entries with.
+     */
+    public void close(Throwable error) {
+        List<Entry> failed;
+        synchronized (this) {
+            closed = true;
+            failed = new ArrayList<>(entries);
+            failed.addAll(parked);
+            entries.clear();
+            parked.clear();
+            messages = 0;
+            bytes = 0;
+            parkedMessages = 0;
+            parkedBytes = 0;
+        }
+        for (Entry e : failed) {
+            e.fail(error);
+        }
+    }
+
+        /**
+     * Returns the number of messages waiting for the writer.
+     *
+     * @return The number of queued messages, excluding parked ones.
+     */
+    public synchronized int getQueuedMessages() {
+        return messages;
+    }
+
+        /**
+     * Returns the number of framed bytes waiting for the writer.
+     *
+     * @return The number of queued bytes, excluding parked messages.
+     */
+    public synchronized long getQueuedBytes() {
+        return bytes;
+    }
+
+    private boolean fits(Entry entry) {
+        return entries.isEmpty()
+                || (messages + entry.frames.length <= limits.maxMessages() && bytes + entry.bytes <= limits.maxBytes());
+    }
+
+    private boolean parkable(Entry entry) {
+        return parked.isEmpty()
+                || (parkedMessages + entry.frames.length <= limits.maxMessages() && parkedBytes + entry.bytes <= limits.maxBytes());
+    }
+
+    private void park(Entry entry) {
+        parked.add(entry);
+        parkedMessages += entry.frames.length;
+        parkedBytes += entry.bytes;
+    }
+
+    private Entry unpark(Entry entry) {
+        parkedMessages -= entry.frames.length;
+        parkedBytes -= entry.bytes;
+        return entry;
+    }
+
+    private void add(Entry entry) {
+        entries.add(entry);
+        messages += entry.frames.length;
+        bytes += entry.bytes;
+    }
+
+    private Entry remove(Entry entry) {
+        messages -= entry.frames.length;
+        bytes -= entry.bytes;
+        return entry;
+    }
+
+    /**
+     * Framed messages written as one unit, together with the sink awaiting them.
+     */
+    public static final class Entry {
+        private final PooledBuffer[] frames;
+        private final ByteBuffer[] buffers;
+        private final MonoSink<Void> sink;
+        private final long bytes;
+
+        Entry(PooledBuffer[] frames, ByteBuffer[] buffers, MonoSink<Void> sink) {
+            this.frames = frames;
+            this.buffers = buffers;
+            this.sink = sink;
+            long size = 0;
+            for (ByteBuffer buffer : buffers) {
+                size += buffer.remaining();
+            }
+            this.bytes = size;
+        }
+
+            /**
+         * Returns the bytes to write, one view per frame.
+         *
+         * @return The buffers of this entry.
+         */
+        public ByteBuffer[] buffers() {
+            return buffers;
+        }
+
+            /**
+         * Checks whether every frame has been written.
+         *
+         * @return true if no buffer has bytes remaining.
+         */
+        public boolean isWritten() {
+            for (ByteBuffer buffer : buffers) {
+                if (buffer.hasRemaining()) return false;
+            }
+            return true;
+        }
+
+            /**
+         * Returns a frame to its pool before the whole entry is written, once its bytes have been copied.
+         *
+         * @param index The index of the frame.
+         */
+        public void release(int index) {
+            if (frames[index] != null) {
+                frames[index].release();
+                frames[index] = null;
+            }
+        }
+
+            /**
+         * Releases the frames and completes the sink.
+         */
+        public void complete() {
+            releaseAll();
+            sink.success();
+        }
+
+            /**
+         * Releases the frames and fails the sink.
+         *
+         * @param error The error to fail the sink with.
+         */
+        public void fail(Throwable error) {
+            releaseAll();
+            sink.error(error);
+        }
+
+        private void releaseAll() {
+            for (int i = 0; i < frames.length; i++) {
+                release(i);
+            }
+        }
+    }
+}
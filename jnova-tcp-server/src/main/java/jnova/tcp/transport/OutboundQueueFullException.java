@@ -0,0 +1,21 @@
+package jnova.tcp.transport;
+
+import java.io.IOException;
+
+/**
+ * Signals that a message could not be sent because the session's outbound queue is full.
+ *
+ * <p>This happens when a peer reads more slowly than the server writes to it. Whether the message
+ * was rejected or discarded, and whether the connection stays open, depends on the session's
+ * {@link OverflowPolicy}.
+ */
+public class OutboundQueueFullException extends IOException {
+        /**
+     * Constructs an OutboundQueueFullException.
+     *
+     * @param limits The limits of the queue.
+     */
+    public OutboundQueueFullException(OutboundLimits limits) {
+        super("Outbound queue full (" + limits.maxMessages() + " messages, " + limits.maxBytes() + " bytes)");
+    }
+}
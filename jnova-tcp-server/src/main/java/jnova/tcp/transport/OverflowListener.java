@@ -0,0 +1,19 @@
+package jnova.tcp.transport;
+
+/**
+ * Receives notice that a transport's outbound queue overflowed.
+ */
+@FunctionalInterface
+public interface OverflowListener {
+        /**
+     * Called when a message does not fit in the outbound queue, once per overflow episode: after a
+     * call, the listener is not called again until the queue has been drained completely.
+     *
+     * <p>Called on the sending thread, after the policy has been applied.
+     *
+     * @param policy         The policy that was applied to the message.
+     * @param queuedMessages The number of messages waiting to be written when the overflow occurred.
+     * @param queuedBytes    The number of framed bytes waiting to be written when the overflow occurred.
+     */
+    void onOverflow(OverflowPolicy policy, int queuedMessages, long queuedBytes);
+}
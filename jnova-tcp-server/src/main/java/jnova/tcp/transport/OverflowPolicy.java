@@ -0,0 +1,31 @@
+package jnova.tcp.transport;
+
+/**
+ * What a transport does with an outbound message that does not fit in its session's outbound queue.
+ *
+ * <p>A queue overflows when the peer reads slower than the server writes to it. Whatever the policy,
+ * no thread is ever blocked on the peer's behalf.
+ */
+public enum OverflowPolicy {
+    /**
+     * Holds the message back until the queue has room again. The message's send completes only once
+     * it has been written, so a sender awaiting it slows down to the pace of the peer. Messages held
+     * back this way are bounded by the same limits as the queue; a message that does not fit among
+     * them either is rejected and the connection closed, as by {@link #DISCONNECT}, so a sender that
+     * does not await its sends cannot grow the backlog without bound.
+     */
+    BLOCK,
+    /**
+     * Rejects the new message with an {@link OutboundQueueFullException}.
+     */
+    DROP_NEWEST,
+    /**
+     * Discards the oldest messages not yet picked up by the writer to make room for the new one, failing
+     * their sends with an {@link OutboundQueueFullException}.
+     */
+    DROP_OLDEST,
+    /**
+     * Rejects the new message and closes the connection.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,394 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.FramingStrategy;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link TcpTransport} backed by a blocking {@link Socket}.
+ *
+ * <p>Outbound messages are framed on the sending thread and put on an {@link OutboundQueue}. A single writer
+ * on the write scheduler, {@link Schedulers#boundedElastic()} unless another one is given, drains
+ * the queue: it copies every frame waiting into one buffer of up to 64 KB and writes and flushes it
+ * with a single call. Concurrent sends therefore never interleave on the wire, and a burst of
+ * messages costs one thread hop and one system call rather than one per message. Reads go through
+ * {@link #getInputStream()}, which blocks while reading is paused.
+ *
+ * <p>While the writer is blocked on a peer that does not read, messages accumulate in the queue
+ * until its {@link OutboundLimits} apply; no further thread is tied up.
+ */
+public class SocketTransport implements TcpTransport {
+    private static final int BATCH_BYTES = 64 * 1024;
+
+    private final Socket socket;
+    private final OutboundFramer framer;
+    private final Scheduler writeScheduler;
+    private final OutboundQueue outbound;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private volatile Runnable writeListener;
+    private final ReentrantLock readLock = new ReentrantLock();
+    private final Condition readResumed = readLock.newCondition();
+    private boolean readPaused = false;
+
+        /**
+     * Constructs a SocketTransport for the given socket, writing on {@link Schedulers#boundedElastic()}.
+     *
+     * @param socket          The connected socket.
+     * @param framingStrategy The strategy used to frame outbound messages.
+     */
+    public SocketTransport(Socket socket, FramingStrategy framingStrategy) {
+        this(socket, framingStrategy, Schedulers.boundedElastic());
+    }
+
+        /**
+     * Constructs a SocketTransport for the given socket.
+     *
+     * @param socket          The connected socket.
+     * @param framingStrategy The strategy used to frame outbound messages.
+     * @param writeScheduler  The scheduler blocking writes are performed on.
+     */
+    public SocketTransport(Socket socket, FramingStrategy framingStrategy, Scheduler writeScheduler) {
+        this(socket, framingStrategy, writeScheduler, OutboundLimits.DEFAULT);
+    }
+
+        /**
+     * Constructs a SocketTransport for the given socket.
+     *
+     * @param socket                The connected socket.
+     * @param framingStrategy       The strategy used to frame outbound messages.
+     * @param writeScheduler        The scheduler blocking writes are performed on.
+     * @param outboundLimits        The bounds of the outbound queue and the policy applied when they are exceeded.
+     */
+    public SocketTransport(Socket socket, FramingStrategy framingStrategy, Scheduler writeScheduler, OutboundLimits outboundLimits) {
+        this.socket = socket;
+        this.framer = new OutboundFramer(framingStrategy);
+        this.writeScheduler = writeScheduler;
+        this.outbound = new OutboundQueue(outboundLimits, this::closeQuietly);
+    }
+
+        /**
+     * Frames a message and queues it for the writer.
+     *
+     * @param message The message to send.
+     * @return A {@code Mono<Void>} that completes when the message has been written, or errors with an
+     *         {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops it.
+     */
+    @Override
+    public Mono<Void> send(byte[] message) {
+        return sendBatch(List.of(message));
+    }
+
+        /**
+     * Frames several messages and queues them for the writer as one unit.
+     *
+     * @param messages The messages to send.
+     * @return A {@code Mono<Void>} that completes when all messages have been written, or errors with
+     *         an {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops them.
+     */
+    @Override
+    public Mono<Void> sendBatch(List<byte[]> messages) {
+        return Mono.create(sink -> {
+            PooledBuffer[] frames = new PooledBuffer[messages.size()];
+            try {
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = framer.frame(messages.get(i), BufferPool.heap());
+                }
+            } catch (IOException e) {
+                for (PooledBuffer frame : frames) {
+                    if (frame != null) frame.release();
+                }
+                sink.error(e);
+                return;
+            }
+            ByteBuffer[] buffers = new ByteBuffer[frames.length];
+            for (int i = 0; i < frames.length; i++) {
+                buffers[i] = frames[i].buffer();
+            }
+            offer(frames, buffers, sink);
+        });
+    }
+
+        /**
+     * Queues a read-only view of an already framed message for the writer.
+     *
+     * @param frame   A heap frame, retained until it has been written.
+     * @param message The message the frame was built from; not used.
+     * @return A {@code Mono<Void>} that completes when the frame has been written, or errors with an
+     *         {@link OutboundQueueFullException} if the outbound queue's {@link OverflowPolicy} drops it.
+     */
+    @Override
+    public Mono<Void> sendFramed(PooledBuffer frame, byte[] message) {
+        return Mono.create(sink -> offer(new PooledBuffer[]{frame.retain()},
+                new ByteBuffer[]{frame.buffer().asReadOnlyBuffer()}, sink));
+    }
+
+        /**
+     * Returns the heap pool, since frames are copied into a heap buffer before being written.
+     *
+     * @return {@link BufferPool#heap()}.
+     */
+    @Override
+    public BufferPool outboundBufferPool() {
+        return BufferPool.heap();
+    }
+
+        /**
+     * Sets the listener told when a message does not fit in the outbound queue.
+     *
+     * @param listener The listener, or null for none.
+     */
+    @Override
+    public void setOverflowListener(OverflowListener listener) {
+        outbound.setOverflowListener(listener);
+    }
+
+        /**
+     * Sets the listener told after every batch of frames written and flushed to the socket.
+     *
+     * @param listener The listener, or null for none.
+     */
+    @Override
+    public void setWriteListener(Runnable listener) {
+        this.writeListener = listener;
+    }
+
+        /**
+     * Returns the number of frames waiting to be written.
+     *
+     * @return The number of queued frames.
+     */
+    public int getQueuedFrames() {
+        return outbound.getQueuedMessages();
+    }
+
+        /**
+     * Returns the socket's input stream, gated by {@link #pauseReading()} and {@link #resumeReading()}.
+     *
+     * @return An input stream whose reads wait while reading is paused.
+     * @throws IOException If the socket's input stream cannot be obtained.
+     */
+    public InputStream getInputStream() throws IOException {
+        return new FilterInputStream(socket.getInputStream()) {
+            @Override
+            public int read() throws IOException {
+                awaitReadable();
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                awaitReadable();
+                return super.read(b, off, len);
+            }
+        };
+    }
+
+        /**
+     * Makes subsequent reads from {@link #getInputStream()} wait until reading is resumed.
+     */
+    @Override
+    public void pauseReading() {
+        readLock.lock();
+        try {
+            readPaused = true;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+        /**
+     * Releases reads waiting in {@link #getInputStream()}.
+     */
+    @Override
+    public void resumeReading() {
+        readLock.lock();
+        try {
+            readPaused = false;
+            readResumed.signalAll();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+        /**
+     * Checks whether the socket is still open.
+     *
+     * @return true if the socket is not closed.
+     */
+    @Override
+    public boolean isOpen() {
+        return !socket.isClosed();
+    }
+
+        /**
+     * Returns the remote socket address.
+     *
+     * @return The remote address, or null if the socket is not connected.
+     */
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return socket.getRemoteSocketAddress();
+    }
+
+        /**
+     * Closes the socket, failing queued writes and releasing any read waiting for reading to resume.
+     *
+     * @throws IOException If an I/O error occurs when closing the socket.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            socket.close();
+        } finally {
+            outbound.close(new SocketException("Socket closed"));
+            resumeReading();
+        }
+    }
+
+    private void offer(PooledBuffer[] frames, ByteBuffer[] buffers, MonoSink<Void> sink) {
+        if (!outbound.offer(frames, buffers, sink)) return;
+        if (drainRequests.getAndIncrement() == 0) {
+            try {
+                writeScheduler.schedule(this::drain);
+            } catch (RejectedExecutionException e) {
+                drain();
+            }
+        }
+    }
+
+    /**
+     * Writes everything queued, batching frames into one gather buffer per write call. Only one
+     * thread runs this at a time: whoever increments {@code drainRequests} from zero schedules it, and
+     * it keeps going until every request counted meanwhile has been served.
+     */
+    private void drain() {
+        PooledBuffer gather = BufferPool.heap().acquire(BATCH_BYTES);
+        ByteBuffer buffer = gather.buffer();
+        List<OutboundQueue.Entry> batch = new ArrayList<>();
+        int missed = 1;
+        try {
+            do {
+                OutboundQueue.Entry write;
+                while ((write = outbound.poll()) != null) {
+                    try {
+                        copy(socket.getOutputStream(), write, buffer, batch);
+                        batch.add(write);
+                    } catch (IOException e) {
+                        batch.add(write);
+                        fail(batch, buffer, e);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    try {
+                        flush(socket.getOutputStream(), buffer, batch);
+                        Runnable listener = writeListener;
+                        if (listener != null) listener.run();
+                    } catch (IOException e) {
+                        fail(batch, buffer, e);
+                    }
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        } finally {
+            gather.release();
+        }
+    }
+
+    /**
+     * Copies the frames of an entry into the gather buffer, flushing the batch whenever the buffer
+     * fills up. Frames larger than the buffer are written directly.
+     */
+    private static void copy(OutputStream out, OutboundQueue.Entry write, ByteBuffer buffer, List<OutboundQueue.Entry> batch) throws IOException {
+        ByteBuffer[] frames = write.buffers();
+        for (int i = 0; i < frames.length; i++) {
+            ByteBuffer frame = frames[i];
+            if (frame.remaining() > buffer.remaining()) {
+                flush(out, buffer, batch);
+            }
+            if (frame.remaining() <= buffer.remaining()) {
+                buffer.put(frame);
+            } else if (frame.hasArray()) {
+                out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                frame.position(frame.limit());
+            } else {
+                writeThrough(out, frame, buffer);
+            }
+            write.release(i);
+        }
+    }
+
+    /**
+     * Writes a frame without an accessible array, such as a shared read-only view, through the gather buffer.
+     */
+    private static void writeThrough(OutputStream out, ByteBuffer frame, ByteBuffer buffer) throws IOException {
+        while (frame.hasRemaining()) {
+            int n = Math.min(frame.remaining(), buffer.remaining());
+            buffer.put(buffer.position(), frame, frame.position(), n);
+            frame.position(frame.position() + n);
+            out.write(buffer.array(), buffer.arrayOffset(), n);
+        }
+    }
+
+    private static void flush(OutputStream out, ByteBuffer buffer, List<OutboundQueue.Entry> batch) throws IOException {
+        if (buffer.position() > 0) {
+            out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+            buffer.clear();
+        }
+        out.flush();
+        for (OutboundQueue.Entry write : batch) {
+            write.complete();
+        }
+        batch.clear();
+    }
+
+    private static void fail(List<OutboundQueue.Entry> batch, ByteBuffer buffer, IOException error) {
+        buffer.clear();
+        for (OutboundQueue.Entry write : batch) {
+            write.fail(error);
+        }
+        batch.clear();
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("Error closing socket " + getRemoteAddress() + ": " + e.getMessage());
+        }
+    }
+
+    private void awaitReadable() throws IOException {
+        readLock.lock();
+        try {
+            while (readPaused && !socket.isClosed()) {
+                readResumed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading was paused");
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+}
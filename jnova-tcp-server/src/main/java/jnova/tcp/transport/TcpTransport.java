@@ -0,0 +1,120 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.BufferPool;
+import jnova.tcp.buffer.PooledBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * The connection underneath a {@link jnova.tcp.TcpSession}.
+ *
+ * <p>A transport frames and writes outbound messages and owns the lifetime of the underlying
+ * connection. Implementations exist for blocking {@link java.net.Socket}s and for non-blocking
+ * channels driven by a selector, so sessions, handlers and middleware work the same on both.
+ */
+public interface TcpTransport extends Closeable {
+    /**
+     * The number of frames a session may have waiting to be written unless configured otherwise.
+     */
+    int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 1024;
+
+        /**
+     * Frames and writes a message to the connection.
+     *
+     * @param message The message to send, without framing.
+     * @return A {@link Mono} completing once the framed message has been written.
+     */
+    Mono<Void> send(byte[] message);
+
+        /**
+     * Frames and writes several messages, in order and without other messages in between.
+     *
+     * <p>Transports with an outbound queue write the whole batch with as few system calls as possible.
+     * The default implementation sends the messages one after the other.
+     *
+     * @param messages The messages to send, without framing.
+     * @return A {@link Mono} completing once all framed messages have been written.
+     */
+    default Mono<Void> sendBatch(List<byte[]> messages) {
+        return Flux.fromIterable(messages).concatMap(this::send).then();
+    }
+
+        /**
+     * Writes a message that has already been framed, typically shared by many connections.
+     *
+     * <p>Transports with an outbound queue retain the frame and queue a read-only view of it, so one
+     * frame can be written to any number of connections without being copied; they release it once
+     * written. The frame must come from {@link #outboundBufferPool()}. The default implementation
+     * ignores the frame and sends the message with {@link #send(byte[])}.
+     *
+     * @param frame   The framed message, between its buffer's position and limit. The caller keeps its reference.
+     * @param message The message the frame was built from, without framing.
+     * @return A {@link Mono} completing once the frame has been written.
+     */
+    default Mono<Void> sendFramed(PooledBuffer frame, byte[] message) {
+        return send(message);
+    }
+
+        /**
+     * Returns the pool frames passed to {@link #sendFramed(PooledBuffer, byte[])} should come from.
+     *
+     * @return The pool of buffers this transport writes most efficiently.
+     */
+    default BufferPool outboundBufferPool() {
+        return BufferPool.heap();
+    }
+
+        /**
+     * Sets the listener told when a message does not fit in this transport's outbound queue.
+     *
+     * <p>Transports without an outbound queue never overflow and ignore this call.
+     *
+     * @param listener The listener, or null for none.
+     */
+    default void setOverflowListener(OverflowListener listener) {
+    }
+
+        /**
+     * Sets the listener told whenever outbound frames have been written to the connection.
+     *
+     * <p>It is called by the writer once per write, not once per frame, and should return quickly.
+     * Transports that cannot tell when frames are written ignore this call.
+     *
+     * @param listener The listener, or null for none.
+     */
+    default void setWriteListener(Runnable listener) {
+    }
+
+        /**
+     * Checks whether the connection is still open.
+     *
+     * @return true if the connection is open, false otherwise.
+     */
+    boolean isOpen();
+
+        /**
+     * Returns the address of the remote peer.
+     *
+     * @return The remote address, or null if it is not known.
+     */
+    SocketAddress getRemoteAddress();
+
+        /**
+     * Stops reading from the connection until {@link #resumeReading()} is called.
+     *
+     * <p>Bytes the peer keeps sending stay in the kernel's receive buffer, so TCP flow control
+     * eventually stops the peer. Transports that cannot pause ignore this call.
+     */
+    default void pauseReading() {
+    }
+
+        /**
+     * Resumes reading after {@link #pauseReading()}.
+     */
+    default void resumeReading() {
+    }
+}
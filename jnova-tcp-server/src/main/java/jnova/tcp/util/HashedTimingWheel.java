@@ -0,0 +1,315 @@
+package jnova.tcp.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel running many coarse timeouts, such as session idle deadlines, on one thread.
+ *
+ * <p>The wheel is a ring of buckets, each covering one tick. A timeout is hashed into the bucket of
+ * its deadline, with the number of full turns it has to wait, and every tick the worker thread
+ * visits one bucket only. Scheduling, resetting and cancelling are O(1) and never take a lock:
+ * {@link Timeout#reset()} merely moves the deadline forward, and a timeout whose deadline has moved
+ * is re-hashed when the worker reaches its old bucket. This makes resetting cheap enough to do for
+ * every frame a session receives. Timeouts that are cancelled or given a shorter delay are handed
+ * back to the worker, which unlinks or re-hashes them on its next tick.
+ *
+ * <p>Timeouts fire up to one tick late. Their tasks run on the worker thread and should return quickly.
+ */
+public final class HashedTimingWheel {
+    /**
+     * The tick duration used unless configured otherwise.
+     */
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+
+    /**
+     * The number of buckets used unless configured otherwise.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> rehashed = new ArrayDeque<>();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick = 0;
+
+        /**
+     * Constructs a wheel with the {@link #DEFAULT_TICK default tick} and {@link #DEFAULT_WHEEL_SIZE size}.
+     *
+     * @param name The name of the worker thread.
+     */
+    public HashedTimingWheel(String name) {
+        this(name, DEFAULT_TICK, DEFAULT_WHEEL_SIZE);
+    }
+
+        /**
+     * Constructs a wheel and starts its worker thread.
+     *
+     * @param name      The name of the worker thread.
+     * @param tick      The duration of one tick, and so the precision of the timeouts.
+     * @param wheelSize The number of buckets, rounded up to a power of two.
+     * @throws IllegalArgumentException If the tick is shorter than a millisecond or wheelSize is not positive.
+     */
+    public HashedTimingWheel(String name, Duration tick, int wheelSize) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("tick must be at least 1 ms");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30");
+        }
+        this.tickNanos = tick.toNanos();
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        worker.start();
+    }
+
+        /**
+     * Schedules a task to run once the given delay has passed without the timeout being reset.
+     *
+     * @param delay The delay; also the delay applied by {@link Timeout#reset()}.
+     * @param task  The task to run on expiry.
+     * @return The handle to reset or cancel the timeout with.
+     * @throws IllegalStateException If the wheel has been stopped.
+     */
+    public Timeout schedule(Duration delay, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel has been stopped");
+        }
+        Timeout timeout = new Timeout(this, task, delay.toNanos());
+        pending.add(timeout);
+        return timeout;
+    }
+
+        /**
+     * Stops the worker thread. Timeouts that have not expired yet never will.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private long now() {
+        return System.nanoTime() - startTime;
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep = deadline - now();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)], now());
+            tick++;
+            rehash();
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            if (timeout.state.get() == Timeout.PENDING) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long due = Math.max(timeout.deadline / tickNanos, tick);
+        timeout.rounds = (due - tick) / wheel.length;
+        wheel[(int) (due & mask)].add(timeout);
+    }
+
+    private void expire(Bucket bucket, long now) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.state.get() != Timeout.PENDING) {
+                bucket.remove(timeout);
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else if (timeout.deadline > now) {
+                bucket.remove(timeout);
+                rehashed.add(timeout);
+            } else {
+                bucket.remove(timeout);
+                timeout.expire();
+            }
+            timeout = next;
+        }
+    }
+
+        /**
+     * Places the timeouts whose deadline moved while their bucket was visited.
+     *
+     * <p>This runs once the tick has advanced past that bucket: placed from the old tick, a timeout
+     * due a whole number of turns later, or still within the old tick, would land in the bucket just
+     * visited and fire one turn late.
+     */
+    private void rehash() {
+        Timeout timeout;
+        while ((timeout = rehashed.poll()) != null) {
+            place(timeout);
+        }
+    }
+
+    /**
+     * A timeout scheduled on a {@link HashedTimingWheel}.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final HashedTimingWheel timer;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile long delay;
+        private volatile long deadline;
+        private long rounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HashedTimingWheel timer, Runnable task, long delay) {
+            this.timer = timer;
+            this.task = task;
+            this.delay = delay;
+            this.deadline = timer.now() + delay;
+        }
+
+            /**
+         * Moves the deadline to the current delay from now.
+         */
+        public void reset() {
+            deadline = timer.now() + delay;
+        }
+
+            /**
+         * Changes the delay and moves the deadline to the new delay from now.
+         *
+         * @param delay The new delay.
+         */
+        public void reset(Duration delay) {
+            long previous = deadline;
+            this.delay = delay.toNanos();
+            reset();
+            if (deadline < previous) {
+                timer.pending.add(this);
+            }
+        }
+
+            /**
+         * Returns the delay applied by {@link #reset()}.
+         *
+         * @return The delay.
+         */
+        public Duration getDelay() {
+            return Duration.ofNanos(delay);
+        }
+
+            /**
+         * Returns how long until the timeout expires, unless it is reset first.
+         *
+         * @return The remaining time, negative once the deadline has passed.
+         */
+        public Duration getRemaining() {
+            return Duration.ofNanos(deadline - timer.now());
+        }
+
+            /**
+         * Cancels the timeout so that its task never runs.
+         *
+         * @return true if the timeout was cancelled; false if it had already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) return false;
+            timer.pending.add(this);
+            return true;
+        }
+
+            /**
+         * Checks whether the timeout has expired and its task has run or is running.
+         *
+         * @return true if the timeout has expired.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+            /**
+         * Checks whether the timeout has been cancelled.
+         *
+         * @return true if the timeout has been cancelled.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) return;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                System.err.println("Timeout task failed: " + t.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The timeouts hashed into one slot of the wheel, as a doubly linked list owned by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
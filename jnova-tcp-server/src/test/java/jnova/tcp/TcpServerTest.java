@@ -0,0 +1,118 @@
+package jnova.tcp;
+
+import jnova.tcp.buffer.PooledBuffer;
+import jnova.tcp.framing.LineFraming;
+import jnova.tcp.transport.Heartbeat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TcpServerTest {
+    private final RecordingFraming framing = new RecordingFraming();
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private final PrintStream stderr = System.err;
+    private TcpServer server;
+
+    @AfterEach
+    void stop() throws IOException {
+        System.setErr(stderr);
+        if (server != null) server.stop();
+    }
+
+    @Test
+    void releasesEveryHeartbeatFrameOnce() throws Exception {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        server = TcpServer.builder()
+                .handler(request -> {
+                    handled.add(new String(request.getData(), StandardCharsets.UTF_8));
+                    return Mono.just(new TcpResponse("ok".getBytes(StandardCharsets.UTF_8)));
+                })
+                .framingStrategy(framing)
+                .heartbeat(Heartbeat.DEFAULT)
+                .build();
+        System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+
+        try (Socket socket = connect(start(server))) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (int i = 0; i < 200; i++) {
+                out.write("PING\n".getBytes(StandardCharsets.US_ASCII));
+                assertEquals("PONG", in.readLine());
+            }
+            out.write("hello\nPING\n".getBytes(StandardCharsets.US_ASCII));
+            assertEquals("ok", in.readLine());
+            assertEquals("PONG", in.readLine());
+        }
+
+        awaitReleased();
+        assertEquals(List.of("hello"), handled);
+        assertEquals(202, framing.frames.size());
+        for (PooledBuffer frame : framing.frames) {
+            assertEquals(0, frame.refCount());
+        }
+        assertFalse(errors.toString(StandardCharsets.UTF_8).contains("released"), errors.toString(StandardCharsets.UTF_8));
+    }
+
+    private void awaitReleased() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (framing.frames.stream().anyMatch(frame -> frame.refCount() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static int start(TcpServer server) throws IOException {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        Thread acceptor = new Thread(() -> {
+            try {
+                server.start(port);
+            } catch (IOException ignored) {
+                // Closed by stop().
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return port;
+    }
+
+    private static Socket connect(int port) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Socket socket = new Socket("127.0.0.1", port);
+                socket.setSoTimeout(5000);
+                return socket;
+            } catch (IOException e) {
+                if (attempt == 100) throw e;
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private static final class RecordingFraming extends LineFraming {
+        final List<PooledBuffer> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Flux<PooledBuffer> readFrames(InputStream input) {
+            return super.readFrames(input).doOnNext(frames::add);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package jnova.tcp.dispatching;
+
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandTableTest {
+    private static final Method METHOD = method();
+
+    @Test
+    void findsHandlersByTheIdsOfTheirNames() {
+        HandlerMethod join = handler("command", "JOIN");
+        HandlerMethod say = handler("command", "SAY");
+        CommandTable table = CommandTable.EMPTY.with("chat", List.of(join, say));
+
+        assertSame(join, table.handler(CommandTable.id("chat", "JOIN")));
+        assertSame(say, table.handler(CommandTable.id("chat", "SAY")));
+        assertEquals(List.of(new CommandTable.Command(CommandTable.id("chat", "JOIN"), "chat", "JOIN"),
+                new CommandTable.Command(CommandTable.id("chat", "SAY"), "chat", "SAY")), table.commands());
+    }
+
+    @Test
+    void keepsIdsWhenOtherHandlersAreRegistered() {
+        CommandTable before = CommandTable.EMPTY.with("chat", List.of(handler("command", "say")));
+        CommandTable after = CommandTable.EMPTY
+                .with("admin", List.of(handler("command", "kick")))
+                .with("chat", List.of(handler("command", "join"), handler("command", "say")))
+                .with("zone", List.of(handler("command", "enter")));
+
+        int say = before.commands().get(0).id();
+        assertEquals(say, after.commands().stream().filter(c -> c.command().equals("say")).findFirst().orElseThrow().id());
+        assertSame(after.handler(say), after.handler(CommandTable.id("chat", "say")));
+        assertEquals("say", after.handler(say).value());
+    }
+
+    @Test
+    void foldsTheCaseOfTypeAndCommand() {
+        assertEquals(CommandTable.id("chat", "join"), CommandTable.id("CHAT", "Join"));
+        assertEquals(CommandTable.id("chat", "ärger"), CommandTable.id("Chat", "ÄRGER"));
+        assertEquals(CommandTable.id("chat", "kelvin"), CommandTable.id("chat", "Kelvin"));
+        assertNotEquals(CommandTable.id("chat", "join"), CommandTable.id("cha", "tjoin"));
+        assertNotEquals(CommandTable.id("chat", "join"), CommandTable.id("game", "join"));
+    }
+
+    @Test
+    void assignsIdsThatFitACommandHeader() {
+        for (int i = 0; i < 10_000; i++) {
+            int id = CommandTable.id("type" + i, "command" + i);
+            assertTrue(id > CommandTable.HANDSHAKE && id <= CommandTable.MAX_ID, "id " + id);
+        }
+    }
+
+    @Test
+    void ignoresHandlersSelectedByOtherKeys() {
+        CommandTable table = CommandTable.EMPTY.with("chat", List.of(handler("action", "join")));
+
+        assertTrue(table.commands().isEmpty());
+        assertNull(table.handler(CommandTable.id("chat", "join")));
+    }
+
+    @Test
+    void rejectsCommandsWhoseIdsCollide() {
+        assertEquals(CommandTable.id("chat", "c68160"), CommandTable.id("chat", "c120410"));
+        CommandTable table = CommandTable.EMPTY.with("chat", List.of(handler("command", "c68160")));
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> table.with("chat", List.of(handler("command", "c120410"))));
+        assertTrue(e.getMessage().contains("collides with type 'chat', command=c68160"), e.getMessage());
+        assertThrows(ConfigurationException.class, () -> CommandTable.EMPTY.with("chat",
+                List.of(handler("command", "c68160"), handler("command", "c120410"))));
+    }
+
+    @Test
+    void returnsNullForUnknownIds() {
+        CommandTable table = CommandTable.EMPTY.with("chat", List.of(handler("command", "join")));
+
+        assertNull(table.handler(CommandTable.HANDSHAKE));
+        assertNull(table.handler(-1));
+        assertNull(table.handler(CommandTable.id("chat", "part")));
+        assertNull(CommandTable.EMPTY.handler(CommandTable.id("chat", "join")));
+    }
+
+    @Test
+    void findsEveryCommandOfALargeTable() {
+        List<HandlerMethod> handlers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            handlers.add(handler("command", "c" + i));
+        }
+        CommandTable table = CommandTable.EMPTY.with("chat", handlers);
+
+        assertEquals(500, table.commands().size());
+        for (int i = 0; i < 500; i++) {
+            assertSame(handlers.get(i), table.handler(CommandTable.id("chat", "c" + i)));
+        }
+    }
+
+    private static HandlerMethod handler(String key, String value) {
+        return new HandlerMethod(key, value, METHOD, null, null, null);
+    }
+
+    private static Method method() {
+        try {
+            return Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package jnova.tcp.dispatching;
+
+import jnova.core.exceptions.ConfigurationException;
+import jnova.tcp.dispatching.TcpTypeHandler.HandlerMethod;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandlerIndexTest {
+    private static final Method METHOD = method();
+
+    @Test
+    void findsHandlersIgnoringTheCaseOfTypeKeyAndValue() {
+        HandlerMethod join = handler("command", "JOIN");
+        HandlerIndex index = HandlerIndex.EMPTY.with("Chat", List.of(join, handler("command", "leave")));
+
+        assertSame(join, index.find("Chat", "command", "JOIN"));
+        assertSame(join, index.find("chat", "COMMAND", "join"));
+        assertSame(join, index.find("CHAT", "Command", "JoIn"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void returnsNullForUnknownHandlers() {
+        HandlerIndex index = HandlerIndex.EMPTY.with("chat", List.of(handler("command", "join")));
+
+        assertNull(index.find("chat", "command", "part"));
+        assertNull(index.find("chat", "action", "join"));
+        assertNull(index.find("game", "command", "join"));
+        assertNull(index.find("chat", "command", "joins"));
+        assertNull(HandlerIndex.EMPTY.find("chat", "command", "join"));
+    }
+
+    @Test
+    void foldsCaseBeyondAscii() {
+        HandlerMethod umlaut = handler("command", "Ärger");
+        HandlerMethod kelvin = handler("command", "Kelvin");
+        HandlerMethod greek = handler("command", "ΣΟΦΙΑ");
+        HandlerIndex index = HandlerIndex.EMPTY.with("chat", List.of(umlaut, kelvin, greek));
+
+        assertSame(umlaut, index.find("chat", "command", "äRGER"));
+        assertSame(kelvin, index.find("chat", "command", "KELVIN"));
+        assertSame(kelvin, index.find("chat", "command", "kelvin"));
+        assertSame(greek, index.find("chat", "command", "σοφια"));
+    }
+
+    @Test
+    void agreesWithEqualsIgnoreCase() {
+        Random random = new Random(18);
+        String alphabet = "aAbBzZ_1ßäÄσΣςİıiKkK";
+        List<String> values = new ArrayList<>();
+        List<HandlerMethod> handlers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String value = randomString(random, alphabet);
+            if (values.stream().anyMatch(value::equalsIgnoreCase)) continue;
+            values.add(value);
+            handlers.add(handler("command", value));
+        }
+        HandlerIndex index = HandlerIndex.EMPTY.with("chat", handlers);
+
+        for (int i = 0; i < 5000; i++) {
+            String probe = randomString(random, alphabet);
+            HandlerMethod expected = null;
+            for (int j = 0; j < values.size(); j++) {
+                if (values.get(j).equalsIgnoreCase(probe)) expected = handlers.get(j);
+            }
+            assertSame(expected, index.find("chat", "command", probe), probe);
+        }
+        for (int j = 0; j < values.size(); j++) {
+            assertSame(handlers.get(j), index.find("CHAT", "COMMAND", upperCase(values.get(j))), values.get(j));
+        }
+    }
+
+    @Test
+    void rejectsDuplicatesThatDifferOnlyInCase() {
+        List<HandlerMethod> handlers = List.of(handler("command", "join"), handler("COMMAND", "Join"));
+
+        ConfigurationException e = assertThrows(ConfigurationException.class,
+                () -> HandlerIndex.EMPTY.with("chat", handlers));
+        assertTrue(e.getMessage().contains("Duplicate handler for type 'chat'"), e.getMessage());
+    }
+
+    @Test
+    void rejectsDuplicatesAcrossRegistrations() {
+        HandlerIndex index = HandlerIndex.EMPTY.with("chat", List.of(handler("command", "join")));
+
+        assertThrows(ConfigurationException.class, () -> index.with("Chat", List.of(handler("command", "JOIN"))));
+    }
+
+    @Test
+    void keepsTheSameValueUnderOtherTypesAndKeysApart() {
+        HandlerMethod chat = handler("command", "join");
+        HandlerMethod action = handler("action", "join");
+        HandlerMethod game = handler("command", "join");
+        HandlerIndex index = HandlerIndex.EMPTY
+                .with("chat", List.of(chat, action))
+                .with("game", List.of(game));
+
+        assertSame(chat, index.find("chat", "command", "join"));
+        assertSame(action, index.find("chat", "action", "join"));
+        assertSame(game, index.find("game", "command", "join"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void growsWithoutChangingEarlierIndexes() {
+        HandlerIndex index = HandlerIndex.EMPTY;
+        List<HandlerIndex> versions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            versions.add(index);
+            index = index.with("type" + (i % 7), List.of(handler("command", "c" + i)));
+        }
+
+        assertEquals(200, index.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals("c" + i, index.find("TYPE" + (i % 7), "command", "C" + i).value());
+            assertEquals(i, versions.get(i).size());
+            assertNull(versions.get(i).find("type" + (i % 7), "command", "c" + i));
+        }
+    }
+
+    private static HandlerMethod handler(String key, String value) {
+        return new HandlerMethod(key, value, METHOD, null, null, null);
+    }
+
+    private static String randomString(Random random, String alphabet) {
+        int length = 1 + random.nextInt(4);
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return s.toString();
+    }
+
+    private static String upperCase(String s) {
+        StringBuilder upper = new StringBuilder();
+        s.codePoints().map(Character::toUpperCase).forEach(upper::appendCodePoint);
+        return upper.toString();
+    }
+
+    private static Method method() {
+        try {
+            return Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
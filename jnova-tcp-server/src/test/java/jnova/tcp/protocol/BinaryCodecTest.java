@@ -0,0 +1,350 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.exceptions.JsonParseException;
+import jnova.core.exceptions.MissingFieldException;
+import jnova.core.util.GsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryCodecTest {
+    private static final Gson gson = GsonFactory.get();
+    private static final Type MAP = new TypeToken<Map<String, Object>>() { }.getType();
+    private static final TypeAdapter<Object> objects = gson.getAdapter(Object.class);
+    private final BinaryCodec codec = new BinaryCodec();
+
+    private static final String ORDER = """
+            {
+              "type": "shop",
+              "command": "ORDER",
+              "order": {
+                "id": "o-1",
+                "rush": true,
+                "ts": 1700000000123,
+                "first": null,
+                "items": [
+                  {"sku": "A-1", "qty": 2, "price": 9.5, "tags": {"colour": "red"}},
+                  {"sku": "Bé", "qty": -3, "price": 0.1, "tags": {}}
+                ]
+              },
+              "a.b": 7,
+              "ключ": "значение 😀",
+              "escaped": "line\\nbreak \\"quoted\\""
+            }""";
+
+    @Test
+    void roundTripsGsonTrees() {
+        for (String json : List.of(ORDER, "{}", "{\"e\":[],\"o\":{},\"n\":null,\"t\":true,\"f\":false}",
+                "{\"deep\":[[[[{\"x\":[1,[2,[3]]]}]]]]}", "{\"s\":\"\",\"u\":\"\\u0000\\u00ff\\uffff\"}")) {
+            JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+            byte[] frame = codec.encode(tree);
+            BinaryDocument document = BinaryDocument.parse(frame);
+
+            assertEquals(tree, document.getTree(), json);
+            assertEquals(gson.fromJson(json, MAP), document, json);
+            assertEquals(parseJson(json), document, json);
+        }
+    }
+
+    @Test
+    void roundTripsNumbers() {
+        for (String number : List.of("0", "1", "-1", "63", "64", "-64", "-65", "127", "128", "2147483648",
+                "-9223372036854775808", "9223372036854775807", "9007199254740993", "12345678901234567890",
+                "1.5", "-2.25", "0.1", "1e300", "-1e-300", "3.4028234663852886E38", "-0", "-0.0", "1e3")) {
+            String json = "{\"n\":" + number + "}";
+            JsonElement expected = JsonParser.parseString(json).getAsJsonObject().get("n");
+            BinaryDocument document = encode(json);
+
+            assertEquals(expected.getAsDouble(), document.getDouble("n"), number);
+            assertEquals(expected.getAsDouble(), document.getElement("n").getAsDouble(), number);
+            assertEquals(gson.fromJson(json, MAP), document, number);
+            if (expected.getAsDouble() == expected.getAsLong()) {
+                assertEquals(expected.getAsLong(), document.getLong("n"), number);
+            }
+        }
+    }
+
+    @Test
+    void encodesNumbersInTheShortestExactForm() {
+        assertEquals(BinaryCodec.INT, valueTag(new JsonPrimitive(5)));
+        assertEquals(BinaryCodec.INT, valueTag(new JsonPrimitive(2.0)));
+        assertEquals(BinaryCodec.INT, valueTag(new JsonPrimitive(Long.MIN_VALUE)));
+        assertEquals(BinaryCodec.FLOAT, valueTag(new JsonPrimitive(1.5)));
+        assertEquals(BinaryCodec.FLOAT, valueTag(new JsonPrimitive(-0.0)));
+        assertEquals(BinaryCodec.FLOAT, valueTag(JsonParser.parseString("-0")));
+        assertEquals(BinaryCodec.DOUBLE, valueTag(new JsonPrimitive(0.1)));
+        assertEquals(BinaryCodec.DOUBLE, valueTag(new JsonPrimitive(1e300)));
+
+        byte[] small = codec.encode(JsonParser.parseString("{\"n\":-64}"));
+        assertEquals(10, small.length);
+        assertEquals(127, small[small.length - 1]);
+    }
+
+    @Test
+    void readsValuesLikeTheJsonDocument() {
+        JsonDocument json = parseJson(ORDER);
+        BinaryDocument binary = encode(ORDER);
+
+        assertEquals(json.getType(), binary.getType());
+        assertEquals(json.getCommand(), binary.getCommand());
+        for (String path : List.of("a.b", "order.ts", "order.items.0.qty", "order.items.1.qty")) {
+            assertEquals(json.getLong(path), binary.getLong(path), path);
+            assertEquals(json.getString(path), binary.getString(path), path);
+        }
+        for (String path : List.of("order.items.0.price", "order.items.1.price")) {
+            assertEquals(json.getDouble(path), binary.getDouble(path), path);
+        }
+        for (String path : List.of("order.id", "order.items.1.sku", "ключ", "escaped", "order.items.0.tags.colour")) {
+            assertEquals(json.getString(path), binary.getString(path), path);
+        }
+        for (String path : List.of("order", "order.items", "order.items.0.tags", "order.first")) {
+            assertEquals(json.getElement(path), binary.getElement(path), path);
+        }
+        for (String path : List.of("order.first", "order.items.2", "order.missing", "order.id.x", "missing")) {
+            assertEquals(json.has(path), binary.has(path), path);
+        }
+        assertTrue(binary.getBoolean("order.rush"));
+        assertNull(binary.getString("order.first"));
+        assertEquals(5, binary.getLong("order.first", 5));
+        assertThrows(MissingFieldException.class, () -> binary.getLong("order.first"));
+        assertThrows(MissingFieldException.class, () -> binary.getLong("missing"));
+        assertThrows(JsonParseException.class, () -> binary.getLong("order.id"));
+        assertThrows(JsonParseException.class, () -> binary.getString("order.items"));
+    }
+
+    @Test
+    void rejectsNumbersOutsideALongLikeTheJsonDocument() {
+        for (String number : List.of("18446744073709551621", "1e30", "-1e30", "9223372036854775808",
+                "\"1e30\"", "\"18446744073709551621\"")) {
+            String json = "{\"q\":" + number + "}";
+            JsonDocument text = parseJson(json);
+            BinaryDocument binary = encode(json);
+
+            assertThrows(JsonParseException.class, () -> text.getLong("q"), number);
+            assertThrows(JsonParseException.class, () -> binary.getLong("q"), number);
+            assertThrows(JsonParseException.class, () -> binary.getInt("q"), number);
+            assertEquals(text.getDouble("q"), binary.getDouble("q"), number);
+        }
+        String bounds = "{\"max\":9223372036854775807,\"min\":-9.223372036854775808e18,\"fraction\":-2.75}";
+        for (String path : List.of("max", "min", "fraction")) {
+            assertEquals(parseJson(bounds).getLong(path), encode(bounds).getLong(path), path);
+        }
+    }
+
+    @Test
+    void bindsModelsLikeJson() {
+        JsonDocument json = parseJson(ORDER);
+        BinaryDocument binary = encode(ORDER);
+
+        Order fromJson = json.bind("order", Order.class);
+        Order fromBinary = binary.bind("order", Order.class);
+        assertEquals(gson.toJson(fromJson), gson.toJson(fromBinary));
+        assertEquals("red", fromBinary.items.get(0).tags.get("colour"));
+
+        Type items = new TypeToken<List<Item>>() { }.getType();
+        assertEquals(gson.toJson(json.<List<Item>>bind("order.items", items)),
+                gson.toJson(binary.<List<Item>>bind("order.items", items)));
+        Order roundTrip = BinaryDocument.parse(codec.encode(fromBinary)).bind(Order.class);
+        assertEquals(gson.toJson(fromBinary), gson.toJson(roundTrip));
+        assertThrows(JsonSyntaxException.class, () -> binary.bind("order.items", Item.class));
+        assertThrows(JsonSyntaxException.class, () -> binary.bind("order.id", int.class));
+    }
+
+    @Test
+    void handlesVarintsOfSeveralBytes() {
+        JsonObject tree = new JsonObject();
+        for (int i = 0; i < 300; i++) {
+            tree.addProperty("key" + i, "x".repeat(i));
+        }
+        JsonArray large = new JsonArray();
+        for (int i = 0; i < 5000; i++) {
+            large.add(i * 31);
+        }
+        tree.add("large", large);
+        BinaryDocument document = BinaryDocument.parse(codec.encode(tree));
+
+        assertEquals(tree, document.getTree());
+        assertEquals("x".repeat(299), document.getString("key299"));
+        assertEquals(4999 * 31, document.getLong("large.4999"));
+        assertEquals(301, document.size());
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] frame = codec.encode(JsonParser.parseString(ORDER));
+        byte[] data = Arrays.copyOf(frame, frame.length + 16);
+        Arrays.fill(data, frame.length, data.length, BinaryCodec.NULL);
+
+        for (int length = 1; length < frame.length; length++) {
+            int cut = length;
+            assertThrows(JsonParseException.class, () -> BinaryDocument.parse(Arrays.copyOf(frame, cut)), "length " + cut);
+            assertThrows(JsonParseException.class, () -> BinaryDocument.parse(data, 0, cut), "length " + cut);
+        }
+    }
+
+    @Test
+    void readsAFrameInPartOfAnArray() {
+        byte[] frame = codec.encode(JsonParser.parseString(ORDER));
+        byte[] data = new byte[frame.length + 10];
+        System.arraycopy(frame, 0, data, 4, frame.length);
+
+        BinaryDocument document = BinaryDocument.parse(data, 4, frame.length);
+
+        assertEquals("shop", document.getType());
+        assertEquals(JsonParser.parseString(ORDER), document.getTree());
+        assertEquals(gson.fromJson(ORDER, MAP), document);
+        assertTrue(codec.accepts(data, 4, frame.length));
+        assertFalse(codec.accepts(data, 0, frame.length));
+        assertFalse(new JsonCodec().accepts(frame));
+    }
+
+    @Test
+    void rejectsMalformedFrames() {
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(new byte[0]));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse("{}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(codec.encode(new JsonArray())));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(frame(0, BinaryCodec.OBJECT, 2, 1, 0, BinaryCodec.NULL)));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(frame(1, 1, 'a', BinaryCodec.OBJECT, 2, 1, 0, 42)));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(frame(
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01)));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(frame(
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01)));
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(frame(
+                1, 1, 'a', BinaryCodec.OBJECT, 12, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01, 0)));
+
+        JsonElement nested = new JsonPrimitive(1);
+        for (int i = 0; i < 300; i++) {
+            JsonArray array = new JsonArray();
+            array.add(nested);
+            nested = array;
+        }
+        JsonObject deep = new JsonObject();
+        deep.add("deep", nested);
+        BinaryDocument document = BinaryDocument.parse(codec.encode(deep));
+        assertThrows(JsonParseException.class, document::getTree);
+        assertThrows(JsonParseException.class, () -> document.read("deep", objects));
+    }
+
+    @Test
+    void rejectsRepeatedTopLevelKeysLikeTheJsonDocument() {
+        byte[] repeated = frame(1, 1, 'a', BinaryCodec.OBJECT, 7, 2, 0, BinaryCodec.INT, 2, 0, BinaryCodec.INT, 4);
+
+        assertThrows(JsonParseException.class, () -> BinaryDocument.parse(repeated));
+    }
+
+    @Test
+    void indexesLargeFramesInLinearTime() {
+        JsonObject tree = new JsonObject();
+        for (int i = 0; i < 200_000; i++) {
+            tree.addProperty("field" + i, i);
+        }
+        tree.addProperty("type", "chat");
+        tree.addProperty("command", "say");
+        byte[] frame = codec.encode(tree);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            BinaryDocument document = BinaryDocument.parse(frame);
+            assertEquals("chat", document.getType());
+            assertEquals("say", document.getCommand());
+            assertEquals(199_999, document.getLong("field199999"));
+            assertEquals(200_002, document.size());
+        });
+    }
+
+    @Test
+    void keepsTheLastOfRepeatedNestedKeysLikeGson() {
+        byte[] repeated = frame(2, 1, 'n', 1, 'b',
+                BinaryCodec.OBJECT, 11, 1, 0, BinaryCodec.OBJECT, 7, 2, 1, BinaryCodec.INT, 2, 1, BinaryCodec.INT, 4);
+        BinaryDocument document = BinaryDocument.parse(repeated);
+
+        assertEquals(2, document.getLong("n.b"));
+        assertEquals(JsonParser.parseString("{\"n\":{\"b\":2}}"), document.getTree());
+        assertEquals(gson.fromJson("{\"n\":{\"b\":1,\"b\":2}}", MAP), document);
+    }
+
+    @Test
+    void reportsCorruptedFramesAsParseErrors() {
+        byte[] frame = codec.encode(JsonParser.parseString(ORDER));
+        Random random = new Random(24);
+
+        for (int i = 0; i < 5000; i++) {
+            byte[] corrupted = frame.clone();
+            for (int flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                corrupted[1 + random.nextInt(corrupted.length - 1)] = (byte) random.nextInt(256);
+            }
+            try {
+                BinaryDocument document = BinaryDocument.parse(corrupted);
+                document.getTree();
+                for (String key : document.keySet()) {
+                    document.getString(key + ".0");
+                    document.read(key, objects);
+                }
+                document.bind("order", Order.class);
+            } catch (JsonParseException | JsonSyntaxException | MissingFieldException e) {
+                // Expected for most corruptions.
+            }
+        }
+        assertArrayEquals(frame, codec.encode(JsonParser.parseString(ORDER)));
+    }
+
+    private BinaryDocument encode(String json) {
+        return BinaryDocument.parse(codec.encode(JsonParser.parseString(json)));
+    }
+
+    private byte valueTag(JsonElement value) {
+        JsonObject tree = new JsonObject();
+        tree.add("n", value);
+        return codec.encode(tree)[8];
+    }
+
+    private static JsonDocument parseJson(String json) {
+        return JsonDocument.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] frame(int... bytes) {
+        byte[] frame = new byte[bytes.length + 1];
+        frame[0] = BinaryCodec.MAGIC;
+        for (int i = 0; i < bytes.length; i++) {
+            frame[i + 1] = (byte) bytes[i];
+        }
+        return frame;
+    }
+
+    static class Order {
+        String id;
+        boolean rush;
+        long ts;
+        Item first;
+        List<Item> items;
+    }
+
+    static class Item {
+        String sku;
+        int qty;
+        double price;
+        Map<String, String> tags;
+    }
+}
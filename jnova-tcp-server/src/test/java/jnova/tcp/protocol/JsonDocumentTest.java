@@ -0,0 +1,290 @@
+package jnova.tcp.protocol;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import jnova.core.exceptions.JsonParseException;
+import jnova.core.exceptions.MissingFieldException;
+import jnova.core.util.GsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonDocumentTest {
+    private static final Gson gson = GsonFactory.get();
+    private static final Type MAP = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private static final String ORDER = """
+            {
+              "type": "shop",
+              "command": "ORDER",
+              "order": {
+                "id": 17,
+                "customer": {"name": "Ada", "vip": true, "note": null},
+                "items": [
+                  {"sku": "A-1", "qty": 2, "price": 9.5},
+                  {"sku": "B-2", "qty": 1, "price": 120},
+                  [1, [2, 3]]
+                ],
+                "tags": []
+              },
+              "a.b": "dotted",
+              "a": {"b": "nested"}
+            }""";
+
+    @Test
+    void readsTheRoutingFields() {
+        JsonDocument document = parse(ORDER);
+
+        assertEquals("shop", document.getType());
+        assertEquals("ORDER", document.getCommand());
+        assertNull(parse("{\"type\":5,\"command\":null}").getType());
+        assertNull(parse("{\"type\":5,\"command\":null}").getCommand());
+        assertEquals("chat", parse("{\"t\\u0079pe\":\"ch\\u0061t\"}").getType());
+    }
+
+    @Test
+    void looksUpPathsLikeTheGsonTree() {
+        JsonDocument document = parse(ORDER);
+        JsonObject tree = JsonParser.parseString(ORDER).getAsJsonObject();
+
+        for (String path : List.of("type", "order", "order.id", "order.customer", "order.customer.name",
+                "order.customer.vip", "order.customer.note", "order.items", "order.items.0", "order.items.0.sku",
+                "order.items.1.price", "order.items.2.1.0", "order.items.2.1.1", "order.tags", "a")) {
+            JsonElement expected = walk(tree, path);
+            assertTrue(document.has(path), path);
+            assertEquals(expected, document.getElement(path), path);
+            if (expected.isJsonPrimitive()) {
+                assertEquals(expected.getAsString(), document.getString(path), path);
+            }
+        }
+        assertNull(document.getString("order.customer.note"));
+        assertEquals(17, document.getInt("order.id"));
+        assertEquals(120.0, document.getDouble("order.items.1.price"));
+        assertTrue(document.getBoolean("order.customer.vip"));
+    }
+
+    @Test
+    void reportsPathsThatLeadNowhereAsAbsent() {
+        JsonDocument document = parse(ORDER);
+
+        for (String path : List.of("missing", "order.missing", "order.items.3", "order.items.-1", "order.items.x",
+                "order.id.more", "order.tags.0", "order.customer.name.first", "order.", ".order")) {
+            assertFalse(document.has(path), path);
+            assertNull(document.getElement(path), path);
+            assertNull(document.getString(path), path);
+        }
+        assertThrows(MissingFieldException.class, () -> document.getLong("order.missing"));
+        assertThrows(MissingFieldException.class, () -> document.getLong("order.customer.note"));
+        assertEquals(5, document.getLong("order.missing", 5));
+        assertEquals(5, document.getInt("order.customer.note", 5));
+    }
+
+    @Test
+    void matchesTopLevelNamesContainingDotsBeforeSplittingThePath() {
+        JsonDocument document = parse(ORDER);
+
+        assertEquals("dotted", document.getString("a.b"));
+        assertEquals("dotted", document.get("a.b"));
+    }
+
+    @Test
+    void decodesEscapesLikeGson() {
+        String json = """
+                {"quote":"say \\"hi\\"","slash":"a\\/b\\\\c","control":"\\b\\f\\n\\r\\t",
+                 "unicode":"\\u00e9\\u4e2d\\u0000","pair":"\\ud83d\\ude00","na\\u006de":"escaped name",
+                 "nested":{"k\\u0065y":"\\u0041"}}""";
+        JsonDocument document = parse(json);
+        JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+
+        for (String name : List.of("quote", "slash", "control", "unicode", "pair", "name")) {
+            assertEquals(tree.get(name).getAsString(), document.getString(name), name);
+            assertEquals(tree.get(name).getAsString(), document.get(name), name);
+        }
+        assertEquals("A", document.getString("nested.key"));
+        assertEquals(gson.fromJson(json, MAP), document);
+    }
+
+    @Test
+    void decodesUtf8LikeGson() {
+        String json = """
+                {"type":"чат","ключ":"значение","emoji":"😀 and ✓","mixed":{"名前":["é","ß"]}}""";
+        JsonDocument document = parse(json);
+        JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+
+        assertEquals("чат", document.getType());
+        assertEquals(tree.get("ключ").getAsString(), document.getString("ключ"));
+        assertEquals(tree.get("emoji").getAsString(), document.getString("emoji"));
+        assertEquals("ß", document.getString("mixed.名前.1"));
+        assertEquals(gson.fromJson(json, MAP), document);
+    }
+
+    @Test
+    void readsNumbersLikeGson() {
+        for (String number : List.of("0", "-0", "7", "-42", "123456789012345678", "9223372036854775807",
+                "-9223372036854775808", "1.5", "-1.5", "0.1", "3.141592653589793",
+                "1e3", "1E-3", "-2.5e10", "\"42\"")) {
+            String json = "{\"n\":" + number + "}";
+            JsonDocument document = parse(json);
+            JsonElement expected = JsonParser.parseString(json).getAsJsonObject().get("n");
+
+            assertEquals(expected.getAsLong(), document.getLong("n"), number);
+            assertEquals(expected.getAsDouble(), document.getDouble("n"), number);
+            assertEquals(expected.getAsString(), document.getString("n"), number);
+            assertEquals(gson.fromJson(json, MAP), document, number);
+        }
+    }
+
+    @Test
+    void rejectsNumbersThatDoNotFit() {
+        JsonDocument document = parse("{\"big\":3000000000,\"word\":\"x\",\"flag\":true}");
+
+        assertEquals(3000000000L, document.getLong("big"));
+        assertThrows(JsonParseException.class, () -> document.getInt("big"));
+        assertThrows(JsonParseException.class, () -> document.getLong("word"));
+        assertThrows(JsonParseException.class, () -> document.getDouble("flag"));
+        assertThrows(JsonParseException.class, () -> document.getBoolean("big"));
+    }
+
+    @Test
+    void rejectsNumbersOutsideALongLikeGson() {
+        for (String number : List.of("18446744073709551621", "12345678901234567890", "1e30", "-1e30", "1e300",
+                "\"1e30\"", "\"18446744073709551621\"")) {
+            String json = "{\"q\":" + number + "}";
+            JsonDocument document = parse(json);
+
+            assertThrows(JsonSyntaxException.class, () -> gson.fromJson(number, long.class), number);
+            assertThrows(JsonParseException.class, () -> document.getLong("q"), number);
+            assertThrows(JsonParseException.class, () -> document.getInt("q"), number);
+            assertThrows(JsonParseException.class, () -> document.getLong("q", 0), number);
+            assertEquals(JsonParser.parseString(json).getAsJsonObject().get("q").getAsDouble(), document.getDouble("q"), number);
+            assertEquals(gson.fromJson(json, MAP), document, number);
+        }
+        JsonDocument document = parse("{\"over\":9223372036854775808,\"under\":-9223372036854775809,"
+                + "\"max\":9223372036854775807.9,\"tiny\":1e-400,\"min\":-9.223372036854775808e18}");
+        assertThrows(JsonParseException.class, () -> document.getLong("over"));
+        assertThrows(JsonParseException.class, () -> document.getLong("under"));
+        assertEquals(Long.MAX_VALUE, document.getLong("max"));
+        assertEquals(0, document.getLong("tiny"));
+        assertEquals(Long.MIN_VALUE, document.getLong("min"));
+    }
+
+    @Test
+    void indexesLargeDocumentsInLinearTime() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 200_000; i++) {
+            json.append("\"field").append(i).append("\":").append(i).append(',');
+        }
+        String routed = json + "\"type\":\"chat\",\"command\":\"say\"}";
+        String repeated = json + "\"fi\\u0065ld7\":0}";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            JsonDocument document = parse(routed);
+            assertEquals("chat", document.getType());
+            assertEquals("say", document.getCommand());
+            assertEquals(199_999, document.getLong("field199999"));
+            assertEquals(200_002, document.size());
+            assertThrows(JsonSyntaxException.class, () -> parse(repeated).size());
+        });
+    }
+
+    @Test
+    void rejectsRepeatedTopLevelNamesLikeGson() {
+        for (String json : List.of("{\"a\":1,\"a\":2}", "{\"a\":1,\"b\":2,\"\\u0061\":3}",
+                "{\"type\":\"a\",\"type\":\"b\"}")) {
+            assertThrows(JsonSyntaxException.class, () -> gson.fromJson(json, MAP), json);
+            assertThrows(JsonSyntaxException.class, () -> parse(json), json);
+        }
+
+        String late = "{\"type\":\"t\",\"command\":\"c\",\"a\":1,\"a\":2}";
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(late, MAP));
+        JsonDocument document = parse(late);
+        assertThrows(JsonSyntaxException.class, document::size);
+        assertThrows(JsonSyntaxException.class, () -> document.get("missing"));
+    }
+
+    @Test
+    void keepsTheLastOfRepeatedNestedNamesLikeGson() {
+        String json = "{\"n\":{\"b\":1,\"c\":true,\"b\":2}}";
+        JsonDocument document = parse(json);
+        JsonObject tree = JsonParser.parseString(json).getAsJsonObject();
+
+        assertEquals(tree.getAsJsonObject("n").get("b").getAsLong(), document.getLong("n.b"));
+        assertEquals(gson.fromJson(json, MAP), document);
+    }
+
+    @Test
+    void readsAFrameInPartOfAnArray() {
+        byte[] data = ("x " + ORDER + "},").getBytes(StandardCharsets.UTF_8);
+        int length = ORDER.getBytes(StandardCharsets.UTF_8).length;
+
+        JsonDocument document = JsonDocument.parse(data, 1, length + 1);
+
+        assertEquals("shop", document.getType());
+        assertEquals("A-1", document.getString("order.items.0.sku"));
+        assertEquals(gson.fromJson(ORDER, MAP), document);
+        assertThrows(JsonSyntaxException.class, () -> JsonDocument.parse(data, 2, length - 1).getTree());
+        assertThrows(JsonParseException.class, () -> JsonDocument.parse(data, 0, length));
+    }
+
+    @Test
+    void rejectsDataAfterTheDocumentLikeGson() {
+        String unrouted = "{\"type\":\"t\"}  trailing";
+        String routed = "{\"type\":\"t\",\"command\":\"c\"} {}";
+
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(unrouted, MAP));
+        assertThrows(JsonSyntaxException.class, () -> parse(unrouted));
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson(routed, MAP));
+        assertThrows(JsonSyntaxException.class, () -> parse(routed).getTree());
+        assertThrows(JsonSyntaxException.class, () -> parse(routed).size());
+        assertThrows(JsonSyntaxException.class, () -> parse(routed).read(gson.getAdapter(JsonObject.class)));
+        assertEquals("c", parse(routed).getCommand());
+        assertEquals(1, parse("{\"a\":1} \r\n\t ").size());
+    }
+
+    @Test
+    void rejectsFramesThatAreNotObjects() {
+        assertThrows(JsonParseException.class, () -> parse(""));
+        assertThrows(JsonParseException.class, () -> parse("  "));
+        assertThrows(JsonParseException.class, () -> parse("[1]"));
+        assertThrows(JsonSyntaxException.class, () -> parse("{\"type\":\"x"));
+        assertThrows(JsonSyntaxException.class, () -> parse("{\"type\" \"x\"}"));
+    }
+
+    @Test
+    void reportsMalformedValuesWhenTheyAreRead() {
+        JsonDocument document = parse("{\"type\":\"a\",\"command\":\"b\",\"x\":[1,2}}");
+
+        assertEquals("a", document.getType());
+        assertThrows(JsonParseException.class, () -> document.getBoolean("x"));
+        assertThrows(JsonSyntaxException.class, () -> document.getElement("x"));
+        assertThrows(JsonSyntaxException.class, document::getTree);
+    }
+
+    private static JsonDocument parse(String json) {
+        return JsonDocument.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JsonElement walk(JsonElement element, String path) {
+        for (String segment : path.split("\\.")) {
+            element = element.isJsonObject()
+                    ? element.getAsJsonObject().get(segment)
+                    : element.getAsJsonArray().get(Integer.parseInt(segment));
+        }
+        return element;
+    }
+}
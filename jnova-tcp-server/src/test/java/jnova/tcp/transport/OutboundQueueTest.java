@@ -0,0 +1,226 @@
+package jnova.tcp.transport;
+
+import jnova.tcp.buffer.PooledBuffer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundQueueTest {
+    private final List<String> overflows = new ArrayList<>();
+    private int disconnects = 0;
+
+    @Test
+    void queuesEntriesThatFitAndHandsThemOutInOrder() {
+        OutboundQueue queue = queue(3, 1000, OverflowPolicy.DROP_NEWEST);
+        Send first = offer(queue, 10);
+        Send second = offer(queue, 20);
+
+        assertTrue(first.queued);
+        assertTrue(second.queued);
+        assertEquals(2, queue.getQueuedMessages());
+        assertEquals(30, queue.getQueuedBytes());
+
+        OutboundQueue.Entry entry = queue.poll();
+        assertEquals(10, entry.buffers()[0].remaining());
+        assertEquals(1, queue.getQueuedMessages());
+        assertEquals(20, queue.getQueuedBytes());
+
+        entry.complete();
+        assertEquals(Status.WRITTEN, first.status);
+        assertEquals(0, first.frame.refCount());
+        assertEquals(Status.PENDING, second.status);
+        assertTrue(overflows.isEmpty());
+    }
+
+    @Test
+    void acceptsAnOversizedEntryIntoAnEmptyQueue() {
+        OutboundQueue queue = queue(3, 100, OverflowPolicy.DROP_NEWEST);
+
+        assertTrue(offer(queue, 500).queued);
+        assertEquals(500, queue.getQueuedBytes());
+        assertFalse(offer(queue, 1).queued);
+    }
+
+    @Test
+    void dropNewestRejectsTheEntryThatDoesNotFit() {
+        OutboundQueue queue = queue(2, 1000, OverflowPolicy.DROP_NEWEST);
+        offer(queue, 10);
+        offer(queue, 10);
+
+        Send third = offer(queue, 10);
+
+        assertFalse(third.queued);
+        assertEquals(Status.FAILED, third.status);
+        assertInstanceOf(OutboundQueueFullException.class, third.error);
+        assertEquals(0, third.frame.refCount());
+        assertEquals(2, queue.getQueuedMessages());
+        assertEquals(List.of("DROP_NEWEST 2 20"), overflows);
+        assertEquals(0, disconnects);
+    }
+
+    @Test
+    void reportsAnOverflowOnceUntilTheQueueDrains() {
+        OutboundQueue queue = queue(1, 1000, OverflowPolicy.DROP_NEWEST);
+        offer(queue, 10);
+        offer(queue, 10);
+        offer(queue, 10);
+        assertEquals(1, overflows.size());
+
+        queue.poll().complete();
+        offer(queue, 10);
+        offer(queue, 10);
+        assertEquals(2, overflows.size());
+    }
+
+    @Test
+    void dropOldestEvictsQueuedEntriesToMakeRoom() {
+        OutboundQueue queue = queue(2, 1000, OverflowPolicy.DROP_OLDEST);
+        Send first = offer(queue, 10);
+        Send second = offer(queue, 10);
+
+        Send third = offer(queue, 10);
+
+        assertTrue(third.queued);
+        assertEquals(Status.FAILED, first.status);
+        assertInstanceOf(OutboundQueueFullException.class, first.error);
+        assertEquals(0, first.frame.refCount());
+        assertEquals(Status.PENDING, second.status);
+        assertEquals(2, queue.getQueuedMessages());
+        assertSame(second.buffer, queue.poll().buffers()[0]);
+        assertSame(third.buffer, queue.poll().buffers()[0]);
+        assertEquals(List.of("DROP_OLDEST 2 20"), overflows);
+    }
+
+    @Test
+    void disconnectRejectsTheEntryAndClosesTheConnection() {
+        OutboundQueue queue = queue(1, 1000, OverflowPolicy.DISCONNECT);
+        offer(queue, 10);
+
+        Send second = offer(queue, 10);
+
+        assertFalse(second.queued);
+        assertInstanceOf(OutboundQueueFullException.class, second.error);
+        assertEquals(1, disconnects);
+        assertEquals(List.of("DISCONNECT 1 10"), overflows);
+    }
+
+    @Test
+    void blockParksEntriesUntilTheWriterMakesRoom() {
+        OutboundQueue queue = queue(2, 1000, OverflowPolicy.BLOCK);
+        Send first = offer(queue, 10);
+        offer(queue, 10);
+
+        Send parked = offer(queue, 10);
+        assertFalse(parked.queued);
+        assertEquals(Status.PENDING, parked.status);
+        assertEquals(2, queue.getQueuedMessages());
+
+        Send later = offer(queue, 10);
+        assertFalse(later.queued);
+
+        assertSame(first.buffer, queue.poll().buffers()[0]);
+        assertEquals(2, queue.getQueuedMessages());
+        queue.poll();
+        assertSame(parked.buffer, queue.poll().buffers()[0]);
+        assertSame(later.buffer, queue.poll().buffers()[0]);
+        assertNull(queue.poll());
+        assertEquals(0, disconnects);
+    }
+
+    @Test
+    void blockDisconnectsOnceTheParkedEntriesReachTheLimits() {
+        OutboundQueue queue = queue(2, 1000, OverflowPolicy.BLOCK);
+        offer(queue, 10);
+        offer(queue, 10);
+        Send parked1 = offer(queue, 10);
+        Send parked2 = offer(queue, 10);
+
+        Send overflow = offer(queue, 10);
+
+        assertFalse(overflow.queued);
+        assertEquals(Status.FAILED, overflow.status);
+        assertInstanceOf(OutboundQueueFullException.class, overflow.error);
+        assertEquals(0, overflow.frame.refCount());
+        assertEquals(Status.PENDING, parked1.status);
+        assertEquals(Status.PENDING, parked2.status);
+        assertEquals(1, disconnects);
+        assertEquals(List.of("BLOCK 2 20", "DISCONNECT 2 20"), overflows);
+    }
+
+    @Test
+    void blockBoundsParkedEntriesByBytes() {
+        OutboundQueue queue = queue(100, 100, OverflowPolicy.BLOCK);
+        offer(queue, 100);
+        offer(queue, 60);
+
+        Send overflow = offer(queue, 60);
+
+        assertEquals(Status.FAILED, overflow.status);
+        assertEquals(1, disconnects);
+    }
+
+    @Test
+    void closeFailsQueuedAndParkedEntriesAndRejectsLaterOnes() {
+        OutboundQueue queue = queue(1, 1000, OverflowPolicy.BLOCK);
+        Send queued = offer(queue, 10);
+        Send parked = offer(queue, 10);
+        ClosedChannelException error = new ClosedChannelException();
+
+        queue.close(error);
+
+        assertSame(error, queued.error);
+        assertSame(error, parked.error);
+        assertEquals(0, queued.frame.refCount());
+        assertEquals(0, parked.frame.refCount());
+        assertEquals(0, queue.getQueuedMessages());
+        assertEquals(0, queue.getQueuedBytes());
+        assertNull(queue.poll());
+
+        Send late = offer(queue, 10);
+        assertFalse(late.queued);
+        assertInstanceOf(ClosedChannelException.class, late.error);
+        assertEquals(0, disconnects);
+    }
+
+    private OutboundQueue queue(int maxMessages, long maxBytes, OverflowPolicy policy) {
+        OutboundQueue queue = new OutboundQueue(new OutboundLimits(maxMessages, maxBytes, policy), () -> disconnects++);
+        queue.setOverflowListener((applied, messages, bytes) -> overflows.add(applied + " " + messages + " " + bytes));
+        return queue;
+    }
+
+    private static Send offer(OutboundQueue queue, int size) {
+        Send send = new Send(size);
+        Mono.<Void>create(sink -> send.queued = queue.offer(new PooledBuffer[]{send.frame}, new ByteBuffer[]{send.buffer}, sink))
+                .subscribe(null, e -> {
+                    send.status = Status.FAILED;
+                    send.error = e;
+                }, () -> send.status = Status.WRITTEN);
+        return send;
+    }
+
+    private enum Status { PENDING, WRITTEN, FAILED }
+
+    private static final class Send {
+        final PooledBuffer frame;
+        final ByteBuffer buffer;
+        boolean queued;
+        Status status = Status.PENDING;
+        Throwable error;
+
+        Send(int size) {
+            frame = PooledBuffer.wrap(new byte[size]);
+            buffer = frame.buffer().duplicate();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package jnova.tcp.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+    private static final long TICK = 50;
+
+    private HashedTimingWheel wheel;
+
+    @AfterEach
+    void stop() {
+        if (wheel != null) wheel.stop();
+    }
+
+    @Test
+    void firesOnceTheDelayHasPassed() throws InterruptedException {
+        Fired fired = new Fired();
+        long start = System.nanoTime();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 8);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(Duration.ofMillis(200), fired);
+
+        assertTrue(fired.await(2000));
+        long elapsed = fired.millisSince(start);
+        assertTrue(elapsed >= 200, "fired after " + elapsed + " ms");
+        assertTrue(elapsed < 200 + 3 * TICK, "fired after " + elapsed + " ms");
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(1, fired.count.get());
+    }
+
+    @Test
+    void waitsForFullTurnsOfASmallWheel() throws InterruptedException {
+        Fired fired = new Fired();
+        long start = System.nanoTime();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 2);
+        wheel.schedule(Duration.ofMillis(7 * TICK), fired);
+
+        assertTrue(fired.await(2000));
+        long elapsed = fired.millisSince(start);
+        assertTrue(elapsed >= 7 * TICK, "fired after " + elapsed + " ms");
+        assertTrue(elapsed < 10 * TICK, "fired after " + elapsed + " ms");
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws InterruptedException {
+        Fired fired = new Fired();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 8);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(Duration.ofMillis(100), fired);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertFalse(fired.await(400));
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    void resetPostponesTheDeadline() throws InterruptedException {
+        Fired fired = new Fired();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 8);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(Duration.ofMillis(200), fired);
+
+        for (int i = 0; i < 6; i++) {
+            Thread.sleep(100);
+            timeout.reset();
+        }
+        assertEquals(0, fired.count.get());
+
+        long reset = System.nanoTime();
+        assertTrue(fired.await(2000));
+        long elapsed = fired.millisSince(reset);
+        assertTrue(elapsed >= 200 - TICK, "fired " + elapsed + " ms after the last reset");
+        assertTrue(elapsed < 200 + 3 * TICK, "fired " + elapsed + " ms after the last reset");
+    }
+
+    @Test
+    void resetToAShorterDelayFiresEarlier() throws InterruptedException {
+        Fired fired = new Fired();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 8);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(Duration.ofSeconds(30), fired);
+        Thread.sleep(2 * TICK);
+
+        long reset = System.nanoTime();
+        timeout.reset(Duration.ofMillis(100));
+
+        assertTrue(fired.await(2000));
+        assertTrue(fired.millisSince(reset) < 100 + 3 * TICK);
+        assertEquals(Duration.ofMillis(100), timeout.getDelay());
+    }
+
+    @Test
+    void rehashedTimeoutDueWholeTurnsLaterFiresOnTime() throws InterruptedException {
+        // With 4 buckets, a timeout due at tick 4 that is reset to be due at tick 8 is re-hashed
+        // when the worker visits tick 4. Placed from tick 4, it would land in the bucket just
+        // visited and fire at tick 12, one turn late.
+        Fired fired = new Fired();
+        long start = System.nanoTime();
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 4);
+        HashedTimingWheel.Timeout timeout = wheel.schedule(Duration.ofMillis(4 * TICK), fired);
+
+        sleepUntil(start, 4 * TICK + TICK / 2);
+        timeout.reset();
+
+        assertTrue(fired.await(2000));
+        long elapsed = fired.millisSince(start);
+        assertTrue(elapsed >= 8 * TICK, "fired after " + elapsed + " ms");
+        assertTrue(elapsed < 11 * TICK, "fired after " + elapsed + " ms");
+    }
+
+    @Test
+    void rejectsSchedulingOnceStopped() {
+        wheel = new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 8);
+        wheel.stop();
+
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(Duration.ofMillis(100), () -> {}));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel("test-wheel", Duration.ofNanos(10), 8));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel("test-wheel", Duration.ofMillis(TICK), 0));
+    }
+
+    private static void sleepUntil(long start, long millis) throws InterruptedException {
+        long remaining = millis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (remaining > 0) Thread.sleep(remaining);
+    }
+
+    private static final class Fired implements Runnable {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong at = new AtomicLong();
+
+        @Override
+        public void run() {
+            at.set(System.nanoTime());
+            count.incrementAndGet();
+            latch.countDown();
+        }
+
+        boolean await(long millis) throws InterruptedException {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        long millisSince(long start) {
+            return TimeUnit.NANOSECONDS.toMillis(at.get() - start);
+        }
+    }
+}